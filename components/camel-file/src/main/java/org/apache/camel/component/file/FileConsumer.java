@@ -18,14 +18,18 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 import org.apache.camel.Exchange;
@@ -54,6 +58,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (getEndpoint().isStreamingScan()) {
+            return scanDirectory(fileName, fileList, depth);
+        }
+
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
@@ -118,37 +126,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
                     log.trace("Adding valid file: {}", file);
                     // matched file so add
                     if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            try {
-                                String prefix = null;
-                                if (attribute.endsWith(":*")) {
-                                    prefix = attribute.substring(0, attribute.length() - 1);
-                                } else if (attribute.equals("*")) {
-                                    prefix = "basic:";
-                                }
-
-                                if (ObjectHelper.isNotEmpty(prefix)) {
-                                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
-                                    if (attributes != null) {
-                                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-                                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
-                                        }
-                                    }
-                                } else if (!attribute.contains(":")) {
-                                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
-                                } else {
-                                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
-                                }
-                            } catch (IOException e) {
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Unable to read attribute {} on file {}", attribute, file, e);
-                                }
-                            }
-                        }
-
-                        gf.setExtendedAttributes(allAttributes);
+                        gf.setExtendedAttributes(readExtendedAttributes(file));
                     }
 
                     fileList.add(gf);
@@ -160,8 +138,175 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    /**
+     * Scans the directory using a {@link DirectoryStream}, so the files are read one by one and the scan stops as soon as
+     * the limit of files to poll is reached.
+     * <p/>
+     * If the files are sorted, then the first files in the sort order are kept in a bounded heap during the scan.
+     * If the files are sorted by sortBy or shuffled, then all the files are gathered, as the order is only known
+     * from the exchanges, and the poll limits the files after sorting them.
+     */
+    protected boolean scanDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        Comparator<GenericFile<File>> order = getScanOrder();
+        int limit = maxMessagesPerPoll;
+        boolean all = endpoint.getSortBy() != null || endpoint.isShuffle();
+        if (order == null) {
+            // without sortBy or shuffle the files are used in the order they are found
+            return scanDirectory(fileName, fileList, null, !all, depth);
+        }
+
+        if (limit <= 0 || all) {
+            // all the files are needed, and they are pre sorted as if listed (the sorter is applied by the poll)
+            boolean answer = scanDirectory(fileName, fileList, null, false, depth);
+            if (endpoint.getSorter() == null) {
+                fileList.sort(order);
+            }
+            return answer;
+        }
+
+        FirstFiles first = new FirstFiles(order, limit);
+        scanDirectory(fileName, fileList, first, false, depth);
+        first.drainTo(fileList);
+        // there were more files than the limit
+        return !first.evicted;
+    }
+
+    private boolean scanDirectory(String fileName, List<GenericFile<File>> fileList, FirstFiles first, boolean eager, int depth) {
+        log.trace("scanDirectory from fileName: {}", fileName);
+
+        depth++;
+
+        File directory = new File(fileName);
+        if (!directory.exists() || !directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return true;
+        }
+
+        if (log.isTraceEnabled()) {
+            log.trace("Scanning directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                // check if we can continue polling in files
+                if (eager && !canPollMoreFiles(fileList)) {
+                    return false;
+                }
+
+                File file = path.toFile();
+                if (log.isTraceEnabled()) {
+                    log.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]",
+                            file, file.isAbsolute(), file.isDirectory(), file.isFile(), file.isHidden());
+                }
+
+                // creates a generic file
+                GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+
+                if (file.isDirectory()) {
+                    if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, null)) {
+                        // recursive scan and add the sub files and folders
+                        String subDirectory = fileName + File.separator + file.getName();
+                        boolean canPollMore = scanDirectory(subDirectory, fileList, first, eager, depth);
+                        if (!canPollMore) {
+                            return false;
+                        }
+                    }
+                } else if (depth >= endpoint.minDepth && isValidFile(gf, false, null)) {
+                    log.trace("Adding valid file: {}", file);
+                    if (first != null) {
+                        // the extended attributes are only read for the files which are kept
+                        first.add(gf);
+                    } else {
+                        if (extendedAttributes != null) {
+                            gf.setExtendedAttributes(readExtendedAttributes(file));
+                        }
+                        fileList.add(gf);
+                    }
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            // same as when listing the files of the directory fails
+            log.debug("Cannot scan directory: {} due {}", directory, e.getMessage(), e);
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the order of the files when scanning, or <tt>null</tt> if the files are not sorted.
+     */
+    private Comparator<GenericFile<File>> getScanOrder() {
+        if (endpoint.getSorter() != null) {
+            return endpoint.getSorter();
+        } else if (getEndpoint().isPreSort()) {
+            // the same order as sorting the files of each directory when listing the directories
+            return FileConsumer::compareListedOrder;
+        }
+        return null;
+    }
+
+    /**
+     * Compares the files by the names of their directories and then their own name, which is the order the files are
+     * found in when the files of each directory are sorted by name, and the sub directories are polled in place.
+     */
+    private static int compareListedOrder(GenericFile<File> file1, GenericFile<File> file2) {
+        Path path1 = file1.getFile().getAbsoluteFile().toPath();
+        Path path2 = file2.getFile().getAbsoluteFile().toPath();
+        int count = Math.min(path1.getNameCount(), path2.getNameCount());
+        for (int i = 0; i < count; i++) {
+            int answer = path1.getName(i).compareTo(path2.getName(i));
+            if (answer != 0) {
+                return answer;
+            }
+        }
+        return path1.getNameCount() - path2.getNameCount();
+    }
+
+    private Map<String, Object> readExtendedAttributes(File file) {
+        Path path = file.toPath();
+        Map<String, Object> allAttributes = new HashMap<>();
+        for (String attribute : extendedAttributes) {
+            try {
+                String prefix = null;
+                if (attribute.endsWith(":*")) {
+                    prefix = attribute.substring(0, attribute.length() - 1);
+                } else if (attribute.equals("*")) {
+                    prefix = "basic:";
+                }
+
+                if (ObjectHelper.isNotEmpty(prefix)) {
+                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
+                    if (attributes != null) {
+                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
+                        }
+                    }
+                } else if (!attribute.contains(":")) {
+                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
+                } else {
+                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
+                }
+            } catch (IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to read attribute {} on file {}", attribute, file, e);
+                }
+            }
+        }
+        return allAttributes;
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+        if (files == null) {
+            // the files of the directory are not listed when scanning the directory
+            boolean exists = new File(doneFileName).exists();
+            if (!exists) {
+                log.trace("Done file: {} does not exist", doneFileName);
+            }
+            return exists;
+        }
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -242,11 +387,56 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
     }
 
+    @Override
+    protected boolean isOperationsThreadSafe() {
+        // the file operations do not keep any state, so the workers can acquire read locks in parallel
+        return true;
+    }
+
     @Override
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
 
+    /**
+     * The first files in sort order found by a scan, where the files which are not among the first files are no longer
+     * in progress.
+     */
+    private final class FirstFiles {
+        private final Comparator<GenericFile<File>> order;
+        private final int limit;
+        // the head is the last of the first files, so it is the file to evict
+        private final PriorityQueue<GenericFile<File>> queue;
+        private boolean evicted;
+
+        FirstFiles(Comparator<GenericFile<File>> order, int limit) {
+            this.order = order;
+            this.limit = limit;
+            this.queue = new PriorityQueue<>(order.reversed());
+        }
+
+        void add(GenericFile<File> file) {
+            queue.add(file);
+            if (queue.size() > limit) {
+                GenericFile<File> last = queue.poll();
+                endpoint.getInProgressRepository().remove(last.getAbsoluteFilePath());
+                evicted = true;
+            }
+        }
+
+        void drainTo(List<GenericFile<File>> fileList) {
+            List<GenericFile<File>> files = new ArrayList<>(queue);
+            files.sort(order);
+            if (extendedAttributes != null) {
+                for (GenericFile<File> file : files) {
+                    file.setExtendedAttributes(readExtendedAttributes(file.getFile()));
+                }
+            }
+            fileList.addAll(files);
+            queue.clear();
+        }
+    }
+
     private boolean fileHasMoved(GenericFile<File> file) {
         // GenericFile's absolute path is always up to date whereas the underlying file is not
         return !file.getFile().getAbsolutePath().equals(file.getAbsoluteFilePath());
@@ -67,6 +67,8 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean streamingScan;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
@@ -341,6 +343,20 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isStreamingScan() {
+        return streamingScan;
+    }
+
+    /**
+     * Whether to scan the directories using a {@link java.nio.file.DirectoryStream}, which reads the files of a directory one by one,
+     * instead of loading all the files of the directory into memory. The scan stops when maxMessagesPerPoll files are found.
+     * If the files are sorted, by preSort or a sorter, then the scan only keeps the first maxMessagesPerPoll files in the sort order,
+     * which means the files of the poll are the first files of all the files, and not the first files found.
+     */
+    public void setStreamingScan(boolean streamingScan) {
+        this.streamingScan = streamingScan;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -22,6 +22,12 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import org.apache.camel.CamelContextAware;
@@ -30,6 +36,8 @@ import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ScheduledBatchPollingConsumer;
 import org.apache.camel.support.service.ServiceHelper;
@@ -41,6 +49,7 @@ import org.apache.camel.util.TimeUtils;
 /**
  * Base class for file consumers.
  */
+@ManagedResource(description = "Managed GenericFileConsumer")
 public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsumer {
 
     protected GenericFileEndpoint<T> endpoint;
@@ -54,6 +63,13 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected volatile boolean prepareOnStartup;
     private final Pattern includePattern;
     private final Pattern excludePattern;
+    private final AtomicInteger notStartedExchanges = new AtomicInteger();
+    private ExecutorService workerPool;
+    private Semaphore workers;
+    private Lock operationsLock;
+    private volatile int lastPollFiles;
+    private volatile long lastPollDuration;
+    private volatile long totalPolledFiles;
 
     public GenericFileConsumer(GenericFileEndpoint<T> endpoint, Processor processor, GenericFileOperations<T> operations, GenericFileProcessStrategy<T> processStrategy) {
         super(endpoint, processor);
@@ -185,6 +201,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
         int polledMessages = processBatch(CastUtils.cast(q));
 
+        // keep statistics of the poll, which includes processing the files
+        lastPollFiles = polledMessages;
+        lastPollDuration = stop.taken();
+        totalPolledFiles += polledMessages;
+
         postPollCheck(polledMessages);
 
         return polledMessages;
@@ -218,6 +239,9 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             if (customProcessor != null) {
                 // use a custom processor
                 started = customProcessExchange(exchange, customProcessor);
+            } else if (workerPool != null) {
+                // process the exchange by a worker thread
+                started = dispatchExchange(exchange);
             } else {
                 // process the exchange regular
                 started = processExchange(exchange);
@@ -229,12 +253,69 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             }
         }
 
+        if (workerPool != null) {
+            // the batch is done when the workers have processed all the dispatched files
+            answer -= awaitWorkers();
+        }
+
         // drain any in progress files as we are done with this batch
         removeExcessiveInProgressFiles(CastUtils.cast((Deque<?>) exchanges, Exchange.class), 0);
 
         return answer;
     }
 
+    /**
+     * Dispatches the exchange to a worker thread, which processes the exchange using {@link #processExchange(Exchange)}.
+     * <p/>
+     * Waits for a worker to be available, so at most maxConcurrentFiles files are in progress.
+     *
+     * @param exchange the exchange
+     * @return <tt>true</tt> if the exchange was dispatched
+     */
+    protected boolean dispatchExchange(final Exchange exchange) {
+        GenericFile<T> file = getExchangeFileProperty(exchange);
+        String absoluteFileName = file.getAbsoluteFilePath();
+
+        try {
+            workers.acquire();
+        } catch (InterruptedException e) {
+            log.debug("Interrupted while waiting for a worker to process file: {}", file);
+            Thread.currentThread().interrupt();
+            endpoint.getInProgressRepository().remove(absoluteFileName);
+            return false;
+        }
+
+        try {
+            workerPool.execute(() -> {
+                try {
+                    if (!processExchange(exchange)) {
+                        notStartedExchanges.incrementAndGet();
+                    }
+                } finally {
+                    workers.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            workers.release();
+            endpoint.getInProgressRepository().remove(absoluteFileName);
+            handleException("Cannot dispatch file: " + file + " to a worker due to: " + e.getMessage(), e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the workers have processed all the dispatched exchanges.
+     *
+     * @return the number of dispatched exchanges which were not started to be processed
+     */
+    private int awaitWorkers() {
+        int max = endpoint.getMaxConcurrentFiles();
+        workers.acquireUninterruptibly(max);
+        workers.release(max);
+        return notStartedExchanges.getAndSet(0);
+    }
+
     /**
      * Drain any in progress files as we are done with this batch
      *
@@ -355,25 +436,31 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         // and then the file name would be changed
         String absoluteFileName = file.getAbsoluteFilePath();
 
-        // check if we can begin processing the file
+        // check if we can begin processing the file, which must hold the lock as the read lock may use the operations,
+        // so the workers wait for each other while a read lock waits for the file to be ready
         Exception beginCause = null;
         boolean begin = false;
+        lockOperations();
         try {
             begin = processStrategy.begin(operations, endpoint, exchange, file);
         } catch (Exception e) {
             beginCause = e;
+        } finally {
+            unlockOperations();
         }
 
         if (!begin) {
             // no something was wrong, so we need to abort and remove the file from the in progress list
             Exception abortCause = null;
             log.debug("{} cannot begin processing file: {}", endpoint, file);
+            lockOperations();
             try {
                 // abort
                 processStrategy.abort(operations, endpoint, exchange, file);
             } catch (Exception e) {
                 abortCause = e;
             } finally {
+                unlockOperations();
                 // begin returned false, so remove file from the in progress list as its no longer in progress
                 endpoint.getInProgressRepository().remove(absoluteFileName);
             }
@@ -407,11 +494,14 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
                 // retrieve the file and check it was a success
                 boolean retrieved;
                 Exception cause = null;
+                lockOperations();
                 try {
                     retrieved = operations.retrieveFile(name, exchange, target.getFileLength());
                 } catch (Exception e) {
                     retrieved = false;
                     cause = e;
+                } finally {
+                    unlockOperations();
                 }
 
                 if (!retrieved) {
@@ -440,12 +530,15 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
             // register on completion callback that does the completion strategies
             // (for instance to move the file after we have processed it)
-            exchange.addOnCompletion(new GenericFileOnCompletion<>(endpoint, operations, processStrategy, target, absoluteFileName));
+            GenericFileOnCompletion<T> onCompletion = new GenericFileOnCompletion<>(endpoint, operations, processStrategy, target, absoluteFileName);
+            onCompletion.setOperationsLock(operationsLock);
+            exchange.addOnCompletion(onCompletion);
 
             log.debug("About to process file: {} using exchange: {}", target, exchange);
 
-            if (endpoint.isSynchronous()) {
-                // process synchronously
+            if (endpoint.isSynchronous() || workerPool != null) {
+                // process synchronously, which is also the case for a worker thread
+                // as the worker is done with the file when the exchange is done
                 getProcessor().process(exchange);
             } else {
                 // process the exchange using the async consumer to support async routing engine
@@ -468,6 +561,44 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return true;
     }
 
+    /**
+     * Whether the files are processed in parallel by worker threads.
+     */
+    protected boolean isConcurrentConsumption() {
+        return workerPool != null;
+    }
+
+    /**
+     * Override if required. Whether the files can be processed in parallel by worker threads.
+     *
+     * @return <tt>true</tt> by default
+     */
+    protected boolean isConcurrentConsumptionSupported() {
+        return true;
+    }
+
+    /**
+     * Override if required. Whether the operations can be used by several threads at the same time, as otherwise
+     * the workers take turns using the operations when the files are processed in parallel.
+     *
+     * @return <tt>false</tt> by default
+     */
+    protected boolean isOperationsThreadSafe() {
+        return false;
+    }
+
+    private void lockOperations() {
+        if (operationsLock != null) {
+            operationsLock.lock();
+        }
+    }
+
+    private void unlockOperations() {
+        if (operationsLock != null) {
+            operationsLock.unlock();
+        }
+    }
+
     /**
      * Updates the information on {@link Message} after we have acquired read-lock and
      * can begin process the file.
@@ -706,6 +837,19 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             ((CamelContextAware) processStrategy).setCamelContext(getEndpoint().getCamelContext());
         }
         ServiceHelper.startService(processStrategy);
+
+        int max = endpoint.getMaxConcurrentFiles();
+        if (max > 1) {
+            if (!isConcurrentConsumptionSupported()) {
+                throw new IllegalArgumentException("The maxConcurrentFiles option is not supported by the endpoint: " + endpoint);
+            }
+            workerPool = endpoint.getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "GenericFileConsumerWorker", max);
+            workers = new Semaphore(max);
+            if (!isOperationsThreadSafe()) {
+                operationsLock = new ReentrantLock();
+            }
+        }
+
         super.doStart();
     }
 
@@ -713,9 +857,39 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected void doStop() throws Exception {
         prepareOnStartup = false;
         super.doStop();
+        if (workerPool != null) {
+            // let the workers complete the files they are processing, and a new pool is created when starting again
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(workerPool);
+        }
         ServiceHelper.stopService(processStrategy);
     }
 
+    @ManagedAttribute(description = "Maximum number of files processed in parallel")
+    public int getMaxConcurrentFiles() {
+        return endpoint.getMaxConcurrentFiles();
+    }
+
+    @ManagedAttribute(description = "Number of files currently processed by the worker threads")
+    public int getInflightFiles() {
+        Semaphore current = workers;
+        return current != null ? endpoint.getMaxConcurrentFiles() - current.availablePermits() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of files processed by the last poll")
+    public int getLastPollFiles() {
+        return lastPollFiles;
+    }
+
+    @ManagedAttribute(description = "Time in millis of the last poll including processing the files")
+    public long getLastPollDuration() {
+        return lastPollDuration;
+    }
+
+    @ManagedAttribute(description = "Total number of files processed by the polls")
+    public long getTotalPolledFiles() {
+        return totalPolledFiles;
+    }
+
     @Override
     public void onInit() throws Exception {
         // noop as we do a manual on-demand poll with GenericFilePollingConsumer
@@ -118,6 +118,8 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected boolean delete;
     @UriParam(label = "consumer")
     protected boolean preSort;
+    @UriParam(label = "consumer")
+    protected int maxConcurrentFiles;
     @UriParam(label = "consumer,filter")
     protected int maxMessagesPerPoll;
     @UriParam(label = "consumer,filter", defaultValue = "true")
@@ -434,6 +436,23 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.preSort = preSort;
     }
 
+    public int getMaxConcurrentFiles() {
+        return maxConcurrentFiles;
+    }
+
+    /**
+     * The maximum number of files of a poll which are processed in parallel. Each file is routed by a worker thread,
+     * while the read lock, in-progress repository and the move/delete strategies are handled for each file as usual.
+     * The poll completes when all the files of the poll have been processed.
+     * This option is default=0, and a value of 1 or less means the files are processed one by one by the consumer thread.
+     * When the endpoint cannot share its connection between threads (such as FTP), the workers take turns to acquire
+     * the read lock, so a read lock which waits for the file to be ready (such as readLock=changed) limits how many
+     * files are processed in parallel.
+     */
+    public void setMaxConcurrentFiles(int maxConcurrentFiles) {
+        this.maxConcurrentFiles = maxConcurrentFiles;
+    }
+
     public boolean isDelete() {
         return delete;
     }
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.component.file;
 
+import java.util.concurrent.locks.Lock;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.Synchronization;
@@ -39,6 +41,7 @@ public class GenericFileOnCompletion<T> implements Synchronization {
     private ExceptionHandler exceptionHandler;
     private GenericFile<T> file;
     private String absoluteFileName;
+    private Lock operationsLock;
 
     public GenericFileOnCompletion(GenericFileEndpoint<T> endpoint, GenericFileOperations<T> operations, GenericFileProcessStrategy processStrategy,
                                    GenericFile<T> file, String absoluteFileName) {
@@ -71,9 +74,25 @@ public class GenericFileOnCompletion<T> implements Synchronization {
         this.exceptionHandler = exceptionHandler;
     }
 
+    public Lock getOperationsLock() {
+        return operationsLock;
+    }
+
+    /**
+     * Sets an optional lock to hold while using the operations, when the operations are shared with other threads
+     * and are not thread safe.
+     */
+    public void setOperationsLock(Lock operationsLock) {
+        this.operationsLock = operationsLock;
+    }
+
     protected void onCompletion(Exchange exchange) {
         log.debug("Done processing file: {} using exchange: {}", file, exchange);
 
+        if (operationsLock != null) {
+            operationsLock.lock();
+        }
+
         // commit or rollback
         boolean committed = false;
         try {
@@ -93,6 +112,10 @@ public class GenericFileOnCompletion<T> implements Synchronization {
             // use the original file name that was used to add it to the repository
             // as the name can be different when using preMove option
             endpoint.getInProgressRepository().remove(absoluteFileName);
+
+            if (operationsLock != null) {
+                operationsLock.unlock();
+            }
         }
     }
 
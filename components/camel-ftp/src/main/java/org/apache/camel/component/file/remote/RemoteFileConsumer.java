@@ -89,7 +89,8 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
 
         // if we did not poll any messages, but are configured to disconnect then we need to do this now
         // as there is no exchanges to be routed that otherwise will disconnect from the last UoW
-        if (polledMessages == 0) {
+        // (when processing files in parallel the workers have processed all the files at this point)
+        if (polledMessages == 0 || isConcurrentConsumption()) {
             if (getEndpoint().isDisconnect()) {
                 log.trace("postPollCheck disconnect from: {}", getEndpoint());
                 disconnect();
@@ -104,8 +105,9 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         exchange.setProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC, Boolean.TRUE);
 
         // defer disconnect til the UoW is complete - but only the last exchange from the batch should do that
+        // (when processing files in parallel the last exchange is not the last to complete, so disconnect after the poll)
         boolean isLast = exchange.getProperty(Exchange.BATCH_COMPLETE, true, Boolean.class);
-        if (isLast && getEndpoint().isDisconnect()) {
+        if (isLast && getEndpoint().isDisconnect() && !isConcurrentConsumption()) {
             exchange.addOnCompletion(new SynchronizationAdapter() {
                 @Override
                 public void onDone(Exchange exchange) {
@@ -139,6 +141,12 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         return getEndpoint().isDownload();
     }
 
+    @Override
+    protected boolean isConcurrentConsumptionSupported() {
+        // the streamed download keeps the connection busy until the exchange is done
+        return !getEndpoint().getConfiguration().isStreamDownload();
+    }
+
     @Override
     protected void doStop() throws Exception {
         super.doStop();
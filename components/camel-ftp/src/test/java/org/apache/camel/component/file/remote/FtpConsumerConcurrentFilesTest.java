@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.file.GenericFileConsumer;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.commons.net.ftp.FTPClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.camel.test.junit5.TestSupport.assertFileExists;
+import static org.apache.camel.test.junit5.TestSupport.assertFileNotExists;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for processing the files of a poll in parallel with the maxConcurrentFiles option,
+ * using a read lock, moving the files when done and disconnecting after the poll.
+ */
+public class FtpConsumerConcurrentFilesTest extends FtpServerTestSupport {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/concurrent?password=admin&maxConcurrentFiles=4"
+                + "&readLock=changed&readLockCheckInterval=100&move=.done&disconnect=true&delay=5000";
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        // ask the singleton FtpEndpoint to make use of a custom FTPClient
+        // so that we can hold a reference on it inside the test below
+        FtpEndpoint<?> endpoint = context.getEndpoint(getFtpUrl(), FtpEndpoint.class);
+        endpoint.setFtpClient(new FTPClient());
+    }
+
+    @Test
+    public void testConsumeFilesInParallel() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/concurrent", "Hello " + i, Exchange.FILE_NAME, i + ".txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        for (int i = 0; i < 10; i++) {
+            // the files are moved when done
+            mock.expectedFileExists(FTP_ROOT_DIR + "/concurrent/.done/" + i + ".txt");
+        }
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the files are processed by several workers
+        assertTrue(maxActive.get() > 1, "Should process files in parallel");
+        assertTrue(maxActive.get() <= 4, "Should not process more than 4 files in parallel");
+
+        // give time for ftp consumer to disconnect after the poll, delay is 5000 ms which is long
+        // enough to avoid a second poll cycle before we are done with the asserts
+        Thread.sleep(2000);
+
+        FtpEndpoint<?> endpoint = context.getEndpoint(getFtpUrl(), FtpEndpoint.class);
+        assertFalse(endpoint.getFtpClient().isConnected(), "The FTPClient should be disconnected after the poll");
+
+        GenericFileConsumer<?> consumer = (GenericFileConsumer<?>) context.getRoute("foo").getConsumer();
+        assertEquals(10, consumer.getTotalPolledFiles());
+        assertEquals(0, consumer.getInflightFiles());
+    }
+
+    @Test
+    public void testFailedFileIsNotMoved() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/concurrent", "Hello " + i, Exchange.FILE_NAME, i + ".txt");
+        }
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/concurrent", "Kaboom", Exchange.FILE_NAME, "kaboom.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(4);
+        for (int i = 0; i < 4; i++) {
+            mock.expectedFileExists(FTP_ROOT_DIR + "/concurrent/.done/" + i + ".txt");
+        }
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the failed file is rolled back, and is not moved
+        assertFileExists(FTP_ROOT_DIR + "/concurrent/kaboom.txt");
+        assertFileNotExists(FTP_ROOT_DIR + "/concurrent/.done/kaboom.txt");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(getFtpUrl()).routeId("foo").noAutoStartup()
+                    .process(exchange -> {
+                        int current = active.incrementAndGet();
+                        maxActive.accumulateAndGet(current, Math::max);
+                        try {
+                            Thread.sleep(300);
+                        } finally {
+                            active.decrementAndGet();
+                        }
+                    })
+                    .convertBodyTo(String.class)
+                    .filter(body().isEqualTo("Kaboom")).throwException(new IllegalArgumentException("Forced")).end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -70,6 +70,14 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     private int consumerStreams = 10;
     @UriParam(label = "consumer", defaultValue = "1")
     private int consumersCount = 1;
+    @UriParam(label = "consumer")
+    private int consumerLanes;
+    @UriParam(label = "consumer", defaultValue = "partition", enums = "partition,key")
+    private String consumerLaneOrdering = "partition";
+    @UriParam(label = "consumer", defaultValue = "1000")
+    private int consumerLaneMaxPending = 1000;
+    @UriParam(label = "consumer")
+    private boolean batching;
     @UriParam(label = "consumer", description = "To use a custom KafkaHeaderDeserializer to deserialize kafka headers values")
     private KafkaHeaderDeserializer kafkaHeaderDeserializer = new DefaultKafkaHeaderDeserializer();
 
@@ -199,6 +207,8 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     private Integer sendBufferBytes = 131072;
     @UriParam(label = "producer", defaultValue = "true")
     private boolean recordMetadata = true;
+    @UriParam(label = "producer")
+    private int maxInFlightRecords;
     // max.in.flight.requests.per.connection
     @UriParam(label = "producer", defaultValue = "5")
     private Integer maxInFlightRequest = 5;
@@ -595,6 +605,66 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.consumersCount = consumersCount;
     }
 
+    public int getConsumerLanes() {
+        return consumerLanes;
+    }
+
+    /**
+     * The number of worker lanes per consumer, which process the polled records
+     * in parallel. The consumer keeps polling while the lanes process the
+     * records, and the offsets are only committed up to the records which all
+     * the records before are completed. The default value is 0 which means the
+     * records are processed one at a time by the consumer. The lanes cannot be
+     * used with allowManualCommit.
+     */
+    public void setConsumerLanes(int consumerLanes) {
+        this.consumerLanes = consumerLanes;
+    }
+
+    public String getConsumerLaneOrdering() {
+        return consumerLaneOrdering;
+    }
+
+    /**
+     * How to dispatch the records to the lanes, when using consumerLanes:
+     * partition : the records of a partition are processed in order by the
+     * same lane. key : the records with the same key are processed in order by
+     * the same lane, so the records of a partition can be processed in
+     * parallel.
+     */
+    public void setConsumerLaneOrdering(String consumerLaneOrdering) {
+        this.consumerLaneOrdering = consumerLaneOrdering;
+    }
+
+    public int getConsumerLaneMaxPending() {
+        return consumerLaneMaxPending;
+    }
+
+    /**
+     * The maximum number of records of a partition waiting to be processed by
+     * the lanes, when using consumerLanes. When a partition has more pending
+     * records, then the partition is paused until half of the records are
+     * processed.
+     */
+    public void setConsumerLaneMaxPending(int consumerLaneMaxPending) {
+        this.consumerLaneMaxPending = consumerLaneMaxPending;
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether to route the records of each poll as a single exchange, where
+     * the message body is the list of exchanges of the records. The offsets
+     * are committed when the exchange of the batch is completed. The size of
+     * the batches is limited by maxPollRecords. The batching cannot be used
+     * with consumerLanes.
+     */
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
     public String getClientId() {
         return clientId;
     }
@@ -1659,6 +1729,21 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.recordMetadata = recordMetadata;
     }
 
+    public int getMaxInFlightRecords() {
+        return maxInFlightRecords;
+    }
+
+    /**
+     * The maximum number of records sent by the producer which are not yet
+     * acknowledged by the brokers. When the limit is reached, then the
+     * remaining records of an exchange are sent when records are acknowledged,
+     * without blocking the routing thread (unless the synchronous option is
+     * enabled). The default value is 0 which means there is no limit.
+     */
+    public void setMaxInFlightRecords(int maxInFlightRecords) {
+        this.maxInFlightRecords = maxInFlightRecords;
+    }
+
     public String getInterceptorClasses() {
         return interceptorClasses;
     }
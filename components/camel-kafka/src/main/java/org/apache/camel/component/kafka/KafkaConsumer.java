@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,11 @@ public class KafkaConsumer extends DefaultConsumer {
 
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers);
 
+        if (endpoint.getConfiguration().getConsumerLanes() > 0) {
+            // the lanes commit the offsets of the completed records, as auto commit would also commit the pending records
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
+
         if (endpoint.getConfiguration().getGroupId() != null) {
             String groupId = endpoint.getConfiguration().getGroupId();
             props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -122,6 +128,14 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
 
+        int lanes = endpoint.getConfiguration().getConsumerLanes();
+        if (lanes > 0 && endpoint.getConfiguration().isAllowManualCommit()) {
+            throw new IllegalArgumentException("The option allowManualCommit cannot be used together with consumerLanes");
+        }
+        if (lanes > 0 && endpoint.getConfiguration().isBatching()) {
+            throw new IllegalArgumentException("The option batching cannot be used together with consumerLanes");
+        }
+
         executor = endpoint.createExecutor();
 
         String topic = endpoint.getConfiguration().getTopic();
@@ -131,7 +145,16 @@ public class KafkaConsumer extends DefaultConsumer {
         }
 
         for (int i = 0; i < endpoint.getConfiguration().getConsumersCount(); i++) {
-            KafkaFetchRecords task = new KafkaFetchRecords(topic, pattern, i + "", getProps());
+            KafkaConsumerLanes consumerLanes = null;
+            if (lanes > 0) {
+                ExecutorService[] executors = new ExecutorService[lanes];
+                for (int j = 0; j < lanes; j++) {
+                    executors[j] = endpoint.createConsumerLaneExecutor(i * lanes + j);
+                }
+                boolean orderByKey = "key".equals(endpoint.getConfiguration().getConsumerLaneOrdering());
+                consumerLanes = new KafkaConsumerLanes(executors, orderByKey, endpoint.getConfiguration().getConsumerLaneMaxPending());
+            }
+            KafkaFetchRecords task = new KafkaFetchRecords(topic, pattern, i + "", getProps(), consumerLanes);
             // pre-initialize task during startup so if there is any error we
             // have it thrown asap
             task.preInit();
@@ -155,6 +178,11 @@ public class KafkaConsumer extends DefaultConsumer {
                 executor.shutdownNow();
             }
         }
+        for (KafkaFetchRecords task : tasks) {
+            if (task.lanes != null) {
+                task.lanes.shutdown(getEndpoint().getCamelContext().getExecutorServiceManager());
+            }
+        }
         tasks.clear();
         executor = null;
 
@@ -175,12 +203,15 @@ public class KafkaConsumer extends DefaultConsumer {
         private final String threadId;
         private final Properties kafkaProps;
         private final Map<String, Long> lastProcessedOffset = new ConcurrentHashMap<>();
+        // the worker lanes which process the records in parallel (optional)
+        private final KafkaConsumerLanes lanes;
 
-        KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps) {
+        KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps, KafkaConsumerLanes lanes) {
             this.topicName = topicName;
             this.topicPattern = topicPattern;
             this.threadId = topicName + "-" + "Thread " + id;
             this.kafkaProps = kafkaProps;
+            this.lanes = lanes;
         }
 
         @Override
@@ -248,6 +279,11 @@ public class KafkaConsumer extends DefaultConsumer {
             boolean unsubscribing = false;
 
             try {
+                if (lanes != null) {
+                    // discard the pending records from a previous connection
+                    lanes.reset();
+                }
+
                 if (topicPattern != null) {
                     log.info("Subscribing {} to topic pattern {}", threadId, topicName);
                     consumer.subscribe(topicPattern, this);
@@ -306,6 +342,27 @@ public class KafkaConsumer extends DefaultConsumer {
                     log.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, pollTimeoutMs);
                     ConsumerRecords<Object, Object> allRecords = consumer.poll(pollTimeoutMs);
 
+                    if (lanes != null) {
+                        dispatchToLanes(allRecords);
+                        if (lanes.isFailed()) {
+                            // force commit so we resume on next poll where we failed
+                            commitCompletedOffsets(offsetRepository, true);
+                            reConnect = true;
+                        } else {
+                            commitCompletedOffsets(offsetRepository, false);
+                            lanes.updatePausedPartitions(consumer);
+                        }
+                        continue;
+                    }
+
+                    if (endpoint.getConfiguration().isBatching()) {
+                        if (!allRecords.isEmpty() && !processBatch(allRecords, offsetRepository)) {
+                            // force re-connect
+                            reConnect = true;
+                        }
+                        continue;
+                    }
+
                     for (TopicPartition partition : allRecords.partitions()) {
 
                         long partitionLastOffset = -1;
@@ -386,7 +443,14 @@ public class KafkaConsumer extends DefaultConsumer {
                     }
                 }
 
-                if (!reConnect) {
+                if (!reConnect && lanes != null) {
+                    // let the lanes complete the pending records before the final commit
+                    lanes.awaitCompleted();
+                    commitCompletedOffsets(offsetRepository, lanes.isFailed());
+                }
+
+                // the position of the consumer is past the failed record if a lane has failed
+                if (!reConnect && (lanes == null || !lanes.isFailed())) {
                     if (isAutoCommitEnabled()) {
                         if ("async".equals(endpoint.getConfiguration().getAutoCommitOnStop())) {
                             log.info("Auto commitAsync on stop {} from topic {}", threadId, topicName);
@@ -402,7 +466,7 @@ public class KafkaConsumer extends DefaultConsumer {
                 // we are unsubscribing so do not re connect
                 unsubscribing = true;
                 consumer.unsubscribe();
-            } catch (InterruptException e) {
+            } catch (InterruptException | InterruptedException e) {
                 getExceptionHandler().handleException("Interrupted while consuming " + threadId + " from kafka topic", e);
                 log.info("Unsubscribing {} from topic {}", threadId, topicName);
                 consumer.unsubscribe();
@@ -426,6 +490,134 @@ public class KafkaConsumer extends DefaultConsumer {
             return reConnect;
         }
 
+        private void dispatchToLanes(ConsumerRecords<Object, Object> allRecords) {
+            for (TopicPartition partition : allRecords.partitions()) {
+                List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+                log.debug("Records count {} received for partition {}", partitionRecords.size(), partition);
+                for (int i = 0; i < partitionRecords.size(); i++) {
+                    ConsumerRecord<Object, Object> record = partitionRecords.get(i);
+                    boolean last = i == partitionRecords.size() - 1;
+                    lanes.dispatch(partition, record, () -> processRecord(record, last));
+                }
+            }
+        }
+
+        /**
+         * Processes the records of the poll as a single exchange, with the list of the exchanges of the records as
+         * message body.
+         *
+         * @return <tt>false</tt> if the processing failed and the consumer should break out
+         */
+        private boolean processBatch(ConsumerRecords<Object, Object> allRecords, StateRepository<String, String> offsetRepository) {
+            List<Exchange> exchanges = new ArrayList<>(allRecords.count());
+            for (TopicPartition partition : allRecords.partitions()) {
+                List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+                log.debug("Records count {} received for partition {}", partitionRecords.size(), partition);
+                for (int i = 0; i < partitionRecords.size(); i++) {
+                    ConsumerRecord<Object, Object> record = partitionRecords.get(i);
+                    Exchange exchange = createRecordExchange(record, i == partitionRecords.size() - 1);
+                    if (endpoint.getConfiguration().isAllowManualCommit()) {
+                        KafkaManualCommit manual = endpoint.getComponent().getKafkaManualCommitFactory().newInstance(exchange, consumer, topicName, threadId,
+                                                                                                                     offsetRepository, partition, record.offset());
+                        exchange.getIn().setHeader(KafkaConstants.MANUAL_COMMIT, manual);
+                    }
+                    exchanges.add(exchange);
+                }
+            }
+
+            Exchange exchange = endpoint.createExchange();
+            exchange.getIn().setBody(exchanges);
+            exchange.setProperty(Exchange.BATCH_SIZE, exchanges.size());
+
+            try {
+                processor.process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (exchange.getException() != null) {
+                if (endpoint.getConfiguration().isBreakOnFirstError()) {
+                    log.warn("Error during processing {} from topic: {}. Will seek consumer to the first records of the batch and re-connect and start polling again.",
+                             exchange, topicName);
+                    // the batch is consumed again, so the offsets must not be committed on close
+                    for (TopicPartition partition : allRecords.partitions()) {
+                        consumer.seek(partition, allRecords.records(partition).get(0).offset());
+                    }
+                    return false;
+                }
+                getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+            }
+
+            for (TopicPartition partition : allRecords.partitions()) {
+                List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+                long partitionLastOffset = partitionRecords.get(partitionRecords.size() - 1).offset();
+                lastProcessedOffset.put(serializeOffsetKey(partition), partitionLastOffset);
+                commitOffset(offsetRepository, partition, partitionLastOffset, false);
+            }
+            return true;
+        }
+
+        /**
+         * Processes the record in a lane.
+         *
+         * @return <tt>false</tt> if the processing failed and the consumer should break out
+         */
+        private boolean processRecord(ConsumerRecord<Object, Object> record, boolean last) {
+            Exchange exchange = createRecordExchange(record, last);
+
+            try {
+                processor.process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (exchange.getException() != null) {
+                if (endpoint.getConfiguration().isBreakOnFirstError()) {
+                    log.warn("Error during processing {} from topic: {}. Will commit the offsets before the failed record and re-connect and start polling again.",
+                             exchange, topicName);
+                    return false;
+                }
+                getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+            }
+            return true;
+        }
+
+        private Exchange createRecordExchange(ConsumerRecord<Object, Object> record, boolean last) {
+            if (log.isTraceEnabled()) {
+                log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(), record.value());
+            }
+            Exchange exchange = endpoint.createKafkaExchange(record);
+
+            propagateHeaders(record, exchange, endpoint.getConfiguration());
+
+            // if not auto commit then we have additional information on the exchange
+            if (!isAutoCommitEnabled()) {
+                exchange.getIn().setHeader(KafkaConstants.LAST_RECORD_BEFORE_COMMIT, last);
+            }
+            return exchange;
+        }
+
+        private void commitCompletedOffsets(StateRepository<String, String> offsetRepository, boolean forceCommit) {
+            Map<TopicPartition, Long> offsets = lanes.getCompletedOffsets(forceCommit);
+            if (offsets.isEmpty()) {
+                return;
+            }
+            Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+            for (Map.Entry<TopicPartition, Long> entry : offsets.entrySet()) {
+                lastProcessedOffset.put(serializeOffsetKey(entry.getKey()), entry.getValue());
+                if (offsetRepository != null || forceCommit) {
+                    commitOffset(offsetRepository, entry.getKey(), entry.getValue(), forceCommit);
+                } else {
+                    commits.put(entry.getKey(), new OffsetAndMetadata(entry.getValue() + 1));
+                }
+            }
+            if (!commits.isEmpty() && isAutoCommitEnabled()) {
+                // the auto commit of the kafka consumer is turned off, so commit the offsets of the completed records
+                log.debug("CommitAsync {} from topic {} with offsets: {}", threadId, topicName, commits);
+                consumer.commitAsync(commits, null);
+            }
+        }
+
         private void commitOffset(StateRepository<String, String> offsetRepository, TopicPartition partition, long partitionLastOffset, boolean forceCommit) {
             if (partitionLastOffset != -1) {
                 if (!endpoint.getConfiguration().isAllowManualCommit() && offsetRepository != null) {
@@ -448,6 +640,19 @@ public class KafkaConsumer extends DefaultConsumer {
         public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
             log.debug("onPartitionsRevoked: {} from topic {}", threadId, topicName);
 
+            if (lanes != null) {
+                // let the lanes complete the pending records of the partitions before committing
+                try {
+                    lanes.awaitCompleted(partitions);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (Map.Entry<TopicPartition, Long> entry : lanes.getCompletedOffsets(true).entrySet()) {
+                    lastProcessedOffset.put(serializeOffsetKey(entry.getKey()), entry.getValue());
+                }
+                lanes.remove(partitions);
+            }
+
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
             for (TopicPartition partition : partitions) {
                 String offsetKey = serializeOffsetKey(partition);
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches the records polled by a Kafka consumer thread to worker lanes, which process the records in parallel.
+ * <p/>
+ * The records of a partition, or with the same key, are always dispatched to the same lane, so they are processed
+ * in order. The pending records are tracked per partition, so the offset to commit is never past a record which is
+ * not completed. When a partition has too many pending records, then the partition is paused until the lanes have
+ * caught up.
+ * <p/>
+ * The methods, except {@link #shutdown(ExecutorServiceManager)}, must be called from the consumer thread.
+ */
+class KafkaConsumerLanes {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaConsumerLanes.class);
+
+    private final ExecutorService[] lanes;
+    private final boolean orderByKey;
+    private final int maxPending;
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private volatile int generation;
+    private volatile boolean failed;
+
+    KafkaConsumerLanes(ExecutorService[] lanes, boolean orderByKey, int maxPending) {
+        this.lanes = lanes;
+        this.orderByKey = orderByKey;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Dispatches the record to its lane.
+     *
+     * @param partition the partition of the record
+     * @param record    the record
+     * @param task      processes the record, and returns <tt>false</tt> if the processing failed, and the consumer should
+     *                  stop processing records
+     */
+    void dispatch(TopicPartition partition, ConsumerRecord<Object, Object> record, BooleanSupplier task) {
+        PartitionOffsets offsets = partitions.computeIfAbsent(partition, p -> new PartitionOffsets());
+        long offset = record.offset();
+        offsets.dispatched(offset);
+
+        int current = generation;
+        lane(partition, record).execute(() -> {
+            // skip the records after a failure, as they are polled again after re-connecting
+            if (failed || current != generation) {
+                return;
+            }
+            if (task.getAsBoolean()) {
+                offsets.completed(offset);
+            } else {
+                failed = true;
+            }
+        });
+    }
+
+    /**
+     * Whether processing a record failed, and the consumer should stop processing records.
+     */
+    boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Gets the last completed offset of the partitions, where all the records before the offset are completed.
+     *
+     * @param all <tt>true</tt> to get all the partitions, or <tt>false</tt> to only get the partitions where the
+     *            offset has moved since last time
+     */
+    Map<TopicPartition, Long> getCompletedOffsets(boolean all) {
+        Map<TopicPartition, Long> answer = new HashMap<>();
+        for (Map.Entry<TopicPartition, PartitionOffsets> entry : partitions.entrySet()) {
+            PartitionOffsets offsets = entry.getValue();
+            long offset = offsets.getLastCompleted();
+            if (offset != -1 && (all || offset != offsets.reported)) {
+                offsets.reported = offset;
+                answer.put(entry.getKey(), offset);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Pauses the partitions which have too many pending records, and resumes the paused partitions which the lanes
+     * have caught up with.
+     */
+    void updatePausedPartitions(Consumer<?, ?> consumer) {
+        for (Map.Entry<TopicPartition, PartitionOffsets> entry : partitions.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            int pending = entry.getValue().getPending();
+            if (pending >= maxPending) {
+                if (paused.add(partition)) {
+                    LOG.debug("Pausing partition {} with {} pending records", partition, pending);
+                    consumer.pause(Collections.singleton(partition));
+                }
+            } else if (pending <= maxPending / 2 && paused.remove(partition)) {
+                LOG.debug("Resuming partition {} with {} pending records", partition, pending);
+                consumer.resume(Collections.singleton(partition));
+            }
+        }
+    }
+
+    /**
+     * Waits until all the pending records of the partitions are completed, or processing a record failed.
+     */
+    void awaitCompleted(Collection<TopicPartition> topicPartitions) throws InterruptedException {
+        for (TopicPartition partition : topicPartitions) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets != null) {
+                offsets.awaitCompleted();
+            }
+        }
+    }
+
+    /**
+     * Waits until all the pending records are completed, or processing a record failed.
+     */
+    void awaitCompleted() throws InterruptedException {
+        awaitCompleted(partitions.keySet());
+    }
+
+    /**
+     * Stops tracking the partitions, such as when they are revoked.
+     */
+    void remove(Collection<TopicPartition> topicPartitions) {
+        for (TopicPartition partition : topicPartitions) {
+            partitions.remove(partition);
+            paused.remove(partition);
+        }
+    }
+
+    /**
+     * Discards the pending records, and waits for the lanes to finish the records they are processing, so the lanes
+     * can be used with a new Kafka consumer.
+     */
+    void reset() throws InterruptedException {
+        generation++;
+        for (ExecutorService lane : lanes) {
+            try {
+                lane.submit(() -> { }).get();
+            } catch (ExecutionException e) {
+                // ignore as the task does nothing
+            }
+        }
+        partitions.clear();
+        paused.clear();
+        failed = false;
+    }
+
+    void shutdown(ExecutorServiceManager manager) {
+        generation++;
+        for (ExecutorService lane : lanes) {
+            manager.shutdownGraceful(lane);
+        }
+    }
+
+    private ExecutorService lane(TopicPartition partition, ConsumerRecord<Object, Object> record) {
+        Object key = orderByKey ? record.key() : null;
+        int hash;
+        if (key instanceof byte[]) {
+            hash = Arrays.hashCode((byte[]) key);
+        } else if (key != null) {
+            hash = key.hashCode();
+        } else {
+            hash = partition.hashCode();
+        }
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    /**
+     * The offsets of the pending records of a partition.
+     */
+    private final class PartitionOffsets {
+
+        private final TreeSet<Long> pending = new TreeSet<>();
+        private long next = -1;
+        // only used by the consumer thread
+        private long reported = -1;
+
+        synchronized void dispatched(long offset) {
+            pending.add(offset);
+            next = offset + 1;
+        }
+
+        synchronized void completed(long offset) {
+            pending.remove(offset);
+            if (pending.isEmpty()) {
+                notifyAll();
+            }
+        }
+
+        synchronized int getPending() {
+            return pending.size();
+        }
+
+        synchronized long getLastCompleted() {
+            if (next == -1) {
+                return -1;
+            }
+            return (pending.isEmpty() ? next : pending.first()) - 1;
+        }
+
+        synchronized void awaitCompleted() throws InterruptedException {
+            // the failed records are never completed, so check for failures now and then
+            while (!pending.isEmpty() && !failed) {
+                wait(100);
+            }
+        }
+    }
+}
@@ -18,21 +18,32 @@ package org.apache.camel.component.kafka;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.kafka.serde.KafkaHeaderSerializer;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.support.DefaultAsyncProducer;
@@ -41,10 +52,13 @@ import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.utils.Bytes;
 
+@ManagedResource(description = "Managed Kafka Producer")
 public class KafkaProducer extends DefaultAsyncProducer {
 
     @SuppressWarnings("rawtypes")
@@ -53,6 +67,13 @@ public class KafkaProducer extends DefaultAsyncProducer {
     private ExecutorService workerPool;
     private boolean shutdownWorkerPool;
     private volatile boolean closeKafkaProducer;
+    // limits the records which are not yet acknowledged (optional)
+    private Semaphore inFlightRecords;
+    // the exchanges waiting for a permit to send their remaining records
+    private final Queue<KafkaProducerCallBack> waiting = new ConcurrentLinkedQueue<>();
+    private final LongAdder sendCount = new LongAdder();
+    private final LongAdder sendTotalTime = new LongAdder();
+    private final AtomicLong sendMaxTime = new AtomicLong();
 
     public KafkaProducer(KafkaEndpoint endpoint) {
         super(endpoint);
@@ -97,6 +118,80 @@ public class KafkaProducer extends DefaultAsyncProducer {
         this.workerPool = workerPool;
     }
 
+    @ManagedAttribute(description = "The maximum number of records which are not yet acknowledged (0 is no limit)")
+    public int getMaxInFlightRecords() {
+        return endpoint.getConfiguration().getMaxInFlightRecords();
+    }
+
+    @ManagedAttribute(description = "The number of records which are not yet acknowledged, when maxInFlightRecords is in use")
+    public int getInFlightRecords() {
+        Semaphore semaphore = inFlightRecords;
+        return semaphore != null ? getMaxInFlightRecords() - semaphore.availablePermits() : 0;
+    }
+
+    @ManagedAttribute(description = "The number of exchanges where all the records are acknowledged")
+    public long getSendCount() {
+        return sendCount.sum();
+    }
+
+    @ManagedAttribute(description = "The mean time in millis from sending the first record of an exchange until all its records are acknowledged")
+    public long getMeanSendTime() {
+        long count = sendCount.sum();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(sendTotalTime.sum() / count) : 0;
+    }
+
+    @ManagedAttribute(description = "The max time in millis from sending the first record of an exchange until all its records are acknowledged")
+    public long getMaxSendTime() {
+        return TimeUnit.NANOSECONDS.toMillis(sendMaxTime.get());
+    }
+
+    @ManagedAttribute(description = "The average size of the record batches sent by the Kafka producer relative to the batch size (0 to 1)")
+    public double getBatchFillRatio() {
+        Integer batchSize = endpoint.getConfiguration().getProducerBatchSize();
+        double size = getProducerMetric("batch-size-avg");
+        if (batchSize == null || batchSize <= 0 || Double.isNaN(size)) {
+            return 0;
+        }
+        return size / batchSize;
+    }
+
+    @ManagedAttribute(description = "The average number of records per request sent by the Kafka producer")
+    public double getRecordsPerRequest() {
+        double records = getProducerMetric("records-per-request-avg");
+        return Double.isNaN(records) ? 0 : records;
+    }
+
+    @ManagedOperation(description = "Reset the send statistics")
+    public void resetSendStatistics() {
+        sendCount.reset();
+        sendTotalTime.reset();
+        sendMaxTime.set(0);
+    }
+
+    private double getProducerMetric(String name) {
+        @SuppressWarnings("rawtypes")
+        org.apache.kafka.clients.producer.KafkaProducer producer = kafkaProducer;
+        if (producer == null) {
+            return Double.NaN;
+        }
+        @SuppressWarnings("unchecked")
+        Map<MetricName, ? extends Metric> metrics = producer.metrics();
+        for (Map.Entry<MetricName, ? extends Metric> entry : metrics.entrySet()) {
+            if ("producer-metrics".equals(entry.getKey().group()) && name.equals(entry.getKey().name())) {
+                Object value = entry.getValue().metricValue();
+                return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private void sent(long start) {
+        long time = System.nanoTime() - start;
+        sendCount.increment();
+        sendTotalTime.add(time);
+        sendMaxTime.accumulateAndGet(time, Math::max);
+    }
+
     @Override
     @SuppressWarnings("rawtypes")
     protected void doStart() throws Exception {
@@ -121,6 +216,9 @@ public class KafkaProducer extends DefaultAsyncProducer {
             // we create a thread pool so we should also shut it down
             shutdownWorkerPool = true;
         }
+
+        int maxInFlightRecords = endpoint.getConfiguration().getMaxInFlightRecords();
+        inFlightRecords = maxInFlightRecords > 0 ? new Semaphore(maxInFlightRecords) : null;
     }
 
     @Override
@@ -131,6 +229,12 @@ public class KafkaProducer extends DefaultAsyncProducer {
             kafkaProducer = null;
         }
 
+        // fail the exchanges which are still waiting to send their remaining records
+        KafkaProducerCallBack cb;
+        while ((cb = waiting.poll()) != null) {
+            cb.fail(new RejectedExecutionException("KafkaProducer is stopped"));
+        }
+
         if (shutdownWorkerPool && workerPool != null) {
             endpoint.getCamelContext().getExecutorServiceManager().shutdown(workerPool);
             workerPool = null;
@@ -248,8 +352,9 @@ public class KafkaProducer extends DefaultAsyncProducer {
     @SuppressWarnings({"unchecked", "rawtypes"})
     // Camel calls this method if the endpoint isSynchronous(), as the KafkaEndpoint creates a SynchronousDelegateProducer for it
     public void process(Exchange exchange) throws Exception {
+        long start = System.nanoTime();
         Iterator<ProducerRecord> c = createRecorder(exchange);
-        List<Future<RecordMetadata>> futures = new LinkedList<>();
+        Deque<Future<RecordMetadata>> futures = new ArrayDeque<>();
         List<RecordMetadata> recordMetadatas = new ArrayList<>();
 
         if (endpoint.getConfiguration().isRecordMetadata()) {
@@ -260,39 +365,89 @@ public class KafkaProducer extends DefaultAsyncProducer {
             }
         }
 
-        while (c.hasNext()) {
-            ProducerRecord rec = c.next();
-            if (log.isDebugEnabled()) {
-                log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
+        try {
+            while (c.hasNext()) {
+                ProducerRecord rec = c.next();
+                if (log.isDebugEnabled()) {
+                    log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
+                }
+                if (inFlightRecords != null) {
+                    // wait for our own records first, as they may be holding the permits we are waiting for
+                    while (!inFlightRecords.tryAcquire()) {
+                        if (futures.isEmpty()) {
+                            inFlightRecords.acquire();
+                            break;
+                        }
+                        recordMetadatas.add(awaitSent(futures.poll()));
+                    }
+                }
+                try {
+                    futures.add(kafkaProducer.send(rec));
+                } catch (RuntimeException e) {
+                    if (inFlightRecords != null) {
+                        inFlightRecords.release();
+                    }
+                    throw e;
+                }
+            }
+            while (!futures.isEmpty()) {
+                //wait for them all to be sent
+                recordMetadatas.add(awaitSent(futures.poll()));
+            }
+        } finally {
+            if (inFlightRecords != null && !futures.isEmpty()) {
+                inFlightRecords.release(futures.size());
             }
-            futures.add(kafkaProducer.send(rec));
         }
-        for (Future<RecordMetadata> f : futures) {
-            //wait for them all to be sent
-            recordMetadatas.add(f.get());
+        sent(start);
+    }
+
+    private RecordMetadata awaitSent(Future<RecordMetadata> future) throws Exception {
+        try {
+            return future.get();
+        } finally {
+            if (inFlightRecords != null) {
+                inFlightRecords.release();
+            }
         }
     }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        KafkaProducerCallBack cb;
         try {
             Iterator<ProducerRecord> c = createRecorder(exchange);
-            KafkaProducerCallBack cb = new KafkaProducerCallBack(exchange, callback);
-            while (c.hasNext()) {
-                cb.increment();
-                ProducerRecord rec = c.next();
-                if (log.isDebugEnabled()) {
-                    log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
-                }
-                kafkaProducer.send(rec, cb);
-            }
-            return cb.allSent();
+            cb = new KafkaProducerCallBack(exchange, callback, c);
         } catch (Exception ex) {
             exchange.setException(ex);
+            callback.done(true);
+            return true;
+        }
+        return cb.send(true, false);
+    }
+
+    /**
+     * Releases a permit of a record which is no longer in flight, and hands over the released permits to the
+     * exchanges waiting to send their remaining records.
+     */
+    private void releaseInFlight() {
+        if (inFlightRecords != null) {
+            inFlightRecords.release();
+            resumeWaiting();
+        }
+    }
+
+    private void resumeWaiting() {
+        while (!waiting.isEmpty() && inFlightRecords.tryAcquire()) {
+            KafkaProducerCallBack next = waiting.poll();
+            if (next != null) {
+                next.resume();
+            } else {
+                // another thread took the waiting exchange, so check again after releasing the permit
+                inFlightRecords.release();
+            }
         }
-        callback.done(true);
-        return true;
     }
 
     /**
@@ -322,13 +477,19 @@ public class KafkaProducer extends DefaultAsyncProducer {
 
         private final Exchange exchange;
         private final AsyncCallback callback;
+        @SuppressWarnings("rawtypes")
+        private final Iterator<ProducerRecord> records;
         private final AtomicInteger count = new AtomicInteger(1);
-        private final List<RecordMetadata> recordMetadatas = new ArrayList<>();
+        private final List<RecordMetadata> recordMetadatas;
+        private final long start = System.nanoTime();
 
-        KafkaProducerCallBack(Exchange exchange, AsyncCallback callback) {
+        @SuppressWarnings("rawtypes")
+        KafkaProducerCallBack(Exchange exchange, AsyncCallback callback, Iterator<ProducerRecord> records) {
             this.exchange = exchange;
             this.callback = callback;
-            if (endpoint.getConfiguration().isRecordMetadata()) {
+            this.records = records;
+            this.recordMetadatas = endpoint.getConfiguration().isRecordMetadata() ? new ArrayList<>() : null;
+            if (recordMetadatas != null) {
                 if (exchange.hasOut()) {
                     exchange.getOut().setHeader(KafkaConstants.KAFKA_RECORDMETA, recordMetadatas);
                 } else {
@@ -337,29 +498,104 @@ public class KafkaProducer extends DefaultAsyncProducer {
             }
         }
 
-        void increment() {
-            count.incrementAndGet();
+        /**
+         * Sends the remaining records of the exchange. When no more records can be in flight, then the remaining
+         * records are deferred until another record is acknowledged and releases its permit, instead of blocking
+         * the calling thread.
+         *
+         * @param sync   whether this is called by the routing thread, or by a worker sending the deferred records
+         * @param permit whether a permit is already acquired for the next record
+         * @return <tt>true</tt> if the exchange is done synchronously
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        boolean send(boolean sync, boolean permit) {
+            try {
+                while (records.hasNext()) {
+                    if (!permit && inFlightRecords != null
+                            && (!waiting.isEmpty() || !inFlightRecords.tryAcquire())) {
+                        log.trace("Too many records in flight, deferring the remaining records of the exchange.");
+                        waiting.add(this);
+                        // a permit may have been released before we were added
+                        resumeWaiting();
+                        return false;
+                    }
+                    permit = false;
+                    ProducerRecord rec;
+                    try {
+                        rec = records.next();
+                    } catch (RuntimeException e) {
+                        releaseInFlight();
+                        throw e;
+                    }
+                    if (log.isDebugEnabled()) {
+                        log.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
+                    }
+                    count.incrementAndGet();
+                    try {
+                        kafkaProducer.send(rec, this);
+                    } catch (RuntimeException e) {
+                        // the callback is not called when send fails, so the record is not in flight
+                        count.decrementAndGet();
+                        releaseInFlight();
+                        throw e;
+                    }
+                }
+                if (permit) {
+                    // there was no record for the permit we were given
+                    releaseInFlight();
+                }
+            } catch (Exception ex) {
+                // stop sending, and continue routing when the records which are already sent are acknowledged
+                exchange.setException(ex);
+            }
+            return allSent(sync);
+        }
+
+        /**
+         * Sends the deferred records with the given permit, using the worker pool as the permit is released by a
+         * thread which should not be used for sending.
+         */
+        void resume() {
+            try {
+                workerPool.submit(() -> send(false, true));
+            } catch (RejectedExecutionException e) {
+                inFlightRecords.release();
+                fail(e);
+            }
+        }
+
+        /**
+         * Fails the exchange without sending its remaining records.
+         */
+        void fail(Exception cause) {
+            exchange.setException(cause);
+            allSent(false);
         }
 
-        boolean allSent() {
+        private boolean allSent(boolean sync) {
             if (count.decrementAndGet() == 0) {
                 log.trace("All messages sent, continue routing.");
+                sent(start);
                 //was able to get all the work done while queuing the requests
-                callback.done(true);
-                return true;
+                callback.done(sync);
+                return sync;
             }
             return false;
         }
 
         @Override
         public void onCompletion(RecordMetadata recordMetadata, Exception e) {
+            releaseInFlight();
             if (e != null) {
                 exchange.setException(e);
             }
 
-            recordMetadatas.add(recordMetadata);
+            if (recordMetadatas != null) {
+                recordMetadatas.add(recordMetadata);
+            }
 
             if (count.decrementAndGet() == 0) {
+                sent(start);
                 // use worker pool to continue routing the exchange
                 // as this thread is from Kafka Callback and should not be used by Camel routing
                 workerPool.submit(new Runnable() {
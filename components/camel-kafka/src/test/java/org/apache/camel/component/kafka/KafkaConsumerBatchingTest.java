@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KafkaConsumerBatchingTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "batching";
+
+    @EndpointInject("kafka:" + TOPIC
+            + "?groupId=group1"
+            + "&autoOffsetReset=earliest"
+            + "&batching=true"
+            + "&maxPollRecords=5"
+    )
+    private Endpoint from;
+
+    @EndpointInject("mock:result")
+    private MockEndpoint to;
+
+    @EndpointInject("mock:batch")
+    private MockEndpoint batch;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    @Before
+    public void before() {
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(from).routeId("foo")
+                    .to(batch)
+                    .split(body()).setBody(simple("${body.in.body}")).to(to);
+            }
+        };
+    }
+
+    @Test
+    public void kafkaRecordsAreConsumedInBatches() throws Exception {
+        to.expectedBodiesReceived("m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8", "m9", "m10");
+        to.message(0).header(KafkaConstants.TOPIC).isEqualTo(TOPIC);
+        to.message(0).header(KafkaConstants.OFFSET).isEqualTo(0L);
+
+        for (int k = 1; k <= 10; k++) {
+            String msg = "m" + k;
+            ProducerRecord<String, String> data = new ProducerRecord<>(TOPIC, "1", msg);
+            producer.send(data);
+        }
+
+        to.assertIsSatisfied(3000);
+
+        // the records are routed in batches of at most 5 records
+        assertTrue(batch.getReceivedCounter() >= 2);
+        for (Exchange exchange : batch.getReceivedExchanges()) {
+            List<?> records = exchange.getIn().getBody(List.class);
+            assertTrue(records.size() <= 5);
+            assertEquals(records.size(), exchange.getProperty(Exchange.BATCH_SIZE));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class KafkaConsumerLanesTest {
+
+    private final TopicPartition partition0 = new TopicPartition("test", 0);
+    private final TopicPartition partition1 = new TopicPartition("test", 1);
+    private ExecutorService[] executors;
+
+    @After
+    public void tearDown() {
+        for (ExecutorService executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+
+    private KafkaConsumerLanes createLanes(int size, boolean orderByKey, int maxPending) {
+        executors = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            executors[i] = Executors.newSingleThreadExecutor();
+        }
+        return new KafkaConsumerLanes(executors, orderByKey, maxPending);
+    }
+
+    private static ConsumerRecord<Object, Object> record(TopicPartition partition, long offset, Object key) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, key, "value-" + offset);
+    }
+
+    @Test
+    public void testRecordsOfPartitionAreProcessedInOrder() throws Exception {
+        KafkaConsumerLanes lanes = createLanes(4, false, 1000);
+        List<Long> processed0 = Collections.synchronizedList(new ArrayList<>());
+        List<Long> processed1 = Collections.synchronizedList(new ArrayList<>());
+
+        for (long offset = 0; offset < 100; offset++) {
+            final long current = offset;
+            lanes.dispatch(partition0, record(partition0, offset, null), () -> processed0.add(current));
+            lanes.dispatch(partition1, record(partition1, offset, null), () -> processed1.add(current));
+        }
+        lanes.awaitCompleted();
+
+        assertEquals(100, processed0.size());
+        assertEquals(100, processed1.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, processed0.get(i).longValue());
+            assertEquals(i, processed1.get(i).longValue());
+        }
+
+        Map<TopicPartition, Long> offsets = lanes.getCompletedOffsets(false);
+        assertEquals(99L, offsets.get(partition0).longValue());
+        assertEquals(99L, offsets.get(partition1).longValue());
+        // the offsets have not moved
+        assertTrue(lanes.getCompletedOffsets(false).isEmpty());
+        assertEquals(2, lanes.getCompletedOffsets(true).size());
+    }
+
+    @Test
+    public void testCompletedOffsetIsNotPastPendingRecord() throws Exception {
+        KafkaConsumerLanes lanes = createLanes(2, true, 1000);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // the records with key a are blocked, while the records with key b are processed
+        lanes.dispatch(partition0, record(partition0, 0, "a"), () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        CountDownLatch done = new CountDownLatch(3);
+        for (long offset = 1; offset <= 3; offset++) {
+            lanes.dispatch(partition0, record(partition0, offset, "b"), () -> {
+                done.countDown();
+                return true;
+            });
+        }
+        done.await();
+        assertTrue(lanes.getCompletedOffsets(true).isEmpty());
+
+        latch.countDown();
+        lanes.awaitCompleted();
+        assertEquals(3L, lanes.getCompletedOffsets(false).get(partition0).longValue());
+    }
+
+    @Test
+    public void testPauseAndResumePartition() throws Exception {
+        KafkaConsumerLanes lanes = createLanes(1, false, 4);
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        for (long offset = 0; offset < 4; offset++) {
+            lanes.dispatch(partition0, record(partition0, offset, null), () -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            });
+        }
+        lanes.updatePausedPartitions(consumer);
+        verify(consumer).pause(Collections.singleton(partition0));
+        verify(consumer, never()).resume(Collections.singleton(partition0));
+
+        latch.countDown();
+        lanes.awaitCompleted();
+        lanes.updatePausedPartitions(consumer);
+        verify(consumer).resume(Collections.singleton(partition0));
+    }
+
+    @Test
+    public void testFailedRecord() throws Exception {
+        KafkaConsumerLanes lanes = createLanes(1, false, 1000);
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+
+        for (long offset = 0; offset < 10; offset++) {
+            final long current = offset;
+            lanes.dispatch(partition0, record(partition0, offset, null), () -> current != 5 && processed.add(current));
+        }
+        lanes.awaitCompleted();
+
+        assertTrue(lanes.isFailed());
+        // the records after the failed record are skipped
+        assertEquals(5, processed.size());
+        assertEquals(4L, lanes.getCompletedOffsets(true).get(partition0).longValue());
+
+        lanes.reset();
+        assertFalse(lanes.isFailed());
+        assertTrue(lanes.getCompletedOffsets(true).isEmpty());
+    }
+}
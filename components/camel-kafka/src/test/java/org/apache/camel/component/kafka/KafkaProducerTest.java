@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.kafka;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
@@ -40,6 +41,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -161,6 +163,65 @@ public class KafkaProducerTest {
         assertRecordMetadataExists();
     }
 
+    @Test
+    public void processAsyncLimitsInFlightRecords() throws Exception {
+        endpoint.getConfiguration().setTopic("sometopic");
+        endpoint.getConfiguration().setMaxInFlightRecords(1);
+        producer.start();
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        Mockito.when(exchange.getOut()).thenReturn(out);
+
+        in.setBody(Arrays.asList("a", "b"));
+
+        // the routing thread is not blocked when the limit is reached
+        assertFalse(producer.process(exchange, callback));
+
+        org.apache.kafka.clients.producer.KafkaProducer kp = producer.getKafkaProducer();
+        ArgumentCaptor<Callback> callBackCaptor = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(kp, Mockito.times(1)).send(any(ProducerRecord.class), callBackCaptor.capture());
+        assertEquals(1, producer.getInFlightRecords());
+
+        // the second record is sent when the first record is acknowledged
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+        Mockito.verify(kp, Mockito.timeout(5000).times(2)).send(any(ProducerRecord.class), callBackCaptor.capture());
+        assertEquals(1, producer.getInFlightRecords());
+        Mockito.verify(callback, Mockito.never()).done(Mockito.anyBoolean());
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+
+        Mockito.verify(callback, Mockito.timeout(5000)).done(eq(false));
+        assertEquals(0, producer.getInFlightRecords());
+        assertEquals(1, producer.getSendCount());
+        producer.stop();
+    }
+
+    @Test
+    public void processAsyncWaitsForPermitOfOtherExchange() throws Exception {
+        endpoint.getConfiguration().setTopic("sometopic");
+        endpoint.getConfiguration().setMaxInFlightRecords(1);
+        producer.start();
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        Mockito.when(exchange.getOut()).thenReturn(out);
+
+        AsyncCallback otherCallback = Mockito.mock(AsyncCallback.class);
+        assertFalse(producer.process(exchange, callback));
+        // the other exchange has no records in flight, and is deferred until the first record is acknowledged
+        assertFalse(producer.process(exchange, otherCallback));
+
+        org.apache.kafka.clients.producer.KafkaProducer kp = producer.getKafkaProducer();
+        ArgumentCaptor<Callback> callBackCaptor = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(kp, Mockito.times(1)).send(any(ProducerRecord.class), callBackCaptor.capture());
+
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+        Mockito.verify(callback, Mockito.timeout(5000)).done(eq(false));
+        Mockito.verify(kp, Mockito.timeout(5000).times(2)).send(any(ProducerRecord.class), callBackCaptor.capture());
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+
+        Mockito.verify(otherCallback, Mockito.timeout(5000)).done(eq(false));
+        assertEquals(0, producer.getInFlightRecords());
+        assertEquals(2, producer.getSendCount());
+        producer.stop();
+    }
+
     @Test
     public void processSendsMessageWithTopicHeaderAndNoTopicInEndPoint() throws Exception {
         endpoint.getConfiguration().setTopic(null);
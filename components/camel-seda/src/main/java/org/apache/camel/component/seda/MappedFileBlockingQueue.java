@@ -0,0 +1,565 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A durable {@link BlockingQueue} which stores the exchanges in an append-only log of memory-mapped segment files.
+ * <p/>
+ * The exchanges are serialized using {@link DefaultExchangeHolder}, and only a small index of the records
+ * are kept in memory. An exchange which has been taken from the queue must be acknowledged using
+ * {@link #acknowledge(Exchange)} when it has been processed. When all the records in a segment have been
+ * acknowledged, the segment is recycled for new records. When the queue is opened, the records which
+ * have not been acknowledged are replayed, which means the exchanges survives a restart or crash of the JVM.
+ * <p/>
+ * The queue does not support removing exchanges from the middle of the queue.
+ */
+public class MappedFileBlockingQueue extends AbstractQueue<Exchange> implements BlockingQueue<Exchange> {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedFileBlockingQueue.class);
+
+    // segment layout: [long sequence][record]*[int 0 or -1]
+    // record layout:  [int length][byte status][payload]
+    private static final int SEGMENT_HEADER = 8;
+    private static final int RECORD_HEADER = 5;
+    private static final int END_OF_SEGMENT = -1;
+    private static final byte PENDING = 0;
+    private static final byte ACKNOWLEDGED = 1;
+    private static final int MAX_FREE_SEGMENTS = 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final CamelContext camelContext;
+    private final File directory;
+    private final int capacity;
+    private final int segmentSize;
+    private final LinkedBlockingQueue<Record> records = new LinkedBlockingQueue<>();
+    private final Map<Exchange, Record> inflight = new ConcurrentHashMap<>();
+    private final FreeSemaphore free;
+    // the lock guards the segments and writing to the segments
+    private final Lock lock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final Deque<Segment> freeSegments = new ArrayDeque<>();
+    private Segment writeSegment;
+    private long nextSequence;
+    private int nextFileIndex;
+    private volatile boolean closed = true;
+
+    public MappedFileBlockingQueue(CamelContext camelContext, File directory, int capacity) {
+        this(camelContext, directory, capacity, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MappedFileBlockingQueue(CamelContext camelContext, File directory, int capacity, int segmentSize) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was: " + capacity);
+        }
+        if (segmentSize <= SEGMENT_HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("Segment size is too small, was: " + segmentSize);
+        }
+        this.camelContext = camelContext;
+        this.directory = directory;
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        this.free = new FreeSemaphore(capacity);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Number of exchanges which have been taken from the queue, but not yet acknowledged
+     */
+    public int getInflightSize() {
+        return inflight.size();
+    }
+
+    /**
+     * Opens the queue, which replays the records which has not been acknowledged.
+     */
+    public void open() throws IOException {
+        lock.lock();
+        try {
+            if (!closed) {
+                return;
+            }
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory: " + directory);
+            }
+
+            List<Segment> existing = new ArrayList<>();
+            File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+            if (files != null) {
+                for (File file : files) {
+                    if (file.length() < SEGMENT_HEADER + RECORD_HEADER) {
+                        // an incomplete segment, which has no records
+                        FileUtil.deleteFile(file);
+                        continue;
+                    }
+                    String index = file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_SUFFIX.length());
+                    nextFileIndex = Math.max(nextFileIndex, Integer.parseInt(index) + 1);
+                    existing.add(new Segment(file, (int) file.length()));
+                }
+            }
+            existing.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+
+            int replayed = 0;
+            for (Segment segment : existing) {
+                segments.add(segment);
+                nextSequence = Math.max(nextSequence, segment.sequence + 1);
+                replayed += replay(segment);
+                if (segment.acknowledged == segment.records) {
+                    recycle(segment);
+                }
+            }
+            // the replayed records may exceed the capacity, which then blocks the producers until they are taken
+            free.drainPermits();
+            free.release(capacity);
+            if (replayed > 0) {
+                free.reduce(replayed);
+                LOG.info("Replayed {} exchanges from durable queue: {}", replayed, directory);
+            }
+
+            writeSegment = newSegment(segmentSize);
+            closed = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the queue. The records which has not been acknowledged are kept and replayed when the queue is opened again.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            records.clear();
+            inflight.clear();
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+            freeSegments.clear();
+            writeSegment = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acknowledges the exchange which was taken from this queue has been processed, so its record can be recycled.
+     *
+     * @param exchange the exchange taken from this queue
+     */
+    public void acknowledge(Exchange exchange) {
+        Record record = inflight.remove(exchange);
+        if (record != null) {
+            acknowledge(record);
+        }
+    }
+
+    @Override
+    public boolean offer(Exchange exchange) {
+        if (!free.tryAcquire()) {
+            return false;
+        }
+        doOffer(exchange);
+        return true;
+    }
+
+    @Override
+    public boolean offer(Exchange exchange, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!free.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        doOffer(exchange);
+        return true;
+    }
+
+    @Override
+    public void put(Exchange exchange) throws InterruptedException {
+        free.acquire();
+        doOffer(exchange);
+    }
+
+    @Override
+    public Exchange poll() {
+        Record record = records.poll();
+        return record != null ? doTake(record) : null;
+    }
+
+    @Override
+    public Exchange poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Record record = records.poll(timeout, unit);
+        return record != null ? doTake(record) : null;
+    }
+
+    @Override
+    public Exchange take() throws InterruptedException {
+        return doTake(records.take());
+    }
+
+    @Override
+    public Exchange peek() {
+        Record record = records.peek();
+        return record != null ? read(record) : null;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Exchange> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Exchange> c, int maxElements) {
+        int n = 0;
+        while (n < maxElements) {
+            Record record = records.poll();
+            if (record == null) {
+                break;
+            }
+            c.add(doTake(record));
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public void clear() {
+        // the cleared records are acknowledged as they are discarded
+        Record record;
+        while ((record = records.poll()) != null) {
+            free.release();
+            acknowledge(record);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // not supported as the records are appended to the log
+        return false;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, free.availablePermits());
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    @Override
+    public Iterator<Exchange> iterator() {
+        // a snapshot of the queue
+        List<Exchange> answer = new ArrayList<>(records.size());
+        for (Record record : records) {
+            answer.add(read(record));
+        }
+        return Collections.unmodifiableList(answer).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFileBlockingQueue[" + directory + "]";
+    }
+
+    private void doOffer(Exchange exchange) {
+        try {
+            records.add(append(marshal(exchange)));
+        } catch (RuntimeException e) {
+            free.release();
+            throw e;
+        }
+    }
+
+    private Exchange doTake(Record record) {
+        free.release();
+        Exchange exchange;
+        try {
+            exchange = read(record);
+        } catch (RuntimeException e) {
+            // the record cannot be read, so we must discard it
+            acknowledge(record);
+            throw e;
+        }
+        inflight.put(exchange, record);
+        return exchange;
+    }
+
+    private Record append(byte[] data) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Queue is closed: " + directory);
+            }
+            // reserve room for the zero length which marks the end of the records
+            int needed = RECORD_HEADER + data.length + 4;
+            Segment segment = writeSegment;
+            if (segment.position + needed > segment.size) {
+                if (segment.position + 4 <= segment.size) {
+                    segment.buffer.putInt(segment.position, END_OF_SEGMENT);
+                }
+                Segment old = segment;
+                segment = newSegment(Math.max(segmentSize, SEGMENT_HEADER + needed));
+                writeSegment = segment;
+                if (old.acknowledged == old.records) {
+                    recycle(old);
+                }
+            }
+
+            int offset = segment.position;
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(offset + RECORD_HEADER);
+            buffer.put(data);
+            segment.buffer.put(offset + 4, PENDING);
+            segment.buffer.putInt(offset + RECORD_HEADER + data.length, 0);
+            // write the length as the last, as it marks the record as complete
+            segment.buffer.putInt(offset, data.length);
+            segment.position = offset + RECORD_HEADER + data.length;
+            segment.records++;
+            return new Record(segment, offset, data.length);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acknowledge(Record record) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Segment segment = record.segment;
+            segment.buffer.put(record.offset + 4, ACKNOWLEDGED);
+            segment.acknowledged++;
+            if (segment != writeSegment && segment.acknowledged == segment.records) {
+                recycle(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int replay(Segment segment) {
+        int pending = 0;
+        int position = SEGMENT_HEADER;
+        while (position + RECORD_HEADER <= segment.size) {
+            int length = segment.buffer.getInt(position);
+            if (length == 0 || length == END_OF_SEGMENT) {
+                break;
+            }
+            if (length < 0 || position + RECORD_HEADER + length > segment.size) {
+                LOG.warn("Corrupt record at position {} in segment {}. The remainder of the segment is skipped.", position, segment.file);
+                break;
+            }
+            segment.records++;
+            if (segment.buffer.get(position + 4) == ACKNOWLEDGED) {
+                segment.acknowledged++;
+            } else {
+                records.add(new Record(segment, position, length));
+                pending++;
+            }
+            position += RECORD_HEADER + length;
+        }
+        segment.position = position;
+        return pending;
+    }
+
+    private Segment newSegment(int size) throws IOException {
+        Segment segment = freeSegments.peekFirst();
+        if (segment != null && segment.size >= size) {
+            freeSegments.pollFirst();
+        } else {
+            segment = new Segment(new File(directory, SEGMENT_PREFIX + nextFileIndex++ + SEGMENT_SUFFIX), size);
+            segments.add(segment);
+        }
+        segment.sequence = nextSequence++;
+        segment.position = SEGMENT_HEADER;
+        segment.records = 0;
+        segment.acknowledged = 0;
+        segment.buffer.putLong(0, segment.sequence);
+        segment.buffer.putInt(SEGMENT_HEADER, 0);
+        return segment;
+    }
+
+    private void recycle(Segment segment) {
+        if (freeSegments.size() < MAX_FREE_SEGMENTS && segment.size == segmentSize) {
+            // clear the segment so its records are not replayed
+            segment.buffer.putInt(SEGMENT_HEADER, 0);
+            segment.records = 0;
+            segment.acknowledged = 0;
+            freeSegments.addLast(segment);
+        } else {
+            segments.remove(segment);
+            segment.close();
+            if (!segment.file.delete()) {
+                LOG.debug("Cannot delete segment: {}", segment.file);
+            }
+        }
+    }
+
+    private byte[] marshal(Exchange exchange) {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(holder);
+            }
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private Exchange read(Record record) {
+        byte[] data = new byte[record.length];
+        lock.lock();
+        try {
+            // the segment is unmapped when closed, so it must not be read after that
+            if (record.segment.closed) {
+                throw new IllegalStateException("Queue is closed: " + directory);
+            }
+            ByteBuffer buffer = record.segment.buffer.duplicate();
+            buffer.position(record.offset + RECORD_HEADER);
+            buffer.get(data);
+        } finally {
+            lock.unlock();
+        }
+
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            DefaultExchangeHolder holder = (DefaultExchangeHolder) ois.readObject();
+            Exchange exchange = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(exchange, holder);
+            return exchange;
+        } catch (IOException | ClassNotFoundException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static final class Segment {
+        private final File file;
+        private final int size;
+        private final MappedByteBuffer buffer;
+        private long sequence;
+        private int position;
+        private int records;
+        private int acknowledged;
+        private boolean closed;
+
+        Segment(File file, int size) throws IOException {
+            this.file = file;
+            this.size = size;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                // the mapping stays valid after the file is closed
+                this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            this.sequence = buffer.getLong(0);
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                buffer.force();
+                // unmap the segment, as otherwise the file cannot be deleted on some platforms (such as Windows)
+                IOHelper.unmap(buffer);
+            }
+        }
+    }
+
+    private static final class FreeSemaphore extends Semaphore {
+
+        FreeSemaphore(int permits) {
+            super(permits);
+        }
+
+        void reduce(int reduction) {
+            // may become negative when more records than the capacity are replayed
+            reducePermits(reduction);
+        }
+    }
+
+    private static final class Record {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        Record(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded lock free multi producer and multi consumer {@link BlockingQueue} which is backed by a ring buffer.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells whether the slot is ready to be written or read
+ * at a given position, so producers and consumers only compete on a compare and set of the tail or head position.
+ * <p/>
+ * The blocking operations waits by first spinning, then yielding and at last parking the thread, which is
+ * configured by the number of spins and yields. Threads which are parked are signalled when the queue is
+ * no longer empty or full. As a safety net, the threads wake up to check the queue again, starting after
+ * 1 millis and backing off to the max park time while the queue stays empty or full, so idle threads
+ * rarely wake up.
+ * <p/>
+ * Elements cannot be removed from the middle of the queue, so {@link #remove(Object)} always returns <tt>false</tt>,
+ * and the iterator is a weakly consistent snapshot which does not support removal.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private final int capacity;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Queue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+    private final int spins;
+    private final int yields;
+    private final long maxParkNanos;
+
+    // the first park when waiting, which is doubled for each park until the max park time
+    private static final long INITIAL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, 100, 10, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Creates the queue
+     *
+     * @param capacity     the capacity of the queue
+     * @param spins        the number of times to spin when waiting before yielding
+     * @param yields       the number of times to yield when waiting before parking
+     * @param maxParkNanos the maximum time to park, before checking the queue again, when the queue stays empty or full
+     */
+    public RingBufferBlockingQueue(int capacity, int spins, int yields, long maxParkNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was: " + capacity);
+        }
+        if (maxParkNanos <= 0) {
+            throw new IllegalArgumentException("MaxParkNanos must be a positive number, was: " + maxParkNanos);
+        }
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.spins = Math.max(spins, 0);
+        this.yields = Math.max(yields, 0);
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos % capacity);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    // must be a volatile write so waiting consumers either see the element or are signalled
+                    sequences.set(index, pos + 1);
+                    signal(waitingConsumers);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // the slot has not been consumed yet, so the queue is full
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos % capacity);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E answer = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    // the slot can be written in the next round of the ring
+                    sequences.set(index, pos + capacity);
+                    signal(waitingProducers);
+                    return answer;
+                }
+            } else if (diff < 0) {
+                // the slot has not been published yet, so the queue is empty
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos % capacity);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            E answer = buffer.get(index);
+            if (answer != null && head.get() == pos) {
+                return answer;
+            }
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        while (!offer(e, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+            // wait again
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long deadline = deadline(timeout, unit);
+        int count = 0;
+        while (true) {
+            if (Thread.interrupted()) {
+                signalIf(canOffer(), waitingProducers);
+                throw new InterruptedException();
+            }
+            if (offer(e)) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                // we may have been signalled, so pass it on to another waiting producer
+                signalIf(canOffer(), waitingProducers);
+                return false;
+            }
+            if (idle(count++, remaining, waitingProducers, this::canOffer) && offer(e)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E answer;
+        while ((answer = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) == null) {
+            // wait again
+        }
+        return answer;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E answer = poll();
+        if (answer != null) {
+            return answer;
+        }
+        long deadline = deadline(timeout, unit);
+        int count = 0;
+        while (true) {
+            if (Thread.interrupted()) {
+                signalIf(canPoll(), waitingConsumers);
+                throw new InterruptedException();
+            }
+            answer = poll();
+            if (answer != null) {
+                return answer;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                // we may have been signalled, so pass it on to another waiting consumer
+                signalIf(canPoll(), waitingConsumers);
+                return null;
+            }
+            if (idle(count++, remaining, waitingConsumers, this::canPoll)) {
+                answer = poll();
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int size() {
+        while (true) {
+            long h = head.get();
+            long t = tail.get();
+            if (h == head.get()) {
+                return (int) Math.max(0, Math.min(capacity, t - h));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        // elements cannot be removed from the middle of the ring buffer
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        // weakly consistent snapshot of the elements in the queue
+        List<E> answer = new ArrayList<>(size());
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) (pos % capacity);
+            E e = buffer.get(index);
+            if (e != null && sequences.get(index) == pos + 1) {
+                answer.add(e);
+            }
+        }
+        return Collections.unmodifiableList(answer).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[size: " + size() + ", capacity: " + capacity + "]";
+    }
+
+    /**
+     * Whether the element at the head of the queue is published, so it can be polled
+     */
+    private boolean canPoll() {
+        long pos = head.get();
+        return sequences.get((int) (pos % capacity)) == pos + 1;
+    }
+
+    /**
+     * Whether the slot at the tail of the queue is consumed, so an element can be offered
+     */
+    private boolean canOffer() {
+        long pos = tail.get();
+        return sequences.get((int) (pos % capacity)) == pos;
+    }
+
+    /**
+     * Waits using the wait strategy, which spins, then yields and at last parks.
+     *
+     * @return <tt>true</tt> if the thread was parked and should check the queue before waiting again
+     */
+    private boolean idle(int count, long remaining, Queue<Thread> waiting, BooleanSupplier ready) {
+        if (count < spins) {
+            // busy spin
+            return false;
+        } else if (count < spins + yields) {
+            Thread.yield();
+            return false;
+        }
+        // back off while the queue stays empty or full
+        int parks = Math.min(count - spins - yields, 30);
+        long parkNanos = Math.min(maxParkNanos, INITIAL_PARK_NANOS << parks);
+        Thread thread = Thread.currentThread();
+        waiting.add(thread);
+        try {
+            // we must check the queue again after we are registered as waiting to not miss a signal
+            if (!ready.getAsBoolean()) {
+                LockSupport.parkNanos(this, Math.min(remaining, parkNanos));
+            }
+        } finally {
+            waiting.remove(thread);
+        }
+        return true;
+    }
+
+    private static void signalIf(boolean condition, Queue<Thread> waiting) {
+        if (condition) {
+            signal(waiting);
+        }
+    }
+
+    private static void signal(Queue<Thread> waiting) {
+        if (!waiting.isEmpty()) {
+            Thread thread = waiting.poll();
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private static long deadline(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        long now = System.nanoTime();
+        // avoid overflow when waiting forever
+        return nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing {@link RingBufferBlockingQueue}
+ */
+public class RingBufferBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+
+    /**
+     * Capacity used when none provided
+     */
+    private int defaultCapacity = SedaConstants.QUEUE_SIZE;
+
+    /**
+     * Number of times to spin when waiting before yielding
+     */
+    private int spins = 100;
+
+    /**
+     * Number of times to yield when waiting before parking
+     */
+    private int yields = 10;
+
+    /**
+     * Maximum time in nanos to park before checking the queue again, when the queue stays empty or full
+     */
+    private long maxParkNanos = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * @return Default ring buffer capacity
+     */
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * @param defaultCapacity Default ring buffer capacity
+     */
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    /**
+     * @return Number of times to spin when waiting before yielding
+     */
+    public int getSpins() {
+        return spins;
+    }
+
+    /**
+     * @param spins Number of times to spin when waiting before yielding, use 0 to not spin
+     */
+    public void setSpins(int spins) {
+        this.spins = spins;
+    }
+
+    /**
+     * @return Number of times to yield when waiting before parking
+     */
+    public int getYields() {
+        return yields;
+    }
+
+    /**
+     * @param yields Number of times to yield when waiting before parking, use 0 to not yield
+     */
+    public void setYields(int yields) {
+        this.yields = yields;
+    }
+
+    /**
+     * @return Maximum time in nanos to park before checking the queue again, when the queue stays empty or full
+     */
+    public long getMaxParkNanos() {
+        return maxParkNanos;
+    }
+
+    /**
+     * @param maxParkNanos Maximum time in nanos to park before checking the queue again, when the queue stays empty or full
+     */
+    public void setMaxParkNanos(long maxParkNanos) {
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create() {
+        return create(defaultCapacity);
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create(int capacity) {
+        return new RingBufferBlockingQueue<>(capacity, spins, yields, maxParkNanos);
+    }
+}
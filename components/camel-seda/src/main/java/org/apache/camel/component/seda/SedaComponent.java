@@ -151,7 +151,12 @@ public class SedaComponent extends DefaultComponent {
         // create queue
         BlockingQueue<Exchange> queue;
         BlockingQueueFactory<Exchange> queueFactory = customQueueFactory == null ? defaultQueueFactory : customQueueFactory;
-        if (size != null && size > 0) {
+        if (endpoint.getDurableDirectory() != null) {
+            if (size == null || size <= 0) {
+                size = getQueueSize() > 0 ? getQueueSize() : Integer.MAX_VALUE;
+            }
+            queue = endpoint.createDurableQueue(size);
+        } else if (size != null && size > 0) {
             queue = queueFactory.create(size);
         } else {
             if (getQueueSize() > 0) {
@@ -248,10 +253,24 @@ public class SedaComponent extends DefaultComponent {
 
     @Override
     protected void doStop() throws Exception {
+        for (QueueReference ref : getQueues().values()) {
+            closeQueue(ref);
+        }
         getQueues().clear();
         super.doStop();
     }
 
+    /**
+     * Closes the queue if its a durable queue, so the messages which have not been processed are kept on disk.
+     *
+     * @param ref the queue reference
+     */
+    protected void closeQueue(QueueReference ref) {
+        if (ref.getQueue() instanceof MappedFileBlockingQueue) {
+            ((MappedFileBlockingQueue) ref.getQueue()).close();
+        }
+    }
+
     /**
      * On shutting down the endpoint
      *
@@ -267,6 +286,7 @@ public class SedaComponent extends DefaultComponent {
             if (ref.getCount() <= 0) {
                 // reference no longer needed so remove from queues
                 getQueues().remove(key);
+                closeQueue(ref);
             }
         }
     }
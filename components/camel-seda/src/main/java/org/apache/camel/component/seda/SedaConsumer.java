@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -25,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.Suspendable;
@@ -33,6 +35,7 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.UnitOfWorkHelper;
 import org.apache.camel.util.ObjectHelper;
 
@@ -41,6 +44,9 @@ import org.apache.camel.util.ObjectHelper;
  * <p/>
  * In this implementation there is a little <i>slack period</i> when you suspend/stop the consumer, by which
  * the consumer may pickup a newly arrived messages and process it. That period is up till 1 second.
+ * <p/>
+ * If pollBatchSize is configured, then the consumer takes up to that number of messages from the queue at once,
+ * which are either processed one by one, or as a single grouped exchange if pollBatchGrouped is enabled.
  */
 public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownAware, Suspendable {
 
@@ -50,10 +56,14 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int pollBatchSize;
+    private final boolean pollBatchGrouped;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.pollBatchSize = Math.max(1, endpoint.getPollBatchSize());
+        this.pollBatchGrouped = endpoint.isPollBatchGrouped();
     }
 
     @Override
@@ -132,6 +142,9 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        // a durable queue must be acknowledged when the exchanges has been processed
+        MappedFileBlockingQueue durable = queue instanceof MappedFileBlockingQueue ? (MappedFileBlockingQueue) queue : null;
+        List<Exchange> batch = pollBatchSize > 1 ? new ArrayList<>(pollBatchSize) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -173,24 +186,32 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                     log.trace("Polled queue {} with timeout {} ms. -> {}", ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
+                    if (batch != null) {
+                        // take the waiting exchanges as well
+                        batch.add(exchange);
+                        queue.drainTo(batch, pollBatchSize - 1);
+                        try {
+                            if (pollBatchGrouped) {
+                                processGroupedExchanges(batch);
+                            } else {
+                                int size = batch.size();
+                                for (int i = 0; i < size; i++) {
+                                    processPolledExchange(batch.get(i), i, size);
+                                }
+                            }
+                            if (durable != null) {
+                                for (Exchange polled : batch) {
+                                    durable.acknowledge(polled);
+                                }
+                            }
+                        } finally {
+                            batch.clear();
                         }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                    } else {
+                        processPolledExchange(exchange, -1, 0);
+                        if (durable != null) {
+                            durable.acknowledge(exchange);
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     log.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -210,6 +231,88 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Processes the exchange which was taken from the queue
+     *
+     * @param exchange the exchange from the queue
+     * @param index    the index of the exchange in the batch, or -1 if not processing in batches
+     * @param size     the size of the batch
+     */
+    private void processPolledExchange(Exchange exchange, int index, int size) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            if (index >= 0) {
+                newExchange.setProperty(ExchangePropertyKey.BATCH_INDEX, index);
+                newExchange.setProperty(ExchangePropertyKey.BATCH_SIZE, size);
+                newExchange.setProperty(ExchangePropertyKey.BATCH_COMPLETE, index == size - 1);
+            }
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
+    /**
+     * Processes the exchanges which was taken from the queue as a single grouped exchange, where the body
+     * is the list of the exchanges. The exchanges are completed when the grouped exchange is completed.
+     *
+     * @param exchanges the exchanges from the queue
+     */
+    private void processGroupedExchanges(List<Exchange> exchanges) {
+        final int size = exchanges.size();
+        final List<Exchange> grouped = new ArrayList<>(size);
+        final List<List<Synchronization>> completions = new ArrayList<>(size);
+        for (Exchange exchange : exchanges) {
+            Exchange newExchange = prepareExchange(exchange);
+            grouped.add(newExchange);
+            // handover completions, as we need to done them when the grouped exchange is done
+            completions.add(newExchange.handoverCompletions());
+        }
+
+        final Exchange answer = getEndpoint().createExchange();
+        answer.setProperty(ExchangePropertyKey.GROUPED_EXCHANGE, grouped);
+        answer.setProperty(ExchangePropertyKey.BATCH_SIZE, size);
+        answer.getIn().setBody(grouped);
+        answer.addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange done) {
+                for (int i = 0; i < size; i++) {
+                    Exchange newExchange = grouped.get(i);
+                    if (done.getException() != null && newExchange.getException() == null) {
+                        newExchange.setException(done.getException());
+                    }
+                    UnitOfWorkHelper.doneSynchronizations(newExchange, completions.get(i), log);
+                }
+            }
+        });
+
+        try {
+            sendToConsumers(answer);
+            // log exception if an exception occurred and was not handled
+            if (answer.getException() != null) {
+                for (Exchange exchange : exchanges) {
+                    exchange.setException(answer.getException());
+                }
+                getExceptionHandler().handleException("Error processing grouped exchange", answer, answer.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing grouped exchange", answer, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
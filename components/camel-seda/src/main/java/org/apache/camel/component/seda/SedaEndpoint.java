@@ -16,6 +16,8 @@
  */
 package org.apache.camel.component.seda;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -34,6 +36,7 @@ import org.apache.camel.MultipleConsumersSupport;
 import org.apache.camel.PollingConsumer;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.WaitForTaskToComplete;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
@@ -66,6 +69,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private BlockingQueue queue;
     @UriParam(defaultValue = "" + SedaConstants.QUEUE_SIZE)
     private int size = SedaConstants.QUEUE_SIZE;
+    @UriParam(label = "advanced")
+    private String durableDirectory;
+    @UriParam(label = "advanced", defaultValue = "" + MappedFileBlockingQueue.DEFAULT_SEGMENT_SIZE)
+    private int durableSegmentSize = MappedFileBlockingQueue.DEFAULT_SEGMENT_SIZE;
 
     @UriParam(label = "consumer", defaultValue = "1")
     private int concurrentConsumers = 1;
@@ -77,6 +84,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int pollBatchSize = 1;
+    @UriParam(label = "consumer,advanced")
+    private boolean pollBatchGrouped;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -189,6 +200,9 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     }
 
     protected BlockingQueue<Exchange> createQueue() {
+        if (durableDirectory != null) {
+            return createDurableQueue(size > 0 ? size : Integer.MAX_VALUE);
+        }
         if (size > 0) {
             return queueFactory.create(size);
         } else {
@@ -196,6 +210,25 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         }
     }
 
+    /**
+     * Creates and opens the durable queue, which replays the messages which have not been processed.
+     *
+     * @param capacity the capacity of the queue
+     */
+    protected MappedFileBlockingQueue createDurableQueue(int capacity) {
+        // use a sub directory per queue, named after the queue without the scheme and parameters
+        String key = getComponent() != null ? getComponent().getQueueKey(getEndpointUri()) : getEndpointUri();
+        String queueName = key.substring(key.indexOf(':') + 1).replaceFirst("^/+", "");
+        File dir = new File(durableDirectory, queueName.replaceAll("[^\\w.-]", "_"));
+        MappedFileBlockingQueue answer = new MappedFileBlockingQueue(getCamelContext(), dir, capacity, durableSegmentSize);
+        try {
+            answer.open();
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Cannot open durable queue in directory: " + dir, e);
+        }
+        return answer;
+    }
+
     /**
      * Get's the {@link QueueReference} for the this endpoint.
      *
@@ -268,6 +301,34 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.size = size;
     }
 
+    @ManagedAttribute(description = "Durable directory")
+    public String getDurableDirectory() {
+        return durableDirectory;
+    }
+
+    /**
+     * To use a durable queue which stores the messages in memory-mapped files in the given directory, so the
+     * messages which have not been processed survives a restart or crash of the JVM. A sub directory with the name
+     * of the queue is used. The message body, headers and properties must be serializable. A durable queue does
+     * not support request/reply, and the messages are acknowledged after they have been processed by the consumer
+     * (at-least-once), or when they are received by a polling consumer.
+     */
+    public void setDurableDirectory(String durableDirectory) {
+        this.durableDirectory = durableDirectory;
+    }
+
+    public int getDurableSegmentSize() {
+        return durableSegmentSize;
+    }
+
+    /**
+     * The size in bytes of the memory-mapped segment files of the durable queue. A segment is recycled when
+     * all its messages have been processed.
+     */
+    public void setDurableSegmentSize(int durableSegmentSize) {
+        this.durableSegmentSize = durableSegmentSize;
+    }
+
     @ManagedAttribute(description = "Current queue size")
     public int getCurrentQueueSize() {
         return queue.size();
@@ -423,6 +484,35 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of messages the consumer takes from the queue at once, when messages are waiting on the queue.
+     * The messages are processed one by one and has the batch properties (CamelBatchIndex, CamelBatchSize and
+     * CamelBatchComplete) set. Taking more messages at once reduces the contention on the queue, which can be
+     * combined with the ring buffer queue factory for a higher throughput.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
+    @ManagedAttribute
+    public boolean isPollBatchGrouped() {
+        return pollBatchGrouped;
+    }
+
+    /**
+     * Whether the messages taken from the queue at once (see pollBatchSize) is processed as a single grouped
+     * exchange, where the message body is a List of the exchanges. The exchanges completes when the grouped
+     * exchange completes, and if it fails, they all fail. This option is only for InOnly exchanges.
+     */
+    public void setPollBatchGrouped(boolean pollBatchGrouped) {
+        this.pollBatchGrouped = pollBatchGrouped;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
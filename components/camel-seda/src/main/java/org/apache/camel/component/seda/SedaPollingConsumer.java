@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.Endpoint;
@@ -44,7 +45,7 @@ public class SedaPollingConsumer extends PollingConsumerSupport implements IsSin
     @Override
     public Exchange receive() {
         try {
-            return getEndpoint().getQueue().take();
+            return acknowledge(getEndpoint().getQueue().take());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw RuntimeCamelException.wrapRuntimeCamelException(e);
@@ -53,19 +54,28 @@ public class SedaPollingConsumer extends PollingConsumerSupport implements IsSin
 
     @Override
     public Exchange receiveNoWait() {
-        return getEndpoint().getQueue().poll();
+        return acknowledge(getEndpoint().getQueue().poll());
     }
 
     @Override
     public Exchange receive(long timeout) {
         try {
-            return getEndpoint().getQueue().poll(timeout, TimeUnit.MILLISECONDS);
+            return acknowledge(getEndpoint().getQueue().poll(timeout, TimeUnit.MILLISECONDS));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw RuntimeCamelException.wrapRuntimeCamelException(e);
         }
     }
 
+    private Exchange acknowledge(Exchange exchange) {
+        // the exchange is handed over to the caller, so a durable queue must be acknowledged when received
+        BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        if (exchange != null && queue instanceof MappedFileBlockingQueue) {
+            ((MappedFileBlockingQueue) queue).acknowledge(exchange);
+        }
+        return exchange;
+    }
+
     @Override
     protected void doStart() throws Exception {
         // noop
@@ -60,6 +60,13 @@ public class SedaProducer extends DefaultAsyncProducer {
         if (wait == WaitForTaskToComplete.Always
             || (wait == WaitForTaskToComplete.IfReplyExpected && ExchangeHelper.isOutCapable(exchange))) {
 
+            // the queue may be shared with a durable endpoint, so check the queue and not the options of this endpoint
+            if (endpoint.getQueue() instanceof MappedFileBlockingQueue) {
+                exchange.setException(new IllegalArgumentException("Request/Reply is not supported by durable queue on endpoint: " + endpoint));
+                callback.done(true);
+                return true;
+            }
+
             // do not handover the completion as we wait for the copy to complete, and copy its result back when it done
             Exchange copy = prepareCopy(exchange, false);
 
@@ -213,7 +220,8 @@ public class SedaProducer extends DefaultAsyncProducer {
         Exchange target = exchange;
 
         // handover the completion so its the copy which performs that, as we do not wait
-        if (copy) {
+        // (a durable queue stores a copy of the exchange, so the completions are done when its added to the queue)
+        if (copy && !(queue instanceof MappedFileBlockingQueue)) {
             target = prepareCopy(exchange, true);
         }
 
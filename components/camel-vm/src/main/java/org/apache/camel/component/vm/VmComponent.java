@@ -63,6 +63,9 @@ public class VmComponent extends SedaComponent {
     protected void doStop() throws Exception {
         if (START_COUNTER.decrementAndGet() <= 0) {
             // clear queues when no more vm components in use
+            for (QueueReference ref : getQueues().values()) {
+                closeQueue(ref);
+            }
             getQueues().clear();
             // also clear endpoints
             ENDPOINTS.clear();
@@ -100,6 +100,8 @@ public interface Exchange {
     String CIRCUIT_BREAKER_STATE  = "CamelCircuitBreakerState";
     String CREATED_TIMESTAMP      = "CamelCreatedTimestamp";
     String CLAIM_CHECK_REPOSITORY = "CamelClaimCheckRepository";
+    // global option to store the exchange properties in a compact map instead of a ConcurrentHashMap
+    String COMPACT_PROPERTIES     = "CamelCompactProperties";
     String CONTENT_ENCODING       = "Content-Encoding";
     String CONTENT_LENGTH         = "Content-Length";
     String CONTENT_TYPE           = "Content-Type";
@@ -217,6 +219,7 @@ public interface Exchange {
 
     String SCHEDULER_POLLED_MESSAGES = "CamelSchedulerPolledMessages";
     String SOAP_ACTION        = "CamelSoapAction";
+    String SIMPLE_COMPILED    = "CamelSimpleCompiled";
     String SKIP_GZIP_ENCODING = "CamelSkipGzipEncoding";
     String SKIP_WWW_FORM_URLENCODED = "CamelSkipWwwFormUrlEncoding"; 
     String SLIP_ENDPOINT      = "CamelSlipEndpoint";
@@ -330,6 +333,62 @@ public interface Exchange {
      */
     Object removeProperty(String name);
 
+    /**
+     * Returns one of the internal properties of the routing engine
+     *
+     * @param key the key of the internal property
+     * @return the value of the given property or <tt>null</tt> if there is no property for
+     *         the given key
+     */
+    default Object getProperty(ExchangePropertyKey key) {
+        return getProperty(key.getName());
+    }
+
+    /**
+     * Returns one of the internal properties of the routing engine and specifying the type required
+     *
+     * @param key  the key of the internal property
+     * @param type the type of the property
+     * @return the value of the given property or <tt>null</tt> if there is no property for
+     *         the given key or <tt>null</tt> if it cannot be converted to the given type
+     */
+    default <T> T getProperty(ExchangePropertyKey key, Class<T> type) {
+        return getProperty(key.getName(), type);
+    }
+
+    /**
+     * Returns one of the internal properties of the routing engine and specifying the type required
+     *
+     * @param key          the key of the internal property
+     * @param defaultValue the default value to return if property was absent
+     * @param type         the type of the property
+     * @return the value of the given property or <tt>defaultValue</tt> if there is no property for
+     *         the given key or <tt>null</tt> if it cannot be converted to the given type
+     */
+    default <T> T getProperty(ExchangePropertyKey key, Object defaultValue, Class<T> type) {
+        return getProperty(key.getName(), defaultValue, type);
+    }
+
+    /**
+     * Sets one of the internal properties of the routing engine
+     *
+     * @param key   the key of the internal property
+     * @param value to associate with the key
+     */
+    default void setProperty(ExchangePropertyKey key, Object value) {
+        setProperty(key.getName(), value);
+    }
+
+    /**
+     * Removes one of the internal properties of the routing engine
+     *
+     * @param key the key of the internal property
+     * @return the old value of the property
+     */
+    default Object removeProperty(ExchangePropertyKey key) {
+        return removeProperty(key.getName());
+    }
+
     /**
      * Remove all of the properties associated with the exchange matching a specific pattern
      *
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+/**
+ * The internal properties of the {@link Exchange} which the routing engine uses.
+ * <p/>
+ * The routing engine stores these properties in dedicated slots on the exchange, instead of
+ * in the map of exchange properties, which avoids hashing the keys on every hop in the routes.
+ * The properties are still accessible using their string keys as regular exchange properties.
+ *
+ * @see Exchange#getProperty(ExchangePropertyKey)
+ */
+public enum ExchangePropertyKey {
+
+    AGGREGATED_COLLECTION_GUARD(Exchange.AGGREGATED_COLLECTION_GUARD),
+    AGGREGATED_COMPLETED_BY(Exchange.AGGREGATED_COMPLETED_BY),
+    AGGREGATED_CORRELATION_KEY(Exchange.AGGREGATED_CORRELATION_KEY),
+    AGGREGATED_SIZE(Exchange.AGGREGATED_SIZE),
+    AGGREGATED_TIMEOUT(Exchange.AGGREGATED_TIMEOUT),
+    AGGREGATION_STRATEGY(Exchange.AGGREGATION_STRATEGY),
+    BATCH_COMPLETE(Exchange.BATCH_COMPLETE),
+    BATCH_INDEX(Exchange.BATCH_INDEX),
+    BATCH_SIZE(Exchange.BATCH_SIZE),
+    BINDING(Exchange.BINDING),
+    CHARSET_NAME(Exchange.CHARSET_NAME),
+    CLAIM_CHECK_REPOSITORY(Exchange.CLAIM_CHECK_REPOSITORY),
+    CORRELATION_ID(Exchange.CORRELATION_ID),
+    CREATED_TIMESTAMP(Exchange.CREATED_TIMESTAMP),
+    DUPLICATE_MESSAGE(Exchange.DUPLICATE_MESSAGE),
+    ERRORHANDLER_CIRCUIT_DETECTED(Exchange.ERRORHANDLER_CIRCUIT_DETECTED),
+    ERRORHANDLER_HANDLED(Exchange.ERRORHANDLER_HANDLED),
+    EVALUATE_EXPRESSION_RESULT(Exchange.EVALUATE_EXPRESSION_RESULT),
+    EXCEPTION_CAUGHT(Exchange.EXCEPTION_CAUGHT),
+    EXCEPTION_HANDLED(Exchange.EXCEPTION_HANDLED),
+    EXTERNAL_REDELIVERED(Exchange.EXTERNAL_REDELIVERED),
+    FAILURE_ENDPOINT(Exchange.FAILURE_ENDPOINT),
+    FAILURE_HANDLED(Exchange.FAILURE_HANDLED),
+    FAILURE_ROUTE_ID(Exchange.FAILURE_ROUTE_ID),
+    FATAL_FALLBACK_ERROR_HANDLER(Exchange.FATAL_FALLBACK_ERROR_HANDLER),
+    FILTER_MATCHED(Exchange.FILTER_MATCHED),
+    GROUPED_EXCHANGE(Exchange.GROUPED_EXCHANGE),
+    INTERCEPTED_ENDPOINT(Exchange.INTERCEPTED_ENDPOINT),
+    INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED(Exchange.INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED),
+    INTERRUPTED(Exchange.INTERRUPTED),
+    LOOP_INDEX(Exchange.LOOP_INDEX),
+    LOOP_SIZE(Exchange.LOOP_SIZE),
+    MESSAGE_HISTORY(Exchange.MESSAGE_HISTORY),
+    MULTICAST_COMPLETE(Exchange.MULTICAST_COMPLETE),
+    MULTICAST_INDEX(Exchange.MULTICAST_INDEX),
+    NOTIFY_EVENT(Exchange.NOTIFY_EVENT),
+    ON_COMPLETION(Exchange.ON_COMPLETION),
+    PARENT_UNIT_OF_WORK(Exchange.PARENT_UNIT_OF_WORK),
+    RECIPIENT_LIST_ENDPOINT(Exchange.RECIPIENT_LIST_ENDPOINT),
+    REDELIVERY_EXHAUSTED(Exchange.REDELIVERY_EXHAUSTED),
+    ROLLBACK_ONLY(Exchange.ROLLBACK_ONLY),
+    ROLLBACK_ONLY_LAST(Exchange.ROLLBACK_ONLY_LAST),
+    ROUTE_STOP(Exchange.ROUTE_STOP),
+    SLIP_ENDPOINT(Exchange.SLIP_ENDPOINT),
+    SLIP_PRODUCER(Exchange.SLIP_PRODUCER),
+    SPLIT_COMPLETE(Exchange.SPLIT_COMPLETE),
+    SPLIT_INDEX(Exchange.SPLIT_INDEX),
+    SPLIT_SIZE(Exchange.SPLIT_SIZE),
+    STEP_ID(Exchange.STEP_ID),
+    STREAM_CACHE_UNIT_OF_WORK(Exchange.STREAM_CACHE_UNIT_OF_WORK),
+    TO_ENDPOINT(Exchange.TO_ENDPOINT),
+    TRY_ROUTE_BLOCK(Exchange.TRY_ROUTE_BLOCK),
+    UNIT_OF_WORK_EXHAUSTED(Exchange.UNIT_OF_WORK_EXHAUSTED),
+    UNIT_OF_WORK_PROCESS_SYNC(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
+
+    private final String name;
+
+    ExchangePropertyKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The name of the exchange property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the internal exchange property key for the given exchange property name
+     *
+     * @param name the name of the exchange property
+     * @return the key, or <tt>null</tt> if the name is not one of the internal exchange properties
+     */
+    public static ExchangePropertyKey asExchangePropertyKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+            case Exchange.AGGREGATED_COLLECTION_GUARD:
+                return AGGREGATED_COLLECTION_GUARD;
+            case Exchange.AGGREGATED_COMPLETED_BY:
+                return AGGREGATED_COMPLETED_BY;
+            case Exchange.AGGREGATED_CORRELATION_KEY:
+                return AGGREGATED_CORRELATION_KEY;
+            case Exchange.AGGREGATED_SIZE:
+                return AGGREGATED_SIZE;
+            case Exchange.AGGREGATED_TIMEOUT:
+                return AGGREGATED_TIMEOUT;
+            case Exchange.AGGREGATION_STRATEGY:
+                return AGGREGATION_STRATEGY;
+            case Exchange.BATCH_COMPLETE:
+                return BATCH_COMPLETE;
+            case Exchange.BATCH_INDEX:
+                return BATCH_INDEX;
+            case Exchange.BATCH_SIZE:
+                return BATCH_SIZE;
+            case Exchange.BINDING:
+                return BINDING;
+            case Exchange.CHARSET_NAME:
+                return CHARSET_NAME;
+            case Exchange.CLAIM_CHECK_REPOSITORY:
+                return CLAIM_CHECK_REPOSITORY;
+            case Exchange.CORRELATION_ID:
+                return CORRELATION_ID;
+            case Exchange.CREATED_TIMESTAMP:
+                return CREATED_TIMESTAMP;
+            case Exchange.DUPLICATE_MESSAGE:
+                return DUPLICATE_MESSAGE;
+            case Exchange.ERRORHANDLER_CIRCUIT_DETECTED:
+                return ERRORHANDLER_CIRCUIT_DETECTED;
+            case Exchange.ERRORHANDLER_HANDLED:
+                return ERRORHANDLER_HANDLED;
+            case Exchange.EVALUATE_EXPRESSION_RESULT:
+                return EVALUATE_EXPRESSION_RESULT;
+            case Exchange.EXCEPTION_CAUGHT:
+                return EXCEPTION_CAUGHT;
+            case Exchange.EXCEPTION_HANDLED:
+                return EXCEPTION_HANDLED;
+            case Exchange.EXTERNAL_REDELIVERED:
+                return EXTERNAL_REDELIVERED;
+            case Exchange.FAILURE_ENDPOINT:
+                return FAILURE_ENDPOINT;
+            case Exchange.FAILURE_HANDLED:
+                return FAILURE_HANDLED;
+            case Exchange.FAILURE_ROUTE_ID:
+                return FAILURE_ROUTE_ID;
+            case Exchange.FATAL_FALLBACK_ERROR_HANDLER:
+                return FATAL_FALLBACK_ERROR_HANDLER;
+            case Exchange.FILTER_MATCHED:
+                return FILTER_MATCHED;
+            case Exchange.GROUPED_EXCHANGE:
+                return GROUPED_EXCHANGE;
+            case Exchange.INTERCEPTED_ENDPOINT:
+                return INTERCEPTED_ENDPOINT;
+            case Exchange.INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED:
+                return INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED;
+            case Exchange.INTERRUPTED:
+                return INTERRUPTED;
+            case Exchange.LOOP_INDEX:
+                return LOOP_INDEX;
+            case Exchange.LOOP_SIZE:
+                return LOOP_SIZE;
+            case Exchange.MESSAGE_HISTORY:
+                return MESSAGE_HISTORY;
+            case Exchange.MULTICAST_COMPLETE:
+                return MULTICAST_COMPLETE;
+            case Exchange.MULTICAST_INDEX:
+                return MULTICAST_INDEX;
+            case Exchange.NOTIFY_EVENT:
+                return NOTIFY_EVENT;
+            case Exchange.ON_COMPLETION:
+                return ON_COMPLETION;
+            case Exchange.PARENT_UNIT_OF_WORK:
+                return PARENT_UNIT_OF_WORK;
+            case Exchange.RECIPIENT_LIST_ENDPOINT:
+                return RECIPIENT_LIST_ENDPOINT;
+            case Exchange.REDELIVERY_EXHAUSTED:
+                return REDELIVERY_EXHAUSTED;
+            case Exchange.ROLLBACK_ONLY:
+                return ROLLBACK_ONLY;
+            case Exchange.ROLLBACK_ONLY_LAST:
+                return ROLLBACK_ONLY_LAST;
+            case Exchange.ROUTE_STOP:
+                return ROUTE_STOP;
+            case Exchange.SLIP_ENDPOINT:
+                return SLIP_ENDPOINT;
+            case Exchange.SLIP_PRODUCER:
+                return SLIP_PRODUCER;
+            case Exchange.SPLIT_COMPLETE:
+                return SPLIT_COMPLETE;
+            case Exchange.SPLIT_INDEX:
+                return SPLIT_INDEX;
+            case Exchange.SPLIT_SIZE:
+                return SPLIT_SIZE;
+            case Exchange.STEP_ID:
+                return STEP_ID;
+            case Exchange.STREAM_CACHE_UNIT_OF_WORK:
+                return STREAM_CACHE_UNIT_OF_WORK;
+            case Exchange.TO_ENDPOINT:
+                return TO_ENDPOINT;
+            case Exchange.TRY_ROUTE_BLOCK:
+                return TRY_ROUTE_BLOCK;
+            case Exchange.UNIT_OF_WORK_EXHAUSTED:
+                return UNIT_OF_WORK_EXHAUSTED;
+            case Exchange.UNIT_OF_WORK_PROCESS_SYNC:
+                return UNIT_OF_WORK_PROCESS_SYNC;
+            default:
+                return null;
+        }
+    }
+
+}
@@ -20,18 +20,26 @@ import javax.xml.bind.annotation.XmlEnum;
 
 /**
  * Level of granularity for performance statistics enabled
+ * <p/>
+ * The <tt>Percentiles</tt> level gathers the same statistics as <tt>Extended</tt>, however the counters
+ * are striped to reduce contention, and the processing times are also recorded in histograms which
+ * allows to report percentiles of the processing time for every route and processor.
  */
 @XmlEnum
 public enum ManagementStatisticsLevel {
 
-    Extended, Default, RoutesOnly, Off;
+    Extended, Default, RoutesOnly, Off, Percentiles;
 
     public boolean isDefaultOrExtended() {
-        return ordinal() == Default.ordinal() || ordinal() == Extended.ordinal();
+        return ordinal() == Default.ordinal() || ordinal() == Extended.ordinal() || ordinal() == Percentiles.ordinal();
+    }
+
+    public boolean isPercentiles() {
+        return ordinal() == Percentiles.ordinal();
     }
 
     public boolean isExtended() {
-        return ordinal() == Extended.ordinal();
+        return ordinal() == Extended.ordinal() || ordinal() == Percentiles.ordinal();
     }
 
 }
@@ -165,6 +165,26 @@ public interface InflightRepository extends StaticService {
      */
     Collection<InflightExchange> browse(String fromRouteId, int limit, boolean sortByLongestDuration);
 
+    /**
+     * Whether the inflight repository should allow browsing each inflight exchange.
+     * <p/>
+     * When disabled then the inflight exchanges are only counted, which has less overhead, and only the exchanges
+     * which the implementation chooses to track (such as a sample) can be browsed.
+     */
+    default boolean isInflightBrowseEnabled() {
+        return true;
+    }
+
+    /**
+     * Whether the inflight repository should allow browsing each inflight exchange.
+     * <p/>
+     * When disabled then the inflight exchanges are only counted, which has less overhead, and only the exchanges
+     * which the implementation chooses to track (such as a sample) can be browsed.
+     */
+    default void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        // noop
+    }
+
     /**
      * Gets the oldest {@link InflightExchange} that are currently inflight that started from the given route.
      *
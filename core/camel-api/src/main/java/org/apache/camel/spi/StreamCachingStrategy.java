@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -62,6 +63,16 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the number of bytes of direct (off-heap) memory currently in use by pooled buffers of in-memory stream caches.
+         */
+        long getCacheOffHeapUsed();
+
+        /**
+         * Gets the peak number of bytes of direct (off-heap) memory which has been in use by pooled buffers of in-memory stream caches.
+         */
+        long getCacheOffHeapPeak();
+
         /**
          * Reset the counters
          */
@@ -105,6 +116,31 @@ public interface StreamCachingStrategy extends StaticService {
 
     }
 
+    /**
+     * Pool of direct {@link ByteBuffer}s used for keeping in-memory stream caches off the heap.
+     */
+    interface BufferPool {
+
+        /**
+         * Gets the capacity in bytes of the buffers in the pool.
+         */
+        int getBufferSize();
+
+        /**
+         * Acquires a buffer from the pool.
+         *
+         * @return the buffer, or <tt>null</tt> if the pool has used all its memory, in which case the stream should be spooled to disk
+         */
+        ByteBuffer acquire();
+
+        /**
+         * Releases the buffer back to the pool.
+         *
+         * @param buffer the buffer which was acquired from this pool
+         */
+        void release(ByteBuffer buffer);
+    }
+
     /**
      * Sets whether the stream caching is enabled.
      * <p/>
@@ -164,6 +200,25 @@ public interface StreamCachingStrategy extends StaticService {
 
     int getBufferSize();
 
+    /**
+     * Sets the maximum number of bytes of direct (off-heap) memory to use for in-memory stream caches.
+     * <p/>
+     * When in use the in-memory stream caches are kept in pooled direct buffers of {@link #getBufferSize()} bytes,
+     * and when the pool has used all its memory, then the streams are spooled to disk.
+     * <p/>
+     * The default value is <tt>0</tt> which means the in-memory stream caches are kept on the heap.
+     */
+    void setBufferPoolSize(long bufferPoolSize);
+
+    long getBufferPoolSize();
+
+    /**
+     * Gets the pool of direct buffers to use for in-memory stream caches.
+     *
+     * @return the pool, or <tt>null</tt> if the in-memory stream caches should be kept on the heap
+     */
+    BufferPool getBufferPool();
+
     /**
      * Sets a cipher name to use when spooling to disk to write with encryption.
      * <p/>
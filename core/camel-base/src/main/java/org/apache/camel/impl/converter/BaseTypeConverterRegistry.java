@@ -78,6 +78,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     };
 
     protected final DoubleMap<Class<?>, Class<?>, TypeConverter> typeMappings = new DoubleMap<>(200);
+    protected final TypeConverterCache typeConverterCache = new TypeConverterCache();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     protected CamelContext camelContext;
@@ -248,18 +249,32 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             attemptCounter.increment();
         }
 
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(type, value.getClass());
+        // try to find a suitable type converter (use the cache first as its faster)
+        TypeConverterCache.Entry entry = typeConverterCache.get(type, value.getClass());
+        TypeConverter converter;
+        if (entry != null) {
+            converter = entry.getConverter();
+        } else {
+            int version = typeConverterCache.getVersion();
+            converter = getOrFindTypeConverter(type, value.getClass());
+            if (converter != null) {
+                entry = typeConverterCache.put(type, value.getClass(), converter, version);
+            }
+        }
         if (converter != null) {
             if (trace) {
                 log.trace("Using converter: {} to convert [{}=>{}]", converter, value.getClass(), type);
             }
+            long start = statisticsEnabled && entry != null ? System.nanoTime() : 0;
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
             } else {
                 rc = converter.convertTo(type, exchange, value);
             }
+            if (statisticsEnabled && entry != null) {
+                entry.record(System.nanoTime() - start);
+            }
             if (rc != null) {
                 return rc;
             } else if (converter.allowNull()) {
@@ -369,6 +384,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                typeConverterCache.clear();
             }
         }
     }
@@ -388,7 +404,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     @Override
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         log.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean answer = typeMappings.remove(toType, fromType);
+        typeConverterCache.clear();
+        return answer;
     }
 
     @Override
@@ -426,6 +444,13 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return typeMappings.get(toType, fromType);
     }
 
+    /**
+     * Gets the cache of the resolved type converters, which keeps utilization statistics per conversion
+     */
+    public TypeConverterCache getTypeConverterCache() {
+        return typeConverterCache;
+    }
+
     @Override
     public Injector getInjector() {
         return injector;
@@ -742,6 +767,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         typeMappings.clear();
+        typeConverterCache.clear();
         statistics.reset();
     }
 
@@ -784,6 +810,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             hitCounter.reset();
             missCounter.reset();
             failedCounter.reset();
+            typeConverterCache.resetStatistics();
         }
 
         @Override
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.TypeConverter;
+
+/**
+ * A lookup cache of the type converters resolved by {@link BaseTypeConverterRegistry}, keyed by the
+ * pair of to/from types.
+ * <p/>
+ * The cache is an open addressing hash table (linear probing) using the identity hash codes of the classes,
+ * which means lookups do not lock nor allocate. Entries are only added (under a lock) and never removed,
+ * instead the table is replaced as a whole when it needs to grow or is cleared, which allows readers
+ * to safely probe the table without any locking.
+ * <p/>
+ * Each entry keeps track of the number of conversions and the time spent converting, which is only
+ * updated if utilization statistics is enabled on the registry.
+ */
+public final class TypeConverterCache {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAXIMUM_CAPACITY = 1 << 16;
+
+    private final Object lock = new Object();
+    private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+    private volatile int version;
+    private int size;
+
+    /**
+     * Gets the cached entry for converting between the given types
+     *
+     * @return the entry, or <tt>null</tt> if not cached
+     */
+    public Entry get(Class<?> toType, Class<?> fromType) {
+        final Entry[] tab = table;
+        final int mask = tab.length - 1;
+        int i = hash(toType, fromType) & mask;
+        // the table is never more than half full so there is always an empty slot to stop at
+        Entry e;
+        while ((e = tab[i]) != null) {
+            if (e.toType == toType && e.fromType == fromType) {
+                return e;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * The current version of the cache, which is incremented each time the cache is cleared.
+     * <p/>
+     * Grab the version before resolving a type converter, and pass it to {@link #put(Class, Class, TypeConverter, int)}
+     * so a type converter resolved concurrently with changes to the registry is not cached.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds the type converter to the cache
+     *
+     * @param toType          the type to convert to
+     * @param fromType        the type to convert from
+     * @param converter       the resolved type converter
+     * @param expectedVersion the version of the cache from before the type converter was resolved
+     * @return the cached entry, or <tt>null</tt> if the type converter could not be cached
+     */
+    public Entry put(Class<?> toType, Class<?> fromType, TypeConverter converter, int expectedVersion) {
+        synchronized (lock) {
+            if (version != expectedVersion) {
+                // the cache has been cleared in the meantime
+                return null;
+            }
+            Entry[] tab = table;
+            Entry existing = get(toType, fromType);
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > tab.length) {
+                if (tab.length >= MAXIMUM_CAPACITY) {
+                    return null;
+                }
+                tab = resize(tab);
+            }
+            Entry entry = new Entry(toType, fromType, converter);
+            insert(tab, entry);
+            size++;
+            // publish the entry (the new table or the slot in the current table)
+            table = tab;
+            return entry;
+        }
+    }
+
+    /**
+     * Clears the cache, which must be done whenever type converters are added or removed from the registry
+     */
+    public void clear() {
+        synchronized (lock) {
+            table = new Entry[INITIAL_CAPACITY];
+            size = 0;
+            version++;
+        }
+    }
+
+    /**
+     * Number of cached entries
+     */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cached entries
+     */
+    public List<Entry> entries() {
+        Entry[] tab = table;
+        List<Entry> answer = new ArrayList<>();
+        for (Entry e : tab) {
+            if (e != null) {
+                answer.add(e);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the utilization statistics of the cached entries
+     */
+    public void resetStatistics() {
+        for (Entry e : table) {
+            if (e != null) {
+                e.reset();
+            }
+        }
+    }
+
+    private static Entry[] resize(Entry[] tab) {
+        Entry[] answer = new Entry[tab.length << 1];
+        for (Entry e : tab) {
+            if (e != null) {
+                insert(answer, e);
+            }
+        }
+        return answer;
+    }
+
+    private static void insert(Entry[] tab, Entry entry) {
+        final int mask = tab.length - 1;
+        int i = hash(entry.toType, entry.fromType) & mask;
+        while (tab[i] != null) {
+            i = (i + 1) & mask;
+        }
+        tab[i] = entry;
+    }
+
+    private static int hash(Class<?> toType, Class<?> fromType) {
+        int h = System.identityHashCode(toType) * 31 + System.identityHashCode(fromType);
+        // spread the higher bits as the table uses the lower bits
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A cached type converter for converting between the two types
+     */
+    public static final class Entry {
+        private final Class<?> toType;
+        private final Class<?> fromType;
+        private final TypeConverter converter;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+
+        Entry(Class<?> toType, Class<?> fromType, TypeConverter converter) {
+            this.toType = toType;
+            this.fromType = fromType;
+            this.converter = converter;
+        }
+
+        public Class<?> getToType() {
+            return toType;
+        }
+
+        public Class<?> getFromType() {
+            return fromType;
+        }
+
+        public TypeConverter getConverter() {
+            return converter;
+        }
+
+        /**
+         * Number of conversions done using this entry (only updated if statistics is enabled)
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /**
+         * Total time in nanos spent converting using this entry (only updated if statistics is enabled)
+         */
+        public long getTotalTime() {
+            return totalTime.sum();
+        }
+
+        /**
+         * Mean time in nanos spent converting using this entry (only updated if statistics is enabled)
+         */
+        public long getMeanTime() {
+            long count = hits.sum();
+            return count > 0 ? totalTime.sum() / count : 0;
+        }
+
+        void record(long nanos) {
+            hits.increment();
+            totalTime.add(nanos);
+        }
+
+        void reset() {
+            hits.reset();
+            totalTime.reset();
+        }
+
+        @Override
+        public String toString() {
+            return fromType.getCanonicalName() + " -> " + toType.getCanonicalName() + " [hits=" + getHits() + "]";
+        }
+    }
+
+}
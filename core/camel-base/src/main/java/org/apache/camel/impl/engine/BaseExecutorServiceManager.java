@@ -186,7 +186,16 @@ public abstract class BaseExecutorServiceManager extends ServiceSupport implemen
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         profile.addDefaults(defaultProfile);
 
-        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true);
+        ThreadFactory threadFactory;
+        if (profile.isVirtualThreads() && ThreadHelper.isVirtualThreadsSupported()) {
+            threadFactory = createVirtualThreadFactory(sanitizedName);
+        } else {
+            if (profile.isVirtualThreads()) {
+                LOG.warn("ThreadPoolProfile: {} is using virtual threads which is not supported on this JVM (requires Java 21)."
+                        + " Using regular thread pool instead.", profile.getId());
+            }
+            threadFactory = createThreadFactory(sanitizedName, true);
+        }
         ExecutorService executorService = threadPoolFactory.newThreadPool(profile, threadFactory);
         onThreadPoolCreated(executorService, source, profile.getId());
         if (LOG.isDebugEnabled()) {
@@ -547,4 +556,8 @@ public abstract class BaseExecutorServiceManager extends ServiceSupport implemen
         return new CamelThreadFactory(threadNamePattern, name, isDaemon);
     }
 
+    protected ThreadFactory createVirtualThreadFactory(String name) {
+        return new CamelThreadFactory(threadNamePattern, name, true, true);
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Map;
+
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.CompactMap;
+
+/**
+ * Compact {@link HeadersMapFactory} which uses the {@link org.apache.camel.util.CompactMap CompactMap} with case
+ * insensitive keys. The headers are stored in flat arrays which uses less memory and is faster than hashing
+ * for the few headers a message typically have. Copying the headers is copy-on-write, so messages which are copied
+ * but never modified (such as when using multicast, wire tap or splitter) share the same headers.
+ * See more details at {@link org.apache.camel.util.CompactMap}.
+ */
+public class CompactHeadersMapFactory implements HeadersMapFactory {
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new CompactMap(true);
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        if (map instanceof CompactMap && ((CompactMap) map).isCaseInsensitive()) {
+            return ((CompactMap) map).copy();
+        }
+        return new CompactMap(map, true);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof CompactMap && ((CompactMap) map).isCaseInsensitive();
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return true;
+    }
+}
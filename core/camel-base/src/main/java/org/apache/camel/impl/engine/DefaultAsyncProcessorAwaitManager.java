@@ -27,6 +27,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NamedNode;
 import org.apache.camel.RuntimeCamelException;
@@ -88,20 +89,26 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
                 return;
             }
         } while (exchange.getContext().getReactiveExecutor().executeFromQueue());
-        log.trace("Waiting for asynchronous callback before continuing for exchangeId: {} -> {}",
-                exchange.getExchangeId(), exchange);
+        if (log.isTraceEnabled()) {
+            log.trace("Waiting for asynchronous callback before continuing for exchangeId: {} -> {}",
+                    exchange.getExchangeId(), exchange);
+        }
         try {
             if (statistics.isStatisticsEnabled()) {
                 blockedCounter.incrementAndGet();
             }
             inflight.put(exchange, new AwaitThreadEntry(Thread.currentThread(), exchange, latch));
             latch.await();
-            log.trace("Asynchronous callback received, will continue routing exchangeId: {} -> {}",
-                    exchange.getExchangeId(), exchange);
+            if (log.isTraceEnabled()) {
+                log.trace("Asynchronous callback received, will continue routing exchangeId: {} -> {}",
+                        exchange.getExchangeId(), exchange);
+            }
 
         } catch (InterruptedException e) {
-            log.trace("Interrupted while waiting for callback, will continue routing exchangeId: {} -> {}",
-                    exchange.getExchangeId(), exchange);
+            if (log.isTraceEnabled()) {
+                log.trace("Interrupted while waiting for callback, will continue routing exchangeId: {} -> {}",
+                        exchange.getExchangeId(), exchange);
+            }
             exchange.setException(e);
         } finally {
             AwaitThread thread = inflight.remove(exchange);
@@ -126,7 +133,9 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
     }
 
     public void countDown(Exchange exchange, CountDownLatch latch) {
-        log.trace("Asynchronous callback received for exchangeId: {}", exchange.getExchangeId());
+        if (log.isTraceEnabled()) {
+            log.trace("Asynchronous callback received for exchangeId: {}", exchange.getExchangeId());
+        }
         latch.countDown();
     }
 
@@ -183,7 +192,7 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
                     interruptedCounter.incrementAndGet();
                 }
                 exchange.setException(new RejectedExecutionException("Interrupted while waiting for asynchronous callback for exchangeId: " + exchange.getExchangeId()));
-                exchange.setProperty(Exchange.INTERRUPTED, Boolean.TRUE);
+                exchange.setProperty(ExchangePropertyKey.INTERRUPTED, Boolean.TRUE);
                 entry.getLatch().countDown();
             }
         }
@@ -329,7 +338,7 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
         }
 
         private LinkedList<MessageHistory> getMessageHistories() {
-            return exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            return exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, LinkedList.class);
         }
 
         @Override
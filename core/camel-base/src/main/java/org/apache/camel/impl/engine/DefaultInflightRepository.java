@@ -24,57 +24,96 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.support.service.ServiceSupport;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * The exchanges are counted per route using striped counters. When browsing is enabled (default) then each
+ * inflight exchange is tracked so it can be browsed. When browsing is disabled then the exchanges are only
+ * counted, and a sample of the exchanges can be tracked by setting the sample rate, so the exchanges which
+ * are stuck can still be found.
  */
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<>();
+    // keyed by the exchange instance, so the exchange id is not created only to track the exchange
+    private final ConcurrentMap<Exchange, Exchange> inflight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+    private volatile boolean inflightBrowseEnabled = true;
+    private int sampleRate;
 
     @Override
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        count.increment();
+        if (inflightBrowseEnabled || (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0)) {
+            inflight.put(exchange, exchange);
+        }
     }
 
     @Override
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        count.decrement();
+        if (!inflight.isEmpty()) {
+            inflight.remove(exchange);
+        }
     }
 
     @Override
     public void add(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.incrementAndGet();
+            existing.increment();
         }
     }
 
     @Override
     public void remove(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.decrementAndGet();
+            existing.decrement();
         }
     }
 
     @Override
     public int size() {
-        return inflight.size();
+        return (int) Math.max(0, count.sum());
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * When browsing is disabled, then track one out of this number of exchanges (chosen at random) so they
+     * can be browsed. The default is 0 which does not track any exchanges.
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
     }
 
     @Override
     public void addRoute(String routeId) {
-        routeCount.putIfAbsent(routeId, new AtomicInteger(0));
+        routeCount.putIfAbsent(routeId, new LongAdder());
     }
 
     @Override
@@ -84,8 +123,8 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     @Override
     public int size(String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
-        return existing != null ? existing.get() : 0;
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? (int) Math.max(0, existing.sum()) : 0;
     }
 
     @Override
@@ -209,7 +248,7 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public long getElapsed() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            LinkedList<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, LinkedList.class);
             if (list == null || list.isEmpty()) {
                 return 0;
             }
@@ -231,7 +270,7 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public String getNodeId() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            LinkedList<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, LinkedList.class);
             if (list == null || list.isEmpty()) {
                 return null;
             }
@@ -253,7 +292,7 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public String getAtRouteId() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            LinkedList<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, LinkedList.class);
             if (list == null || list.isEmpty()) {
                 return null;
             }
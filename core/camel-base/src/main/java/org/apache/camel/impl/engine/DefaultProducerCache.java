@@ -26,6 +26,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.FailedToCreateProducerException;
 import org.apache.camel.Processor;
 import org.apache.camel.StatefulService;
@@ -158,7 +159,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
             log.debug(">>>> {} {}", endpoint, exchange);
 
             // set property which endpoint we send to
-            exchange.setProperty(Exchange.TO_ENDPOINT, endpoint.getEndpointUri());
+            exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, endpoint.getEndpointUri());
 
             // send the exchange using the processor
             StopWatch watch = null;
@@ -325,7 +326,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         log.debug(">>>> {} {}", endpoint, exchange);
 
         // set property which endpoint we send to
-        exchange.setProperty(Exchange.TO_ENDPOINT, endpoint.getEndpointUri());
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, endpoint.getEndpointUri());
 
         // send the exchange using the processor
         try {
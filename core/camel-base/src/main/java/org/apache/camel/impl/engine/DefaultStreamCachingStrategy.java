@@ -19,9 +19,13 @@ package org.apache.camel.impl.engine;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 import org.apache.camel.CamelContext;
@@ -49,6 +53,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
+    private volatile long bufferPoolSize;
+    private volatile DirectBufferPool bufferPool;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
@@ -139,6 +145,21 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.bufferSize = bufferSize;
     }
 
+    @Override
+    public long getBufferPoolSize() {
+        return bufferPoolSize;
+    }
+
+    @Override
+    public void setBufferPoolSize(long bufferPoolSize) {
+        this.bufferPoolSize = bufferPoolSize;
+    }
+
+    @Override
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     @Override
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
@@ -270,8 +291,13 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             throw new IllegalArgumentException("SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
 
+        if (bufferPoolSize > 0) {
+            bufferPool = new DirectBufferPool(bufferSize > 0 ? bufferSize : IOHelper.DEFAULT_BUFFER_SIZE);
+        }
+
         // if we can overflow to disk then make sure directory exists / is created
-        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0) {
+        // (streams are spooled to disk when the pool of direct buffers is used up)
+        if (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0 || bufferPoolSize > 0) {
 
             if (spoolDirectory == null && spoolDirectoryName == null) {
                 throw new IllegalArgumentException("SpoolDirectory must be configured when using SpoolThreshold > 0");
@@ -336,6 +362,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         statistics.reset();
+        // any stream caches still in use will release their buffers to the old pool
+        bufferPool = null;
     }
 
     @Override
@@ -346,6 +374,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
+            + ", bufferPoolSize=" + bufferPoolSize
             + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -411,10 +440,71 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
     }
 
+    /**
+     * Pool of direct buffers which keeps track of how much memory is in use, so no more than
+     * the buffer pool size is used.
+     */
+    private final class DirectBufferPool implements BufferPool {
+
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+        private final AtomicLong used = new AtomicLong();
+        private final AtomicLong peak = new AtomicLong();
+        private final int size;
+
+        private DirectBufferPool(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getBufferSize() {
+            return size;
+        }
+
+        @Override
+        public ByteBuffer acquire() {
+            long current;
+            do {
+                current = used.get();
+                if (current + size > bufferPoolSize) {
+                    log.trace("Buffer pool has used {} of {} bytes -> no more buffers", current, bufferPoolSize);
+                    return null;
+                }
+            } while (!used.compareAndSet(current, current + size));
+
+            long next = current + size;
+            long max = peak.get();
+            while (next > max && !peak.compareAndSet(max, next)) {
+                max = peak.get();
+            }
+
+            ByteBuffer buffer = buffers.poll();
+            return buffer != null ? buffer : ByteBuffer.allocateDirect(size);
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+            buffer.clear();
+            buffers.offer(buffer);
+            used.addAndGet(-size);
+        }
+
+        long getUsed() {
+            return used.get();
+        }
+
+        long getPeak() {
+            return peak.get();
+        }
+
+        void resetPeak() {
+            peak.set(used.get());
+        }
+    }
+
     /**
      * Represents utilization statistics.
      */
-    private static final class UtilizationStatistics implements Statistics {
+    private final class UtilizationStatistics implements Statistics {
 
         private boolean statisticsEnabled;
         private volatile long memoryCounter;
@@ -466,6 +556,18 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize;
         }
 
+        @Override
+        public long getCacheOffHeapUsed() {
+            DirectBufferPool pool = bufferPool;
+            return pool != null ? pool.getUsed() : 0;
+        }
+
+        @Override
+        public long getCacheOffHeapPeak() {
+            DirectBufferPool pool = bufferPool;
+            return pool != null ? pool.getPeak() : 0;
+        }
+
         @Override
         public synchronized void reset() {
             memoryCounter = 0;
@@ -474,6 +576,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            DirectBufferPool pool = bufferPool;
+            if (pool != null) {
+                pool.resetPeak();
+            }
         }
 
         @Override
@@ -488,8 +594,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
         @Override
         public String toString() {
-            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, offHeapUsed=%s, offHeapPeak=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize, getCacheOffHeapUsed(), getCacheOffHeapPeak());
         }
     }
 
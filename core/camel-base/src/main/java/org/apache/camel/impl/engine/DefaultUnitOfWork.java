@@ -29,6 +29,7 @@ import java.util.function.Predicate;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.apache.camel.Route;
@@ -94,8 +95,8 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
         }
 
         // mark the creation time when this Exchange was created
-        if (exchange.getProperty(Exchange.CREATED_TIMESTAMP) == null) {
-            exchange.setProperty(Exchange.CREATED_TIMESTAMP, new Date());
+        if (exchange.getProperty(ExchangePropertyKey.CREATED_TIMESTAMP) == null) {
+            exchange.setProperty(ExchangePropertyKey.CREATED_TIMESTAMP, new Date());
         }
 
         // inject breadcrumb header if enabled
@@ -111,13 +112,13 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
         
         // setup whether the exchange is externally redelivered or not (if not initialized before)
         // store as property so we know that the origin exchange was redelivered
-        if (exchange.getProperty(Exchange.EXTERNAL_REDELIVERED) == null) {
+        if (exchange.getProperty(ExchangePropertyKey.EXTERNAL_REDELIVERED) == null) {
             Boolean redelivered = exchange.isExternalRedelivered();
             if (redelivered == null) {
                 // not from a transactional resource so mark it as false by default
                 redelivered = false;
             }
-            exchange.setProperty(Exchange.EXTERNAL_REDELIVERED, redelivered);
+            exchange.setProperty(ExchangePropertyKey.EXTERNAL_REDELIVERED, redelivered);
         }
 
         // fire event
@@ -226,7 +227,9 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
 
     @Override
     public void done(Exchange exchange) {
-        log.trace("UnitOfWork done for ExchangeId: {} with {}", exchange.getExchangeId(), exchange);
+        if (log.isTraceEnabled()) {
+            log.trace("UnitOfWork done for ExchangeId: {} with {}", exchange.getExchangeId(), exchange);
+        }
 
         boolean failed = exchange.isFailed();
 
@@ -122,6 +122,13 @@ public class DefaultUuidGenerator implements UuidGenerator {
         }
     }
 
+    /**
+     * The seed which is the unique prefix of the ids generated by this generator
+     */
+    protected String getSeed() {
+        return seed;
+    }
+
     @Override
     public String generateUuid() {
         StringBuilder sb = new StringBuilder(length);
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Processor;
 import org.apache.camel.spi.RouteContext;
 import org.apache.camel.spi.UnitOfWork;
@@ -68,7 +69,7 @@ public class MDCUnitOfWork extends DefaultUnitOfWork {
         // the camel context id is from exchange
         MDC.put(MDC_CAMEL_CONTEXT_ID, exchange.getContext().getName());
         // and add optional correlation id
-        String corrId = exchange.getProperty(Exchange.CORRELATION_ID, String.class);
+        String corrId = exchange.getProperty(ExchangePropertyKey.CORRELATION_ID, String.class);
         if (corrId != null) {
             MDC.put(MDC_CORRELATION_ID, corrId);
         }
@@ -129,7 +130,7 @@ public class MDCUnitOfWork extends DefaultUnitOfWork {
     @Override
     public AsyncCallback beforeProcess(Processor processor, Exchange exchange, AsyncCallback callback) {
         // add optional step id
-        String stepId = exchange.getProperty(Exchange.STEP_ID, String.class);
+        String stepId = exchange.getProperty(ExchangePropertyKey.STEP_ID, String.class);
         if (stepId != null) {
             MDC.put(MDC_STEP_ID, stepId);
         }
@@ -139,7 +140,7 @@ public class MDCUnitOfWork extends DefaultUnitOfWork {
     @Override
     public void afterProcess(Processor processor, Exchange exchange, AsyncCallback callback, boolean doneSync) {
         // if we are no longer under step then remove it
-        String stepId = exchange.getProperty(Exchange.STEP_ID, String.class);
+        String stepId = exchange.getProperty(ExchangePropertyKey.STEP_ID, String.class);
         if (stepId == null) {
             MDC.remove(MDC_STEP_ID);
         }
@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which keeps the tasks of each worker in array based deques that are recycled
+ * between runs, instead of allocating linked list nodes for every scheduled task.
+ * <p/>
+ * Each worker is bound to its thread and keeps its own counters, so scheduling a task does not touch
+ * any state shared between threads. The description of a task is only kept when trace logging is enabled.
+ * When statistics is enabled, the execution time of each task is recorded in a per worker histogram
+ * which is merged when read from JMX.
+ */
+@ManagedResource(description = "Managed ReactiveExecutor")
+public class PooledReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledReactiveExecutor.class);
+
+    // buckets are in power of two micro seconds, the last bucket holds everything above
+    private static final int HISTOGRAM_BUCKETS = 24;
+    // how many empty queues each worker keeps for reuse
+    private static final int MAX_SPARE_QUEUES = 16;
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(new Supplier<Worker>() {
+        @Override
+        public Worker get() {
+            createdWorkers.incrementAndGet();
+            Worker worker = new Worker(PooledReactiveExecutor.this, Thread.currentThread());
+            // remove the workers of terminated threads, so they do not accumulate when threads come and go
+            pruneWorkers();
+            allWorkers.add(new WeakReference<>(worker));
+            return worker;
+        }
+    });
+
+    // use for statistics so we have insights at runtime
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    // the workers are held by their threads, so only keep weak references to them
+    private final Queue<WeakReference<Worker>> allWorkers = new ConcurrentLinkedQueue<>();
+    private volatile boolean statisticsEnabled;
+    private int initialQueueCapacity = 16;
+
+    @Override
+    public void scheduleMain(Runnable runnable, String description) {
+        if (description != null && LOG.isTraceEnabled()) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void schedule(Runnable runnable, String description) {
+        if (description != null && LOG.isTraceEnabled()) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, true, false, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable, String description) {
+        if (description != null && LOG.isTraceEnabled()) {
+            runnable = describe(runnable, description);
+        }
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    @Override
+    public void callback(AsyncCallback callback) {
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                callback.done(false);
+            }
+            @Override
+            public String toString() {
+                return "Callback[" + callback + "]";
+            }
+        });
+    }
+
+    public int getInitialQueueCapacity() {
+        return initialQueueCapacity;
+    }
+
+    /**
+     * The initial capacity of the task queues created by each worker. Is default 16.
+     */
+    public void setInitialQueueCapacity(int initialQueueCapacity) {
+        this.initialQueueCapacity = initialQueueCapacity;
+    }
+
+    @ManagedAttribute(description = "Whether statistics is enabled")
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    @ManagedAttribute(description = "Whether statistics is enabled")
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        int answer = 0;
+        for (Worker worker : aliveWorkers()) {
+            if (worker.running) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public long getPendingTasks() {
+        long answer = 0;
+        for (Worker worker : aliveWorkers()) {
+            answer += worker.queueDepth.sum();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Largest number of pending tasks in a single worker queue")
+    public int getMaxQueueDepth() {
+        int answer = 0;
+        for (Worker worker : aliveWorkers()) {
+            answer = Math.max(answer, (int) worker.queueDepth.sum());
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Histogram of the task execution times of all the workers (only available if statistics is enabled)")
+    public String getTaskLatencyHistogram() {
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+        for (Worker worker : aliveWorkers()) {
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                counts[i] += worker.histogram.get(i);
+            }
+        }
+        return formatHistogram(counts);
+    }
+
+    @ManagedOperation(description = "Lists the workers with their queue depth and task latency histogram")
+    public TabularData listWorkers() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listReactiveWorkersTabularType());
+            for (Worker worker : aliveWorkers()) {
+                Thread thread = worker.thread.get();
+                if (thread == null) {
+                    continue;
+                }
+                CompositeType ct = CamelOpenMBeanTypes.listReactiveWorkersCompositeType();
+                long[] counts = new long[HISTOGRAM_BUCKETS];
+                for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                    counts[i] = worker.histogram.get(i);
+                }
+                CompositeData data = new CompositeDataSupport(ct,
+                        new String[]{"id", "name", "running", "queueDepth", "peakQueueDepth", "executedTasks", "taskLatency"},
+                        new Object[]{"" + thread.getId(), thread.getName(), worker.running, (int) worker.queueDepth.sum(),
+                                     worker.peakQueueDepth, worker.executedTasks.sum(), formatHistogram(counts)});
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    /**
+     * The workers whose thread is still alive.
+     */
+    private List<Worker> aliveWorkers() {
+        pruneWorkers();
+        List<Worker> answer = new ArrayList<>();
+        for (WeakReference<Worker> ref : allWorkers) {
+            Worker worker = ref.get();
+            if (worker != null) {
+                answer.add(worker);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Removes the workers which are garbage collected or whose thread has terminated.
+     */
+    private void pruneWorkers() {
+        allWorkers.removeIf(ref -> {
+            Worker worker = ref.get();
+            return worker == null || !worker.isAlive();
+        });
+    }
+
+    private static int bucket(long nanos) {
+        // approximate micro seconds is good enough for a histogram
+        long micros = nanos >>> 10;
+        int index = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(index, HISTOGRAM_BUCKETS - 1);
+    }
+
+    private static String formatHistogram(long[] counts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            if (i == counts.length - 1) {
+                sb.append(">=").append(1L << (i - 1)).append("us");
+            } else {
+                sb.append("<").append(1L << i).append("us");
+            }
+            sb.append("=").append(counts[i]);
+        }
+        return sb.toString();
+    }
+
+    private static Runnable describe(Runnable runnable, String description) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // noop
+    }
+
+    /**
+     * A worker is only used by its own thread, so the queues need no synchronization.
+     * The counters are only updated by the owning thread and read from JMX, so they use
+     * adders which are cheaper to update than volatile fields.
+     */
+    private static final class Worker {
+
+        private final PooledReactiveExecutor executor;
+        private final WeakReference<Thread> thread;
+        private final ArrayDeque<ArrayDeque<Runnable>> spare = new ArrayDeque<>();
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+        private ArrayDeque<Runnable> queue;
+        private ArrayDeque<ArrayDeque<Runnable>> back;
+        private final LongAdder queueDepth = new LongAdder();
+        private final LongAdder executedTasks = new LongAdder();
+        private volatile boolean running;
+        // the depth is only used by the owning thread to track the peak, which is seldom updated
+        private int depth;
+        private volatile int peakQueueDepth;
+
+        Worker(PooledReactiveExecutor executor, Thread thread) {
+            this.executor = executor;
+            this.thread = new WeakReference<>(thread);
+            this.queue = new ArrayDeque<>(executor.initialQueueCapacity);
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            if (main) {
+                if (!queue.isEmpty()) {
+                    if (back == null) {
+                        back = new ArrayDeque<>();
+                    }
+                    back.push(queue);
+                    queue = acquireQueue();
+                }
+            }
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+            queueDepth.increment();
+            if (++depth > peakQueueDepth) {
+                peakQueueDepth = depth;
+            }
+            if (!running || sync) {
+                running = true;
+                try {
+                    for (;;) {
+                        final Runnable polled = queue.poll();
+                        if (polled == null) {
+                            if (back != null && !back.isEmpty()) {
+                                releaseQueue(queue);
+                                queue = back.poll();
+                                continue;
+                            } else {
+                                break;
+                            }
+                        }
+                        run(polled);
+                    }
+                } finally {
+                    running = false;
+                }
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Queuing reactive work: {}", runnable);
+                }
+            }
+        }
+
+        boolean executeFromQueue() {
+            final Runnable polled = queue.poll();
+            if (polled == null) {
+                return false;
+            }
+            run(polled);
+            return true;
+        }
+
+        boolean isAlive() {
+            Thread owner = thread.get();
+            return owner != null && owner.isAlive();
+        }
+
+        private void run(Runnable task) {
+            depth--;
+            queueDepth.decrement();
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Running: {}", task);
+            }
+            boolean stats = executor.statisticsEnabled;
+            long start = stats ? System.nanoTime() : 0;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+            } finally {
+                executedTasks.increment();
+                if (stats) {
+                    // only this thread updates the histogram so an ordered write is enough
+                    int index = bucket(System.nanoTime() - start);
+                    histogram.lazySet(index, histogram.get(index) + 1);
+                }
+            }
+        }
+
+        private ArrayDeque<Runnable> acquireQueue() {
+            ArrayDeque<Runnable> answer = spare.poll();
+            return answer != null ? answer : new ArrayDeque<>(executor.initialQueueCapacity);
+        }
+
+        private void releaseQueue(ArrayDeque<Runnable> empty) {
+            if (spare.size() < MAX_SPARE_QUEUES) {
+                spare.push(empty);
+            }
+        }
+
+    }
+
+}
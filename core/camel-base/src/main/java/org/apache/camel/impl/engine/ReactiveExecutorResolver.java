@@ -22,6 +22,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +59,13 @@ public class ReactiveExecutorResolver {
             }
         }
 
+        // use virtual threads if the default thread pool profile is using virtual threads
+        ThreadPoolProfile profile = context.getExecutorServiceManager().getDefaultThreadPoolProfile();
+        if (profile != null && profile.isVirtualThreads()) {
+            LOG.debug("Creating VirtualThreadReactiveExecutor as the default thread pool profile is using virtual threads");
+            return new VirtualThreadReactiveExecutor();
+        }
+
         // fallback to default
         LOG.debug("Creating default ReactiveExecutor");
         return new DefaultReactiveExecutor();
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link org.apache.camel.spi.UuidGenerator} which scales on systems with many threads generating ids.
+ * <p/>
+ * Each thread takes a block of sequence numbers from a shared counter, so threads only contend on the counter
+ * once per block. The ids have the same unique seed as the {@link DefaultUuidGenerator}, followed by the sequence
+ * number as 16 hex digits, which are encoded into a buffer per thread, so only the id itself is allocated.
+ * <p/>
+ * The ids are unique, but they are not generated in sequence across threads.
+ */
+public class ThreadLocalUuidGenerator extends DefaultUuidGenerator {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int DIGITS = 16;
+
+    private final AtomicLong blocks = new AtomicLong();
+    private final ThreadLocal<Block> block;
+    private final int blockSize;
+
+    public ThreadLocalUuidGenerator() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public ThreadLocalUuidGenerator(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("BlockSize must be positive, was: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.block = createBlocks(getSeed(), blocks, blockSize);
+    }
+
+    public ThreadLocalUuidGenerator(String prefix, int blockSize) {
+        super(prefix);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("BlockSize must be positive, was: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.block = createBlocks(getSeed(), blocks, blockSize);
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public String generateUuid() {
+        return block.get().next();
+    }
+
+    private static ThreadLocal<Block> createBlocks(String seed, AtomicLong blocks, int blockSize) {
+        // the blocks are held by the threads, so they must not refer to this generator which would then be leaked
+        return ThreadLocal.withInitial(() -> new Block(seed, blocks, blockSize));
+    }
+
+    /**
+     * The block of sequence numbers of a thread, and the buffer the ids are encoded into
+     */
+    private static final class Block {
+        private final AtomicLong blocks;
+        private final int blockSize;
+        private final char[] buffer;
+        private final int start;
+        private long sequence;
+        private long end;
+
+        Block(String seed, AtomicLong blocks, int blockSize) {
+            this.blocks = blocks;
+            this.blockSize = blockSize;
+            start = seed.length();
+            buffer = new char[start + DIGITS];
+            seed.getChars(0, start, buffer, 0);
+        }
+
+        String next() {
+            if (sequence == end) {
+                sequence = blocks.getAndIncrement() * blockSize + 1;
+                end = sequence + blockSize;
+            }
+            long value = sequence++;
+            for (int i = buffer.length - 1; i >= start; i--) {
+                buffer[i] = HEX[(int) (value & 0xf)];
+                value >>>= 4;
+            }
+            return new String(buffer);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which runs the continuations of the exchanges on virtual threads,
+ * so routes which block on I/O do not tie up platform threads.
+ * <p/>
+ * A task scheduled by a thread which is not running tasks of this executor, such as a consumer, timer or I/O thread,
+ * is handed over to a new virtual thread, and the tasks it schedules in turn are run by that virtual thread in the same
+ * way as {@link DefaultReactiveExecutor}. So an exchange is routed on a virtual thread, which may block without tying up
+ * the thread that started or completed it. Tasks scheduled by {@link #scheduleSync(Runnable)}, as used by transacted
+ * exchanges, and the tasks they schedule in turn are run by the calling thread, as they depend on state bound to that
+ * thread such as the transaction.
+ * <p/>
+ * Virtual threads requires Java 21 or newer, if not supported by the JVM then a regular thread pool is used.
+ */
+@ManagedResource(description = "Managed ReactiveExecutor")
+public class VirtualThreadReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadReactiveExecutor.class);
+
+    // marks the threads which runs tasks on behalf of this executor
+    private final ThreadLocal<Boolean> dispatched = new ThreadLocal<>();
+    private final DefaultReactiveExecutor delegate = new DefaultReactiveExecutor();
+    private final AtomicLong dispatchedTasks = new AtomicLong();
+    private CamelContext camelContext;
+    private volatile ExecutorService executorService;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable, String description) {
+        if (isDispatched()) {
+            delegate.scheduleMain(runnable, description);
+        } else {
+            dispatch(() -> delegate.scheduleMain(runnable, description));
+        }
+    }
+
+    @Override
+    public void schedule(Runnable runnable, String description) {
+        if (isDispatched()) {
+            delegate.schedule(runnable, description);
+        } else {
+            dispatch(() -> delegate.schedule(runnable, description));
+        }
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable, String description) {
+        // must run in the current thread, and so must the tasks it schedules in turn
+        runInline(() -> delegate.scheduleSync(runnable, description));
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return delegate.executeFromQueue();
+    }
+
+    @Override
+    public void callback(AsyncCallback callback) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                callback.done(false);
+            }
+            @Override
+            public String toString() {
+                return "Callback[" + callback + "]";
+            }
+        };
+        if (isDispatched()) {
+            delegate.schedule(task);
+        } else {
+            // the thread which completed the exchange does not wait for the routing to continue
+            dispatch(() -> delegate.schedule(task));
+        }
+    }
+
+    @ManagedAttribute(description = "Whether virtual threads is in use")
+    public boolean isVirtualThreads() {
+        return ThreadHelper.isVirtualThreadsSupported();
+    }
+
+    @ManagedAttribute(description = "Number of tasks handed over to a new thread")
+    public long getDispatchedTasks() {
+        return dispatchedTasks.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return delegate.getRunningWorkers();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public long getPendingTasks() {
+        return delegate.getPendingTasks();
+    }
+
+    private boolean isDispatched() {
+        return dispatched.get() != null;
+    }
+
+    private void runInline(Runnable task) {
+        if (isDispatched()) {
+            task.run();
+            return;
+        }
+        dispatched.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            dispatched.remove();
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        ExecutorService executor = executorService;
+        if (executor == null) {
+            // not started so run in the current thread
+            runInline(task);
+            return;
+        }
+        dispatchedTasks.incrementAndGet();
+        executor.execute(() -> runInline(task));
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        if (executorService == null) {
+            ThreadPoolProfile profile = new ThreadPoolProfile("ReactiveExecutor");
+            profile.setVirtualThreads(true);
+            executorService = camelContext.getExecutorServiceManager().newThreadPool(this, "ReactiveExecutor", profile);
+            LOG.debug("Using ExecutorService: {}", executorService);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+    }
+
+}
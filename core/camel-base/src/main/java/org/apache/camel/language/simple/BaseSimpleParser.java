@@ -47,12 +47,25 @@ public abstract class BaseSimpleParser {
     protected int previousIndex;
     protected int index;
     protected boolean allowEscape = true;
+    protected boolean compiled;
 
     protected BaseSimpleParser(String expression, boolean allowEscape) {
         this.expression = expression;
         this.allowEscape = allowEscape;
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the AST into expressions and predicates which are specialized for the AST,
+     * instead of interpreting the AST on every evaluation.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     /**
      * Advances the parser position to the next known {@link SimpleToken}
      * in the input.
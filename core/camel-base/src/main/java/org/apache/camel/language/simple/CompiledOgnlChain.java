@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * A chain of no argument method calls in a simple OGNL notation such as <tt>.name.length</tt> which is invoked
+ * using {@link MethodHandle}s resolved from the type of the target, instead of using the bean language.
+ * <p/>
+ * Each method in the chain remembers the handle for the last seen type of its target, so the reflection
+ * is only done when the type changes. The methods are resolved the same way as the bean language, first
+ * by the exact method name and then using the getter shorthand name (eg <tt>name</tt> for <tt>getName</tt>).
+ * Only methods which are not overloaded are supported, and the chain returns {@link #UNRESOLVED} when a method
+ * cannot be resolved or an intermediate value is <tt>null</tt>, which lets the caller fall back to the bean language.
+ */
+final class CompiledOgnlChain {
+
+    /**
+     * Returned when the chain could not be invoked.
+     */
+    static final Object UNRESOLVED = new Object();
+
+    private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class);
+
+    private final String ognl;
+    private final String[] names;
+    private final boolean[] calls;
+    // the links are immutable so its safe to replace them without locking
+    private final Link[] links;
+
+    private CompiledOgnlChain(String ognl, String[] names, boolean[] calls) {
+        this.ognl = ognl;
+        this.names = names;
+        this.calls = calls;
+        this.links = new Link[names.length];
+    }
+
+    /**
+     * Parses the OGNL expression which must start with a dot, and only call methods without any parameters
+     * such as <tt>.name</tt> or <tt>.toString()</tt>.
+     *
+     * @param ognl the OGNL expression
+     * @return the chain, or <tt>null</tt> if the OGNL expression is not supported
+     */
+    static CompiledOgnlChain parse(String ognl) {
+        if (ognl == null || ognl.length() < 2 || ognl.charAt(0) != '.') {
+            return null;
+        }
+        String[] parts = ognl.substring(1).split("\\.", -1);
+        String[] names = new String[parts.length];
+        boolean[] calls = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String name = parts[i];
+            if (name.endsWith("()")) {
+                name = name.substring(0, name.length() - 2);
+                calls[i] = true;
+            }
+            if (!isJavaIdentifier(name)) {
+                return null;
+            }
+            names[i] = name;
+        }
+        return new CompiledOgnlChain(ognl, names, calls);
+    }
+
+    /**
+     * Invokes the chain on the given target.
+     *
+     * @param target the target, must not be <tt>null</tt>
+     * @return the result, or {@link #UNRESOLVED} if the chain could not be invoked
+     */
+    Object invoke(Object target) {
+        Object answer = target;
+        for (int i = 0; i < names.length; i++) {
+            if (answer == null) {
+                // let the bean language deal with null safe operators and failures
+                return UNRESOLVED;
+            }
+            MethodHandle handle = resolve(i, answer.getClass());
+            if (handle == null) {
+                return UNRESOLVED;
+            }
+            try {
+                answer = handle.invokeExact(answer);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return ognl;
+    }
+
+    private MethodHandle resolve(int index, Class<?> type) {
+        Link link = links[index];
+        if (link == null || link.type != type) {
+            link = new Link(type, findMethodHandle(type, names[index], calls[index]));
+            links[index] = link;
+        }
+        return link.handle;
+    }
+
+    private static MethodHandle findMethodHandle(Class<?> type, String name, boolean call) {
+        Method method = findMethod(type, name);
+        if (method == null && !call) {
+            // try the getter shorthand name
+            String capitalized = StringHelper.capitalize(name);
+            method = findMethod(type, "get" + capitalized);
+            if (method == null) {
+                method = findMethod(type, "is" + capitalized);
+                if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                    method = null;
+                }
+            }
+        }
+        if (method == null) {
+            return null;
+        }
+
+        // the method may be declared on a type which is not accessible (eg a private implementation class)
+        // so look for the same method on the public types in the hierarchy
+        for (Class<?> candidate : publicTypes(type)) {
+            try {
+                Method target = candidate.getMethod(method.getName());
+                return MethodHandles.publicLookup().unreflect(target).asType(GENERIC);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // try the next type
+            }
+        }
+        return null;
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        Method answer = null;
+        for (Method method : type.getMethods()) {
+            if (method.isBridge() || Modifier.isStatic(method.getModifiers()) || !method.getName().equals(name)) {
+                continue;
+            }
+            if (method.getParameterCount() > 0) {
+                // overloaded methods with parameters are left to the bean language as they may bind to the message
+                return null;
+            }
+            answer = method;
+        }
+        return answer;
+    }
+
+    private static List<Class<?>> publicTypes(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            types.add(clazz);
+        }
+        List<Class<?>> classes = new ArrayList<>(types);
+        for (Class<?> clazz : classes) {
+            addInterfaces(clazz, types);
+        }
+        List<Class<?>> answer = new ArrayList<>(types.size());
+        for (Class<?> clazz : types) {
+            if (Modifier.isPublic(clazz.getModifiers())) {
+                answer.add(clazz);
+            }
+        }
+        return answer;
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> clazz : type.getInterfaces()) {
+            if (types.add(clazz)) {
+                addInterfaces(clazz, types);
+            }
+        }
+    }
+
+    private static boolean isJavaIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Link {
+        private final Class<?> type;
+        private final MethodHandle handle;
+
+        private Link(Class<?> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+    }
+
+}
@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralExpression;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.NullExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.ExpressionToPredicateAdapter;
+import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.support.ObjectHelper;
+
+/**
+ * Compiles the AST of the simple language into expressions and predicates which are specialized
+ * for the given AST, instead of interpreting the AST on every evaluation.
+ * <p/>
+ * The following is compiled:
+ * <ul>
+ *   <li>headers and exchange properties with a plain name are looked up directly, without evaluating the name
+ *   as a nested simple expression</li>
+ *   <li>OGNL method chains on the body and headers (such as <tt>${body.length}</tt>) are invoked using method
+ *   handles which are resolved once per type, instead of using the bean language</li>
+ *   <li>comparison operators evaluate both sides only once and compare strings and whole numbers
+ *   directly, where the literal on the right hand side is converted when compiling</li>
+ *   <li>logical operators are short circuit predicates over the compiled nodes</li>
+ * </ul>
+ * Anything else (and any OGNL method chain which cannot be resolved at runtime) falls back to
+ * the interpreted expression from the AST, so the result of a compiled expression is the same as
+ * the interpreted expression.
+ */
+final class SimpleCompiler {
+
+    private static final Object NOT_CONSTANT = new Object();
+
+    private static final String[] HEADER_PREFIXES = {"in.headers", "in.header", "headers", "header"};
+    private static final String[] BODY_PREFIXES = {"body", "in.body"};
+
+    private SimpleCompiler() {
+    }
+
+    /**
+     * Compiles the node as an {@link Expression}.
+     *
+     * @param node       the node
+     * @param expression the input string
+     * @return the compiled expression, or the interpreted expression if the node cannot be compiled
+     */
+    static Expression compileExpression(SimpleNode node, String expression) {
+        Expression answer = doCompile(node, expression);
+        return answer != null ? answer : node.createExpression(expression);
+    }
+
+    /**
+     * Compiles the node as a {@link Predicate}.
+     *
+     * @param node       the node
+     * @param expression the input string
+     * @return the compiled predicate, or the interpreted expression adapted as a predicate if the node cannot be compiled
+     */
+    static Predicate compilePredicate(SimpleNode node, String expression) {
+        Expression answer = compileExpression(node, expression);
+        return answer != null ? toPredicate(answer) : null;
+    }
+
+    private static Predicate toPredicate(Expression expression) {
+        if (expression instanceof BinaryPredicate || expression instanceof LogicalPredicate) {
+            return (Predicate) expression;
+        }
+        return ExpressionToPredicateAdapter.toPredicate(expression);
+    }
+
+    private static Expression doCompile(SimpleNode node, String expression) {
+        if (node instanceof BinaryExpression) {
+            return compileBinary((BinaryExpression) node, expression);
+        } else if (node instanceof LogicalExpression) {
+            return compileLogical((LogicalExpression) node, expression);
+        } else if (node instanceof SimpleFunctionStart) {
+            return compileFunction((SimpleFunctionStart) node, expression);
+        } else if (node instanceof SingleQuoteStart) {
+            return compileBlock(((SingleQuoteStart) node).getBlock(), expression);
+        } else if (node instanceof DoubleQuoteStart) {
+            return compileBlock(((DoubleQuoteStart) node).getBlock(), expression);
+        }
+        return null;
+    }
+
+    private static Expression compileBlock(CompositeNodes block, String expression) {
+        // only a quoted function such as '${header.foo}' is worth compiling
+        List<SimpleNode> children = block.getChildren();
+        if (children.size() == 1 && children.get(0) instanceof SimpleFunctionStart) {
+            return compileFunction((SimpleFunctionStart) children.get(0), expression);
+        }
+        return null;
+    }
+
+    private static Expression compileBinary(BinaryExpression node, String expression) {
+        BinaryOperatorType operator = node.getOperator();
+        if (operator != BinaryOperatorType.EQ && operator != BinaryOperatorType.NOT_EQ
+                && operator != BinaryOperatorType.GT && operator != BinaryOperatorType.GTE
+                && operator != BinaryOperatorType.LT && operator != BinaryOperatorType.LTE) {
+            return null;
+        }
+        org.apache.camel.util.ObjectHelper.notNull(node.getLeft(), "left node", node);
+        org.apache.camel.util.ObjectHelper.notNull(node.getRight(), "right node", node);
+
+        Expression left = compileExpression(node.getLeft(), expression);
+        Object constant = constantValue(node.getRight());
+        if (constant != NOT_CONSTANT) {
+            return new BinaryPredicate(node.toString(), operator, left, null, constant);
+        }
+        Expression right = compileExpression(node.getRight(), expression);
+        return new BinaryPredicate(node.toString(), operator, left, right, null);
+    }
+
+    private static Expression compileLogical(LogicalExpression node, String expression) {
+        org.apache.camel.util.ObjectHelper.notNull(node.getLeft(), "left node", node);
+        org.apache.camel.util.ObjectHelper.notNull(node.getRight(), "right node", node);
+
+        Predicate left = compilePredicate(node.getLeft(), expression);
+        Predicate right = compilePredicate(node.getRight(), expression);
+        return new LogicalPredicate(node.toString(), node.getOperator() == LogicalOperatorType.AND, left, right);
+    }
+
+    private static Expression compileFunction(SimpleFunctionStart node, String expression) {
+        List<SimpleNode> children = node.getBlock().getChildren();
+        if (children.size() != 1 || !(children.get(0) instanceof LiteralNode)) {
+            // nested functions are evaluated dynamically
+            return null;
+        }
+        String function = ((LiteralNode) children.get(0)).getText();
+        // the interpreted expression validates the syntax of the function, and is the fallback for OGNL
+        Expression interpreted = node.createExpression(expression);
+
+        for (String prefix : BODY_PREFIXES) {
+            if (function.startsWith(prefix + ".")) {
+                CompiledOgnlChain chain = CompiledOgnlChain.parse(function.substring(prefix.length()));
+                return chain != null ? new BodyOgnlExpression(chain, interpreted) : interpreted;
+            }
+        }
+
+        for (String prefix : HEADER_PREFIXES) {
+            if (function.startsWith(prefix) && function.length() > prefix.length()) {
+                char ch = function.charAt(prefix.length());
+                if (ch != '.' && ch != ':') {
+                    // such as headerAs(key, type) or header[key]
+                    return interpreted;
+                }
+                String key = function.substring(prefix.length() + 1);
+                int pos = key.indexOf('.');
+                if (pos == -1) {
+                    return isPlainName(key) ? new HeaderExpression(key) : interpreted;
+                }
+                String name = key.substring(0, pos);
+                CompiledOgnlChain chain = CompiledOgnlChain.parse(key.substring(pos));
+                if (isPlainName(name) && chain != null) {
+                    return new HeaderOgnlExpression(key, name, chain, interpreted);
+                }
+                return interpreted;
+            }
+        }
+
+        if (function.startsWith("exchangeProperty.")) {
+            String name = function.substring(17);
+            return isPlainName(name) ? new PropertyExpression(name) : interpreted;
+        }
+
+        return interpreted;
+    }
+
+    private static Object constantValue(SimpleNode node) {
+        if (node instanceof NullExpression) {
+            return null;
+        } else if (node instanceof LiteralExpression && !(node instanceof SimpleFunctionExpression)) {
+            return ((LiteralExpression) node).getText();
+        }
+
+        CompositeNodes block = null;
+        if (node instanceof SingleQuoteStart) {
+            block = ((SingleQuoteStart) node).getBlock();
+        } else if (node instanceof DoubleQuoteStart) {
+            block = ((DoubleQuoteStart) node).getBlock();
+        }
+        if (block == null) {
+            return NOT_CONSTANT;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            if (!(child instanceof LiteralExpression) || child instanceof SimpleFunctionExpression) {
+                return NOT_CONSTANT;
+            }
+            sb.append(((LiteralExpression) child).getText());
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPlainName(String name) {
+        if (name.isEmpty() || LanguageSupport.hasSimpleFunction(name)) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch == '.' || ch == '[' || ch == ']' || ch == '(' || ch == ')' || ch == '?'
+                    || ch == '\'' || ch == '"' || Character.isWhitespace(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWholeNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static Long parseWholeNumber(Object value) {
+        if (value instanceof String) {
+            try {
+                return Long.valueOf((String) value);
+            } catch (NumberFormatException e) {
+                // not a whole number
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The header with a plain name which falls back to the exchange property, the same as the
+     * interpreted <tt>${header.name}</tt> function.
+     */
+    private static final class HeaderExpression extends ExpressionAdapter {
+        private final String name;
+
+        HeaderExpression(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            Object header = exchange.getIn().getHeader(name);
+            if (header == null) {
+                // fall back on a property
+                header = exchange.getProperty(name);
+            }
+            return header;
+        }
+
+        @Override
+        public String toString() {
+            return "header(" + name + ")";
+        }
+    }
+
+    private static final class HeaderOgnlExpression extends ExpressionAdapter {
+        private final String key;
+        private final String name;
+        private final CompiledOgnlChain chain;
+        private final Expression fallback;
+
+        HeaderOgnlExpression(String key, String name, CompiledOgnlChain chain, Expression fallback) {
+            this.key = key;
+            this.name = name;
+            this.chain = chain;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            // try with full name first
+            Object header = exchange.getIn().getHeader(key);
+            if (header != null) {
+                return header;
+            }
+            header = exchange.getIn().getHeader(name);
+            if (header == null) {
+                return null;
+            }
+            Object answer = chain.invoke(header);
+            return answer != CompiledOgnlChain.UNRESOLVED ? answer : fallback.evaluate(exchange, Object.class);
+        }
+
+        @Override
+        public String toString() {
+            return "headerOgnl(" + key + ")";
+        }
+    }
+
+    private static final class BodyOgnlExpression extends ExpressionAdapter {
+        private final CompiledOgnlChain chain;
+        private final Expression fallback;
+
+        BodyOgnlExpression(CompiledOgnlChain chain, Expression fallback) {
+            this.chain = chain;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            Object body = exchange.getIn().getBody();
+            if (body == null) {
+                return null;
+            }
+            Object answer = chain.invoke(body);
+            return answer != CompiledOgnlChain.UNRESOLVED ? answer : fallback.evaluate(exchange, Object.class);
+        }
+
+        @Override
+        public String toString() {
+            return "bodyOgnl(" + chain + ")";
+        }
+    }
+
+    private static final class PropertyExpression extends ExpressionAdapter {
+        private final String name;
+
+        PropertyExpression(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return exchange.getProperty(name);
+        }
+
+        @Override
+        public String toString() {
+            return "exchangeProperty(" + name + ")";
+        }
+    }
+
+    /**
+     * The comparison operators which has the same outcome as the predicates from
+     * {@link org.apache.camel.support.builder.PredicateBuilder} used by the interpreted expression.
+     */
+    private static final class BinaryPredicate extends ExpressionAdapter {
+        private final String text;
+        private final BinaryOperatorType operator;
+        private final Expression left;
+        private final Expression right;
+        private final Object constant;
+        private final Long number;
+
+        BinaryPredicate(String text, BinaryOperatorType operator, Expression left, Expression right, Object constant) {
+            this.text = text;
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+            this.constant = constant;
+            // convert the literal once instead of on every evaluation
+            this.number = parseWholeNumber(constant);
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return matches(exchange);
+        }
+
+        @Override
+        public boolean matches(Exchange exchange) {
+            Object leftValue = left.evaluate(exchange, Object.class);
+            Object rightValue = right != null ? right.evaluate(exchange, Object.class) : constant;
+
+            if (leftValue == null || rightValue == null) {
+                boolean both = leftValue == null && rightValue == null;
+                switch (operator) {
+                case EQ:
+                case LT:
+                case LTE:
+                case GTE:
+                    return both;
+                case NOT_EQ:
+                    return !both;
+                default:
+                    return false;
+                }
+            }
+
+            switch (operator) {
+            case EQ:
+                return isEqualTo(exchange, leftValue, rightValue);
+            case NOT_EQ:
+                return !isEqualTo(exchange, leftValue, rightValue);
+            case GT:
+                return compare(exchange, leftValue, rightValue) > 0;
+            case GTE:
+                return compare(exchange, leftValue, rightValue) >= 0;
+            case LT:
+                return compare(exchange, leftValue, rightValue) < 0;
+            default:
+                return compare(exchange, leftValue, rightValue) <= 0;
+            }
+        }
+
+        private boolean isEqualTo(Exchange exchange, Object leftValue, Object rightValue) {
+            if (leftValue instanceof String && rightValue instanceof String) {
+                return leftValue.equals(rightValue);
+            } else if (number != null && isWholeNumber(leftValue)) {
+                return ((Number) leftValue).longValue() == number;
+            }
+            return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), leftValue, rightValue);
+        }
+
+        private int compare(Exchange exchange, Object leftValue, Object rightValue) {
+            if (isWholeNumber(leftValue)) {
+                if (number != null) {
+                    return Long.compare(((Number) leftValue).longValue(), number);
+                } else if (isWholeNumber(rightValue)) {
+                    return Long.compare(((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+                }
+            }
+            return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, rightValue);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class LogicalPredicate extends ExpressionAdapter {
+        private final String text;
+        private final boolean and;
+        private final Predicate left;
+        private final Predicate right;
+
+        LogicalPredicate(String text, boolean and, Predicate left, Predicate right) {
+            this.text = text;
+            this.and = and;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return matches(exchange);
+        }
+
+        @Override
+        public boolean matches(Exchange exchange) {
+            if (and) {
+                return left.matches(exchange) && right.matches(exchange);
+            } else {
+                return left.matches(exchange) || right.matches(exchange);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+}
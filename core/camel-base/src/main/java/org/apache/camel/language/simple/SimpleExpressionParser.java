@@ -161,7 +161,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
     private List<Expression> createExpressions() {
         List<Expression> answer = new ArrayList<>();
         for (SimpleNode token : nodes) {
-            Expression exp = token.createExpression(expression);
+            Expression exp = compiled ? SimpleCompiler.compileExpression(token, expression) : token.createExpression(expression);
             if (exp != null) {
                 answer.add(exp);
             }
@@ -18,6 +18,7 @@ package org.apache.camel.language.simple;
 
 import java.util.Map;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.StaticService;
@@ -106,6 +107,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     boolean allowEscape = true;
+    boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -117,6 +119,25 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     public SimpleLanguage() {
     }
 
+    /**
+     * Whether the expressions and predicates are compiled into expressions and predicates which are
+     * specialized for the parsed AST, instead of interpreting the AST on every evaluation.
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Sets whether to compile the expressions and predicates, which is faster when evaluating headers,
+     * comparisons and OGNL method calls on the body or headers. Anything which cannot be compiled
+     * is interpreted as usual.
+     * <p/>
+     * Can also be enabled with the global option {@link org.apache.camel.Exchange#SIMPLE_COMPILED}.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public void init() {
         // setup cache which requires CamelContext to be set first
@@ -134,7 +155,13 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
     @Override
     public void start() {
-        // noop
+        if (getCamelContext() != null) {
+            String s = getCamelContext().getGlobalOption(Exchange.SIMPLE_COMPILED);
+            if (s != null) {
+                compiled = Boolean.parseBoolean(s);
+                LOG.debug("Simple language compiled: {}", compiled);
+            }
+        }
     }
 
     @Override
@@ -165,6 +192,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             expression = loadResource(expression);
 
             SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression);
+            parser.setCompiled(compiled);
             answer = parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
@@ -185,6 +213,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             expression = loadResource(expression);
 
             SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression);
+            parser.setCompiled(compiled);
             answer = parser.parseExpression();
 
             if (cacheExpression != null && answer != null) {
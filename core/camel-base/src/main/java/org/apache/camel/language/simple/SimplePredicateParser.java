@@ -441,6 +441,13 @@ public class SimplePredicateParser extends BaseSimpleParser {
     private List<Predicate> createPredicates() {
         List<Predicate> answer = new ArrayList<>();
         for (SimpleNode node : nodes) {
+            if (compiled) {
+                Predicate predicate = SimpleCompiler.compilePredicate(node, expression);
+                if (predicate != null) {
+                    answer.add(predicate);
+                }
+                continue;
+            }
             Expression exp = node.createExpression(expression);
             if (exp != null) {
                 Predicate predicate = ExpressionToPredicateAdapter.toPredicate(exp);
@@ -26,6 +26,7 @@ import java.util.concurrent.RejectedExecutionException;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NamedNode;
@@ -230,17 +231,25 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             // CAMEL END USER - DEBUG ME HERE +++ END +++
             // ----------------------------------------------------------
 
-            exchange.getContext().getReactiveExecutor().schedule(() -> {
-                // execute any after processor work (in current thread, not in the callback)
-                if (uow != null) {
-                    uow.afterProcess(processor, exchange, callback, false);
+            exchange.getContext().getReactiveExecutor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // execute any after processor work (in current thread, not in the callback)
+                    if (uow != null) {
+                        uow.afterProcess(processor, exchange, callback, false);
+                    }
+
+                    if (log.isTraceEnabled()) {
+                        log.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
+                                 exchange.getExchangeId(), exchange);
+                    }
                 }
 
-                if (log.isTraceEnabled()) {
-                    log.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
-                             exchange.getExchangeId(), exchange);
+                @Override
+                public String toString() {
+                    return "CamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId();
                 }
-            }, "CamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId());
+            });
             return false;
         }
     }
@@ -254,7 +263,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * Strategy to determine if we should continue processing the {@link Exchange}.
      */
     private boolean continueProcessing(Exchange exchange) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
@@ -437,7 +446,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
                 // if first we should add a pseudo trace message as well, so we have a starting message (eg from the route)
                 String routeId = routeDefinition != null ? routeDefinition.getRouteId() : null;
                 if (first) {
-                    Date created = exchange.getProperty(Exchange.CREATED_TIMESTAMP, timestamp, Date.class);
+                    Date created = exchange.getProperty(ExchangePropertyKey.CREATED_TIMESTAMP, timestamp, Date.class);
                     DefaultBacklogTracerEventMessage pseudo = new DefaultBacklogTracerEventMessage(backlogTracer.incrementTraceCounter(), created, routeId, null, exchangeId, messageAsXml);
                     backlogTracer.traceEvent(pseudo);
                 }
@@ -644,10 +653,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
         @Override
         public MessageHistory before(Exchange exchange) throws Exception {
-            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            List<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class);
             if (list == null) {
                 list = new LinkedList<>();
-                exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
+                exchange.setProperty(ExchangePropertyKey.MESSAGE_HISTORY, list);
             }
 
             // we may be routing outside a route in an onException or interceptor and if so then grab
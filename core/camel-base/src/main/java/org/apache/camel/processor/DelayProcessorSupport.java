@@ -27,6 +27,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.support.HashedWheelTimer;
 import org.apache.camel.support.processor.DelegateAsyncProcessor;
 import org.apache.camel.util.ObjectHelper;
 
@@ -35,12 +36,16 @@ import org.apache.camel.util.ObjectHelper;
  * or delayed processing.
  * <p/>
  * This implementation will block while waiting.
+ * <p/>
+ * If a {@link HashedWheelTimer} is in use then the asynchronous delays are scheduled on the timing wheel,
+ * and the executor service is only used for continue routing when the delay is over.
  */
 public abstract class DelayProcessorSupport extends DelegateAsyncProcessor implements ShutdownAware {
 
     private final CamelContext camelContext;
     private final ScheduledExecutorService executorService;
     private final boolean shutdownExecutorService;
+    private HashedWheelTimer timer;
     private boolean asyncDelayed = true;
     private boolean callerRunsWhenRejected = true;
     private final AtomicInteger delayedCount = new AtomicInteger(0);
@@ -112,7 +117,11 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor imple
             try {
                 log.trace("Scheduling delayed task to run in {} millis for exchangeId: {}",
                         delay, exchange.getExchangeId());
-                executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                if (timer != null) {
+                    timer.schedule(() -> executeCall(call), delay, TimeUnit.MILLISECONDS);
+                } else {
+                    executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                }
                 // tell Camel routing engine we continue routing asynchronous
                 return false;
             } catch (RejectedExecutionException e) {
@@ -142,6 +151,24 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor imple
         }
     }
 
+    /**
+     * Continues routing using the executor service, as the timing wheel should not run the tasks itself
+     */
+    private void executeCall(ProcessCall call) {
+        try {
+            executorService.execute(call);
+        } catch (RejectedExecutionException e) {
+            if (isCallerRunsWhenRejected()) {
+                log.debug("Executing delayed task rejected, so letting the timing wheel run it, for exchangeId: {}", call.exchange.getExchangeId());
+                call.run();
+            } else {
+                delayedCount.decrementAndGet();
+                call.exchange.setException(e);
+                call.callback.done(false);
+            }
+        }
+    }
+
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         if (!isRunAllowed()) {
@@ -252,6 +279,7 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor imple
         } else if (executorService != null) {
             asyncDelayed = true;
         }
+        timer = HashedWheelTimer.lookup(camelContext);
         super.doStart();
     }
 
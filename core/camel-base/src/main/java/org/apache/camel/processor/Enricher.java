@@ -26,6 +26,7 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.impl.engine.DefaultProducerCache;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
@@ -222,7 +223,7 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, CamelCon
                 }
 
                 // set property with the uri of the endpoint enriched so we can use that for tracing etc
-                exchange.setProperty(Exchange.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
+                exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
 
                 // return the producer back to the cache
                 try {
@@ -236,13 +237,17 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, CamelCon
         });
 
         if (!sync) {
-            log.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+            if (log.isTraceEnabled()) {
+                log.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+            }
             // the remainder of the routing slip will be completed async
             // so we break out now, then the callback will be invoked which then continue routing from where we left here
             return false;
         }
 
-        log.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+        if (log.isTraceEnabled()) {
+            log.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+        }
 
         if (watch != null) {
             // emit event that the exchange was sent to the endpoint
@@ -275,7 +280,7 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, CamelCon
         }
 
         // set property with the uri of the endpoint enriched so we can use that for tracing etc
-        exchange.setProperty(Exchange.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
 
         // return the producer back to the cache
         try {
@@ -312,7 +317,7 @@ public class Enricher extends AsyncProcessorSupport implements IdAware, CamelCon
 
         // if we share unit of work, we need to prepare the resource exchange
         if (isShareUnitOfWork()) {
-            target.setProperty(Exchange.PARENT_UNIT_OF_WORK, source.getUnitOfWork());
+            target.setProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, source.getUnitOfWork());
             // and then share the unit of work
             target.setUnitOfWork(source.getUnitOfWork());
         }
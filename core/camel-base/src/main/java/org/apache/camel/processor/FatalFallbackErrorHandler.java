@@ -21,6 +21,7 @@ import java.util.Deque;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Processor;
 import org.apache.camel.support.processor.DelegateAsyncProcessor;
 
@@ -54,18 +55,18 @@ public class FatalFallbackErrorHandler extends DelegateAsyncProcessor implements
         final String id = routeIdExpression().evaluate(exchange, String.class);
 
         // prevent endless looping if we end up coming back to ourself
-        Deque<String> fatals = exchange.getProperty(Exchange.FATAL_FALLBACK_ERROR_HANDLER, null, Deque.class);
+        Deque<String> fatals = exchange.getProperty(ExchangePropertyKey.FATAL_FALLBACK_ERROR_HANDLER, null, Deque.class);
         if (fatals == null) {
             fatals = new ArrayDeque<>();
-            exchange.setProperty(Exchange.FATAL_FALLBACK_ERROR_HANDLER, fatals);
+            exchange.setProperty(ExchangePropertyKey.FATAL_FALLBACK_ERROR_HANDLER, fatals);
         }
         if (fatals.contains(id)) {
             log.warn("Circular error-handler detected at route: {} - breaking out processing Exchange: {}", id, exchange);
             // mark this exchange as already been error handler handled (just by having this property)
             // the false value mean the caught exception will be kept on the exchange, causing the
             // exception to be propagated back to the caller, and to break out routing
-            exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, false);
-            exchange.setProperty(Exchange.ERRORHANDLER_CIRCUIT_DETECTED, true);
+            exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, false);
+            exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_CIRCUIT_DETECTED, true);
             callback.done(true);
             return true;
         }
@@ -81,7 +82,7 @@ public class FatalFallbackErrorHandler extends DelegateAsyncProcessor implements
                         // an exception occurred during processing onException
 
                         // log detailed error message with as much detail as possible
-                        Throwable previous = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Throwable.class);
+                        Throwable previous = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Throwable.class);
 
                         // check if previous and this exception are set as the same exception
                         // which happens when using global scoped onException and you call a direct route that causes the 2nd exception
@@ -123,22 +124,22 @@ public class FatalFallbackErrorHandler extends DelegateAsyncProcessor implements
                         // we can propagated that exception to the caught property on the exchange
                         // which will shadow any previously caught exception and cause this new exception
                         // to be visible in the error handler
-                        exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exchange.getException());
+                        exchange.setProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, exchange.getException());
 
                         if (deadLetterChannel) {
                             // special for dead letter channel as we want to let it determine what to do, depending how
                             // it has been configured
-                            exchange.removeProperty(Exchange.ERRORHANDLER_HANDLED);
+                            exchange.removeProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED);
                         } else {
                             // mark this exchange as already been error handler handled (just by having this property)
                             // the false value mean the caught exception will be kept on the exchange, causing the
                             // exception to be propagated back to the caller, and to break out routing
-                            exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, false);
+                            exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, false);
                         }
                     }
                 } finally {
                     // no longer running under this fatal fallback error handler
-                    Deque<String> fatals = exchange.getProperty(Exchange.FATAL_FALLBACK_ERROR_HANDLER, null, Deque.class);
+                    Deque<String> fatals = exchange.getProperty(ExchangePropertyKey.FATAL_FALLBACK_ERROR_HANDLER, null, Deque.class);
                     if (fatals != null) {
                         fatals.removeLastOccurrence(id);
                     }
@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
@@ -41,12 +42,12 @@ public class FinallyProcessor extends DelegateAsyncProcessor implements Traceabl
         exchange.setException(null);
         // but store the caught exception as a property
         if (exception != null) {
-            exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exception);
+            exchange.setProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, exception);
         }
 
         // store the last to endpoint as the failure endpoint
-        if (exchange.getProperty(Exchange.FAILURE_ENDPOINT) == null) {
-            exchange.setProperty(Exchange.FAILURE_ENDPOINT, exchange.getProperty(Exchange.TO_ENDPOINT));
+        if (exchange.getProperty(ExchangePropertyKey.FAILURE_ENDPOINT) == null) {
+            exchange.setProperty(ExchangePropertyKey.FAILURE_ENDPOINT, exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
         }
 
         // continue processing
@@ -89,17 +90,19 @@ public class FinallyProcessor extends DelegateAsyncProcessor implements Traceabl
         public void done(boolean doneSync) {
             try {
                 if (exception == null) {
-                    exchange.removeProperty(Exchange.FAILURE_ENDPOINT);
+                    exchange.removeProperty(ExchangePropertyKey.FAILURE_ENDPOINT);
                 } else {
                     // set exception back on exchange
                     exchange.setException(exception);
-                    exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exception);
+                    exchange.setProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, exception);
                 }
 
                 if (!doneSync) {
                     // signal callback to continue routing async
                     ExchangeHelper.prepareOutToIn(exchange);
-                    log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    if (log.isTraceEnabled()) {
+                        log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    }
                 }
             } finally {
                 // callback must always be called
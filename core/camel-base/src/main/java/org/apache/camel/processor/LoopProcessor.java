@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Predicate;
@@ -88,7 +89,7 @@ public class LoopProcessor extends DelegateAsyncProcessor implements Traceable,
                 // but evaluation result is a textual representation of a numeric value.
                 String text = expression.evaluate(exchange, String.class);
                 count = ExchangeHelper.convertToMandatoryType(exchange, Integer.class, text);
-                exchange.setProperty(Exchange.LOOP_SIZE, count);
+                exchange.setProperty(ExchangePropertyKey.LOOP_SIZE, count);
             }
         }
 
@@ -117,11 +118,15 @@ public class LoopProcessor extends DelegateAsyncProcessor implements Traceable,
                 } else {
                     // we are done so prepare the result
                     ExchangeHelper.copyResults(exchange, current);
-                    log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    if (log.isTraceEnabled()) {
+                        log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                    }
                     callback.done(false);
                 }
             } catch (Exception e) {
-                log.trace("Processing failed for exchangeId: {} >>> {}", exchange.getExchangeId(), e.getMessage());
+                if (log.isTraceEnabled()) {
+                    log.trace("Processing failed for exchangeId: {} >>> {}", exchange.getExchangeId(), e.getMessage());
+                }
                 exchange.setException(e);
                 callback.done(false);
             }
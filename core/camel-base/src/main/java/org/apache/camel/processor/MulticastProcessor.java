@@ -43,6 +43,7 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.ErrorHandlerFactory;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
@@ -153,6 +154,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    private int maxInFlight;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -265,6 +267,8 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicInteger nbInFlight = new AtomicInteger();
+        final AtomicBoolean suspended = new AtomicBoolean();
 
         MulticastState(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) {
             this.original = original;
@@ -311,11 +315,14 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 Exchange exchange = pair.getExchange();
                 int index = nbExchangeSent.getAndIncrement();
                 updateNewExchange(exchange, index, pairs, hasNext);
+                if (maxInFlight > 0) {
+                    nbInFlight.incrementAndGet();
+                }
 
                 // Schedule the processing of the next pair
                 if (hasNext) {
                     if (isParallelProcessing()) {
-                        schedule(this);
+                        scheduleNext();
                     }
                 } else {
                     allSent.set(true);
@@ -355,6 +362,9 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                         // next step
                         if (hasNext && !isParallelProcessing()) {
                             schedule(this);
+                        } else if (maxInFlight > 0 && nbInFlight.decrementAndGet() < maxInFlight && suspended.compareAndSet(true, false)) {
+                            // there is room again so resume reading from the iterator
+                            schedule(this);
                         }
                     });
                 });
@@ -364,6 +374,22 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
             }
         }
 
+        /**
+         * Schedules the next pair when processing in parallel, unless there are already
+         * {@link #getMaxInFlight()} pairs in flight, in which case reading from the iterator is suspended
+         * until a pair is done.
+         */
+        protected void scheduleNext() {
+            if (maxInFlight > 0 && nbInFlight.get() >= maxInFlight) {
+                suspended.set(true);
+                // a pair may have been done in the meantime, and only one of us may resume
+                if (nbInFlight.get() >= maxInFlight || !suspended.compareAndSet(true, false)) {
+                    return;
+                }
+            }
+            schedule(this);
+        }
+
         protected void aggregate() {
             Lock lock = this.lock;
             if (lock.tryLock()) {
@@ -532,7 +558,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
             // multicast uses error handling on its output processors and they have tried to redeliver
             // so we shall signal back to the other error handlers that we are exhausted and they should not
             // also try to redeliver as we would then do that twice
-            original.setProperty(Exchange.REDELIVERY_EXHAUSTED, exhaust);
+            original.setProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, exhaust);
         }
 
         camelContext.getReactiveExecutor().callback(callback);
@@ -587,16 +613,16 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     }
 
     protected void updateNewExchange(Exchange exchange, int index, Iterable<ProcessorExchangePair> allPairs, boolean hasNext) {
-        exchange.setProperty(Exchange.MULTICAST_INDEX, index);
+        exchange.setProperty(ExchangePropertyKey.MULTICAST_INDEX, index);
         if (hasNext) {
-            exchange.setProperty(Exchange.MULTICAST_COMPLETE, Boolean.FALSE);
+            exchange.setProperty(ExchangePropertyKey.MULTICAST_COMPLETE, Boolean.FALSE);
         } else {
-            exchange.setProperty(Exchange.MULTICAST_COMPLETE, Boolean.TRUE);
+            exchange.setProperty(ExchangePropertyKey.MULTICAST_COMPLETE, Boolean.TRUE);
         }
     }
 
     protected Integer getExchangeIndex(Exchange exchange) {
-        return exchange.getProperty(Exchange.MULTICAST_INDEX, Integer.class);
+        return exchange.getProperty(ExchangePropertyKey.MULTICAST_INDEX, Integer.class);
     }
 
     protected Iterable<ProcessorExchangePair> createProcessorExchangePairs(Exchange exchange) throws Exception {
@@ -630,8 +656,8 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
             // work of the parent route or grand parent route or grand grand parent route ...(in case of nesting).
             // Set therefore the unit of work of the  parent route as stream cache unit of work, 
             // if it is not already set.
-            if (copy.getProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK) == null) {
-                copy.setProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK, exchange.getUnitOfWork());
+            if (copy.getProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK) == null) {
+                copy.setProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK, exchange.getUnitOfWork());
             }
             // if we share unit of work, we need to prepare the child exchange
             if (isShareUnitOfWork()) {
@@ -688,7 +714,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     protected Processor createErrorHandler(RouteContext routeContext, Exchange exchange, Processor processor) {
         Processor answer;
 
-        boolean tryBlock = exchange.getProperty(Exchange.TRY_ROUTE_BLOCK, false, boolean.class);
+        boolean tryBlock = exchange.getProperty(ExchangePropertyKey.TRY_ROUTE_BLOCK, false, boolean.class);
 
         // do not wrap in error handler if we are inside a try block
         if (!tryBlock && routeContext != null) {
@@ -717,7 +743,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 // and wrap in unit of work processor so the copy exchange also can run under UoW
                 answer = createUnitOfWorkProcessor(routeContext, processor, exchange);
 
-                boolean child = exchange.getProperty(Exchange.PARENT_UNIT_OF_WORK, UnitOfWork.class) != null;
+                boolean child = exchange.getProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, UnitOfWork.class) != null;
 
                 // must start the error handler
                 ServiceHelper.startService(answer);
@@ -751,7 +777,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         CamelInternalProcessor internal = new CamelInternalProcessor(processor);
 
         // and wrap it in a unit of work so the UoW is on the top, so the entire route will be in the same UoW
-        UnitOfWork parent = exchange.getProperty(Exchange.PARENT_UNIT_OF_WORK, UnitOfWork.class);
+        UnitOfWork parent = exchange.getProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, UnitOfWork.class);
         if (parent != null) {
             internal.addAdvice(new CamelInternalProcessor.ChildUnitOfWorkProcessorAdvice(routeContext, parent));
         } else {
@@ -827,7 +853,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     protected static void setToEndpoint(Exchange exchange, Processor processor) {
         if (processor instanceof Producer) {
             Producer producer = (Producer) processor;
-            exchange.setProperty(Exchange.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
+            exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
         }
     }
 
@@ -836,7 +862,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
 
         // prefer to use per Exchange aggregation strategy over a global strategy
         if (exchange != null) {
-            Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+            Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
             Map<Object, AggregationStrategy> map = CastUtils.cast(property);
             if (map != null) {
                 answer = map.get(this);
@@ -856,7 +882,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
      * @param aggregationStrategy the strategy
      */
     protected void setAggregationStrategyOnExchange(Exchange exchange, AggregationStrategy aggregationStrategy) {
-        Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+        Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
         Map<Object, AggregationStrategy> map = CastUtils.cast(property);
         if (map == null) {
             map = new ConcurrentHashMap<>();
@@ -868,7 +894,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         // store the strategy using this processor as the key
         // (so we can store multiple strategies on the same exchange)
         map.put(this, aggregationStrategy);
-        exchange.setProperty(Exchange.AGGREGATION_STRATEGY, map);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, map);
     }
 
     /**
@@ -878,7 +904,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
      * @param exchange the current exchange
      */
     protected void removeAggregationStrategyFromExchange(Exchange exchange) {
-        Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+        Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
         Map<Object, AggregationStrategy> map = CastUtils.cast(property);
         if (map == null) {
             return;
@@ -941,6 +967,23 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         return stopOnAggregateException;
     }
 
+    /**
+     * The maximum number of pairs which are processed at the same time when using parallel processing,
+     * or 0 if there is no limit.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of pairs which are processed at the same time when using parallel processing.
+     * When the limit is reached then no more pairs are created until a pair is done, which keeps the memory
+     * usage bounded when splitting big streams. The default is 0 which means no limit.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public boolean isShareUnitOfWork() {
         return shareUnitOfWork;
     }
@@ -23,6 +23,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.Ordered;
 import org.apache.camel.Predicate;
@@ -130,13 +131,13 @@ public class OnCompletionProcessor extends AsyncProcessorSupport implements Trac
         // must remember some properties which we cannot use during onCompletion processing
         // as otherwise we may cause issues
         // but keep the caused exception stored as a property (Exchange.EXCEPTION_CAUGHT) on the exchange
-        Object stop = exchange.removeProperty(Exchange.ROUTE_STOP);
-        Object failureHandled = exchange.removeProperty(Exchange.FAILURE_HANDLED);
-        Object errorhandlerHandled = exchange.removeProperty(Exchange.ERRORHANDLER_HANDLED);
-        Object rollbackOnly = exchange.removeProperty(Exchange.ROLLBACK_ONLY);
-        Object rollbackOnlyLast = exchange.removeProperty(Exchange.ROLLBACK_ONLY_LAST);
+        Object stop = exchange.removeProperty(ExchangePropertyKey.ROUTE_STOP);
+        Object failureHandled = exchange.removeProperty(ExchangePropertyKey.FAILURE_HANDLED);
+        Object errorhandlerHandled = exchange.removeProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED);
+        Object rollbackOnly = exchange.removeProperty(ExchangePropertyKey.ROLLBACK_ONLY);
+        Object rollbackOnlyLast = exchange.removeProperty(ExchangePropertyKey.ROLLBACK_ONLY_LAST);
         // and we should not be regarded as exhausted as we are in a onCompletion block
-        Object exhausted = exchange.removeProperty(Exchange.REDELIVERY_EXHAUSTED);
+        Object exhausted = exchange.removeProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED);
 
         Exception cause = exchange.getException();
         exchange.setException(null);
@@ -148,22 +149,22 @@ public class OnCompletionProcessor extends AsyncProcessorSupport implements Trac
         } finally {
             // restore the options
             if (stop != null) {
-                exchange.setProperty(Exchange.ROUTE_STOP, stop);
+                exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, stop);
             }
             if (failureHandled != null) {
-                exchange.setProperty(Exchange.FAILURE_HANDLED, failureHandled);
+                exchange.setProperty(ExchangePropertyKey.FAILURE_HANDLED, failureHandled);
             }
             if (errorhandlerHandled != null) {
-                exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, errorhandlerHandled);
+                exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, errorhandlerHandled);
             }
             if (rollbackOnly != null) {
-                exchange.setProperty(Exchange.ROLLBACK_ONLY, rollbackOnly);
+                exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY, rollbackOnly);
             }
             if (rollbackOnlyLast != null) {
-                exchange.setProperty(Exchange.ROLLBACK_ONLY_LAST, rollbackOnlyLast);
+                exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY_LAST, rollbackOnlyLast);
             }
             if (exhausted != null) {
-                exchange.setProperty(Exchange.REDELIVERY_EXHAUSTED, exhausted);
+                exchange.setProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, exhausted);
             }
             if (cause != null) {
                 exchange.setException(cause);
@@ -205,7 +206,7 @@ public class OnCompletionProcessor extends AsyncProcessorSupport implements Trac
         }
 
         // add a header flag to indicate its a on completion exchange
-        answer.setProperty(Exchange.ON_COMPLETION, Boolean.TRUE);
+        answer.setProperty(ExchangePropertyKey.ON_COMPLETION, Boolean.TRUE);
 
         return answer;
     }
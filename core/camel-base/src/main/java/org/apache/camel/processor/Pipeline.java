@@ -26,6 +26,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
@@ -81,11 +82,9 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         if (exchange.isTransacted()) {
-            camelContext.getReactiveExecutor().scheduleSync(() -> Pipeline.this.doProcess(exchange, callback, processors.iterator(), true),
-                    "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]");
+            camelContext.getReactiveExecutor().scheduleSync(new PipelineStep(exchange, callback, processors.iterator(), true));
         } else {
-            camelContext.getReactiveExecutor().scheduleMain(() -> Pipeline.this.doProcess(exchange, callback, processors.iterator(), true),
-                    "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]");
+            camelContext.getReactiveExecutor().scheduleMain(new PipelineStep(exchange, callback, processors.iterator(), true));
         }
         return false;
     }
@@ -101,32 +100,37 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
             AsyncProcessor processor = processors.next();
 
             processor.process(exchange, doneSync ->
-                    camelContext.getReactiveExecutor().schedule(() -> doProcess(exchange, callback, processors, false),
-                            "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]"));
+                    camelContext.getReactiveExecutor().schedule(new PipelineStep(exchange, callback, processors, false)));
         } else {
             ExchangeHelper.copyResults(exchange, exchange);
 
             // logging nextExchange as it contains the exchange that might have altered the payload and since
             // we are logging the completion if will be confusing if we log the original instead
             // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-            log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+            if (log.isTraceEnabled()) {
+                log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+            }
 
             camelContext.getReactiveExecutor().callback(callback);
         }
     }
 
     protected boolean continueRouting(Iterator<AsyncProcessor> it, Exchange exchange) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
-                log.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                if (log.isDebugEnabled()) {
+                    log.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                }
                 return false;
             }
         }
         // continue if there are more processors to route
         boolean answer = it.hasNext();
-        log.trace("ExchangeId: {} should continue routing: {}", exchange.getExchangeId(), answer);
+        if (log.isTraceEnabled()) {
+            log.trace("ExchangeId: {} should continue routing: {}", exchange.getExchangeId(), answer);
+        }
         return answer;
     }
 
@@ -176,4 +180,31 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     public boolean hasNext() {
         return processors != null && !processors.isEmpty();
     }
+
+    /**
+     * A step in the pipeline, which only describes itself when logged, to not create the exchange id
+     */
+    private final class PipelineStep implements Runnable {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final Iterator<AsyncProcessor> processors;
+        private final boolean first;
+
+        PipelineStep(Exchange exchange, AsyncCallback callback, Iterator<AsyncProcessor> processors, boolean first) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.processors = processors;
+            this.first = first;
+        }
+
+        @Override
+        public void run() {
+            doProcess(exchange, callback, processors, first);
+        }
+
+        @Override
+        public String toString() {
+            return "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]";
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package org.apache.camel.processor;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.slf4j.Logger;
 
 import static org.apache.camel.support.ExchangeHelper.hasExceptionBeenHandledByErrorHandler;
@@ -63,11 +64,13 @@ public final class PipelineHelper {
         }
 
         // check for stop
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, exchange, stop);
             if (doStop) {
-                log.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                if (log.isDebugEnabled()) {
+                    log.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                }
                 return false;
             }
         }
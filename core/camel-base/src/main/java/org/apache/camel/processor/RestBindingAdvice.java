@@ -26,6 +26,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.spi.CamelInternalProcessorAdvice;
 import org.apache.camel.spi.DataFormat;
@@ -159,7 +160,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
         String method = exchange.getIn().getHeader(Exchange.HTTP_METHOD, String.class);
         if ("OPTIONS".equalsIgnoreCase(method)) {
             // for OPTIONS methods then we should not route at all as its part of CORS
-            exchange.setProperty(Exchange.ROUTE_STOP, true);
+            exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
             return true;
         }
         return false;
@@ -211,7 +212,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
                 // set empty response body as http error code indicate the problem
                 exchange.getMessage().setBody(null);
                 // stop routing and return
-                exchange.setProperty(Exchange.ROUTE_STOP, true);
+                exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
                 return;
             }
 
@@ -223,7 +224,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
                 // set empty response body as http error code indicate the problem
                 exchange.getMessage().setBody(null);
                 // stop routing and return
-                exchange.setProperty(Exchange.ROUTE_STOP, true);
+                exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
                 return;
             }
         }
@@ -278,7 +279,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
                     exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
                     exchange.getMessage().setBody("The request body is missing.");
                     // stop routing and return
-                    exchange.setProperty(Exchange.ROUTE_STOP, true);
+                    exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
                     return;
                 }
             }
@@ -287,7 +288,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
                 exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
                 exchange.getMessage().setBody("Some of the required query parameters are missing.");
                 // stop routing and return
-                exchange.setProperty(Exchange.ROUTE_STOP, true);
+                exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
                 return;
             }
             if (requiredHeaders != null && !exchange.getIn().getHeaders().keySet().containsAll(requiredHeaders)) {
@@ -295,7 +296,7 @@ public class RestBindingAdvice implements CamelInternalProcessorAdvice<Map<Strin
                 exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 400);
                 exchange.getMessage().setBody("Some of the required HTTP headers are missing.");
                 // stop routing and return
-                exchange.setProperty(Exchange.ROUTE_STOP, true);
+                exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
                 return;
             }
         }
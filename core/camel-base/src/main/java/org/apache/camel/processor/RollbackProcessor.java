@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.RollbackExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
@@ -45,10 +46,10 @@ public class RollbackProcessor extends AsyncProcessorSupport implements Traceabl
         if (isMarkRollbackOnlyLast()) {
             // only mark the last route (current) as rollback
             // this is needed when you have multiple transactions in play
-            exchange.setProperty(Exchange.ROLLBACK_ONLY_LAST, Boolean.TRUE);
+            exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY_LAST, Boolean.TRUE);
         } else {
             // default to mark the entire route as rollback
-            exchange.setProperty(Exchange.ROLLBACK_ONLY, Boolean.TRUE);
+            exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY, Boolean.TRUE);
         }
 
         if (markRollbackOnly || markRollbackOnlyLast) {
@@ -23,6 +23,7 @@ import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.FailedToCreateProducerException;
 import org.apache.camel.Message;
@@ -167,7 +168,7 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
         }
 
         Expression exp = expression;
-        Object slip = exchange.removeProperty(Exchange.EVALUATE_EXPRESSION_RESULT);
+        Object slip = exchange.removeProperty(ExchangePropertyKey.EVALUATE_EXPRESSION_RESULT);
         if (slip != null) {
             if (slip instanceof Expression) {
                 exp = (Expression) slip;
@@ -241,13 +242,17 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
             current = prepareExchangeForRoutingSlip(current, endpoint);
             
             if (!sync) {
-                log.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                if (log.isTraceEnabled()) {
+                    log.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                }
                 // the remainder of the routing slip will be completed async
                 // so we break out now, then the callback will be invoked which then continue routing from where we left here
                 return false;
             }
 
-            log.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+            if (log.isTraceEnabled()) {
+                log.trace("Processing exchangeId: {} is continued being processed synchronously", exchange.getExchangeId());
+            }
 
             // we ignore some kind of exceptions and allow us to continue
             if (isIgnoreInvalidEndpoints()) {
@@ -270,7 +275,9 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
         // logging nextExchange as it contains the exchange that might have altered the payload and since
         // we are logging the completion if will be confusing if we log the original instead
         // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-        log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), current);
+        if (log.isTraceEnabled()) {
+            log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), current);
+        }
 
         // copy results back to the original exchange
         ExchangeHelper.copyResults(exchange, current);
@@ -315,7 +322,7 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
     protected AsyncProcessor createErrorHandler(RouteContext routeContext, Exchange exchange, AsyncProcessor processor, Endpoint endpoint) {
         AsyncProcessor answer = processor;
 
-        boolean tryBlock = exchange.getProperty(Exchange.TRY_ROUTE_BLOCK, false, boolean.class);
+        boolean tryBlock = exchange.getProperty(ExchangePropertyKey.TRY_ROUTE_BLOCK, false, boolean.class);
 
         // do not wrap in error handler if we are inside a try block
         if (!tryBlock && routeContext != null && errorHandler != null) {
@@ -333,7 +340,9 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
                                       final AsyncCallback originalCallback, final RoutingSlipIterator iter) {
 
         // this does the actual processing so log at trace level
-        log.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+        if (log.isTraceEnabled()) {
+            log.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+        }
 
         // routing slip callback which are used when
         // - routing slip was routed asynchronously
@@ -407,7 +416,9 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
                             current = prepareExchangeForRoutingSlip(current, endpoint1);
 
                             if (!sync) {
-                                log.trace("Processing exchangeId: {} is continued being processed asynchronously", original.getExchangeId());
+                                if (log.isTraceEnabled()) {
+                                    log.trace("Processing exchangeId: {} is continued being processed asynchronously", original.getExchangeId());
+                                }
                                 return;
                             }
                         }
@@ -415,7 +426,9 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
                         // logging nextExchange as it contains the exchange that might have altered the payload and since
                         // we are logging the completion if will be confusing if we log the original instead
                         // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-                        log.trace("Processing complete for exchangeId: {} >>> {}", original.getExchangeId(), current);
+                        if (log.isTraceEnabled()) {
+                            log.trace("Processing complete for exchangeId: {} >>> {}", original.getExchangeId(), current);
+                        }
 
                         // copy results back to the original exchange
                         ExchangeHelper.copyResults(original, current);
@@ -488,7 +501,7 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
 
         @Override
         public boolean process(Exchange exchange, AsyncCallback callback) {
-            AsyncProcessor producer = exchange.getProperty(Exchange.SLIP_PRODUCER, AsyncProcessor.class);
+            AsyncProcessor producer = exchange.getProperty(ExchangePropertyKey.SLIP_PRODUCER, AsyncProcessor.class);
             return producer.process(exchange, callback);
         }
 
@@ -25,6 +25,7 @@ import java.util.concurrent.RejectedExecutionException;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.Ordered;
 import org.apache.camel.Processor;
@@ -147,7 +148,7 @@ public class SharedCamelInternalProcessor {
         AsyncCallback callback = new InternalCallback(states, exchange, originalCallback, resultProcessor);
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
-        Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
+        Object synchronous = exchange.removeProperty(ExchangePropertyKey.UNIT_OF_WORK_PROCESS_SYNC);
         if (exchange.isTransacted() || synchronous != null) {
             // must be synchronized for transacted exchanges
             if (LOG.isTraceEnabled()) {
@@ -191,17 +192,25 @@ public class SharedCamelInternalProcessor {
             // CAMEL END USER - DEBUG ME HERE +++ END +++
             // ----------------------------------------------------------
 
-            exchange.getContext().getReactiveExecutor().schedule(() -> {
-                // execute any after processor work (in current thread, not in the callback)
-                if (uow != null) {
-                    uow.afterProcess(processor, exchange, callback, sync);
+            exchange.getContext().getReactiveExecutor().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // execute any after processor work (in current thread, not in the callback)
+                    if (uow != null) {
+                        uow.afterProcess(processor, exchange, callback, sync);
+                    }
+
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
+                                exchange.getExchangeId(), exchange);
+                    }
                 }
 
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
-                            exchange.getExchangeId(), exchange);
+                @Override
+                public String toString() {
+                    return "SharedCamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId();
                 }
-            }, "SharedCamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId());
+            });
             return sync;
         }
     }
@@ -266,7 +275,7 @@ public class SharedCamelInternalProcessor {
      * Strategy to determine if we should continue processing the {@link Exchange}.
      */
     protected boolean continueProcessing(Exchange exchange, AsyncProcessor processor) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
@@ -22,9 +22,9 @@ import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
@@ -34,6 +34,7 @@ import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.HashedWheelTimer;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -55,6 +56,24 @@ import org.apache.camel.util.ObjectHelper;
  * block if necessary. The end result is a rolling window of time. Where from the
  * callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * The state of each correlation group is removed when it has been idle for ten
+ * time periods. If a {@link HashedWheelTimer} is in use then it is used to
+ * check for idle groups, and for delaying the exchanges when asyncDelayed is enabled.
+ * The permits themselves stay on the DelayQueue, as synchronous callers block on it
+ * to acquire a permit, and the timing wheel would release the permits up to a tick late,
+ * which is too coarse for throttling within short time periods.
+ *
+ * When tokenBucket is enabled, then each correlation group is instead a token bucket
+ * which holds up to maxRequestsPerPeriod tokens, and is refilled at the rate of
+ * maxRequestsPerPeriod per timePeriodMillis. The bucket is a single atomic counter
+ * (the time at which the bucket is full again) which is refilled lazily when acquiring,
+ * so there are no queues or locks. An exchange which is over quota reserves its token
+ * in the future and is then delayed until then, and with asyncDelayed enabled, the
+ * exchange is parked without blocking a thread. A full bucket allows a burst of
+ * maxRequestsPerPeriod, and in the long run the rate is maxRequestsPerPeriod per
+ * timePeriodMillis, however the burst means that up to twice the rate can occur within
+ * a single time period, which the rolling window of the default mode does not allow.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware {
 
@@ -68,6 +87,7 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private final CamelContext camelContext;
     private final ScheduledExecutorService asyncExecutor;
     private final boolean shutdownAsyncExecutor;
+    private HashedWheelTimer timer;
 
     private volatile long timePeriodMillis;
     private volatile long cleanPeriodMillis;
@@ -76,8 +96,10 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean rejectExecution;
     private boolean asyncDelayed;
     private boolean callerRunsWhenRejected = true;
+    private boolean tokenBucket;
     private Expression correlationExpression;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
                      final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor, final boolean rejectExecution, Expression correlation) {
@@ -117,6 +139,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             if (correlationExpression != null) {
                 key = correlationExpression.evaluate(exchange, String.class);
             }
+            if (tokenBucket) {
+                return processTokenBucket(exchange, callback, key);
+            }
             ThrottlingState throttlingState = states.computeIfAbsent(key, ThrottlingState::new);
             throttlingState.calculateAndSetMaxRequestsPerPeriod(exchange);
 
@@ -189,6 +214,61 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Acquires a token from the token bucket of the correlation group, and delays the exchange
+     * if the bucket is empty.
+     */
+    protected boolean processTokenBucket(final Exchange exchange, final AsyncCallback callback, String key) throws Exception {
+        TokenBucket bucket = buckets.computeIfAbsent(key, TokenBucket::new);
+        int rate = bucket.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        long wait = bucket.acquire(rate, periodNanos, !isRejectExecution());
+        bucket.touch();
+        if (wait <= 0) {
+            log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+            callback.done(true);
+            return true;
+        }
+
+        if (isRejectExecution()) {
+            throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                    + rate + " within " + timePeriodMillis + "ms");
+        }
+
+        // the token is reserved so we only have to wait until then
+        if (isAsyncDelayed() && !exchange.isTransacted()) {
+            try {
+                log.debug("Throttle rate exceeded but AsyncDelayed enabled, so parking for {} nanos, exchangeId: {}", wait, exchange.getExchangeId());
+                if (timer != null) {
+                    timer.schedule(() -> continueAsynchronously(exchange, callback), wait, TimeUnit.NANOSECONDS);
+                } else {
+                    asyncExecutor.schedule(() -> callback.done(false), wait, TimeUnit.NANOSECONDS);
+                }
+                return false;
+            } catch (RejectedExecutionException e) {
+                if (!isCallerRunsWhenRejected()) {
+                    throw e;
+                }
+                log.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}", exchange.getExchangeId());
+            }
+        }
+
+        TimeUnit.NANOSECONDS.sleep(wait);
+        log.trace("Throttled for {} nanos, exchangeId: {}", wait, exchange.getExchangeId());
+        callback.done(true);
+        return true;
+    }
+
+    private void continueAsynchronously(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            asyncExecutor.execute(() -> callback.done(false));
+        } catch (RejectedExecutionException e) {
+            // the token is already acquired so just continue routing
+            callback.done(false);
+        }
+    }
+
     /**
      * Delegate blocking on the DelayQueue to an asyncExecutor. Except if the executor rejects the submission
      * and isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not
@@ -201,7 +281,12 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             }
             exchange.setProperty(PROPERTY_EXCHANGE_STATE, State.ASYNC);
             long delay = throttlingState.peek().getDelay(TimeUnit.NANOSECONDS);
-            asyncExecutor.schedule(() -> process(exchange, callback), delay, TimeUnit.NANOSECONDS);
+            if (timer != null) {
+                // the timing wheel runs the task on its tick thread, so hand over to the executor as blocking may occur
+                timer.schedule(() -> executeAsynchronously(exchange, callback), delay, TimeUnit.NANOSECONDS);
+            } else {
+                asyncExecutor.schedule(() -> process(exchange, callback), delay, TimeUnit.NANOSECONDS);
+            }
             return false;
         } catch (final RejectedExecutionException e) {
             if (isCallerRunsWhenRejected()) {
@@ -213,11 +298,21 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    private void executeAsynchronously(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            asyncExecutor.execute(() -> process(exchange, callback));
+        } catch (RejectedExecutionException e) {
+            exchange.setException(e);
+            callback.done(false);
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        timer = HashedWheelTimer.lookup(camelContext);
     }
 
     @Override
@@ -230,13 +325,15 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
         }
         states.clear();
+        buckets.clear();
         super.doShutdown();
     }
 
     private class ThrottlingState {
         private final String key;
         private final DelayQueue<ThrottlePermit> delayQueue = new DelayQueue<>();
-        private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+        private final AtomicBoolean cleanScheduled = new AtomicBoolean();
+        private volatile long lastUsed;
         private volatile int throttleRate;
 
         ThrottlingState(String key) {
@@ -264,7 +361,27 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
 
         public void clean() {
-            states.remove(key);
+            long idle = System.currentTimeMillis() - lastUsed;
+            if (idle >= cleanPeriodMillis) {
+                states.remove(key, this);
+                cleanScheduled.set(false);
+            } else {
+                // the state was used in the meantime so check again when it may have become idle
+                scheduleClean(cleanPeriodMillis - idle);
+            }
+        }
+
+        private void scheduleClean(long delay) {
+            try {
+                if (timer != null) {
+                    timer.schedule(this::clean, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    asyncExecutor.schedule(this::clean, delay, TimeUnit.MILLISECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                cleanScheduled.set(false);
+                log.debug("Throttling queue cleaning rejected", e);
+            }
         }
 
         /**
@@ -273,18 +390,14 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         public void enqueue(final ThrottlePermit permit, final Exchange exchange) {
             permit.setDelayMs(getTimePeriodMillis());
             delayQueue.put(permit);
-            try {
-                ScheduledFuture<?> next = asyncExecutor.schedule(this::clean, cleanPeriodMillis, TimeUnit.MILLISECONDS);
-                ScheduledFuture<?> prev = cleanFuture.getAndSet(next);
-                if (prev != null) {
-                    prev.cancel(false);
-                }
-                // try and incur the least amount of overhead while releasing permits back to the queue
-                if (log.isTraceEnabled()) {
-                    log.trace("Permit released, for exchangeId: {}", exchange.getExchangeId());
-                }
-            } catch (RejectedExecutionException e) {
-                log.debug("Throttling queue cleaning rejected", e);
+            // only keep a single clean task per state, which reschedules itself while the state is in use
+            lastUsed = System.currentTimeMillis();
+            if (cleanScheduled.compareAndSet(false, true)) {
+                scheduleClean(cleanPeriodMillis);
+            }
+            // try and incur the least amount of overhead while releasing permits back to the queue
+            if (log.isTraceEnabled()) {
+                log.trace("Permit released, for exchangeId: {}", exchange.getExchangeId());
             }
         }
 
@@ -334,6 +447,106 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Token bucket which is implemented as the time at which the bucket is full again, which makes it possible
+     * to acquire a token and refill the bucket using a single compare and set.
+     */
+    private final class TokenBucket {
+        private final String key;
+        // the time in nanos when all the tokens has been refilled
+        private final AtomicLong fullAt;
+        private final AtomicBoolean cleanScheduled = new AtomicBoolean();
+        private volatile int throttleRate;
+
+        TokenBucket(String key) {
+            this.key = key;
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        /**
+         * Acquires a token.
+         *
+         * @param rate        the number of tokens per period, which is also the capacity of the bucket
+         * @param periodNanos the period in nanos
+         * @param reserve     whether to reserve a token in the future if the bucket is empty
+         * @return the nanos to wait until the token is available, or 0 or less if the token is available now
+         */
+        public long acquire(int rate, long periodNanos, boolean reserve) {
+            long interval = Math.max(periodNanos / rate, 1);
+            while (true) {
+                long now = System.nanoTime();
+                long current = fullAt.get();
+                // the bucket is refilled lazily, so a bucket which has been full for a while is just full
+                long next = (current - now < 0 ? now : current) + interval;
+                long wait = next - now - periodNanos;
+                if (wait > 0 && !reserve) {
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return wait;
+                }
+            }
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression, the bucket is resized the next time a token is acquired.
+         */
+        public int calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) {
+            Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle <= 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number when using token bucket, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression, exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate, newThrottle, exchange.getExchangeId());
+                throttleRate = newThrottle;
+            }
+            return throttleRate;
+        }
+
+        /**
+         * Ensures the bucket is removed when it has been idle
+         */
+        public void touch() {
+            if (!cleanScheduled.get() && cleanScheduled.compareAndSet(false, true)) {
+                scheduleClean(cleanPeriodMillis);
+            }
+        }
+
+        public void clean() {
+            long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fullAt.get());
+            if (idle >= cleanPeriodMillis) {
+                buckets.remove(key, this);
+                cleanScheduled.set(false);
+            } else {
+                // the bucket is in use (or has reserved tokens) so check again when it may have become idle
+                scheduleClean(cleanPeriodMillis - Math.max(idle, 0));
+            }
+        }
+
+        private void scheduleClean(long delay) {
+            try {
+                if (timer != null) {
+                    timer.schedule(this::clean, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    asyncExecutor.schedule(this::clean, delay, TimeUnit.MILLISECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                cleanScheduled.set(false);
+                log.debug("Throttling bucket cleaning rejected", e);
+            }
+        }
+    }
+
     /**
      * Permit that implements the Delayed interface needed by DelayQueue.
      */
@@ -375,6 +588,17 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.asyncDelayed = asyncDelayed;
     }
 
+    public boolean isTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Whether to use a token bucket per correlation group instead of the rolling window.
+     */
+    public void setTokenBucket(boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     public boolean isCallerRunsWhenRejected() {
         return callerRunsWhenRejected;
     }
@@ -410,6 +634,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
      * than the max per period within the group will return
      */
     public int getCurrentMaximumRequestsPerPeriod() {
+        if (tokenBucket) {
+            return buckets.values().stream().mapToInt(TokenBucket::getThrottleRate).max().orElse(0);
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
@@ -78,26 +79,30 @@ public class TryProcessor extends AsyncProcessorSupport implements Navigate<Proc
             this.exchange = exchange;
             this.callback = callback;
             this.processors = next().iterator();
-            this.lastHandled = exchange.getProperty(Exchange.EXCEPTION_HANDLED);
-            exchange.setProperty(Exchange.EXCEPTION_HANDLED, null);
+            this.lastHandled = exchange.getProperty(ExchangePropertyKey.EXCEPTION_HANDLED);
+            exchange.setProperty(ExchangePropertyKey.EXCEPTION_HANDLED, null);
         }
 
         @Override
         public void run() {
             if (continueRouting(processors, exchange)) {
-                exchange.setProperty(Exchange.TRY_ROUTE_BLOCK, true);
+                exchange.setProperty(ExchangePropertyKey.TRY_ROUTE_BLOCK, true);
                 ExchangeHelper.prepareOutToIn(exchange);
 
                 // process the next processor
                 Processor processor = processors.next();
                 AsyncProcessor async = AsyncProcessorConverterHelper.convert(processor);
-                log.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                if (log.isTraceEnabled()) {
+                    log.trace("Processing exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                }
                 async.process(exchange, doneSync -> exchange.getContext().getReactiveExecutor().schedule(this));
             } else {
                 ExchangeHelper.prepareOutToIn(exchange);
-                exchange.removeProperty(Exchange.TRY_ROUTE_BLOCK);
-                exchange.setProperty(Exchange.EXCEPTION_HANDLED, lastHandled);
-                log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                exchange.removeProperty(ExchangePropertyKey.TRY_ROUTE_BLOCK);
+                exchange.setProperty(ExchangePropertyKey.EXCEPTION_HANDLED, lastHandled);
+                if (log.isTraceEnabled()) {
+                    log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+                }
                 callback.done(false);
             }
         }
@@ -109,7 +114,7 @@ public class TryProcessor extends AsyncProcessorSupport implements Navigate<Proc
     }
 
     protected boolean continueRouting(Iterator<Processor> it, Exchange exchange) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
@@ -17,6 +17,7 @@
 package org.apache.camel.processor.aggregate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -25,11 +26,13 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -41,6 +44,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.NoSuchEndpointException;
@@ -48,7 +52,6 @@ import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.ShutdownRunningTask;
-import org.apache.camel.TimeoutMap;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.AggregationRepository;
 import org.apache.camel.spi.ExceptionHandler;
@@ -61,9 +64,11 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.HashedWheelTimer;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.TimeoutMapEntry;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -97,7 +102,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     public static final String COMPLETED_BY_TIMEOUT = "timeout";
     public static final String COMPLETED_BY_FORCE = "force";
 
-    private volatile Lock lock;
+    // the correlation keys are partitioned into shards which each has their own lock
+    private volatile Lock[] locks;
+    private volatile AtomicLongArray contention;
+    private final AtomicBoolean forceCompletionOfAllGroupsRequested = new AtomicBoolean();
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final AsyncProcessor processor;
@@ -114,8 +122,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private ScheduledExecutorService optimisticLockingExecutorService;
     private boolean shutdownOptimisticLockingExecutorService;
     private ScheduledExecutorService recoverService;
-    // store correlation key -> exchange id in timeout map
-    private TimeoutMap<String, String> timeoutMap;
+    // store correlation key -> exchange id in timeout map (one per shard)
+    private AggregationTimeoutMap[] timeoutMaps;
     private ExceptionHandler exceptionHandler;
     private AggregationRepository aggregationRepository;
     private Map<String, String> closedCorrelationKeys;
@@ -194,8 +202,27 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             return discarded.get();
         }
 
+        @Override
+        public long[] getShardContention() {
+            AtomicLongArray counters = contention;
+            if (counters == null) {
+                return new long[0];
+            }
+            long[] answer = new long[counters.length()];
+            for (int i = 0; i < answer.length; i++) {
+                answer[i] = counters.get(i);
+            }
+            return answer;
+        }
+
         @Override
         public void reset() {
+            AtomicLongArray counters = contention;
+            if (counters != null) {
+                for (int i = 0; i < counters.length(); i++) {
+                    counters.set(i, 0);
+                }
+            }
             totalIn.set(0);
             totalCompleted.set(0);
             completedBySize.set(0);
@@ -223,6 +250,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int shards = 1;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -382,13 +410,14 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        int shard = shardOf(key);
+        lock(shard);
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            locks[shard].unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -397,6 +426,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // force completion of all groups which was requested during aggregation when using shards
+        if (forceCompletionOfAllGroupsRequested.compareAndSet(true, false)) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (getAndRemoveBooleanHeader(exchange, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE)) {
             forceCompletionOfAllGroups();
@@ -448,7 +482,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             if (optimisticLocking && aggregationRepository instanceof MemoryAggregationRepository) {
                 oldExchange = originalExchange.copy();
             }
-            size = oldExchange.getProperty(Exchange.AGGREGATED_SIZE, 0, Integer.class);
+            size = oldExchange.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, 0, Integer.class);
             size++;
         }
 
@@ -459,28 +493,28 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (preCompletion) {
             try {
                 // put the current aggregated size on the exchange so its avail during completion check
-                newExchange.setProperty(Exchange.AGGREGATED_SIZE, size);
+                newExchange.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, size);
                 complete = isPreCompleted(key, oldExchange, newExchange);
                 // make sure to track timeouts if not complete
                 if (complete == null) {
                     trackTimeout(key, newExchange);
                 }
                 // remove it afterwards
-                newExchange.removeProperty(Exchange.AGGREGATED_SIZE);
+                newExchange.removeProperty(ExchangePropertyKey.AGGREGATED_SIZE);
             } catch (Throwable e) {
                 // must catch any exception from aggregation
                 throw new CamelExchangeException("Error occurred during preComplete", newExchange, e);
             }
         } else if (isEagerCheckCompletion()) {
             // put the current aggregated size on the exchange so its avail during completion check
-            newExchange.setProperty(Exchange.AGGREGATED_SIZE, size);
+            newExchange.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, size);
             complete = isCompleted(key, newExchange);
             // make sure to track timeouts if not complete
             if (complete == null) {
                 trackTimeout(key, newExchange);
             }
             // remove it afterwards
-            newExchange.removeProperty(Exchange.AGGREGATED_SIZE);
+            newExchange.removeProperty(ExchangePropertyKey.AGGREGATED_SIZE);
         }
 
         if (preCompletion && complete != null) {
@@ -523,7 +557,13 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
         // check for the special exchange property to force completion of all groups
         if (getAndRemoveBooleanProperty(answer, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS)) {
-            forceCompletionOfAllGroups();
+            if (locks.length > 1) {
+                // we cannot acquire the locks of the other shards while holding this lock
+                // so force completion when the lock has been released
+                forceCompletionOfAllGroupsRequested.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -539,7 +579,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         }
 
         // update the aggregated size
-        answer.setProperty(Exchange.AGGREGATED_SIZE, size);
+        answer.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, size);
 
         // maybe we should check completion after the aggregation
         if (!preCompletion && !isEagerCheckCompletion()) {
@@ -585,7 +625,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             answer = null;
         } else if (answer != null) {
             // we are complete for this exchange
-            answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, complete);
+            answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, complete);
             answer = onCompletion(key, originalExchange, answer, false, aggregateFailed);
         }
 
@@ -636,7 +676,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (isCompletionFromBatchConsumer()) {
             batchConsumerCorrelationKeys.add(key);
             batchConsumerCounter.incrementAndGet();
-            int size = exchange.getProperty(Exchange.BATCH_SIZE, 0, Integer.class);
+            int size = exchange.getProperty(ExchangePropertyKey.BATCH_SIZE, 0, Integer.class);
             if (size > 0 && batchConsumerCounter.intValue() >= size) {
                 // batch consumer is complete then reset the counter
                 batchConsumerCounter.set(0);
@@ -661,14 +701,14 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             if (value != null && value > 0) {
                 // mark as already checked size as expression takes precedence over static configured
                 sizeChecked = true;
-                int size = exchange.getProperty(Exchange.AGGREGATED_SIZE, 1, Integer.class);
+                int size = exchange.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, 1, Integer.class);
                 if (size >= value) {
                     return COMPLETED_BY_SIZE;
                 }
             }
         }
         if (!sizeChecked && getCompletionSize() > 0) {
-            int size = exchange.getProperty(Exchange.AGGREGATED_SIZE, 1, Integer.class);
+            int size = exchange.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, 1, Integer.class);
             if (size >= getCompletionSize()) {
                 return COMPLETED_BY_SIZE;
             }
@@ -710,9 +750,9 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     protected Exchange onCompletion(final String key, final Exchange original, final Exchange aggregated, boolean fromTimeout, boolean aggregateFailed) {
         // store the correlation key as property before we remove so the repository has that information
         if (original != null) {
-            original.setProperty(Exchange.AGGREGATED_CORRELATION_KEY, key);
+            original.setProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, key);
         }
-        aggregated.setProperty(Exchange.AGGREGATED_CORRELATION_KEY, key);
+        aggregated.setProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, key);
 
         // only remove if we have previous added (as we could potentially complete with only 1 exchange)
         // (if we have previous added then we have that as the original exchange)
@@ -721,10 +761,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregationRepository.remove(aggregated.getContext(), key, original);
         }
 
-        if (!fromTimeout && timeoutMap != null) {
+        if (!fromTimeout && timeoutMaps != null) {
             // cleanup timeout map if it was a incoming exchange which triggered the timeout (and not the timeout checker)
             log.trace("Removing correlation key {} from timeout", key);
-            timeoutMap.remove(key);
+            timeoutMaps[shardOf(key)].remove(key);
         }
 
         // this key has been closed so add it to the closed map
@@ -781,7 +821,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (getStatistics().isStatisticsEnabled()) {
             totalCompleted.incrementAndGet();
 
-            String completedBy = exchange.getProperty(Exchange.AGGREGATED_COMPLETED_BY, String.class);
+            String completedBy = exchange.getProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, String.class);
             switch (completedBy) {
             case COMPLETED_BY_INTERVAL:
                 completedByInterval.incrementAndGet();
@@ -847,7 +887,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         for (String key : keys) {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             // grab the timeout value
-            long timeout = exchange.hasProperties() ? exchange.getProperty(Exchange.AGGREGATED_TIMEOUT, 0, long.class) : 0;
+            long timeout = exchange.hasProperties() ? exchange.getProperty(ExchangePropertyKey.AGGREGATED_TIMEOUT, 0, long.class) : 0;
             if (timeout > 0) {
                 log.trace("Restoring CompletionTimeout for exchangeId: {} with timeout: {} millis.", exchange.getExchangeId(), timeout);
                 addExchangeToTimeoutMap(key, exchange, timeout);
@@ -855,8 +895,12 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         }
 
         // log duration of this task so end user can see how long it takes to pre-check this upon starting
+        int size = 0;
+        for (AggregationTimeoutMap timeoutMap : timeoutMaps) {
+            size += timeoutMap.size();
+        }
         log.info("Restored {} CompletionTimeout conditions in the AggregationTimeoutChecker in {}",
-                timeoutMap.size(), TimeUtils.printDuration(watch.taken()));
+                size, TimeUtils.printDuration(watch.taken()));
     }
 
     /**
@@ -868,8 +912,45 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
      */
     private void addExchangeToTimeoutMap(String key, Exchange exchange, long timeout) {
         // store the timeout value on the exchange as well, in case we need it later
-        exchange.setProperty(Exchange.AGGREGATED_TIMEOUT, timeout);
-        timeoutMap.put(key, exchange.getExchangeId(), timeout);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATED_TIMEOUT, timeout);
+        timeoutMaps[shardOf(key)].put(key, exchange.getExchangeId(), timeout);
+    }
+
+    /**
+     * The shard of the given correlation key
+     */
+    private int shardOf(String key) {
+        int size = locks.length;
+        return size == 1 ? 0 : (key.hashCode() & Integer.MAX_VALUE) % size;
+    }
+
+    /**
+     * Acquires the lock of the given shard, and counts if the lock was contended.
+     */
+    private void lock(int shard) {
+        Lock lock = locks[shard];
+        if (!lock.tryLock()) {
+            if (getStatistics().isStatisticsEnabled()) {
+                contention.incrementAndGet(shard);
+            }
+            lock.lock();
+        }
+    }
+
+    /**
+     * Acquires the locks of all the shards, which must be done in the same order
+     * and without holding the lock of a shard already, to avoid deadlocks.
+     */
+    private void lockAll() {
+        for (int i = 0; i < locks.length; i++) {
+            lock(i);
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
     }
 
     /**
@@ -1024,6 +1105,19 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the number of shards the correlation keys are partitioned into, where each shard has its own lock
+     * and timeout checker, which allows to aggregate different correlation keys in parallel.
+     * The default is 1 which means all correlation keys are aggregated using the same lock.
+     */
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1166,22 +1260,55 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
      */
     private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
 
-        private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        private final int shard;
+
+        private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, int shard) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
             super(executor, requestMapPollTimeMillis, optimisticLocking);
+            this.shard = shard;
             addListener(this::onEviction);
         }
 
+        private AggregationTimeoutMap(HashedWheelTimer timer, int shard) {
+            // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
+            super(timer, optimisticLocking ? new ReentrantLock() : NoLock.INSTANCE);
+            this.shard = shard;
+            addListener(this::onEviction);
+        }
+
+        @Override
+        protected void onTimeout(TimeoutMapEntry<String, String> entry) {
+            // do not complete the aggregation on the tick thread of the timing wheel which is shared
+            ScheduledExecutorService executor = getTimeoutCheckerExecutorService();
+            if (executor == null) {
+                // the aggregator is stopped
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    // must acquire the aggregation lock of the shard to be able to evict
+                    lock(shard);
+                    try {
+                        super.onTimeout(entry);
+                    } finally {
+                        locks[shard].unlock();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Cannot handle completion timeout for correlation key: {} as the aggregator is stopping", entry.getKey());
+            }
+        }
+
         @Override
         protected void purge() {
             // wait for lock to be created
-            if (lock != null) {
-                // must acquire the shared aggregation lock to be able to purge
-                lock.lock();
+            if (locks != null) {
+                // must acquire the aggregation lock of the shard to be able to purge
+                lock(shard);
                 try {
                     super.purge();
                 } finally {
-                    lock.unlock();
+                    locks[shard].unlock();
                 }
             }
         }
@@ -1205,7 +1332,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 evictionStolen = true;
             } else {
                 // indicate it was completed by timeout
-                answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+                answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
                 try {
                     answer = onCompletion(key, answer, answer, true, false);
                     if (answer != null) {
@@ -1243,7 +1370,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
+                lockAll();
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
@@ -1253,7 +1380,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         } else {
                             log.trace("Completion interval triggered for correlation key: {}", key);
                             // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
                             try {
                                 Exchange answer = onCompletion(key, exchange, exchange, false, false);
                                 if (answer != null) {
@@ -1268,7 +1395,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
 
@@ -1307,7 +1434,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     log.info("We are shutting down so stop recovering");
                     return;
                 }
-                lock.lock();
+                lockAll();
                 try {
                     // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                     // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1319,7 +1446,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         Exchange exchange = recoverable.recover(camelContext, exchangeId);
                         if (exchange != null) {
                             // get the correlation key
-                            String key = exchange.getProperty(Exchange.AGGREGATED_CORRELATION_KEY, String.class);
+                            String key = exchange.getProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, String.class);
                             // and mark it as redelivered
                             exchange.getIn().setHeader(Exchange.REDELIVERED, Boolean.TRUE);
 
@@ -1371,7 +1498,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
 
@@ -1460,6 +1587,26 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         if (getCompletionInterval() > 0 && getCompletionTimeout() > 0) {
             throw new IllegalArgumentException("Only one of completionInterval or completionTimeout can be used, not both.");
         }
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Option shards must be a positive number, was: " + shards);
+        }
+        if (shards > 1 && (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup())) {
+            throw new IllegalArgumentException("Option shards cannot be used together with completionFromBatchConsumer or completionOnNewCorrelationGroup"
+                    + " as they complete groups across all the shards.");
+        }
+
+        // create the locks before the timeout checker as it uses the locks of the shards
+        Lock[] answer = new Lock[shards];
+        if (optimisticLocking) {
+            Arrays.fill(answer, NoLock.INSTANCE);
+        } else {
+            for (int i = 0; i < shards; i++) {
+                answer[i] = new ReentrantLock();
+            }
+        }
+        contention = new AtomicLongArray(shards);
+        locks = answer;
+
         if (getCompletionInterval() > 0) {
             log.info("Using CompletionInterval to run every {} millis.", getCompletionInterval());
             if (getTimeoutCheckerExecutorService() == null) {
@@ -1473,16 +1620,29 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // start timeout service if its in use
         if (getCompletionTimeout() > 0 || getCompletionTimeoutExpression() != null) {
             log.info("Using CompletionTimeout to trigger after {} millis of inactivity.", getCompletionTimeout());
+            timeoutMaps = new AggregationTimeoutMap[shards];
             if (getTimeoutCheckerExecutorService() == null) {
                 setTimeoutCheckerExecutorService(camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, AGGREGATE_TIMEOUT_CHECKER));
                 shutdownTimeoutCheckerExecutorService = true;
             }
-            // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            HashedWheelTimer timer = HashedWheelTimer.lookup(camelContext);
+            if (timer != null) {
+                // schedule each timeout on the shared timing wheel instead of polling,
+                // and complete the timed out aggregations using the timeout checker
+                log.debug("Using timing wheel: {} for CompletionTimeout", timer);
+                for (int i = 0; i < shards; i++) {
+                    timeoutMaps[i] = new AggregationTimeoutMap(timer, i);
+                }
+            } else {
+                // check for timed out aggregated messages once every second
+                for (int i = 0; i < shards; i++) {
+                    timeoutMaps[i] = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval(), i);
+                }
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
-            ServiceHelper.startService(timeoutMap);
+            ServiceHelper.startService((Object[]) timeoutMaps);
         }
 
         if (aggregateController == null) {
@@ -1491,13 +1651,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         aggregateController.onStart(this);
 
         if (optimisticLocking) {
-            lock = NoLock.INSTANCE;
             if (getOptimisticLockingExecutorService() == null) {
                 setOptimisticLockingExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR, 1));
                 shutdownOptimisticLockingExecutorService = true;
             }
-        } else {
-            lock = new ReentrantLock();
         }
     }
 
@@ -1521,7 +1678,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             shutdownTimeoutCheckerExecutorService = false;
         }
 
-        ServiceHelper.stopService(timeoutMap, processor, deadLetterProducerTemplate);
+        if (timeoutMaps != null) {
+            ServiceHelper.stopService((Object[]) timeoutMaps);
+        }
+        ServiceHelper.stopService(processor, deadLetterProducerTemplate);
 
         if (closedCorrelationKeys != null) {
             // it may be a service so stop it as well
@@ -1607,21 +1767,22 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        int shard = shardOf(key);
+        lock(shard);
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
                 total = 1;
                 log.trace("Force completion triggered for correlation key: {}", key);
                 // indicate it was completed by a force completion request
-                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
                 Exchange answer = onCompletion(key, exchange, exchange, false, false);
                 if (answer != null) {
                     onSubmitCompletion(key, answer);
                 }
             }
         } finally {
-            lock.unlock();
+            locks[shard].unlock();
         }
         log.trace("Completed force completion of group {}", key);
 
@@ -1648,7 +1809,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            lockAll();
             total = keys.size();
             try {
                 for (String key : keys) {
@@ -1656,7 +1817,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     if (exchange != null) {
                         log.trace("Force completion triggered for correlation key: {}", key);
                         // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
                         Exchange answer = onCompletion(key, exchange, exchange, false, false);
                         if (answer != null) {
                             onSubmitCompletion(key, answer);
@@ -1664,7 +1825,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     }
                 }
             } finally {
-                lock.unlock();
+                unlockAll();
             }
         }
         log.trace("Completed force completion of all groups task");
@@ -1679,7 +1840,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        int shard = shardOf(key);
+        lock(shard);
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1689,7 +1851,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            locks[shard].unlock();
         }
         log.trace("Completed force discarded of group {}", key);
 
@@ -1716,7 +1878,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            lockAll();
             total = keys.size();
             try {
                 for (String key : keys) {
@@ -1728,7 +1890,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     }
                 }
             } finally {
-                lock.unlock();
+                unlockAll();
             }
         }
         log.trace("Completed force discarding of all groups task");
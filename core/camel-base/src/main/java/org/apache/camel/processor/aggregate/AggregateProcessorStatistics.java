@@ -71,6 +71,11 @@ public interface AggregateProcessorStatistics {
      */
     long getDiscarded();
 
+    /**
+     * Number of times the lock of each shard was contended, ie another thread was holding the lock
+     */
+    long[] getShardContention();
+
     /**
      * Reset the counters
      */
@@ -20,6 +20,7 @@ import org.apache.camel.AggregationStrategy;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 
@@ -111,20 +112,20 @@ public final class ShareUnitOfWorkAggregationStrategy extends ServiceSupport imp
             if (newExchange.getException() != null) {
                 answer.setException(newExchange.getException());
             }
-            if (newExchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
-                answer.setProperty(Exchange.EXCEPTION_CAUGHT, newExchange.getProperty(Exchange.EXCEPTION_CAUGHT));
+            if (newExchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT) != null) {
+                answer.setProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, newExchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT));
             }
-            if (newExchange.getProperty(Exchange.FAILURE_ENDPOINT) != null) {
-                answer.setProperty(Exchange.FAILURE_ENDPOINT, newExchange.getProperty(Exchange.FAILURE_ENDPOINT));
+            if (newExchange.getProperty(ExchangePropertyKey.FAILURE_ENDPOINT) != null) {
+                answer.setProperty(ExchangePropertyKey.FAILURE_ENDPOINT, newExchange.getProperty(ExchangePropertyKey.FAILURE_ENDPOINT));
             }
-            if (newExchange.getProperty(Exchange.FAILURE_ROUTE_ID) != null) {
-                answer.setProperty(Exchange.FAILURE_ROUTE_ID, newExchange.getProperty(Exchange.FAILURE_ROUTE_ID));
+            if (newExchange.getProperty(ExchangePropertyKey.FAILURE_ROUTE_ID) != null) {
+                answer.setProperty(ExchangePropertyKey.FAILURE_ROUTE_ID, newExchange.getProperty(ExchangePropertyKey.FAILURE_ROUTE_ID));
             }
-            if (newExchange.getProperty(Exchange.ERRORHANDLER_HANDLED) != null) {
-                answer.setProperty(Exchange.ERRORHANDLER_HANDLED, newExchange.getProperty(Exchange.ERRORHANDLER_HANDLED));
+            if (newExchange.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED) != null) {
+                answer.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, newExchange.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED));
             }
-            if (newExchange.getProperty(Exchange.FAILURE_HANDLED) != null) {
-                answer.setProperty(Exchange.FAILURE_HANDLED, newExchange.getProperty(Exchange.FAILURE_HANDLED));
+            if (newExchange.getProperty(ExchangePropertyKey.FAILURE_HANDLED) != null) {
+                answer.setProperty(ExchangePropertyKey.FAILURE_HANDLED, newExchange.getProperty(ExchangePropertyKey.FAILURE_HANDLED));
             }
         }
     }
@@ -81,6 +81,11 @@ public class ThreadPoolProfileBuilder {
         return this;
     }
 
+    public ThreadPoolProfileBuilder virtualThreads(Boolean virtualThreads) {
+        profile.setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     /**
      * Builds the thread pool profile
      * 
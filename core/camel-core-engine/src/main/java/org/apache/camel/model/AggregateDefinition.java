@@ -81,6 +81,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @Metadata(javaType = "java.lang.Boolean")
     private String optimisticLocking;
     @XmlAttribute
+    @Metadata(javaType = "java.lang.Integer", defaultValue = "1")
+    private String shards;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -448,6 +451,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public String getShards() {
+        return shards;
+    }
+
+    public void setShards(String shards) {
+        this.shards = shards;
+    }
+
     public String getParallelProcessing() {
         return parallelProcessing;
     }
@@ -1030,6 +1041,19 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Partitions the correlation keys into the given number of shards, where
+     * each shard has its own lock and completion timeout checker, which allows
+     * to aggregate different correlation keys in parallel. Messages with the
+     * same correlation key are still aggregated one at a time. This option
+     * cannot be used together with completionFromBatchConsumer or
+     * completionOnNewCorrelationGroup. The default is 1.
+     */
+    public AggregateDefinition shards(int shards) {
+        setShards(Integer.toString(shards));
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
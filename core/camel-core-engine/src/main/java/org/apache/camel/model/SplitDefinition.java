@@ -69,6 +69,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute
+    @Metadata(defaultValue = "0")
+    private Integer maxInFlight;
 
     public SplitDefinition() {
     }
@@ -357,6 +360,25 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which are processed at the
+     * same time when using parallel processing. When the limit is reached then
+     * the Splitter does not split any further messages until a message is
+     * done, which keeps the memory usage constant when splitting big files in
+     * streaming mode. By default there is no limit.
+     * <p/>
+     * A work stealing thread pool such as
+     * {@link java.util.concurrent.ForkJoinPool} can be configured using
+     * {@link #executorService(ExecutorService)}.
+     *
+     * @param maxInFlight the maximum number of messages in flight
+     * @return the builder
+     */
+    public SplitDefinition maxInFlight(int maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -521,4 +543,12 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.shareUnitOfWork = shareUnitOfWork;
     }
 
+    public Integer getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(Integer maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
 }
@@ -113,6 +113,9 @@ public class AggregateReifier extends ProcessorReifier<AggregateDefinition> {
         if (definition.getOptimisticLocking() != null) {
             answer.setOptimisticLocking(parseBoolean(routeContext, definition.getOptimisticLocking()));
         }
+        if (definition.getShards() != null) {
+            answer.setShards(parseInt(routeContext, definition.getShards()));
+        }
         if (definition.getCompletionPredicate() != null) {
             Predicate predicate = definition.getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit test for processing the files of a poll in parallel with the maxConcurrentFiles option
+ */
+public class FileConsumeConcurrentFilesTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/data/concurrent?initialDelay=0&delay=10&maxConcurrentFiles=4";
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/concurrent");
+        super.setUp();
+    }
+
+    @Test
+    public void testConsumeFilesInParallel() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader(fileUrl, "Hello " + i, Exchange.FILE_NAME, i + ".txt");
+        }
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the files are processed by several workers
+        assertTrue("Should process files in parallel", maxActive.get() > 1);
+        assertTrue("Should not process more than 4 files in parallel", maxActive.get() <= 4);
+
+        // the files are moved when done
+        for (int i = 0; i < 10; i++) {
+            final String name = "target/data/concurrent/.camel/" + i + ".txt";
+            await().atMost(5, TimeUnit.SECONDS).until(() -> new File(name).exists());
+            assertFileNotExists("target/data/concurrent/" + i + ".txt");
+        }
+
+        GenericFileConsumer<?> consumer = (GenericFileConsumer<?>) context.getRoute("foo").getConsumer();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> consumer.getTotalPolledFiles() == 10);
+        assertEquals(4, consumer.getMaxConcurrentFiles());
+        assertEquals(0, consumer.getInflightFiles());
+    }
+
+    @Test
+    public void testFailedFileIsNotMoved() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBodyAndHeader(fileUrl, "Hello " + i, Exchange.FILE_NAME, i + ".txt");
+        }
+        template.sendBodyAndHeader(fileUrl, "Kaboom", Exchange.FILE_NAME, "kaboom.txt");
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        for (int i = 0; i < 4; i++) {
+            final String name = "target/data/concurrent/.camel/" + i + ".txt";
+            await().atMost(5, TimeUnit.SECONDS).until(() -> new File(name).exists());
+        }
+        // the failed file is rolled back, and is not moved
+        assertFileExists("target/data/concurrent/kaboom.txt");
+        assertFileNotExists("target/data/concurrent/.camel/kaboom.txt");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl).routeId("foo").noAutoStartup()
+                    .process(exchange -> {
+                        int current = active.incrementAndGet();
+                        maxActive.accumulateAndGet(current, Math::max);
+                        try {
+                            Thread.sleep(100);
+                        } finally {
+                            active.decrementAndGet();
+                        }
+                    })
+                    .convertBodyTo(String.class)
+                    .filter(body().isEqualTo("Kaboom")).throwException(new IllegalArgumentException("Forced")).end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
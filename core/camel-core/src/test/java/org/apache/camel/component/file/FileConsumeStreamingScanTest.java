@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for scanning the directories with the streamingScan option
+ */
+public class FileConsumeStreamingScanTest extends ContextTestSupport {
+
+    // pre sort should pickup the first files in order, and not the first files found
+    private String sortedUrl = "file://target/data/scan/sorted?initialDelay=0&delay=10&streamingScan=true&preSort=true&maxMessagesPerPoll=2";
+    private String limitUrl = "file://target/data/scan/limit?initialDelay=0&delay=10&streamingScan=true&maxMessagesPerPoll=2";
+    private String doneUrl = "file://target/data/scan/done?initialDelay=0&delay=10&streamingScan=true&doneFileName=${file:name}.done";
+    // sort by should sort all the files, and not the first files found
+    private String sortByUrl = "file://target/data/scan/sortby?initialDelay=0&delay=10&streamingScan=true&sortBy=reverse:file:name&maxMessagesPerPoll=2";
+    private String recursiveUrl = "file://target/data/scan/recursive?initialDelay=0&delay=10&streamingScan=true&recursive=true&preSort=true&maxMessagesPerPoll=2";
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/scan");
+        super.setUp();
+    }
+
+    @Test
+    public void testPreSortPicksFirstFiles() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:sorted");
+        mock.expectedBodiesReceived("AAA", "BBB");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        template.sendBodyAndHeader(sortedUrl, "DDD", Exchange.FILE_NAME, "ddd.txt");
+        template.sendBodyAndHeader(sortedUrl, "CCC", Exchange.FILE_NAME, "ccc.txt");
+        template.sendBodyAndHeader(sortedUrl, "AAA", Exchange.FILE_NAME, "aaa.txt");
+        template.sendBodyAndHeader(sortedUrl, "BBB", Exchange.FILE_NAME, "bbb.txt");
+
+        context.getRouteController().startRoute("sorted");
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("CCC", "DDD");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSortByPicksFirstFiles() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:sortby");
+        mock.expectedBodiesReceived("DDD", "CCC");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        template.sendBodyAndHeader(sortByUrl, "AAA", Exchange.FILE_NAME, "aaa.txt");
+        template.sendBodyAndHeader(sortByUrl, "CCC", Exchange.FILE_NAME, "ccc.txt");
+        template.sendBodyAndHeader(sortByUrl, "DDD", Exchange.FILE_NAME, "ddd.txt");
+        template.sendBodyAndHeader(sortByUrl, "BBB", Exchange.FILE_NAME, "bbb.txt");
+
+        context.getRouteController().startRoute("sortby");
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("BBB", "AAA");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPreSortKeepsOrderOfDirectories() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:recursive");
+        // the files of the sub directory are polled in place, as when the directories are listed
+        mock.expectedBodiesReceived("Z", "A", "B");
+
+        template.sendBodyAndHeader(recursiveUrl, "B", Exchange.FILE_NAME, "b.txt");
+        template.sendBodyAndHeader(recursiveUrl, "A", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(recursiveUrl, "Z", Exchange.FILE_NAME, "a/z.txt");
+
+        context.getRouteController().startRoute("recursive");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:limit");
+        mock.expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader(limitUrl, "Hello " + i, Exchange.FILE_NAME, i + ".txt");
+        }
+
+        context.getRouteController().startRoute("limit");
+
+        assertMockEndpointsSatisfied();
+
+        // the scan stops when the limit is reached
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            assertTrue(exchange.getProperty(Exchange.BATCH_SIZE, Integer.class) <= 2);
+        }
+    }
+
+    @Test
+    public void testDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:done");
+        mock.expectedBodiesReceived("Bye World");
+
+        template.sendBodyAndHeader(doneUrl, "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(doneUrl, "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader(doneUrl, "", Exchange.FILE_NAME, "bye.txt.done");
+
+        context.getRouteController().startRoute("done");
+
+        assertMockEndpointsSatisfied();
+        oneExchangeDone.matchesMockWaitTime();
+
+        // the file without done file is not consumed
+        assertFileExists("target/data/scan/done/hello.txt");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(sortedUrl).routeId("sorted").noAutoStartup().convertBodyTo(String.class).to("mock:sorted");
+                from(limitUrl).routeId("limit").noAutoStartup().convertBodyTo(String.class).to("mock:limit");
+                from(doneUrl).routeId("done").noAutoStartup().convertBodyTo(String.class).to("mock:done");
+                from(sortByUrl).routeId("sortby").noAutoStartup().convertBodyTo(String.class).to("mock:sortby");
+                from(recursiveUrl).routeId("recursive").noAutoStartup().convertBodyTo(String.class).to("mock:recursive");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.io.File;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SedaDurableQueueTest extends ContextTestSupport {
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/durable");
+        super.setUp();
+    }
+
+    @Test
+    public void testDurableQueue() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B", "C");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 123);
+
+        template.sendBodyAndHeader("seda:foo", "A", "foo", 123);
+        template.sendBodyAndHeader("seda:foo", "B", "foo", 123);
+        template.sendBodyAndHeader("seda:foo", "C", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+        MappedFileBlockingQueue queue = assertIsInstanceOf(MappedFileBlockingQueue.class, endpoint.getQueue());
+        assertTrue(new File("target/data/durable/foo").isDirectory());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testRequestReplyNotSupported() throws Exception {
+        try {
+            template.requestBody("seda:foo", "A");
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        File dir = new File("target/data/durable/replay");
+        // use small segments so the queue must roll over to new segments
+        MappedFileBlockingQueue queue = new MappedFileBlockingQueue(context, dir, 100, 1024);
+        queue.open();
+        for (int i = 0; i < 50; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody("Message " + i);
+            exchange.getIn().setHeader("index", i);
+            assertTrue(queue.offer(exchange));
+        }
+        assertEquals(50, queue.size());
+        assertEquals(50, queue.remainingCapacity());
+
+        // process 20 and take 10 more without acknowledging them
+        for (int i = 0; i < 30; i++) {
+            Exchange exchange = queue.poll();
+            assertEquals("Message " + i, exchange.getIn().getBody());
+            if (i < 20) {
+                queue.acknowledge(exchange);
+            }
+        }
+        assertEquals(10, queue.getInflightSize());
+        queue.close();
+
+        // the exchanges which were not acknowledged are replayed
+        queue = new MappedFileBlockingQueue(context, dir, 100, 1024);
+        queue.open();
+        assertEquals(30, queue.size());
+        for (int i = 20; i < 50; i++) {
+            Exchange exchange = queue.poll();
+            assertEquals("Message " + i, exchange.getIn().getBody());
+            assertEquals(i, exchange.getIn().getHeader("index"));
+            queue.acknowledge(exchange);
+        }
+        assertNull(queue.poll());
+        queue.close();
+
+        queue = new MappedFileBlockingQueue(context, dir, 100, 1024);
+        queue.open();
+        assertEquals(0, queue.size());
+        queue.close();
+    }
+
+    @Test
+    public void testDeleteSegments() throws Exception {
+        File dir = new File("target/data/durable/delete");
+        deleteDirectory(dir);
+        MappedFileBlockingQueue queue = new MappedFileBlockingQueue(context, dir, 100, 1024);
+        queue.open();
+        for (int i = 0; i < 50; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody("Message " + i);
+            assertTrue(queue.offer(exchange));
+            queue.acknowledge(queue.poll());
+        }
+
+        // the segments which are not kept for reuse are unmapped and deleted
+        assertTrue(dir.list().length <= 3);
+        queue.close();
+        assertTrue(dir.list().length <= 3);
+    }
+
+    @Test
+    public void testCapacity() throws Exception {
+        MappedFileBlockingQueue queue = new MappedFileBlockingQueue(context, new File("target/data/durable/capacity"), 2);
+        queue.open();
+        assertTrue(queue.offer(new DefaultExchange(context)));
+        assertTrue(queue.offer(new DefaultExchange(context)));
+        assertFalse(queue.offer(new DefaultExchange(context)));
+        assertNotNull(queue.poll());
+        assertTrue(queue.offer(new DefaultExchange(context)));
+        queue.clear();
+        assertEquals(2, queue.remainingCapacity());
+        queue.close();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?durableDirectory=target/data/durable").to("mock:result");
+            }
+        };
+    }
+}
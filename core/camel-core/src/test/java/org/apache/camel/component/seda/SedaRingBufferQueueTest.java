@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class SedaRingBufferQueueTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ring", new RingBufferBlockingQueueFactory<Exchange>());
+        return context;
+    }
+
+    @Test
+    public void testRingBufferQueue() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:foo?queueFactory=#ring&size=100", SedaEndpoint.class);
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ring = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals(100, ring.getCapacity());
+    }
+
+    @Test
+    public void testPollBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:batch");
+        mock.expectedMessageCount(50);
+        mock.allMessages().exchangeProperty(Exchange.BATCH_SIZE).isNotNull();
+        mock.allMessages().exchangeProperty(Exchange.BATCH_INDEX).isNotNull();
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("seda:batch", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPollBatchGrouped() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:grouped");
+        mock.expectedMinimumMessageCount(1);
+        mock.allMessages().body().isInstanceOf(List.class);
+
+        context.getRouteController().stopRoute("grouped");
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("seda:grouped", "Message " + i);
+        }
+        context.getRouteController().startRoute("grouped");
+
+        assertMockEndpointsSatisfied();
+
+        int total = 0;
+        for (Exchange exchange : mock.getExchanges()) {
+            List<?> list = exchange.getIn().getBody(List.class);
+            assertTrue("Should not exceed the batch size, was: " + list.size(), list.size() <= 5);
+            total += list.size();
+        }
+        assertEquals(20, total);
+    }
+
+    @Test
+    public void testQueue() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertNull(queue.poll());
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertFalse(queue.offer("D"));
+        assertFalse(queue.offer("D", 10, TimeUnit.MILLISECONDS));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals("A", queue.peek());
+        assertEquals("A", queue.poll());
+        assertTrue(queue.offer("D"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals("[B, C]", drained.toString());
+        assertEquals("D", queue.take());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(16);
+        int producers = 4;
+        int size = 10000;
+        CountDownLatch latch = new CountDownLatch(producers * size);
+        long[] sum = new long[producers];
+
+        for (int p = 0; p < producers; p++) {
+            final int index = p;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < size; i++) {
+                        queue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }).start();
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < size; i++) {
+                        sum[index] += queue.take();
+                        latch.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }).start();
+        }
+
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        long total = 0;
+        for (long s : sum) {
+            total += s;
+        }
+        assertEquals((long) producers * size * (size - 1) / 2, total);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:batch?queueFactory=#ring&pollBatchSize=10")
+                    .to("mock:batch");
+
+                from("seda:grouped?queueFactory=#ring&pollBatchSize=5&pollBatchGrouped=true").routeId("grouped")
+                    .to("mock:grouped");
+            }
+        };
+    }
+}
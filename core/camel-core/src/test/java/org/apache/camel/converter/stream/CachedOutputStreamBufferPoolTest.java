@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedOutputStreamBufferPoolTest extends ContextTestSupport {
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/data/cachedir");
+        context.getStreamCachingStrategy().setBufferSize(1024);
+        context.getStreamCachingStrategy().setBufferPoolSize(8 * 1024);
+        context.getStreamCachingStrategy().setSpoolThreshold(64 * 1024);
+        return context;
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/cachedir");
+        super.setUp();
+        context.start();
+
+        exchange = new DefaultExchange(context);
+        exchange.setUnitOfWork(new DefaultUnitOfWork(exchange));
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static byte[] read(InputStream is) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        IOHelper.copy(is, bos);
+        return bos.toByteArray();
+    }
+
+    @Test
+    public void testCacheInDirectBuffers() throws Exception {
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+        byte[] data = data(3000);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data, 0, 1000);
+        cos.write(data[1000]);
+        cos.write(data, 1001, 1999);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the DirectBufferInputStreamCache", cache instanceof DirectBufferInputStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(3000, cache.length());
+        assertEquals(3 * 1024, statistics.getCacheOffHeapUsed());
+
+        assertArrayEquals(data, read((InputStream) cache));
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertArrayEquals(data, bos.toByteArray());
+
+        Exchange copyExchange = new DefaultExchange(context);
+        copyExchange.setUnitOfWork(new DefaultUnitOfWork(copyExchange));
+        StreamCache copy = cache.copy(copyExchange);
+        assertArrayEquals(data, read((InputStream) copy));
+
+        // the buffers are released when all the exchanges are done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(3 * 1024, statistics.getCacheOffHeapUsed());
+        copyExchange.getUnitOfWork().done(copyExchange);
+        assertEquals(0, statistics.getCacheOffHeapUsed());
+        assertEquals(3 * 1024, statistics.getCacheOffHeapPeak());
+
+        try {
+            cache.reset();
+            ((InputStream) cache).read();
+            fail("Should throw exception");
+        } catch (IOException e) {
+            // expected
+        }
+
+        statistics.reset();
+        assertEquals(0, statistics.getCacheOffHeapPeak());
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testSpoolWhenBufferPoolIsUsed() throws Exception {
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+        byte[] data = data(20000);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data, 0, 6000);
+        assertEquals(6 * 1024, statistics.getCacheOffHeapUsed());
+        // the pool has no room for all the data so the buffers are written to the spool file
+        cos.write(data, 6000, 14000);
+        assertEquals(0, statistics.getCacheOffHeapUsed());
+
+        String[] files = new File("target/data/cachedir").list();
+        assertEquals("we should have a temp file", 1, files.length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(20000, cache.length());
+        assertArrayEquals(data, read((InputStream) cache));
+
+        exchange.getUnitOfWork().done(exchange);
+        files = new File("target/data/cachedir").list();
+        assertEquals("we should have no temp file", 0, files.length);
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testSpoolWithCipherWhenBufferPoolIsUsed() throws Exception {
+        context.getStreamCachingStrategy().setSpoolCipher("RC4");
+        byte[] data = data(20000);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data, 0, 6000);
+        cos.write(data, 6000, 14000);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertArrayEquals(data, read((InputStream) cache));
+
+        exchange.getUnitOfWork().done(exchange);
+        IOHelper.close(cos);
+    }
+}
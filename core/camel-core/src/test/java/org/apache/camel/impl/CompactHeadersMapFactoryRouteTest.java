@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.CompactHeadersMapFactory;
+import org.apache.camel.util.CompactMap;
+import org.junit.Test;
+
+public class CompactHeadersMapFactoryRouteTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setHeadersMapFactory(new CompactHeadersMapFactory());
+        context.getGlobalOptions().put(Exchange.COMPACT_PROPERTIES, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompactHeaders() throws Exception {
+        getMockEndpoint("mock:a").expectedHeaderReceived("foo", 123);
+        getMockEndpoint("mock:a").expectedHeaderReceived("bar", "yes");
+        getMockEndpoint("mock:a").expectedHeaderReceived("beer", "Carlsberg");
+        getMockEndpoint("mock:b").expectedHeaderReceived("FOO", 123);
+        getMockEndpoint("mock:b").expectedHeaderReceived("Bar", "yes");
+        getMockEndpoint("mock:b").message(0).header("beer").isNull();
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("foo", 123);
+        headers.put("Bar", "yes");
+
+        template.sendBodyAndHeaders("direct:start", "Hello World", headers);
+
+        assertMockEndpointsSatisfied();
+
+        Exchange a = getMockEndpoint("mock:a").getReceivedExchanges().get(0);
+        Exchange b = getMockEndpoint("mock:b").getReceivedExchanges().get(0);
+        assertTrue(a.getMessage().getHeaders() instanceof CompactMap);
+        assertTrue(b.getMessage().getHeaders() instanceof CompactMap);
+        assertNotNull(a.getProperty(Exchange.CORRELATION_ID));
+        assertEquals("beer", a.getProperty("drink"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setProperty("drink", constant("beer"))
+                    .multicast()
+                        .to("direct:a")
+                        .to("direct:b");
+
+                from("direct:a").setHeader("beer", constant("Carlsberg")).to("mock:a");
+                from("direct:b").to("mock:b");
+            }
+        };
+    }
+
+}
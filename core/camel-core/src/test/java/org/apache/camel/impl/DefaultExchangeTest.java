@@ -16,11 +16,19 @@
  */
 package org.apache.camel.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.ConnectException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.ExchangeTestSupport;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
@@ -220,6 +228,183 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
         assertEquals("Africa", exchange.getProperty("zone", String.class));
     }
 
+    @Test
+    public void testInternalProperty() throws Exception {
+        exchange.removeProperty("foobar");
+        assertFalse(exchange.hasProperties());
+
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, 3);
+        assertTrue(exchange.hasProperties());
+
+        // can be accessed using the string keys as well
+        assertEquals(3, exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertEquals(3, exchange.getProperty(Exchange.SPLIT_INDEX));
+        assertEquals("3", exchange.getProperty(Exchange.SPLIT_INDEX, String.class));
+        assertEquals(3, exchange.getProperties().get(Exchange.SPLIT_INDEX));
+
+        exchange.setProperty(Exchange.SPLIT_SIZE, 5);
+        assertEquals(5, exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals(Boolean.FALSE, exchange.getProperty(ExchangePropertyKey.SPLIT_COMPLETE, boolean.class));
+        assertEquals(Boolean.TRUE, exchange.getProperty(ExchangePropertyKey.SPLIT_COMPLETE, true, Boolean.class));
+
+        exchange.setProperty("fruit", "apple");
+        Map<String, Object> properties = exchange.getProperties();
+        assertEquals(3, properties.size());
+        assertEquals("apple", properties.get("fruit"));
+        assertTrue(properties.containsKey(Exchange.SPLIT_SIZE));
+
+        assertEquals(5, exchange.removeProperty(Exchange.SPLIT_SIZE));
+        assertNull(exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, null);
+        assertNull(exchange.getProperty(Exchange.SPLIT_INDEX));
+        assertEquals(1, properties.size());
+    }
+
+    @Test
+    public void testInternalPropertiesView() throws Exception {
+        exchange.removeProperty("foobar");
+        assertFalse(exchange.hasProperties());
+
+        Map<String, Object> properties = exchange.getProperties();
+        properties.put(Exchange.TO_ENDPOINT, "mock://result");
+        properties.put("fruit", "apple");
+        assertEquals("mock://result", exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
+
+        Map<String, Object> copy = new HashMap<>(properties);
+        assertEquals(2, copy.size());
+        assertEquals("mock://result", copy.get(Exchange.TO_ENDPOINT));
+        assertEquals("apple", copy.get("fruit"));
+
+        Iterator<Map.Entry<String, Object>> it = properties.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey().equals(Exchange.TO_ENDPOINT)) {
+                it.remove();
+            }
+        }
+        assertNull(exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
+        assertEquals(1, properties.size());
+
+        // set properties from a plain map which contains internal properties
+        DefaultExchange other = new DefaultExchange(context);
+        copy.put(Exchange.ROUTE_STOP, true);
+        other.setProperties(copy);
+        assertEquals(Boolean.TRUE, other.getProperty(ExchangePropertyKey.ROUTE_STOP));
+        assertEquals("mock://result", other.getProperty(ExchangePropertyKey.TO_ENDPOINT));
+        assertEquals("apple", other.getProperty("fruit"));
+        assertEquals(3, other.getProperties().size());
+
+        properties.clear();
+        assertFalse(exchange.hasProperties());
+    }
+
+    @Test
+    public void testInternalPropertiesSetConcurrently() throws Exception {
+        exchange.removeProperty("foobar");
+        ExchangePropertyKey[] keys = ExchangePropertyKey.values();
+        Thread[] threads = new Thread[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            final ExchangePropertyKey key = keys[i];
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    exchange.setProperty(key, j);
+                    exchange.removeProperty(key);
+                }
+                exchange.setProperty(key, key.name());
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // no update is lost
+        for (ExchangePropertyKey key : keys) {
+            assertEquals(key.name(), exchange.getProperty(key));
+        }
+        assertEquals(keys.length, exchange.getProperties().size());
+        Exchange copy = exchange.copy();
+        assertEquals(keys.length, copy.getProperties().size());
+    }
+
+    @Test
+    public void testPropertiesViewIsSerializable() throws Exception {
+        exchange.removeProperty("foobar");
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, 3);
+        exchange.setProperty("fruit", "apple");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(exchange.getProperties());
+        }
+        Map<?, ?> properties;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            properties = (Map<?, ?>) ois.readObject();
+        }
+        assertEquals(2, properties.size());
+        assertEquals(3, properties.get(Exchange.SPLIT_INDEX));
+        assertEquals("apple", properties.get("fruit"));
+    }
+
+    @Test
+    public void testCopyInternalProperties() throws Exception {
+        exchange.setProperty(ExchangePropertyKey.LOOP_INDEX, 1);
+        exchange.setProperty("fruit", "apple");
+
+        Exchange copy = exchange.copy();
+        assertEquals(1, copy.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("apple", copy.getProperty("fruit"));
+
+        // the copy is independent of the original
+        copy.setProperty(ExchangePropertyKey.LOOP_INDEX, 2);
+        copy.setProperty("fruit", "banana");
+        assertEquals(1, exchange.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("apple", exchange.getProperty("fruit"));
+    }
+
+    @Test
+    public void testSetPropertiesOfItself() throws Exception {
+        exchange.setProperty(ExchangePropertyKey.LOOP_INDEX, 1);
+        exchange.setProperty("fruit", "apple");
+
+        ((DefaultExchange) exchange).setProperties(exchange.getProperties());
+        assertEquals(1, exchange.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("apple", exchange.getProperty("fruit"));
+    }
+
+    @Test
+    public void testSetPropertiesOfOtherExchange() throws Exception {
+        exchange.setProperty(ExchangePropertyKey.LOOP_INDEX, 1);
+        exchange.setProperty("fruit", "apple");
+
+        // the transformers and validators process an exchange which shares the properties of the exchange
+        DefaultExchange other = new DefaultExchange(exchange);
+        other.setProperties(exchange.getProperties());
+        assertEquals(1, other.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("apple", other.getProperty("fruit"));
+
+        other.setProperty(ExchangePropertyKey.LOOP_INDEX, 2);
+        other.setProperty("fruit", "banana");
+        other.setProperty(ExchangePropertyKey.ROUTE_STOP, true);
+        other.setProperty("drink", "beer");
+        assertEquals(2, exchange.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("banana", exchange.getProperty("fruit"));
+        assertEquals(Boolean.TRUE, exchange.getProperty(ExchangePropertyKey.ROUTE_STOP));
+        assertEquals("beer", exchange.getProperty("drink"));
+
+        exchange.removeProperty(ExchangePropertyKey.ROUTE_STOP);
+        exchange.removeProperty("drink");
+        assertNull(other.getProperty(ExchangePropertyKey.ROUTE_STOP));
+        assertNull(other.getProperty("drink"));
+
+        // setting a plain map does not change the properties of the other exchange
+        other.setProperties(new HashMap<>());
+        assertFalse(other.hasProperties());
+        assertEquals(2, exchange.getProperty(ExchangePropertyKey.LOOP_INDEX));
+        assertEquals("banana", exchange.getProperty("fruit"));
+    }
+
     @Test
     public void testInType() throws Exception {
         exchange.setIn(new MyMessage(context));
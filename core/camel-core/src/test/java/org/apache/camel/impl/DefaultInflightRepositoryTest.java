@@ -21,6 +21,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.impl.engine.DefaultInflightRepository;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.SimpleUuidGenerator;
 import org.junit.Test;
 
 public class DefaultInflightRepositoryTest extends ContextTestSupport {
@@ -45,4 +46,57 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         repo.remove(e1);
         assertEquals(0, repo.size());
     }
+
+    @Test
+    public void testDoesNotCreateExchangeId() throws Exception {
+        SimpleUuidGenerator uuid = new SimpleUuidGenerator();
+        context.setUuidGenerator(uuid);
+        InflightRepository repo = new DefaultInflightRepository();
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        assertEquals(1, repo.size());
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+
+        // the exchange id should not be created to track the exchange
+        assertEquals("1", uuid.generateUuid());
+    }
+
+    @Test
+    public void testInflightBrowseDisabled() throws Exception {
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(false);
+        repo.addRoute("foo");
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        repo.add(e2, "foo");
+
+        // the exchanges are counted but not tracked
+        assertEquals(2, repo.size());
+        assertEquals(2, repo.size("foo"));
+        assertEquals(0, repo.browse().size());
+        assertNull(repo.oldest(null));
+
+        // track all the exchanges by sampling
+        repo.setSampleRate(1);
+        Exchange e3 = new DefaultExchange(context);
+        repo.add(e3);
+        assertEquals(3, repo.size());
+        assertEquals(1, repo.browse().size());
+        assertSame(e3, repo.browse().iterator().next().getExchange());
+
+        repo.remove(e1, "foo");
+        repo.remove(e1);
+        repo.remove(e2, "foo");
+        repo.remove(e2);
+        repo.remove(e3);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.size("foo"));
+        assertEquals(0, repo.browse().size());
+    }
 }
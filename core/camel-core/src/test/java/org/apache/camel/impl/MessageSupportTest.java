@@ -71,6 +71,47 @@ public class MessageSupportTest extends ContextTestSupport {
         assertNotNull(in.getMessageId());
     }
 
+    @Test
+    public void testCopyMessageIdLazily() {
+        SimpleUuidGenerator uuid = new SimpleUuidGenerator();
+        context.setUuidGenerator(uuid);
+        Exchange exchange = new DefaultExchange(context);
+        Message in = exchange.getIn();
+
+        // the message id is not created when copying
+        Message copy = in.copy();
+        Message copyOfCopy = copy.copy();
+        assertEquals("1", uuid.generateUuid());
+
+        // but the copies have the same message id
+        assertEquals("2", copyOfCopy.getMessageId());
+        assertEquals("2", in.getMessageId());
+        assertEquals("2", copy.getMessageId());
+
+        // a new message id is not taken from the original message
+        Message other = in.copy();
+        other.setMessageId(null);
+        assertEquals("3", other.getMessageId());
+        assertEquals("2", in.getMessageId());
+    }
+
+    @Test
+    public void testCopyCustomMessageId() {
+        Exchange exchange = new DefaultExchange(context);
+        Message in = new DefaultMessage(exchange) {
+            @Override
+            protected String createMessageId() {
+                return "custom";
+            }
+        };
+
+        // the message id is created by the original message when copying
+        Message copy = new DefaultMessage(context);
+        copy.copyFrom(in);
+        assertEquals("custom", copy.getMessageId());
+        assertEquals("custom", in.getMessageId());
+    }
+
     @Test
     public void testCopyFromSameHeadersInstance() {
         Exchange exchange = new DefaultExchange(context);
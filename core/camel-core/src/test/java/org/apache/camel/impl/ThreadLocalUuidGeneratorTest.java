@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.impl.engine.DefaultUuidGenerator;
+import org.apache.camel.impl.engine.ThreadLocalUuidGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadLocalUuidGeneratorTest extends Assert {
+
+    @Test
+    public void testGenerateUUID() {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator(4);
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertNotEquals(firstUUID, secondUUID);
+        assertEquals(firstUUID.length(), secondUUID.length());
+        assertTrue(firstUUID, firstUUID.endsWith("-0000000000000001"));
+        assertTrue(secondUUID, secondUUID.endsWith("-0000000000000002"));
+    }
+
+    @Test
+    public void testNotSameSeed() {
+        String first = new DefaultUuidGenerator().generateUuid();
+        String second = new ThreadLocalUuidGenerator().generateUuid();
+
+        assertNotEquals(first.substring(0, first.lastIndexOf('-')), second.substring(0, second.lastIndexOf('-')));
+    }
+
+    @Test
+    public void testUniqueAcrossThreads() throws Exception {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator(16);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    ids.add(uuidGenerator.generateUuid());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80000, ids.size());
+    }
+
+    @Test
+    public void testGeneratorIsNotLeakedByThread() throws Exception {
+        ThreadLocalUuidGenerator uuidGenerator = new ThreadLocalUuidGenerator();
+        assertNotNull(uuidGenerator.generateUuid());
+
+        // the block of this thread must not keep the generator alive
+        WeakReference<ThreadLocalUuidGenerator> ref = new WeakReference<>(uuidGenerator);
+        uuidGenerator = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+    }
+}
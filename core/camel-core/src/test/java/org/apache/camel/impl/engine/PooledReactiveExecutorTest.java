@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PooledReactiveExecutorTest extends Assert {
+
+    private final PooledReactiveExecutor executor = new PooledReactiveExecutor();
+    private final List<String> order = new ArrayList<>();
+
+    @Test
+    public void testScheduleMainRunsInCallerThread() throws Exception {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        executor.scheduleMain(() -> thread.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), thread.get());
+        assertEquals(0, executor.getPendingTasks());
+        assertEquals(0, executor.getRunningWorkers());
+    }
+
+    @Test
+    public void testScheduleRunsAfterCurrentTask() throws Exception {
+        executor.scheduleMain(() -> {
+            order.add("A");
+            executor.schedule(() -> order.add("B"));
+            // the worker is running so the task is queued
+            assertEquals(1, executor.getPendingTasks());
+            assertEquals(1, executor.getRunningWorkers());
+            order.add("A-done");
+        });
+
+        assertEquals("[A, A-done, B]", order.toString());
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Test
+    public void testScheduleIsLastInFirstOut() throws Exception {
+        executor.scheduleMain(() -> {
+            executor.schedule(() -> order.add("B"));
+            executor.schedule(() -> order.add("C"));
+        });
+
+        assertEquals("[C, B]", order.toString());
+    }
+
+    @Test
+    public void testScheduleMainRunsBeforePendingTasks() throws Exception {
+        executor.scheduleMain(() -> {
+            order.add("A");
+            executor.schedule(() -> order.add("X"));
+            // a new main task runs before the tasks which are already pending
+            executor.scheduleMain(() -> {
+                order.add("M");
+                executor.schedule(() -> order.add("N"));
+            });
+        });
+
+        assertEquals("[A, M, N, X]", order.toString());
+    }
+
+    @Test
+    public void testScheduleSyncRunsImmediately() throws Exception {
+        executor.scheduleMain(() -> {
+            order.add("A");
+            executor.scheduleSync(() -> order.add("S"));
+            order.add("A-done");
+        });
+
+        assertEquals("[A, S, A-done]", order.toString());
+    }
+
+    @Test
+    public void testExecuteFromQueue() throws Exception {
+        executor.scheduleMain(() -> {
+            executor.schedule(() -> order.add("B"));
+            assertTrue(executor.executeFromQueue());
+            assertEquals("[B]", order.toString());
+            assertFalse(executor.executeFromQueue());
+            order.add("A-done");
+        });
+
+        assertEquals("[B, A-done]", order.toString());
+        assertFalse(executor.executeFromQueue());
+    }
+
+    @Test
+    public void testFailedTaskDoesNotStopWorker() throws Exception {
+        executor.scheduleMain(() -> {
+            executor.schedule(() -> order.add("B"));
+            throw new IllegalArgumentException("Forced");
+        });
+
+        assertEquals("[B]", order.toString());
+        assertEquals(0, executor.getRunningWorkers());
+    }
+
+    @Test
+    public void testWorkerPerThread() throws Exception {
+        executor.scheduleMain(() -> order.add("A"));
+        Thread thread = new Thread(() -> executor.scheduleMain(() -> order.add("B")));
+        thread.start();
+        thread.join();
+
+        executor.scheduleMain(() -> order.add("C"));
+
+        assertEquals(2, executor.getCreatedWorkers());
+        assertEquals("[A, B, C]", order.toString());
+        // the worker of the terminated thread is no longer listed
+        assertEquals(1, executor.listWorkers().size());
+    }
+
+}
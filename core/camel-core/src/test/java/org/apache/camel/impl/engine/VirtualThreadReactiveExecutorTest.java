@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.junit.Test;
+
+public class VirtualThreadReactiveExecutorTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getExecutorServiceManager().getDefaultThreadPoolProfile().setVirtualThreads(true);
+        return context;
+    }
+
+    @Test
+    public void testVirtualThreadReactiveExecutor() throws Exception {
+        assertIsInstanceOf(VirtualThreadReactiveExecutor.class, context.getReactiveExecutor());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World", "Bye World");
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("seda:start", "Bye World");
+
+        assertMockEndpointsSatisfied();
+
+        VirtualThreadReactiveExecutor executor = (VirtualThreadReactiveExecutor) context.getReactiveExecutor();
+        assertTrue("Should dispatch callbacks", executor.getDispatchedTasks() > 0);
+    }
+
+    @Test
+    public void testScheduleRunsInVirtualThread() throws Exception {
+        VirtualThreadReactiveExecutor executor = (VirtualThreadReactiveExecutor) context.getReactiveExecutor();
+        long dispatched = executor.getDispatchedTasks();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> main = new AtomicReference<>();
+        AtomicReference<Thread> nested = new AtomicReference<>();
+        executor.scheduleMain(() -> {
+            main.set(Thread.currentThread());
+            executor.schedule(() -> {
+                nested.set(Thread.currentThread());
+                latch.countDown();
+            });
+        });
+
+        // the task is handed over to a new thread, which runs the tasks it schedules in turn
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), main.get());
+        assertSame(main.get(), nested.get());
+        assertEquals(dispatched + 1, executor.getDispatchedTasks());
+    }
+
+    @Test
+    public void testScheduleSyncRunsInCallerThread() throws Exception {
+        VirtualThreadReactiveExecutor executor = (VirtualThreadReactiveExecutor) context.getReactiveExecutor();
+        long dispatched = executor.getDispatchedTasks();
+
+        AtomicReference<Thread> main = new AtomicReference<>();
+        AtomicReference<Thread> nested = new AtomicReference<>();
+        executor.scheduleSync(() -> {
+            main.set(Thread.currentThread());
+            executor.schedule(() -> nested.set(Thread.currentThread()));
+        });
+
+        // such as for transacted exchanges which depend on the calling thread
+        assertSame(Thread.currentThread(), main.get());
+        assertSame(Thread.currentThread(), nested.get());
+        assertEquals(dispatched, executor.getDispatchedTasks());
+    }
+
+    @Test
+    public void testCallbackFromOtherExecutorIsDispatched() throws Exception {
+        VirtualThreadReactiveExecutor executor = (VirtualThreadReactiveExecutor) context.getReactiveExecutor();
+        VirtualThreadReactiveExecutor other = new VirtualThreadReactiveExecutor();
+        other.setCamelContext(context);
+        other.start();
+        try {
+            long dispatched = executor.getDispatchedTasks();
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicReference<Thread> thread = new AtomicReference<>();
+
+            // the dispatch flag is per executor, so running tasks of another executor does not count
+            other.scheduleMain(() -> executor.callback(doneSync -> {
+                thread.set(Thread.currentThread());
+                latch.countDown();
+            }));
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertNotSame(Thread.currentThread(), thread.get());
+            assertEquals(dispatched + 1, executor.getDispatchedTasks());
+        } finally {
+            other.stop();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadPoolProfile() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfile("virtual");
+        profile.setVirtualThreads(true);
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "foo", profile);
+        try {
+            assertTrue(profile.isVirtualThreads());
+            if (ThreadHelper.isVirtualThreadsSupported()) {
+                assertFalse("Should not be a thread pool", executor instanceof ThreadPoolExecutor);
+            } else {
+                assertIsInstanceOf(ThreadPoolExecutor.class, executor);
+            }
+        } finally {
+            context.getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("log:foo").delay(10).to("mock:result");
+
+                from("seda:start").split(body().tokenize(" ")).to("log:bar").end().to("mock:result");
+            }
+        };
+    }
+}
@@ -130,6 +130,9 @@ public class TransformerRouteTest extends ContextTestSupport {
             throw answerEx.getException();
         }
         assertEquals("<XOrderResponse/>", answerEx.getMessage().getBody(String.class));
+        // the properties set by the transformer endpoint are set on the exchange
+        assertEquals(Boolean.TRUE, answerEx.getProperty("fromXml"));
+        assertEquals(Boolean.TRUE, answerEx.getProperty("toXml"));
         assertMockEndpointsSatisfied();
     }
 
@@ -262,10 +265,12 @@ public class TransformerRouteTest extends ContextTestSupport {
                     if (input instanceof XOrderResponse) {
                         log.info("Endpoint: XOrderResponse -> XML");
                         exchange.getIn().setBody("<XOrderResponse/>");
+                        exchange.setProperty("toXml", true);
                     } else {
                         assertEquals("<XOrder/>", input);
                         log.info("Endpoint: XML -> XOrder");
                         exchange.getIn().setBody(new XOrder());
+                        exchange.setProperty("fromXml", true);
 
                     }
                     callback.done(true);
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.Arrays;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.junit.Test;
+
+/**
+ * Runs the operator tests using the compiled simple language.
+ */
+public class SimpleCompiledOperatorTest extends SimpleOperatorTest {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILED, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isCompiled());
+
+        Predicate predicate = simple.createPredicate("${header.foo} == 'abc' && ${body.length} > 10");
+        assertEquals("${header.foo} == 'abc' && ${body.length} > 10", predicate.toString());
+
+        exchange.getIn().setBody("Hello Big World");
+        exchange.getIn().setHeader("foo", "abc");
+        assertTrue(predicate.matches(exchange));
+
+        exchange.getIn().setBody("Hello");
+        assertFalse(predicate.matches(exchange));
+    }
+
+    @Test
+    public void testCompiledOgnl() throws Exception {
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("animal", new Animal("Tiger", 13));
+        exchange.getIn().setHeader("list", Arrays.asList("A", "B"));
+
+        assertExpression("${body.length}", 11);
+        assertExpression("${body.toString().length}", 11);
+        assertExpression("${header.animal.name}", "Tiger");
+        assertExpression("${header.animal.name.length}", 5);
+        assertExpression("${header.list.size}", 2);
+        assertPredicate("${header.animal.age} > 12", true);
+        assertPredicate("${header.animal.age} == '13'", true);
+        assertPredicate("${header.animal.friend} == null", true);
+
+        // overloaded methods are invoked by the bean language
+        assertExpression("${body.toUpperCase()}", "HELLO WORLD");
+        assertExpression("${body.substring(6)}", "World");
+
+        // the type of the body can change between evaluations
+        exchange.getIn().setBody(Arrays.asList("A", "B", "C"));
+        assertPredicate("${body.size} == 3", true);
+        exchange.getIn().setBody(new StringBuilder("Hello"));
+        assertExpression("${body.length}", 5);
+    }
+
+    public static final class Animal {
+        private final String name;
+        private final int age;
+
+        public Animal(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public Animal getFriend() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.HashedWheelTimer;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+public class DelayerHashedWheelTimerTest extends ContextTestSupport {
+
+    @Test
+    public void testDelayConstant() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(1);
+        // should at least take 1 sec to complete
+        resultEndpoint.setResultMinimumWaitTime(900);
+        template.sendBody("seda:a", "Hello World");
+        resultEndpoint.assertIsSatisfied();
+    }
+
+    @Test
+    public void testStopTimerWhileDelayed() throws Exception {
+        HashedWheelTimer timer = HashedWheelTimer.lookup(context);
+
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedBodiesReceived("Bye World");
+        // should not wait for the delay when the timer is stopped
+        resultEndpoint.setResultWaitTime(5000);
+        template.sendBody("seda:b", "Bye World");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> timer.getPendingTasks() == 1);
+        assertEquals(0, resultEndpoint.getReceivedCounter());
+
+        // the delayed exchange should be continued when the timer is stopped
+        timer.stop();
+        resultEndpoint.assertIsSatisfied();
+        assertEquals(0, timer.getPendingTasks());
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.addService(new HashedWheelTimer());
+        return context;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("seda:a").delay(1000).asyncDelayed().to("mock:result");
+
+                from("seda:b").delay(60000).asyncDelayed().to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+public class SplitterParallelMaxInFlightTest extends ContextTestSupport {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final ExecutorService pool = new ForkJoinPool(8);
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testSplitParallelMaxInFlight() throws Exception {
+        List<String> body = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            body.add("line-" + i);
+        }
+
+        getMockEndpoint("mock:split").expectedMessageCount(50);
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", body);
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue("Should not have more than 3 in flight, was " + maxInFlight.get(), maxInFlight.get() <= 3);
+        assertEquals(0, inFlight.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body()).streaming().parallelProcessing().executorService(pool).maxInFlight(3)
+                        .process(e -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            Thread.sleep(5);
+                            inFlight.decrementAndGet();
+                        })
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+
+    @Test
+    public void testBurstThenThrottle() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(6);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:start", "Message " + i);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertMockEndpointsSatisfied();
+        // the first 3 is a burst, and then a token is refilled every 100 millis
+        assertTrue("Should take at least 250ms, was: " + elapsed, elapsed >= 250);
+    }
+
+    @Test
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:reject").expectedMessageCount(2);
+        getMockEndpoint("mock:error").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:reject", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAsyncDelayedGrouping() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:async");
+        result.expectedMessageCount(20);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader("seda:async", "Message " + i, "key", i % 2);
+        }
+
+        assertMockEndpointsSatisfied();
+        // each group allows 5 at once and then a token is refilled every 100 millis
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Should take at least 400ms, was: " + elapsed, elapsed >= 400);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:start")
+                    .throttle(3).timePeriodMillis(300).tokenBucket()
+                    .to("mock:result");
+
+                from("direct:reject")
+                    .throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true)
+                    .to("mock:reject");
+
+                from("seda:async")
+                    .throttle(constant(5), header("key")).timePeriodMillis(500).tokenBucket().asyncDelayed()
+                    .to("mock:async");
+            }
+        };
+    }
+}
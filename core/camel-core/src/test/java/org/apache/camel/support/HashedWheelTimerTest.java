@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.awaitility.Awaitility.await;
+
+public class HashedWheelTimerTest extends Assert {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() throws Exception {
+        // use a small wheel so the tasks must wait for more rounds
+        timer = new HashedWheelTimer(executor, 5, TimeUnit.MILLISECONDS, 8);
+        timer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        timer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        timer.schedule(() -> { order.add("C"); latch.countDown(); }, 300, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.add("A"); latch.countDown(); }, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.add("B"); latch.countDown(); }, 100, TimeUnit.MILLISECONDS);
+        assertEquals(3, timer.getPendingTasks());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("[A, B, C]", order.toString());
+        assertEquals(0, timer.getPendingTasks());
+        assertEquals(3, timer.getExpiredTasks());
+    }
+
+    @Test
+    public void testNotBeforeDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsed = new long[1];
+
+        timer.schedule(() -> {
+            elapsed[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            latch.countDown();
+        }, 120, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue("Should not run before the delay, was: " + elapsed[0], elapsed[0] >= 120);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(counter::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        timer.schedule(counter::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertEquals(1, timer.getPendingTasks());
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> timer.getExpiredTasks() == 1);
+        Thread.sleep(100);
+        assertEquals(1, counter.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+        int size = 10000;
+        CountDownLatch latch = new CountDownLatch(size / 2);
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            timeouts.add(timer.schedule(latch::countDown, i % 200, TimeUnit.MILLISECONDS));
+        }
+        // cancel every second task, but some may have expired already
+        int cancelled = 0;
+        for (int i = 0; i < size; i += 2) {
+            if (timeouts.get(i).cancel()) {
+                cancelled++;
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> timer.getPendingTasks() == 0);
+        assertEquals(size - cancelled, timer.getExpiredTasks());
+        assertTrue(timer.getMaxTickLag() >= timer.getLastTickLag());
+    }
+
+    @Test
+    public void testTaskException() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        timer.schedule(() -> {
+            throw new IllegalArgumentException("Forced");
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        // the tick should continue after the failed task
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNotStarted() throws Exception {
+        timer.stop();
+        try {
+            timer.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+            fail("Should have thrown exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testStopRunsScheduledTasks() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        timer.schedule(() -> order.add("C"), 60000, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> order.add("A"), 5000, TimeUnit.MILLISECONDS);
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> order.add("X"), 5000, TimeUnit.MILLISECONDS);
+        // let some of the tasks be transferred to the wheel
+        Thread.sleep(50);
+        timer.schedule(() -> order.add("B"), 10000, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+
+        // the tasks still scheduled should be run in order of their deadline, but not the cancelled task
+        timer.stop();
+        assertEquals("[A, B, C]", order.toString());
+        assertEquals(0, timer.getPendingTasks());
+        assertEquals(3, timer.getExpiredTasks());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    public void testTimeoutMap() throws Exception {
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<>(timer);
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                evicted.add(key);
+            }
+        });
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 50);
+        map.put("C", 3, 5000);
+        // replacing an entry should reschedule it
+        map.put("B", 4, 5000);
+        map.remove("C");
+        assertEquals(2, map.size());
+
+        // the evict event is emitted after the entry is removed
+        await().atMost(5, TimeUnit.SECONDS).until(() -> evicted.size() == 1);
+        assertEquals("[A]", evicted.toString());
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(4), map.get("B"));
+
+        map.stop();
+        assertEquals(0, timer.getPendingTasks());
+    }
+
+    @Test
+    public void testTimeoutMapGetDoesNotReschedule() throws Exception {
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<>(timer);
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                evicted.add(key);
+            }
+        });
+        map.start();
+
+        map.put("A", 1, 100);
+        assertEquals(1, timer.getPendingTasks());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(1), map.get("A"));
+        }
+        // reading the entry only updates its expire time
+        assertEquals(1, timer.getPendingTasks());
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> evicted.size() == 1);
+        assertEquals("[A]", evicted.toString());
+        assertEquals(0, map.size());
+
+        map.stop();
+        assertEquals(0, timer.getPendingTasks());
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BloomFilterIdempotentRepositoryTest extends ContextTestSupport {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final MemoryIdempotentRepository memory = new MemoryIdempotentRepository() {
+        @Override
+        public boolean contains(String key) {
+            lookups.incrementAndGet();
+            return super.contains(key);
+        }
+    };
+    private BloomFilterIdempotentRepository repository;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        memory.add("old");
+        repository = new BloomFilterIdempotentRepository(memory);
+        super.setUp();
+    }
+
+    @Test
+    public void testSkipLookups() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A", "B", "C");
+
+        template.sendBodyAndHeader("direct:start", "A", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "Old", "messageId", "old");
+        template.sendBodyAndHeader("direct:start", "B", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "A", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "C", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(repository.isWarmedUp());
+        assertEquals(8, repository.getLookups());
+        // the duplicates must be looked up in the repository
+        assertEquals(2, repository.getDuplicates());
+        assertEquals(2, lookups.get());
+        assertEquals(6, repository.getDefinitelyNew());
+        assertEquals(0, repository.getFalsePositives());
+    }
+
+    @Test
+    public void testNoFalseNegatives() throws Exception {
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(MemoryIdempotentRepository.memoryIdempotentRepository(100000));
+        repo.setCamelContext(context);
+        repo.setExpectedInsertions(1000);
+        repo.start();
+
+        int size = 20000;
+        for (int i = 0; i < size; i++) {
+            assertTrue(repo.add("key-" + i));
+        }
+        for (int i = 0; i < size; i++) {
+            assertTrue(repo.contains("key-" + i));
+            assertFalse(repo.add("key-" + i));
+        }
+        for (int i = size; i < size * 2; i++) {
+            assertFalse(repo.contains("key-" + i));
+        }
+
+        // the filter should grow to keep the false positive probability
+        assertTrue(repo.getFilterCount() > 1);
+        assertEquals(size, repo.getFilterInsertions());
+        assertTrue(repo.getFalsePositives() < size / 20);
+        assertTrue(repo.getDefinitelyNew() > size);
+
+        repo.clear();
+        assertEquals(0, repo.getFilterCount());
+        assertFalse(repo.contains("key-0"));
+        repo.stop();
+    }
+
+    @Test
+    public void testWarmUpFromFile() throws Exception {
+        deleteDirectory("target/data/bloomfilter");
+        File fileStore = new File("target/data/bloomfilter/store.dat");
+        IndexedFileIdempotentRepository file = new IndexedFileIdempotentRepository(fileStore);
+        file.start();
+        file.add("A");
+        file.add("B");
+        file.add("C");
+        file.remove("B");
+
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(file);
+        repo.setCamelContext(context);
+        repo.start();
+
+        assertTrue(repo.isWarmedUp());
+        assertEquals(2, repo.getFilterInsertions());
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("C"));
+        assertFalse(repo.contains("B"));
+        repo.stop();
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(new MemoryIdempotentRepository());
+        repo.setCamelContext(context);
+        repo.warmUp(Arrays.asList("A", "B"));
+        repo.start();
+
+        assertTrue(repo.isWarmedUp());
+        assertEquals(2, repo.getFilterInsertions());
+        repo.stop();
+    }
+
+    @Test
+    public void testNotWarmedUp() throws Exception {
+        MyRepository store = new MyRepository();
+        store.add("old");
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(store);
+        repo.setCamelContext(context);
+        repo.start();
+
+        // the keys are looked up in the repository until the filter is warmed up
+        assertFalse(repo.isWarmedUp());
+        assertTrue(repo.contains("old"));
+        assertFalse(repo.contains("new"));
+        assertTrue(repo.add("new"));
+        assertEquals(2, store.lookups);
+        assertEquals(0, repo.getLookups());
+
+        repo.warmUp(Arrays.asList("old"));
+        assertTrue(repo.contains("old"));
+        assertTrue(repo.contains("new"));
+        assertFalse(repo.contains("other"));
+        assertEquals(4, store.lookups);
+
+        // the filter is kept when restarted
+        repo.stop();
+        repo.start();
+        assertTrue(repo.isWarmedUp());
+        assertTrue(repo.contains("old"));
+        assertFalse(repo.contains("other"));
+        assertEquals(5, store.lookups);
+        repo.stop();
+    }
+
+    @Test
+    public void testExpireTime() throws Exception {
+        BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(new MemoryIdempotentRepository());
+        repo.setCamelContext(context);
+        repo.setExpireTime(100);
+        repo.start();
+
+        repo.add("A");
+        assertTrue(repo.contains("A"));
+        Thread.sleep(250);
+        repo.add("B");
+
+        // the old filter is dropped
+        assertEquals(1, repo.getFilterCount());
+        assertEquals(1, repo.getFilterInsertions());
+        repo.stop();
+    }
+
+    private static final class MyRepository extends ServiceSupport implements IdempotentRepository {
+        private final Set<String> keys = new HashSet<>();
+        private int lookups;
+
+        @Override
+        public boolean add(String key) {
+            return keys.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            lookups++;
+            return keys.contains(key);
+        }
+
+        @Override
+        public boolean remove(String key) {
+            return keys.remove(key);
+        }
+
+        @Override
+        public boolean confirm(String key) {
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            keys.clear();
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            // noop
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            // noop
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").idempotentConsumer(header("messageId"), repository).eager(false).to("mock:result");
+            }
+        };
+    }
+}
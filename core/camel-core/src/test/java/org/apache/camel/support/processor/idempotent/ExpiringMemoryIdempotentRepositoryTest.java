@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpiringMemoryIdempotentRepositoryTest extends Assert {
+
+    private ExpiringMemoryIdempotentRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = new ExpiringMemoryIdempotentRepository();
+        repository.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        assertTrue(repository.add("A"));
+        assertTrue(repository.add("B"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("C"));
+        assertEquals(2, repository.getSize());
+
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.add("A"));
+        assertTrue(repository.contains("A"));
+
+        repository.clear();
+        assertFalse(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertEquals(0, repository.getSize());
+    }
+
+    @Test
+    public void testUuidKeys() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        assertTrue(repository.add(uuid));
+        assertFalse(repository.add(uuid));
+        assertTrue(repository.contains(uuid));
+        // the upper case key is another key
+        assertFalse(repository.contains(uuid.toUpperCase()));
+        assertTrue(repository.add(uuid.toUpperCase()));
+
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(repository.add(UUID.randomUUID().toString()));
+        }
+        assertEquals(100002, repository.getSize());
+        assertTrue(repository.contains(uuid));
+        assertTrue(repository.getMemorySize() > 0);
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        repository.stop();
+        repository = new ExpiringMemoryIdempotentRepository(200);
+        repository.setSegments(4);
+        repository.start();
+
+        assertTrue(repository.add("A"));
+        assertTrue(repository.contains("A"));
+
+        Thread.sleep(500);
+
+        assertFalse(repository.contains("A"));
+        assertEquals(1, repository.getSegmentCount());
+        assertEquals(0, repository.getSize());
+        assertTrue(repository.add("A"));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    assertTrue(repository.add(thread + "-" + i));
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    // all the threads add the same keys, but only one of them must succeed
+                    repository.add("shared-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(50000, repository.getSize());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.camel.TestSupport.createDirectory;
+import static org.apache.camel.TestSupport.deleteDirectory;
+
+public class IndexedFileIdempotentRepositoryTest extends Assert {
+
+    private File fileStore = new File("target/data/indexedstore/data.dat");
+    private IndexedFileIdempotentRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        // ensure empty folder
+        deleteDirectory("target/data/indexedstore");
+        createDirectory("target/data/indexedstore");
+
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        assertTrue(repository.add("A"));
+        assertTrue(repository.add("B"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("C"));
+        assertEquals(2, repository.getSize());
+
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.add("A"));
+        assertTrue(repository.contains("A"));
+
+        repository.clear();
+        assertFalse(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertEquals(0, repository.getSize());
+    }
+
+    @Test
+    public void testManyKeysAndRestart() throws Exception {
+        int size = 20000;
+        for (int i = 0; i < size; i++) {
+            assertTrue(repository.add("file-" + i + ".txt"));
+        }
+        for (int i = 0; i < size; i += 2) {
+            assertTrue(repository.remove("file-" + i + ".txt"));
+        }
+        repository.stop();
+
+        // the keys should be loaded from the index
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.start();
+        assertEquals(size / 2, repository.getSize());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i % 2 == 1, repository.contains("file-" + i + ".txt"));
+        }
+        repository.stop();
+
+        // the index should be rebuilt from the log
+        assertTrue(new File(fileStore.getPath() + ".idx").delete());
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.start();
+        assertEquals(size / 2, repository.getSize());
+        for (int i = 0; i < size; i++) {
+            assertEquals(i % 2 == 1, repository.contains("file-" + i + ".txt"));
+        }
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            repository.add("key-" + i);
+        }
+        for (int i = 0; i < 900; i++) {
+            repository.remove("key-" + i);
+        }
+        long before = repository.getFileStoreSize();
+        repository.compact();
+
+        assertEquals(1, repository.getCompactions());
+        assertTrue(repository.getFileStoreSize() < before);
+        assertEquals(100, repository.getSize());
+        assertFalse(repository.contains("key-0"));
+        assertTrue(repository.contains("key-999"));
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        repository.stop();
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.setMaxFileStoreSize(10000);
+        repository.setDropOldestFileStore(100);
+        repository.start();
+
+        for (int i = 0; i < 1000; i++) {
+            repository.add("key-" + i);
+        }
+
+        assertTrue(repository.getCompactions() > 0);
+        assertTrue(repository.getFileStoreSize() <= 10000);
+        assertFalse(repository.contains("key-0"));
+        assertTrue(repository.contains("key-999"));
+    }
+
+    @Test
+    public void testEmptyStoreIsSmall() throws Exception {
+        assertTrue(repository.add("A"));
+        // the log is mapped from a small size, which grows as the keys are added
+        assertTrue("The file store should be small: " + fileStore.length(), fileStore.length() <= 64 * 1024);
+    }
+
+    @Test
+    public void testGrowBeyondChunk() throws Exception {
+        repository.stop();
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.setMaxFileStoreSize(0);
+        repository.start();
+
+        // the keys take up more than a chunk of 8mb of the log
+        char[] padding = new char[1000];
+        Arrays.fill(padding, 'x');
+        String prefix = new String(padding);
+        int size = 10000;
+        for (int i = 0; i < size; i++) {
+            assertTrue(repository.add(prefix + i));
+        }
+        assertTrue(fileStore.length() > 8 * 1024 * 1024);
+        repository.stop();
+
+        repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.start();
+        assertEquals(size, repository.getSize());
+        for (int i = 0; i < size; i++) {
+            assertTrue(repository.contains(prefix + i));
+        }
+        assertTrue(repository.add("A"));
+        assertTrue(repository.contains("A"));
+    }
+
+    @Test
+    public void testCompactWhileLookup() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            repository.add("key-" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                while (!done.get()) {
+                    // the keys which are never removed
+                    for (int i = 900; i < 1000; i++) {
+                        assertTrue(repository.contains("key-" + i));
+                    }
+                }
+            }));
+        }
+        // the files are replaced while the lookups are running
+        for (int n = 0; n < 20; n++) {
+            for (int i = 0; i < 900; i++) {
+                repository.remove("key-" + i);
+            }
+            repository.compact();
+            for (int i = 0; i < 900; i++) {
+                repository.add("key-" + i);
+            }
+        }
+        done.set(true);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(20, repository.getCompactions());
+        assertEquals(1000, repository.getSize());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    assertTrue(repository.add(thread + "-" + i));
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    repository.contains(thread + "-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(20000, repository.getSize());
+    }
+}
@@ -216,6 +216,48 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("moveFailed", moveFailed);
             return this;
         }
+        /**
+         * The maximum number of files of a poll which are processed in
+         * parallel. Each file is routed by a worker thread, while the read
+         * lock, in-progress repository and the move/delete strategies are
+         * handled for each file as usual. The poll completes when all the files
+         * of the poll have been processed. This option is default=0, and a
+         * value of 1 or less means the files are processed one by one by the
+         * consumer thread. When the endpoint cannot share its connection
+         * between threads (such as FTP), the workers take turns to acquire the
+         * read lock, so a read lock which waits for the file to be ready (such
+         * as readLock=changed) limits how many files are processed in parallel.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default FileEndpointConsumerBuilder maxConcurrentFiles(
+                int maxConcurrentFiles) {
+            doSetProperty("maxConcurrentFiles", maxConcurrentFiles);
+            return this;
+        }
+        /**
+         * The maximum number of files of a poll which are processed in
+         * parallel. Each file is routed by a worker thread, while the read
+         * lock, in-progress repository and the move/delete strategies are
+         * handled for each file as usual. The poll completes when all the files
+         * of the poll have been processed. This option is default=0, and a
+         * value of 1 or less means the files are processed one by one by the
+         * consumer thread. When the endpoint cannot share its connection
+         * between threads (such as FTP), the workers take turns to acquire the
+         * read lock, so a read lock which waits for the file to be ready (such
+         * as readLock=changed) limits how many files are processed in parallel.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default FileEndpointConsumerBuilder maxConcurrentFiles(
+                String maxConcurrentFiles) {
+            doSetProperty("maxConcurrentFiles", maxConcurrentFiles);
+            return this;
+        }
         /**
          * Sets the move failure expression based on Simple language. For
          * example, to move files into a .error subdirectory use: .error. Note:
@@ -2090,6 +2132,44 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("startingDirectoryMustHaveAccess", startingDirectoryMustHaveAccess);
             return this;
         }
+        /**
+         * Whether to scan the directories using a
+         * java.nio.file.DirectoryStream, which reads the files of a directory
+         * one by one, instead of loading all the files of the directory into
+         * memory. The scan stops when maxMessagesPerPoll files are found. If
+         * the files are sorted, by preSort or a sorter, then the scan only
+         * keeps the first maxMessagesPerPoll files in the sort order, which
+         * means the files of the poll are the first files of all the files, and
+         * not the first files found.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingScan(
+                boolean streamingScan) {
+            doSetProperty("streamingScan", streamingScan);
+            return this;
+        }
+        /**
+         * Whether to scan the directories using a
+         * java.nio.file.DirectoryStream, which reads the files of a directory
+         * one by one, instead of loading all the files of the directory into
+         * memory. The scan stops when maxMessagesPerPoll files are found. If
+         * the files are sorted, by preSort or a sorter, then the scan only
+         * keeps the first maxMessagesPerPoll files in the sort order, which
+         * means the files of the poll are the first files of all the files, and
+         * not the first files found.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingScan(
+                String streamingScan) {
+            doSetProperty("streamingScan", streamingScan);
+            return this;
+        }
         /**
          * Automatically create missing directories in the file's pathname. For
          * the file consumer, that means creating the starting directory. For
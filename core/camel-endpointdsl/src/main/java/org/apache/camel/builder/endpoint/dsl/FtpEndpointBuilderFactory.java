@@ -400,6 +400,48 @@ public interface FtpEndpointBuilderFactory {
             doSetProperty("moveFailed", moveFailed);
             return this;
         }
+        /**
+         * The maximum number of files of a poll which are processed in
+         * parallel. Each file is routed by a worker thread, while the read
+         * lock, in-progress repository and the move/delete strategies are
+         * handled for each file as usual. The poll completes when all the files
+         * of the poll have been processed. This option is default=0, and a
+         * value of 1 or less means the files are processed one by one by the
+         * consumer thread. When the endpoint cannot share its connection
+         * between threads (such as FTP), the workers take turns to acquire the
+         * read lock, so a read lock which waits for the file to be ready (such
+         * as readLock=changed) limits how many files are processed in parallel.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default FtpEndpointConsumerBuilder maxConcurrentFiles(
+                int maxConcurrentFiles) {
+            doSetProperty("maxConcurrentFiles", maxConcurrentFiles);
+            return this;
+        }
+        /**
+         * The maximum number of files of a poll which are processed in
+         * parallel. Each file is routed by a worker thread, while the read
+         * lock, in-progress repository and the move/delete strategies are
+         * handled for each file as usual. The poll completes when all the files
+         * of the poll have been processed. This option is default=0, and a
+         * value of 1 or less means the files are processed one by one by the
+         * consumer thread. When the endpoint cannot share its connection
+         * between threads (such as FTP), the workers take turns to acquire the
+         * read lock, so a read lock which waits for the file to be ready (such
+         * as readLock=changed) limits how many files are processed in parallel.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default FtpEndpointConsumerBuilder maxConcurrentFiles(
+                String maxConcurrentFiles) {
+            doSetProperty("maxConcurrentFiles", maxConcurrentFiles);
+            return this;
+        }
         /**
          * Sets the move failure expression based on Simple language. For
          * example, to move files into a .error subdirectory use: .error. Note:
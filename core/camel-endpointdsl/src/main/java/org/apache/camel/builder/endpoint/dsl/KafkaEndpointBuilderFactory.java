@@ -251,6 +251,36 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("autoOffsetReset", autoOffsetReset);
             return this;
         }
+        /**
+         * Whether to route the records of each poll as a single exchange, where
+         * the message body is the list of exchanges of the records. The offsets
+         * are committed when the exchange of the batch is completed. The size
+         * of the batches is limited by maxPollRecords. The batching cannot be
+         * used with consumerLanes.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder batching(boolean batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * Whether to route the records of each poll as a single exchange, where
+         * the message body is the list of exchanges of the records. The offsets
+         * are committed when the exchange of the batch is completed. The size
+         * of the batches is limited by maxPollRecords. The batching cannot be
+         * used with consumerLanes.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder batching(String batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
         /**
          * This options controls what happens when a consumer is processing an
          * exchange and it fails. If the option is false then the consumer
@@ -356,6 +386,85 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("checkCrcs", checkCrcs);
             return this;
         }
+        /**
+         * The maximum number of records of a partition waiting to be processed
+         * by the lanes, when using consumerLanes. When a partition has more
+         * pending records, then the partition is paused until half of the
+         * records are processed.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerLaneMaxPending(
+                int consumerLaneMaxPending) {
+            doSetProperty("consumerLaneMaxPending", consumerLaneMaxPending);
+            return this;
+        }
+        /**
+         * The maximum number of records of a partition waiting to be processed
+         * by the lanes, when using consumerLanes. When a partition has more
+         * pending records, then the partition is paused until half of the
+         * records are processed.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerLaneMaxPending(
+                String consumerLaneMaxPending) {
+            doSetProperty("consumerLaneMaxPending", consumerLaneMaxPending);
+            return this;
+        }
+        /**
+         * How to dispatch the records to the lanes, when using consumerLanes:
+         * partition : the records of a partition are processed in order by the
+         * same lane. key : the records with the same key are processed in order
+         * by the same lane, so the records of a partition can be processed in
+         * parallel.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerLaneOrdering(
+                String consumerLaneOrdering) {
+            doSetProperty("consumerLaneOrdering", consumerLaneOrdering);
+            return this;
+        }
+        /**
+         * The number of worker lanes per consumer, which process the polled
+         * records in parallel. The consumer keeps polling while the lanes
+         * process the records, and the offsets are only committed up to the
+         * records which all the records before are completed. The default value
+         * is 0 which means the records are processed one at a time by the
+         * consumer. The lanes cannot be used with allowManualCommit.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerLanes(int consumerLanes) {
+            doSetProperty("consumerLanes", consumerLanes);
+            return this;
+        }
+        /**
+         * The number of worker lanes per consumer, which process the polled
+         * records in parallel. The consumer keeps polling while the lanes
+         * process the records, and the offsets are only committed up to the
+         * records which all the records before are completed. The default value
+         * is 0 which means the records are processed one at a time by the
+         * consumer. The lanes cannot be used with allowManualCommit.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer
+         */
+        default KafkaEndpointConsumerBuilder consumerLanes(
+                String consumerLanes) {
+            doSetProperty("consumerLanes", consumerLanes);
+            return this;
+        }
         /**
          * The configuration controls the maximum amount of time the client will
          * wait for the response of a request. If the response is not received
@@ -1757,6 +1866,40 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("maxBlockMs", maxBlockMs);
             return this;
         }
+        /**
+         * The maximum number of records sent by the producer which are not yet
+         * acknowledged by the brokers. When the limit is reached, then the
+         * remaining records of an exchange are sent when records are
+         * acknowledged, without blocking the routing thread (unless the
+         * synchronous option is enabled). The default value is 0 which means
+         * there is no limit.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: producer
+         */
+        default KafkaEndpointProducerBuilder maxInFlightRecords(
+                int maxInFlightRecords) {
+            doSetProperty("maxInFlightRecords", maxInFlightRecords);
+            return this;
+        }
+        /**
+         * The maximum number of records sent by the producer which are not yet
+         * acknowledged by the brokers. When the limit is reached, then the
+         * remaining records of an exchange are sent when records are
+         * acknowledged, without blocking the routing thread (unless the
+         * synchronous option is enabled). The default value is 0 which means
+         * there is no limit.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: producer
+         */
+        default KafkaEndpointProducerBuilder maxInFlightRecords(
+                String maxInFlightRecords) {
+            doSetProperty("maxInFlightRecords", maxInFlightRecords);
+            return this;
+        }
         /**
          * The maximum number of unacknowledged requests the client will send on
          * a single connection before blocking. Note that if this setting is set
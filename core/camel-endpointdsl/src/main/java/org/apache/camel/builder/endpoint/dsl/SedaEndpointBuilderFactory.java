@@ -260,6 +260,72 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("multipleConsumers", multipleConsumers);
             return this;
         }
+        /**
+         * Whether the messages taken from the queue at once (see
+         * pollBatchSize) is processed as a single grouped exchange, where the
+         * message body is a List of the exchanges. The exchanges completes
+         * when the grouped exchange completes, and if it fails, they all fail.
+         * This option is only for InOnly exchanges.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchGrouped(
+                boolean pollBatchGrouped) {
+            doSetProperty("pollBatchGrouped", pollBatchGrouped);
+            return this;
+        }
+        /**
+         * Whether the messages taken from the queue at once (see
+         * pollBatchSize) is processed as a single grouped exchange, where the
+         * message body is a List of the exchanges. The exchanges completes
+         * when the grouped exchange completes, and if it fails, they all fail.
+         * This option is only for InOnly exchanges.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchGrouped(
+                String pollBatchGrouped) {
+            doSetProperty("pollBatchGrouped", pollBatchGrouped);
+            return this;
+        }
+        /**
+         * The maximum number of messages the consumer takes from the queue at
+         * once, when messages are waiting on the queue. The messages are
+         * processed one by one and has the batch properties (CamelBatchIndex,
+         * CamelBatchSize and CamelBatchComplete) set. Taking more messages at
+         * once reduces the contention on the queue, which can be combined with
+         * the ring buffer queue factory for a higher throughput.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(
+                int pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
+        /**
+         * The maximum number of messages the consumer takes from the queue at
+         * once, when messages are waiting on the queue. The messages are
+         * processed one by one and has the batch properties (CamelBatchIndex,
+         * CamelBatchSize and CamelBatchComplete) set. Taking more messages at
+         * once reduces the contention on the queue, which can be combined with
+         * the ring buffer queue factory for a higher throughput.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: consumer (advanced)
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(
+                String pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
         /**
          * The timeout used when polling. When a timeout occurs, the consumer
          * can check whether it is allowed to continue running. Setting a lower
@@ -341,6 +407,53 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * To use a durable queue which stores the messages in memory-mapped
+         * files in the given directory, so the messages which have not been
+         * processed survives a restart or crash of the JVM. A sub directory with
+         * the name of the queue is used. The message body, headers and
+         * properties must be serializable. A durable queue does not support
+         * request/reply, and the messages are acknowledged after they have been
+         * processed by the consumer (at-least-once), or when they are received
+         * by a polling consumer.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointConsumerBuilder durableDirectory(
+                String durableDirectory) {
+            doSetProperty("durableDirectory", durableDirectory);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointConsumerBuilder durableSegmentSize(
+                int durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointConsumerBuilder durableSegmentSize(
+                String durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
@@ -719,6 +832,53 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * To use a durable queue which stores the messages in memory-mapped
+         * files in the given directory, so the messages which have not been
+         * processed survives a restart or crash of the JVM. A sub directory with
+         * the name of the queue is used. The message body, headers and
+         * properties must be serializable. A durable queue does not support
+         * request/reply, and the messages are acknowledged after they have been
+         * processed by the consumer (at-least-once), or when they are received
+         * by a polling consumer.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointProducerBuilder durableDirectory(
+                String durableDirectory) {
+            doSetProperty("durableDirectory", durableDirectory);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointProducerBuilder durableSegmentSize(
+                int durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointProducerBuilder durableSegmentSize(
+                String durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
@@ -847,6 +1007,53 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("basicPropertyBinding", basicPropertyBinding);
             return this;
         }
+        /**
+         * To use a durable queue which stores the messages in memory-mapped
+         * files in the given directory, so the messages which have not been
+         * processed survives a restart or crash of the JVM. A sub directory with
+         * the name of the queue is used. The message body, headers and
+         * properties must be serializable. A durable queue does not support
+         * request/reply, and the messages are acknowledged after they have been
+         * processed by the consumer (at-least-once), or when they are received
+         * by a polling consumer.
+         * 
+         * The option is a: <code>java.lang.String</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointBuilder durableDirectory(
+                String durableDirectory) {
+            doSetProperty("durableDirectory", durableDirectory);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointBuilder durableSegmentSize(
+                int durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
+        /**
+         * The size in bytes of the memory-mapped segment files of the durable
+         * queue. A segment is recycled when all its messages have been
+         * processed.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Group: advanced
+         */
+        default AdvancedSedaEndpointBuilder durableSegmentSize(
+                String durableSegmentSize) {
+            doSetProperty("durableSegmentSize", durableSegmentSize);
+            return this;
+        }
         /**
          * Define the queue instance which will be used by the endpoint. This
          * option is only for rare use-cases where you want to use a custom
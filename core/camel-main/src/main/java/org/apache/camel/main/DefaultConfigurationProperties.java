@@ -48,6 +48,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
+    private long streamCachingBufferPoolSize;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
     private boolean streamCachingStatisticsEnabled;
     private boolean backlogTracing;
@@ -70,6 +71,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean useMdcLogging;
     private String mdcLoggingKeysPattern;
     private String threadNamePattern;
+    private boolean virtualThreadsEnabled;
     private String routeFilterIncludePattern;
     private String routeFilterExcludePattern;
     private boolean beanIntrospectionExtendedStatistics;
@@ -376,6 +378,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingBufferSize = streamCachingBufferSize;
     }
 
+    public long getStreamCachingBufferPoolSize() {
+        return streamCachingBufferPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of direct (off-heap) memory to use for in-memory stream caches.
+     *
+     * When in use the in-memory stream caches are kept in pooled direct buffers, and when the pool
+     * has used all its memory, then the streams are spooled to disk.
+     *
+     * The default value is 0 which means the in-memory stream caches are kept on the heap.
+     */
+    public void setStreamCachingBufferPoolSize(long streamCachingBufferPoolSize) {
+        this.streamCachingBufferPoolSize = streamCachingBufferPoolSize;
+    }
+
     public boolean isStreamCachingRemoveSpoolDirectoryWhenStopping() {
         return streamCachingRemoveSpoolDirectoryWhenStopping;
     }
@@ -689,6 +707,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.threadNamePattern = threadNamePattern;
     }
 
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * Whether to use virtual threads for the default thread pool profile and the reactive executor.
+     *
+     * Instead of using pools of platform threads, a new virtual thread is started for each task,
+     * which is well suited for routes that block on I/O such as request/reply messaging, HTTP or JDBC calls.
+     *
+     * Virtual threads requires Java 21 or newer, if not supported then regular thread pools are used.
+     */
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
     public String getRouteFilterIncludePattern() {
         return routeFilterIncludePattern;
     }
@@ -1082,6 +1116,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets the maximum number of bytes of direct (off-heap) memory to use for in-memory stream caches.
+     *
+     * When in use the in-memory stream caches are kept in pooled direct buffers, and when the pool
+     * has used all its memory, then the streams are spooled to disk.
+     *
+     * The default value is 0 which means the in-memory stream caches are kept on the heap.
+     */
+    public T withStreamCachingBufferPoolSize(long streamCachingBufferPoolSize) {
+        this.streamCachingBufferPoolSize = streamCachingBufferPoolSize;
+        return (T) this;
+    }
+
     /**
      * Whether to remove stream caching temporary directory when stopping.
      * This option is default true.
@@ -1299,6 +1346,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether to use virtual threads for the default thread pool profile and the reactive executor.
+     *
+     * Instead of using pools of platform threads, a new virtual thread is started for each task,
+     * which is well suited for routes that block on I/O such as request/reply messaging, HTTP or JDBC calls.
+     *
+     * Virtual threads requires Java 21 or newer, if not supported then regular thread pools are used.
+     */
+    public T withVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        return (T) this;
+    }
+
     /**
      * Used for filtering routes routes matching the given pattern, which follows the following rules:
      *
@@ -42,6 +42,18 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.STRING});
     }
 
+    public static TabularType listTypeConversionsTabularType() throws OpenDataException {
+        CompositeType ct = listTypeConversionsCompositeType();
+        return new TabularType("listTypeConversions", "Lists the type conversions with utilization statistics", ct, new String[]{"from", "to"});
+    }
+
+    public static CompositeType listTypeConversionsCompositeType() throws OpenDataException {
+        return new CompositeType("conversions", "Type conversions",
+                new String[]{"from", "to", "hits", "totalTime", "meanTime"},
+                new String[]{"From type", "To type", "Hits", "Total Time (nanos)", "Mean Time (nanos)"},
+                new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG});
+    }
+
     public static TabularType listRestServicesTabularType() throws OpenDataException {
         CompositeType ct = listRestServicesCompositeType();
         return new TabularType("listRestServices", "Lists all the rest services in the registry", ct, new String[]{"url", "method"});
@@ -104,6 +116,18 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING});
     }
 
+    public static TabularType listReactiveWorkersTabularType() throws OpenDataException {
+        CompositeType ct = listReactiveWorkersCompositeType();
+        return new TabularType("listReactiveWorkers", "Lists the workers of the reactive executor", ct, new String[]{"id"});
+    }
+
+    public static CompositeType listReactiveWorkersCompositeType() throws OpenDataException {
+        return new CompositeType("workers", "Workers",
+                new String[]{"id", "name", "running", "queueDepth", "peakQueueDepth", "executedTasks", "taskLatency"},
+                new String[]{"Thread Id", "Thread name", "Running", "Queue Depth", "Peak Queue Depth", "Executed Tasks", "Task Latency"},
+                new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.BOOLEAN, SimpleType.INTEGER, SimpleType.INTEGER, SimpleType.LONG, SimpleType.STRING});
+    }
+
     public static TabularType listEipsTabularType() throws OpenDataException {
         CompositeType ct = listEipsCompositeType();
         return new TabularType("listEips", "Lists all the EIPs", ct, new String[]{"name"});
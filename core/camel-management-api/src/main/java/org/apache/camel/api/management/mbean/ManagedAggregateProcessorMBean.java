@@ -69,6 +69,9 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Optimistic locking")
     boolean isOptimisticLocking();
 
+    @ManagedAttribute(description = "Number of shards the correlation keys are partitioned into")
+    int getShards();
+
     @ManagedAttribute(description = "Whether or not to eager check for completion when a new incoming Exchange has been received")
     boolean isEagerCheckCompletion();
 
@@ -141,6 +144,9 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Total number of exchanged discarded")
     long getDiscarded();
 
+    @ManagedAttribute(description = "Number of times the lock of each shard was contended")
+    long[] getShardContention();
+
     @ManagedOperation(description = " Reset the statistics counters")
     void resetStatistics();
 
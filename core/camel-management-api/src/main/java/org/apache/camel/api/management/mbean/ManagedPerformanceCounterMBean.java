@@ -59,6 +59,21 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "50th percentile (median) of the Processing Time [milliseconds]")
+    long getProcessingTimePercentile50();
+
+    @ManagedAttribute(description = "90th percentile of the Processing Time [milliseconds]")
+    long getProcessingTimePercentile90();
+
+    @ManagedAttribute(description = "99th percentile of the Processing Time [milliseconds]")
+    long getProcessingTimePercentile99();
+
+    @ManagedAttribute(description = "99.9th percentile of the Processing Time [milliseconds]")
+    long getProcessingTimePercentile999();
+
+    @ManagedAttribute(description = "Whether the Processing Time percentiles is gathered, which requires the statistics level to be Percentiles")
+    boolean isProcessingTimePercentilesEnabled();
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
@@ -61,6 +61,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     int getBufferSize();
 
+    @ManagedAttribute(description = "Maximum number of bytes of direct (off-heap) memory to use for in-memory stream caches")
+    void setBufferPoolSize(long bufferPoolSize);
+
+    @ManagedAttribute(description = "Maximum number of bytes of direct (off-heap) memory to use for in-memory stream caches")
+    long getBufferPoolSize();
+
     @ManagedAttribute(description = "Whether to remove spool directory when stopping")
     void setRemoveSpoolDirectoryWhenStopping(boolean remove);
 
@@ -91,6 +97,12 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of bytes of direct (off-heap) memory in use by in-memory stream caches")
+    long getCacheOffHeapUsed();
+
+    @ManagedAttribute(description = "Peak number of bytes of direct (off-heap) memory in use by in-memory stream caches")
+    long getCacheOffHeapPeak();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
@@ -41,4 +41,7 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "Whether to use a token bucket per correlation group instead of a rolling window")
+    Boolean isTokenBucket();
+
 }
\ No newline at end of file
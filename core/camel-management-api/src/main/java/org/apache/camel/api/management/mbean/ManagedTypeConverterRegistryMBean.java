@@ -62,4 +62,10 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedOperation(description = "Lists all the type converters in the registry (from -> to)")
     TabularData listTypeConverters();
 
+    @ManagedOperation(description = "Lists the type conversions with the most hits (requires statistics enabled)")
+    TabularData listHottestTypeConversions(int limit);
+
+    @ManagedOperation(description = "Lists the type conversions with the highest mean time (requires statistics enabled)")
+    TabularData listSlowestTypeConversions(int limit);
+
 }
@@ -153,6 +153,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    @Override
+    public int getShards() {
+        return processor.getShards();
+    }
+
     @Override
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
@@ -302,6 +307,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.getStatistics().getDiscarded();
     }
 
+    @Override
+    public long[] getShardContention() {
+        return processor.getStatistics().getShardContention();
+    }
+
     @Override
     public void resetStatistics() {
         processor.getStatistics().reset();
@@ -51,14 +51,28 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
     private String lastExchangeFailureExchangeId;
+    private StatisticHistogram processingTimeHistogram;
     private boolean statisticsEnabled = true;
 
     @Override
     public void init(ManagementStrategy strategy) {
         super.init(strategy);
-        this.exchangesCompleted = new StatisticCounter();
-        this.exchangesFailed = new StatisticCounter();
-        this.exchangesInflight = new StatisticCounter();
+        boolean percentiles = strategy != null && strategy.getManagementAgent() != null
+                && strategy.getManagementAgent().getStatisticsLevel().isPercentiles();
+        if (percentiles) {
+            // use striped counters and record the processing times in a histogram
+            this.exchangesTotal = new StatisticAdder();
+            this.exchangesCompleted = new StatisticAdder();
+            this.exchangesFailed = new StatisticAdder();
+            this.exchangesInflight = new StatisticAdder();
+            this.totalProcessingTime = new StatisticAdder();
+            this.processingTimeHistogram = new StatisticHistogram();
+        } else {
+            this.exchangesCompleted = new StatisticCounter();
+            this.exchangesFailed = new StatisticCounter();
+            this.exchangesInflight = new StatisticCounter();
+            this.totalProcessingTime = new StatisticCounter();
+        }
 
         this.failuresHandled = new StatisticCounter();
         this.redeliveries = new StatisticCounter();
@@ -66,7 +80,6 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
 
         this.minProcessingTime = new StatisticMinimum();
         this.maxProcessingTime = new StatisticMaximum();
-        this.totalProcessingTime = new StatisticCounter();
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
         this.meanProcessingTime = new StatisticValue();
@@ -100,6 +113,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastExchangeCompletedExchangeId = null;
         lastExchangeFailureTimestamp.reset();
         lastExchangeFailureExchangeId = null;
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
     }
 
     @Override
@@ -139,6 +155,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
 
     @Override
     public long getMeanProcessingTime() throws Exception {
+        if (processingTimeHistogram != null) {
+            // the mean is only calculated when read
+            long completed = exchangesCompleted.getValue();
+            return completed > 0 ? totalProcessingTime.getValue() / completed : 0;
+        }
         return meanProcessingTime.getValue();
     }
 
@@ -162,6 +183,31 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    @Override
+    public long getProcessingTimePercentile50() {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(50) : 0;
+    }
+
+    @Override
+    public long getProcessingTimePercentile90() {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(90) : 0;
+    }
+
+    @Override
+    public long getProcessingTimePercentile99() {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(99) : 0;
+    }
+
+    @Override
+    public long getProcessingTimePercentile999() {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(99.9) : 0;
+    }
+
+    @Override
+    public boolean isProcessingTimePercentilesEnabled() {
+        return processingTimeHistogram != null;
+    }
+
     @Override
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
@@ -235,21 +281,35 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             externalRedeliveries.increment();
         }
 
+        // min and max are only written when changed
         minProcessingTime.updateValue(time);
         maxProcessingTime.updateValue(time);
         totalProcessingTime.updateValue(time);
-        lastProcessingTime.updateValue(time);
-        deltaProcessingTime.updateValue(time);
 
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
             firstExchangeCompletedTimestamp.updateValue(now);
         }
-
-        lastExchangeCompletedTimestamp.updateValue(now);
         if (firstExchangeCompletedExchangeId == null) {
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
+
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time);
+            // the last values are written by all the threads, so to avoid contention they are
+            // only updated once per millis, and the mean is calculated when read
+            if (lastExchangeCompletedTimestamp.getValue() != now) {
+                lastExchangeCompletedTimestamp.updateValue(now);
+                lastExchangeCompletedExchangeId = exchange.getExchangeId();
+                lastProcessingTime.updateValue(time);
+                deltaProcessingTime.updateValue(time);
+            }
+            return;
+        }
+
+        lastProcessingTime.updateValue(time);
+        deltaProcessingTime.updateValue(time);
+        lastExchangeCompletedTimestamp.updateValue(now);
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
 
         // update mean
@@ -301,7 +361,14 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", getMeanProcessingTimeValue()));
+        if (processingTimeHistogram != null) {
+            long[] percentiles = processingTimeHistogram.getValuesAtPercentiles(50, 90, 99, 99.9);
+            sb.append(String.format(" processingTimePercentile50=\"%s\"", percentiles[0]));
+            sb.append(String.format(" processingTimePercentile90=\"%s\"", percentiles[1]));
+            sb.append(String.format(" processingTimePercentile99=\"%s\"", percentiles[2]));
+            sb.append(String.format(" processingTimePercentile999=\"%s\"", percentiles[3]));
+        }
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
@@ -319,6 +386,14 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private long getMeanProcessingTimeValue() {
+        try {
+            return getMeanProcessingTime();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
     private static String dateAsString(long value) {
         if (value <= 0) {
             return "";
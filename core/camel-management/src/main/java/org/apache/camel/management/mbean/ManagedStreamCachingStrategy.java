@@ -123,6 +123,16 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    @Override
+    public void setBufferPoolSize(long bufferPoolSize) {
+        streamCachingStrategy.setBufferPoolSize(bufferPoolSize);
+    }
+
+    @Override
+    public long getBufferPoolSize() {
+        return streamCachingStrategy.getBufferPoolSize();
+    }
+
     @Override
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
@@ -173,6 +183,16 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheOffHeapUsed() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapUsed();
+    }
+
+    @Override
+    public long getCacheOffHeapPeak() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapPeak();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
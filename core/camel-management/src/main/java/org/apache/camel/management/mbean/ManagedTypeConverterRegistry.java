@@ -16,6 +16,8 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import javax.management.openmbean.CompositeData;
@@ -29,6 +31,8 @@ import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedTypeConverterRegistryMBean;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.impl.converter.TypeConverterCache;
 import org.apache.camel.spi.TypeConverterRegistry;
 
 /**
@@ -133,4 +137,41 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
             throw RuntimeCamelException.wrapRuntimeCamelException(e);
         }
     }
+
+    @Override
+    public TabularData listHottestTypeConversions(int limit) {
+        return listTypeConversions(Comparator.comparingLong(TypeConverterCache.Entry::getHits).reversed(), limit);
+    }
+
+    @Override
+    public TabularData listSlowestTypeConversions(int limit) {
+        return listTypeConversions(Comparator.comparingLong(TypeConverterCache.Entry::getMeanTime).reversed(), limit);
+    }
+
+    private TabularData listTypeConversions(Comparator<TypeConverterCache.Entry> comparator, int limit) {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listTypeConversionsTabularType());
+            List<TypeConverterCache.Entry> entries = Collections.emptyList();
+            if (registry instanceof BaseTypeConverterRegistry) {
+                entries = ((BaseTypeConverterRegistry) registry).getTypeConverterCache().entries();
+            }
+            entries.sort(comparator);
+            int count = 0;
+            for (TypeConverterCache.Entry entry : entries) {
+                if (entry.getHits() == 0 || (limit > 0 && count >= limit)) {
+                    continue;
+                }
+                CompositeType ct = CamelOpenMBeanTypes.listTypeConversionsCompositeType();
+                String from = entry.getFromType().getCanonicalName();
+                String to = entry.getToType().getCanonicalName();
+                CompositeData data = new CompositeDataSupport(ct, new String[]{"from", "to", "hits", "totalTime", "meanTime"},
+                        new Object[]{from, to, entry.getHits(), entry.getTotalTime(), entry.getMeanTime()});
+                answer.put(data);
+                count++;
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
 }
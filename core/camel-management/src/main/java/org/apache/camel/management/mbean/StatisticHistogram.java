@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A histogram of the updated values, which can be used to calculate percentiles.
+ * <p/>
+ * The values are recorded in log-linear buckets, the same way as a HDR histogram, where the values below 32
+ * are recorded exactly and the larger values are recorded with a relative error of at most 1/16 (6.25%).
+ * Values larger than 2^36 are recorded as 2^36.
+ * <p/>
+ * Each update only increments a single counter in a stripe selected by the current thread, so the threads
+ * do not contend with each other. The stripes are merged only when the histogram is read, so reading is
+ * more expensive and the result is not an atomic snapshot while the histogram is being updated.
+ * There is at most one stripe per CPU, and each stripe is only allocated when it is first updated,
+ * so a histogram which is never updated, or only by a few threads, uses little memory.
+ * <p/>
+ * The {@link #getValue()} returns the number of recorded values.
+ */
+public class StatisticHistogram extends Statistic {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR = SUB_BUCKETS * 2;
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_VALUE = 1L << MAX_EXPONENT;
+    private static final int BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int mask;
+
+    public StatisticHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StatisticHistogram(int concurrency) {
+        int size = 1;
+        while (size < concurrency && size < MAX_STRIPES) {
+            size <<= 1;
+        }
+        this.stripes = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void updateValue(long newValue) {
+        int index = indexOf(newValue);
+        int i = (int) Thread.currentThread().getId() & mask;
+        AtomicLongArray stripe = stripes.get(i);
+        if (stripe == null) {
+            stripe = createStripe(i);
+        }
+        stripe.getAndIncrement(index);
+    }
+
+    @Override
+    public long getValue() {
+        long total = 0;
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    total += stripe.get(i);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the value at the given percentile, which is the highest value in the bucket the percentile falls into.
+     *
+     * @param percentile the percentile between 0 and 100, such as 99.9
+     * @return the value, or 0 if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        return getValuesAtPercentiles(percentile)[0];
+    }
+
+    /**
+     * Gets the values at the given percentiles, which merges the stripes only once.
+     *
+     * @param percentiles the percentiles between 0 and 100, such as 99.9
+     * @return the values, which are 0 if no values has been recorded
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    long count = stripe.get(i);
+                    counts[i] += count;
+                    total += count;
+                }
+            }
+        }
+
+        long[] answer = new long[percentiles.length];
+        if (total == 0) {
+            return answer;
+        }
+        for (int p = 0; p < percentiles.length; p++) {
+            double percentile = Math.min(Math.max(percentiles[p], 0), 100);
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    answer[p] = highestValueOf(i);
+                    break;
+                }
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean isUpdated() {
+        return getValue() > 0;
+    }
+
+    @Override
+    public void reset() {
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe != null) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    stripe.set(i, 0);
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray createStripe(int index) {
+        AtomicLongArray stripe = new AtomicLongArray(BUCKETS);
+        if (!stripes.compareAndSet(index, null, stripe)) {
+            // another thread created the stripe
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value >= MAX_VALUE) {
+            return BUCKETS - 1;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        if (index == BUCKETS - 1) {
+            return MAX_VALUE;
+        }
+        int bucket = index - LINEAR;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "" + getValue();
+    }
+}
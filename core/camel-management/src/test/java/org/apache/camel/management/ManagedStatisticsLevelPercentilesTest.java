@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class ManagedStatisticsLevelPercentilesTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.init();
+        context.getManagementStrategy().getManagementAgent().setStatisticsLevel(ManagementStatisticsLevel.Percentiles);
+        return context;
+    }
+
+    @Test
+    public void testManageStatisticsPercentiles() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello World", "delay", i < 9 ? 0 : 200);
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=routes,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        set = mbeanServer.queryNames(new ObjectName("*:type=processors,name=\"delay\",*"), null);
+        assertEquals(1, set.size());
+        ObjectName on2 = set.iterator().next();
+
+        // both route and processor should have stats enabled
+        assertEquals(10L, mbeanServer.getAttribute(on, "ExchangesCompleted"));
+        assertEquals(10L, mbeanServer.getAttribute(on2, "ExchangesCompleted"));
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "ProcessingTimePercentilesEnabled"));
+
+        for (ObjectName name : new ObjectName[] {on, on2}) {
+            Long p50 = (Long) mbeanServer.getAttribute(name, "ProcessingTimePercentile50");
+            Long p90 = (Long) mbeanServer.getAttribute(name, "ProcessingTimePercentile90");
+            Long p99 = (Long) mbeanServer.getAttribute(name, "ProcessingTimePercentile99");
+            Long p999 = (Long) mbeanServer.getAttribute(name, "ProcessingTimePercentile999");
+            Long max = (Long) mbeanServer.getAttribute(name, "MaxProcessingTime");
+
+            // only the last exchange was delayed
+            assertTrue("Should be fast, was: " + p90, p90 < 150);
+            assertTrue(p50 <= p90);
+            assertTrue("Should be slow, was: " + p99, p99 >= 190);
+            assertEquals(p99, p999);
+            // the percentile is the highest value in its bucket which is within 1/16 of the value
+            assertTrue(p999 >= max && p999 <= max + max / 16);
+        }
+
+        String xml = (String) mbeanServer.invoke(on, "dumpStatsAsXml", new Object[] {false}, new String[] {"boolean"});
+        assertTrue(xml.contains("processingTimePercentile99="));
+
+        mbeanServer.invoke(on, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(on, "ProcessingTimePercentile99"));
+    }
+
+    @Test
+    public void testPercentilesIsExtended() throws Exception {
+        // percentiles gathers the extended statistics as well
+        assertTrue(ManagementStatisticsLevel.Percentiles.isExtended());
+        assertTrue(ManagementStatisticsLevel.Percentiles.isDefaultOrExtended());
+        assertFalse(ManagementStatisticsLevel.Extended.isPercentiles());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .delay(header("delay")).id("delay")
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
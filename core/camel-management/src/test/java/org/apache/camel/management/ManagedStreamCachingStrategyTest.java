@@ -82,6 +82,15 @@ public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
 
         Boolean remove = (Boolean) mbeanServer.getAttribute(name, "RemoveSpoolDirectoryWhenStopping");
         assertEquals(Boolean.TRUE, remove);
+
+        Long poolSize = (Long) mbeanServer.getAttribute(name, "BufferPoolSize");
+        assertEquals(0, poolSize.longValue());
+
+        Long offHeap = (Long) mbeanServer.getAttribute(name, "CacheOffHeapUsed");
+        assertEquals(0, offHeap.longValue());
+
+        offHeap = (Long) mbeanServer.getAttribute(name, "CacheOffHeapPeak");
+        assertEquals(0, offHeap.longValue());
     }
 
     @Override
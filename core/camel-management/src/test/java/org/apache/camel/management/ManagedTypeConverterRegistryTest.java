@@ -21,6 +21,7 @@ import java.util.Set;
 import javax.management.Attribute;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.TabularData;
 
 import org.apache.camel.builder.RouteBuilder;
@@ -77,6 +78,14 @@ public class ManagedTypeConverterRegistryTest extends ManagementTestSupport {
         // should hit
         Long hit = (Long) mbeanServer.getAttribute(name, "HitCounter");
         assertEquals(1, hit.intValue());
+
+        // the conversion should be listed as the hottest
+        TabularData hottest = (TabularData) mbeanServer.invoke(name, "listHottestTypeConversions", new Object[]{10}, new String[]{"int"});
+        CompositeData row = hottest.get(new Object[]{"java.lang.String", "int"});
+        assertNotNull("Should list String -> int conversion", row);
+        assertEquals(1L, row.get("hits"));
+        TabularData slowest = (TabularData) mbeanServer.invoke(name, "listSlowestTypeConversions", new Object[]{10}, new String[]{"int"});
+        assertNotNull(slowest.get(new Object[]{"java.lang.String", "int"}));
         failed = (Long) mbeanServer.getAttribute(name, "FailedCounter");
         assertEquals(0, failed.intValue());
         miss = (Long) mbeanServer.getAttribute(name, "MissCounter");
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.spi.StreamCachingStrategy.BufferPool;
+
+/**
+ * An {@link OutputStream} which stores the content in direct buffers acquired from the
+ * {@link BufferPool} of the stream caching strategy, and which is capable of returning a
+ * {@link DirectBufferInputStreamCache} view of the buffers.
+ * <p/>
+ * The buffers are released back to the pool when the exchanges using the stream caches are completed.
+ *
+ * @see CachedOutputStream
+ */
+public final class CachedDirectBufferOutputStream extends OutputStream {
+
+    private final BufferPool pool;
+    private final TempFileManager tempFileManager;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private int index;
+    private long capacity;
+    private long count;
+    private volatile boolean released;
+
+    CachedDirectBufferOutputStream(BufferPool pool, TempFileManager tempFileManager) {
+        this.pool = pool;
+        this.tempFileManager = tempFileManager;
+    }
+
+    /**
+     * Acquires buffers from the pool so there is room for writing the given number of bytes.
+     *
+     * @param length the number of bytes to write
+     * @return <tt>false</tt> if the pool has used all its memory (or the buffers are released), and the stream should be spooled to disk
+     */
+    public boolean reserve(long length) {
+        if (released) {
+            return false;
+        }
+        while (capacity - count < length) {
+            ByteBuffer buffer = pool.acquire();
+            if (buffer == null) {
+                return false;
+            }
+            buffers.add(buffer);
+            capacity += buffer.capacity();
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!reserve(1)) {
+            throw new IOException("No more buffers in the buffer pool");
+        }
+        ByteBuffer buffer = buffers.get(index);
+        if (!buffer.hasRemaining()) {
+            buffer = buffers.get(++index);
+        }
+        buffer.put((byte) b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (!reserve(len)) {
+            throw new IOException("No more buffers in the buffer pool");
+        }
+        while (len > 0) {
+            ByteBuffer buffer = buffers.get(index);
+            if (!buffer.hasRemaining()) {
+                buffer = buffers.get(++index);
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(b, off, n);
+            off += n;
+            len -= n;
+            count += n;
+        }
+    }
+
+    /**
+     * Gets read only views of the content of the buffers.
+     */
+    public ByteBuffer[] getBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < answer.length; i++) {
+            ByteBuffer view = buffers.get(i).duplicate();
+            view.flip();
+            answer[i] = view.asReadOnlyBuffer();
+        }
+        return answer;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Creates a new {@link DirectBufferInputStreamCache} view of the buffers
+     */
+    public DirectBufferInputStreamCache newInputStreamCache() {
+        return new DirectBufferInputStreamCache(this, getBuffers(), count);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    TempFileManager getTempFileManager() {
+        return tempFileManager;
+    }
+
+    /**
+     * Releases the buffers back to the pool. The stream caches of this stream can no longer be read.
+     */
+    synchronized void release() {
+        if (!released) {
+            released = true;
+            for (ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+            buffers.clear();
+            capacity = 0;
+            count = 0;
+            index = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedDirectBufferOutputStream[size: " + count + ", buffers: " + buffers.size() + "]";
+    }
+}
@@ -37,6 +37,10 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the cached 
  * fileInputStream(s) is/are closed after all the exchanges using the temp file are completed.
+ * <p/>
+ * If the stream caching strategy has a {@link StreamCachingStrategy.BufferPool} then the content is kept in
+ * direct buffers from the pool instead of on the heap, and is spooled to the temp file when the pool has
+ * used all its memory. The buffers are released back to the pool when all the exchanges using them are completed.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -56,7 +60,13 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        // the pooled buffers are released on completion, so they cannot be used when the caller closes the stream
+        StreamCachingStrategy.BufferPool pool = closedOnCompletion ? strategy.getBufferPool() : null;
+        if (pool != null) {
+            currentStream = tempFileManager.createBufferOutputStream(pool);
+        } else {
+            currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     @Override
@@ -70,6 +80,7 @@ public class CachedOutputStream extends OutputStream {
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
             tempFileManager.closeFileInputStreams();
+            tempFileManager.releaseBuffers();
             tempFileManager.cleanUpTempFile();
         }
     }
@@ -96,7 +107,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(len)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
@@ -105,7 +116,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(b.length)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -114,7 +125,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && shouldPageToFileStream(1)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -138,6 +149,8 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedDirectBufferOutputStream) {
+                return ((CachedDirectBufferOutputStream) currentStream).newInputStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
@@ -147,13 +160,27 @@ public class CachedOutputStream extends OutputStream {
     }
     
 
+    private boolean shouldPageToFileStream(int length) {
+        if (currentStream instanceof CachedDirectBufferOutputStream) {
+            // also spool when the buffer pool has no more room for the data
+            return strategy.shouldSpoolCache(totalLength) || !((CachedDirectBufferOutputStream) currentStream).reserve(length);
+        }
+        return currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength);
+    }
+
     private void pageToFileStream() throws IOException {
         flush();
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream bout = currentStream;
         try {
             // creates an tmp file and a file output stream
-            currentStream = tempFileManager.createOutputStream(strategy);
-            bout.writeTo(currentStream);
+            if (bout instanceof CachedDirectBufferOutputStream) {
+                // write the buffers to the file and then release them back to the pool
+                currentStream = tempFileManager.createOutputStream(strategy, ((CachedDirectBufferOutputStream) bout).getBuffers());
+                tempFileManager.releaseBuffers();
+            } else {
+                currentStream = tempFileManager.createOutputStream(strategy);
+                ((ByteArrayOutputStream) bout).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
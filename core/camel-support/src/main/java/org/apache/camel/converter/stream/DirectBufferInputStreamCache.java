@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for caching using pooled direct (off-heap) buffers.
+ * <p/>
+ * The buffers are shared with the copies of the stream cache, and are released back to the pool
+ * when the exchanges using the stream caches are completed.
+ */
+public final class DirectBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private final CachedDirectBufferOutputStream source;
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private long position;
+    private int index;
+
+    DirectBufferInputStreamCache(CachedDirectBufferOutputStream source, ByteBuffer[] buffers, long length) {
+        this.source = source;
+        this.buffers = buffers;
+        this.length = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = nextBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        position++;
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = nextBuffer();
+        if (buffer == null) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + step);
+            skipped += step;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        return (int) Math.min(length - position, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        position = 0;
+        index = 0;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        checkReleased();
+        // the channel must not be closed as that would close the output stream
+        WritableByteChannel channel = Channels.newChannel(os);
+        for (int i = index; i < buffers.length; i++) {
+            ByteBuffer buffer = buffers[i].duplicate();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        checkReleased();
+        source.getTempFileManager().addExchange(exchange);
+        return source.newInputStreamCache();
+    }
+
+    @Override
+    public boolean inMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    private ByteBuffer nextBuffer() throws IOException {
+        checkReleased();
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private void checkReleased() throws IOException {
+        if (source.isReleased()) {
+            throw new IOException("The buffers of the stream cache are released as the exchange is completed");
+        }
+    }
+}
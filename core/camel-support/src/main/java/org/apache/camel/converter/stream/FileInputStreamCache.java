@@ -23,6 +23,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -34,6 +38,7 @@ import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
@@ -166,6 +171,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private CachedDirectBufferOutputStream bufferOutputStream; // pooled direct buffers
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -203,6 +209,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                             // only one exchange (one thread) left, therefore we must not synchronize the following lines of code
                             try {                              
                                 closeFileInputStreams();
+                                releaseBuffers();
                                 if (outputStream != null) {
                                     outputStream.close();
                                 }
@@ -222,7 +229,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                         return "OnCompletion[CachedOutputStream]";
                     }
                 };
-                UnitOfWork streamCacheUnitOfWork = exchange.getProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK, UnitOfWork.class);
+                UnitOfWork streamCacheUnitOfWork = exchange.getProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK, UnitOfWork.class);
                 if (streamCacheUnitOfWork != null) {
                     // The stream cache must sometimes not be closed when the exchange is deleted. This is for example the
                     // case in the splitter and multi-cast case with AggregationStrategy where the result of the sub-routes
@@ -236,7 +243,22 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
         
+        CachedDirectBufferOutputStream createBufferOutputStream(StreamCachingStrategy.BufferPool pool) {
+            bufferOutputStream = new CachedDirectBufferOutputStream(pool, this);
+            return bufferOutputStream;
+        }
+
         OutputStream createOutputStream(StreamCachingStrategy strategy) throws IOException {
+            return createOutputStream(strategy, null);
+        }
+
+        /**
+         * Creates the temporary file and an output stream to write to the file.
+         *
+         * @param strategy the stream caching strategy
+         * @param content  optional content which is written to the file first
+         */
+        OutputStream createOutputStream(StreamCachingStrategy strategy, ByteBuffer[] content) throws IOException {
             // should only be called once
             if (tempFile != null) {
                 throw new IllegalStateException("The method 'createOutputStream' can only be called once!");
@@ -244,8 +266,25 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
-            OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE));
-            if (ObjectHelper.isNotEmpty(strategy.getSpoolCipher())) {
+            boolean encrypted = ObjectHelper.isNotEmpty(strategy.getSpoolCipher());
+            FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (content != null && !encrypted) {
+                // write the buffers directly to the file with a gathering write, without copying them to the heap
+                try {
+                    long remaining = 0;
+                    for (ByteBuffer buffer : content) {
+                        remaining += buffer.remaining();
+                    }
+                    while (remaining > 0) {
+                        remaining -= channel.write(content);
+                    }
+                } catch (IOException e) {
+                    IOHelper.close(channel);
+                    throw e;
+                }
+            }
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            if (encrypted) {
                 try {
                     if (ciphers == null) {
                         ciphers = new CipherPair(strategy.getSpoolCipher());
@@ -263,6 +302,15 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                     }
                 };
             }
+            if (content != null && encrypted) {
+                // the channel must not be closed as that would close the output stream
+                WritableByteChannel target = Channels.newChannel(out);
+                for (ByteBuffer buffer : content) {
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                }
+            }
             outputStream = out;
             return out;
         }
@@ -284,6 +332,12 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         } 
 
+        void releaseBuffers() {
+            if (bufferOutputStream != null) {
+                bufferOutputStream.release();
+            }
+        }
+
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
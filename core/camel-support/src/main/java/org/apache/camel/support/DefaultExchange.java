@@ -16,24 +16,34 @@
  */
 package org.apache.camel.support;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExecutionException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
-import org.apache.camel.MessageHistory;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.util.CompactMap;
+import org.apache.camel.util.ConcurrentCompactMap;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -41,8 +51,18 @@ import org.apache.camel.util.ObjectHelper;
  */
 public final class DefaultExchange implements Exchange {
 
+    private static final ExchangePropertyKey[] INTERNAL_PROPERTIES = ExchangePropertyKey.values();
+    private static final int INTERNAL_PROPERTIES_SIZE = INTERNAL_PROPERTIES.length;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<DefaultExchange, AtomicReferenceArray> INTERNAL_PROPERTIES_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultExchange.class, AtomicReferenceArray.class, "internalProperties");
+
     protected final CamelContext context;
+    // the internal properties are stored in slots indexed by the key, and the other properties in the map
+    // (the properties can be set by several threads, such as when aggregating, so the slots are atomic)
+    private volatile AtomicReferenceArray<Object> internalProperties;
     private Map<String, Object> properties;
+    private PropertiesView propertiesView;
     private Message in;
     private Message out;
     private Exception exception;
@@ -86,11 +106,7 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Date getCreated() {
-        if (hasProperties()) {
-            return getProperty(Exchange.CREATED_TIMESTAMP, Date.class);
-        } else {
-            return null;
-        }
+        return getProperty(ExchangePropertyKey.CREATED_TIMESTAMP, Date.class);
     }
 
     @Override
@@ -114,7 +130,7 @@ public final class DefaultExchange implements Exchange {
 
         // copy properties after body as body may trigger lazy init
         if (hasProperties()) {
-            exchange.setProperties(safeCopyProperties(getProperties()));
+            exchange.copyPropertiesFrom(this);
         }
 
         return exchange;
@@ -128,21 +144,30 @@ public final class DefaultExchange implements Exchange {
         return context.getHeadersMapFactory().newMap(headers);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> safeCopyProperties(Map<String, Object> properties) {
-        if (properties == null) {
-            return null;
+    private void copyPropertiesFrom(DefaultExchange other) {
+        AtomicReferenceArray<Object> slots = other.internalProperties;
+        if (slots != null) {
+            AtomicReferenceArray<Object> copy = null;
+            for (int i = 0; i < INTERNAL_PROPERTIES_SIZE; i++) {
+                Object value = slots.get(i);
+                if (value != null) {
+                    if (copy == null) {
+                        copy = new AtomicReferenceArray<>(INTERNAL_PROPERTIES_SIZE);
+                    }
+                    if (value instanceof List && i == ExchangePropertyKey.MESSAGE_HISTORY.ordinal()) {
+                        // safe copy message history using a defensive copy
+                        value = new LinkedList<>((List<?>) value);
+                    }
+                    copy.set(i, value);
+                }
+            }
+            if (copy != null) {
+                internalProperties = copy;
+            }
         }
-
-        Map<String, Object> answer = createProperties(properties);
-
-        // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
-        if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+        if (other.properties != null && !other.properties.isEmpty()) {
+            properties = createProperties(other.properties);
         }
-
-        return answer;
     }
 
     @Override
@@ -152,6 +177,10 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Object getProperty(String name) {
+        ExchangePropertyKey key = ExchangePropertyKey.asExchangePropertyKey(name);
+        if (key != null) {
+            return getProperty(key);
+        }
         if (properties != null) {
             return properties.get(name);
         }
@@ -165,30 +194,34 @@ public final class DefaultExchange implements Exchange {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getProperty(String name, Class<T> type) {
-        Object value = getProperty(name);
-        if (value == null) {
-            // lets avoid NullPointerException when converting to boolean for null values
-            if (boolean.class == type) {
-                return (T) Boolean.FALSE;
-            }
-            return null;
-        }
+        return convertProperty(getProperty(name), type);
+    }
 
-        // eager same instance type test to avoid the overhead of invoking the type converter
-        // if already same type
-        if (type.isInstance(value)) {
-            return (T) value;
-        }
+    @Override
+    public <T> T getProperty(String name, Object defaultValue, Class<T> type) {
+        return convertProperty(getProperty(name, defaultValue), type);
+    }
 
-        return ExchangeHelper.convertToType(this, type, value);
+    @Override
+    public Object getProperty(ExchangePropertyKey key) {
+        AtomicReferenceArray<Object> slots = internalProperties;
+        return slots != null ? slots.get(key.ordinal()) : null;
     }
 
     @Override
+    public <T> T getProperty(ExchangePropertyKey key, Class<T> type) {
+        return convertProperty(getProperty(key), type);
+    }
+
+    @Override
+    public <T> T getProperty(ExchangePropertyKey key, Object defaultValue, Class<T> type) {
+        Object value = getProperty(key);
+        return convertProperty(value != null ? value : defaultValue, type);
+    }
+
     @SuppressWarnings("unchecked")
-    public <T> T getProperty(String name, Object defaultValue, Class<T> type) {
-        Object value = getProperty(name, defaultValue);
+    private <T> T convertProperty(Object value, Class<T> type) {
         if (value == null) {
             // lets avoid NullPointerException when converting to boolean for null values
             if (boolean.class == type) {
@@ -208,23 +241,45 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public void setProperty(String name, Object value) {
-        if (value != null) {
+        ExchangePropertyKey key = ExchangePropertyKey.asExchangePropertyKey(name);
+        if (key != null) {
+            setProperty(key, value);
+        } else if (value != null) {
             // avoid the NullPointException
-            getProperties().put(name, value);
+            getUserProperties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
-            if (name != null) {
-                getProperties().remove(name);
+            if (name != null && properties != null) {
+                properties.remove(name);
             }
         }
     }
 
+    @Override
+    public void setProperty(ExchangePropertyKey key, Object value) {
+        if (value == null) {
+            removeProperty(key);
+            return;
+        }
+        getInternalProperties().set(key.ordinal(), value);
+    }
+
     @Override
     public Object removeProperty(String name) {
-        if (!hasProperties()) {
+        ExchangePropertyKey key = ExchangePropertyKey.asExchangePropertyKey(name);
+        if (key != null) {
+            return removeProperty(key);
+        }
+        if (properties == null) {
             return null;
         }
-        return getProperties().remove(name);
+        return properties.remove(name);
+    }
+
+    @Override
+    public Object removeProperty(ExchangePropertyKey key) {
+        AtomicReferenceArray<Object> slots = internalProperties;
+        return slots != null ? slots.getAndSet(key.ordinal(), null) : null;
     }
 
     @Override
@@ -238,9 +293,25 @@ public final class DefaultExchange implements Exchange {
             return false;
         }
 
+        boolean matches = false;
+        AtomicReferenceArray<Object> slots = internalProperties;
+        if (slots != null) {
+            for (ExchangePropertyKey key : INTERNAL_PROPERTIES) {
+                if (slots.get(key.ordinal()) != null && PatternHelper.matchPattern(key.getName(), pattern)) {
+                    if (excludePatterns != null && PatternHelper.isExcludePatternMatch(key.getName(), excludePatterns)) {
+                        continue;
+                    }
+                    matches = true;
+                    removeProperty(key);
+                }
+            }
+        }
+        if (properties == null || properties.isEmpty()) {
+            return matches;
+        }
+
         // store keys to be removed as we cannot loop and remove at the same time in implementations such as HashMap
         Set<String> toBeRemoved = new HashSet<>();
-        boolean matches = false;
         for (String key : properties.keySet()) {
             if (PatternHelper.matchPattern(key, pattern)) {
                 if (excludePatterns != null && PatternHelper.isExcludePatternMatch(key, excludePatterns)) {
@@ -265,19 +336,101 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Map<String, Object> getProperties() {
-        if (properties == null) {
-            properties = createProperties();
+        if (propertiesView == null) {
+            propertiesView = new PropertiesView();
         }
-        return properties;
+        return propertiesView;
     }
 
     @Override
     public boolean hasProperties() {
-        return properties != null && !properties.isEmpty();
+        return hasInternalProperties() || properties != null && !properties.isEmpty();
     }
 
     public void setProperties(Map<String, Object> properties) {
-        this.properties = properties;
+        if (properties instanceof PropertiesView) {
+            DefaultExchange other = ((PropertiesView) properties).exchange();
+            if (other != this) {
+                // share the properties with the other exchange, the same as when setting a plain map
+                this.internalProperties = other.getInternalProperties();
+                this.properties = other.getUserProperties();
+            }
+            return;
+        }
+
+        // the slots may be shared with another exchange, so new slots are used rather than clearing them
+        this.internalProperties = null;
+
+        boolean internal = false;
+        if (properties != null) {
+            for (String name : properties.keySet()) {
+                if (ExchangePropertyKey.asExchangePropertyKey(name) != null) {
+                    internal = true;
+                    break;
+                }
+            }
+        }
+        if (internal) {
+            // the internal properties must be stored in their slots
+            this.properties = null;
+            properties.forEach(this::setProperty);
+        } else {
+            this.properties = properties;
+        }
+    }
+
+    private AtomicReferenceArray<Object> getInternalProperties() {
+        AtomicReferenceArray<Object> slots = internalProperties;
+        if (slots == null) {
+            // the slots may be created by several threads, so only one of them is used
+            INTERNAL_PROPERTIES_UPDATER.compareAndSet(this, null, new AtomicReferenceArray<>(INTERNAL_PROPERTIES_SIZE));
+            slots = internalProperties;
+        }
+        return slots;
+    }
+
+    private boolean hasInternalProperties() {
+        AtomicReferenceArray<Object> slots = internalProperties;
+        if (slots != null) {
+            for (int i = 0; i < INTERNAL_PROPERTIES_SIZE; i++) {
+                if (slots.get(i) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int countInternalProperties() {
+        int answer = 0;
+        AtomicReferenceArray<Object> slots = internalProperties;
+        if (slots != null) {
+            for (int i = 0; i < INTERNAL_PROPERTIES_SIZE; i++) {
+                if (slots.get(i) != null) {
+                    answer++;
+                }
+            }
+        }
+        return answer;
+    }
+
+    private void clearInternalProperties() {
+        AtomicReferenceArray<Object> slots = internalProperties;
+        if (slots != null) {
+            for (int i = 0; i < INTERNAL_PROPERTIES_SIZE; i++) {
+                slots.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Gets the map of the properties which are not internal properties
+     */
+    private Map<String, Object> getUserProperties() {
+        if (properties == null) {
+            properties = createProperties();
+        }
+        return properties;
     }
 
     @Override
@@ -572,11 +725,196 @@ public final class DefaultExchange implements Exchange {
     }
 
     protected Map<String, Object> createProperties() {
+        if (isCompactProperties()) {
+            return new ConcurrentCompactMap();
+        }
         return new ConcurrentHashMap<>();
     }
 
     protected Map<String, Object> createProperties(Map<String, Object> properties) {
+        if (properties instanceof CompactMap) {
+            // the copy is copy-on-write as the properties is also a compact map
+            return new ConcurrentCompactMap(properties, false);
+        }
         return new ConcurrentHashMap<>(properties);
     }
 
+    private boolean isCompactProperties() {
+        // lookup the option directly as its checked for every exchange
+        Map<String, String> options = context != null ? context.getGlobalOptions() : null;
+        return options != null && "true".equalsIgnoreCase(options.get(Exchange.COMPACT_PROPERTIES));
+    }
+
+    /**
+     * A live view of all the properties of the exchange, including the internal properties.
+     * <p/>
+     * The view is serialized as a copy of the properties.
+     */
+    private final class PropertiesView extends AbstractMap<String, Object> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        DefaultExchange exchange() {
+            return DefaultExchange.this;
+        }
+
+        @Override
+        public int size() {
+            return countInternalProperties() + (properties != null ? properties.size() : 0);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !hasProperties();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String ? getProperty((String) key) : null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Object answer = getProperty(key);
+            setProperty(key, value);
+            return answer;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return key instanceof String ? removeProperty((String) key) : null;
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ?> map) {
+            if (map instanceof PropertiesView) {
+                DefaultExchange other = ((PropertiesView) map).exchange();
+                AtomicReferenceArray<Object> slots = other.internalProperties;
+                if (slots != null) {
+                    for (ExchangePropertyKey key : INTERNAL_PROPERTIES) {
+                        Object value = slots.get(key.ordinal());
+                        if (value != null) {
+                            setProperty(key, value);
+                        }
+                    }
+                }
+                if (other.properties != null && !other.properties.isEmpty()) {
+                    getUserProperties().putAll(other.properties);
+                }
+            } else {
+                super.putAll(map);
+            }
+        }
+
+        @Override
+        public void clear() {
+            clearInternalProperties();
+            if (properties != null) {
+                properties.clear();
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new PropertiesIterator();
+                }
+
+                @Override
+                public int size() {
+                    return PropertiesView.this.size();
+                }
+            };
+        }
+
+        private Object writeReplace() {
+            // the exchange is not serializable, so serialize a copy of the properties
+            return new LinkedHashMap<>(this);
+        }
+    }
+
+    /**
+     * Iterates the internal properties followed by the other properties.
+     */
+    private final class PropertiesIterator implements Iterator<Map.Entry<String, Object>> {
+        private final AtomicReferenceArray<Object> slots = internalProperties;
+        private int index;
+        private Object nextValue;
+        private Iterator<Map.Entry<String, Object>> delegate;
+        private ExchangePropertyKey lastKey;
+        private boolean lastFromDelegate;
+
+        @Override
+        public boolean hasNext() {
+            if (nextValue != null) {
+                return true;
+            }
+            while (slots != null && index < INTERNAL_PROPERTIES_SIZE) {
+                // keep the value, as the slot can be changed by another thread before next is called
+                nextValue = slots.get(index);
+                if (nextValue != null) {
+                    return true;
+                }
+                index++;
+            }
+            if (delegate == null) {
+                delegate = properties != null ? properties.entrySet().iterator() : null;
+            }
+            return delegate != null && delegate.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextValue != null) {
+                Object value = nextValue;
+                nextValue = null;
+                lastKey = INTERNAL_PROPERTIES[index++];
+                lastFromDelegate = false;
+                return new InternalPropertyEntry(lastKey, value);
+            }
+            lastKey = null;
+            lastFromDelegate = true;
+            return delegate.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey != null) {
+                removeProperty(lastKey);
+                lastKey = null;
+            } else if (lastFromDelegate) {
+                delegate.remove();
+                lastFromDelegate = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private final class InternalPropertyEntry extends AbstractMap.SimpleEntry<String, Object> {
+        private static final long serialVersionUID = 1L;
+        private final ExchangePropertyKey key;
+
+        InternalPropertyEntry(ExchangePropertyKey key, Object value) {
+            super(key.getName(), value);
+            this.key = key;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            // write through to the exchange
+            setProperty(key, value);
+            return super.setValue(value);
+        }
+    }
+
 }
@@ -33,9 +33,13 @@ import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.ThreadHelper;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
+ * <p/>
+ * If the profile is using virtual threads (and the JVM supports that) then an executor which starts
+ * a new thread per task is created instead of a thread pool.
  */
 public class DefaultThreadPoolFactory implements ThreadPoolFactory {
 
@@ -46,6 +50,10 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (profile.isVirtualThreads() && ThreadHelper.isVirtualThreadsSupported()) {
+            // virtual threads are cheap so there is no pooling, and the pool and queue sizes do not apply
+            return ThreadHelper.newThreadPerTaskExecutor(factory);
+        }
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
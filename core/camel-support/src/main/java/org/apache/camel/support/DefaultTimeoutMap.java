@@ -47,6 +47,8 @@ import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
  * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
  * to schedule a background task which check for old entries to purge. This implementation will shutdown the scheduler
  * if its being stopped.
+ * Alternatively a {@link HashedWheelTimer} can be provided, which schedules a timeout per entry instead
+ * of scanning all the entries on each poll, which scales better with a large number of entries.
  * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
  * And you must invoke {@link #stop()} to stop the map when no longer in use.
  */
@@ -56,6 +58,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
 
     private final ConcurrentMap<K, TimeoutMapEntry<K, V>> map = new ConcurrentHashMap<>();
     private final ScheduledExecutorService executor;
+    private final HashedWheelTimer timer;
     private volatile ScheduledFuture<?> future;
     private final long purgePollTime;
     private final Lock lock;
@@ -77,10 +80,23 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     public DefaultTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock) {
         ObjectHelper.notNull(executor, "ScheduledExecutorService");
         this.executor = executor;
+        this.timer = null;
         this.purgePollTime = requestMapPollTimeMillis;
         this.lock = lock;
     }
 
+    public DefaultTimeoutMap(HashedWheelTimer timer) {
+        this(timer, new ReentrantLock());
+    }
+
+    public DefaultTimeoutMap(HashedWheelTimer timer, Lock lock) {
+        ObjectHelper.notNull(timer, "HashedWheelTimer");
+        this.executor = null;
+        this.timer = timer;
+        this.purgePollTime = 0;
+        this.lock = lock;
+    }
+
     @Override
     public V get(K key) {
         TimeoutMapEntry<K, V> entry;
@@ -104,6 +120,10 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         try {
             updateExpireTime(entry);
             TimeoutMapEntry<K, V> result = map.put(key, entry);
+            cancelTimeout(result);
+            if (timer != null) {
+                scheduleTimeout(entry, timeoutMillis);
+            }
             return unwrap(result);
         } finally {
             lock.unlock();
@@ -120,6 +140,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             updateExpireTime(entry);
             //Just make sure we don't override the old entry
             result = map.putIfAbsent(key, entry);
+            if (result == null && timer != null) {
+                scheduleTimeout(entry, timeoutMillis);
+            }
             return unwrap(result);
         } finally {
             lock.unlock();
@@ -134,7 +157,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         V value = null;
         lock.lock();
         try {
-            value = unwrap(map.remove(key));
+            TimeoutMapEntry<K, V> entry = map.remove(key);
+            cancelTimeout(entry);
+            value = unwrap(entry);
             return value;
         } finally {
             lock.unlock();
@@ -207,9 +232,46 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
     }
 
+    /**
+     * Invoked by the {@link HashedWheelTimer} when the entry has timed out.
+     */
+    protected void onTimeout(TimeoutMapEntry<K, V> entry) {
+        if (!isRunAllowed()) {
+            return;
+        }
+
+        boolean evicted = false;
+        lock.lock();
+        try {
+            // the entry may have been replaced or removed in the meantime
+            if (map.get(entry.getKey()) == entry) {
+                long delay = entry.getExpireTime() - currentTime();
+                if (delay > 0) {
+                    // the entry has been accessed since it was scheduled, so check again when it expires
+                    scheduleTimeout(entry, delay);
+                } else if (isValidForEviction(entry)) {
+                    log.debug("Evicting inactive entry ID: {}", entry);
+                    evicted = map.remove(entry.getKey(), entry);
+                } else {
+                    // check again later
+                    scheduleTimeout(entry, entry.getTimeout());
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (evicted) {
+                emitEvent(Evict, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     // Properties
     // -------------------------------------------------------------------------
-    
+
+    public HashedWheelTimer getTimer() {
+        return timer;
+    }
+
     public long getPurgePollTime() {
         return purgePollTime;
     }
@@ -256,15 +318,31 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
 
     protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
         long now = currentTime();
+        // when using the timer then the entry is not rescheduled, as the timeout checks the expire time when it runs
         entry.setExpireTime(entry.getTimeout() + now);
     }
 
+    private void scheduleTimeout(TimeoutMapEntry<K, V> entry, long delay) {
+        entry.setTimerTimeout(timer.schedule(() -> onTimeout(entry), delay, TimeUnit.MILLISECONDS));
+    }
+
+    private static void cancelTimeout(TimeoutMapEntry<?, ?> entry) {
+        if (entry != null && entry.getTimerTimeout() != null) {
+            entry.getTimerTimeout().cancel();
+            entry.setTimerTimeout(null);
+        }
+    }
+
     protected long currentTime() {
         return System.currentTimeMillis();
     }
 
     @Override
     protected void doStart() throws Exception {
+        if (timer != null) {
+            // each entry is scheduled on the timer so there is no need to poll
+            return;
+        }
         if (executor.isShutdown()) {
             throw new IllegalStateException("The ScheduledExecutorService is shutdown");
         }
@@ -278,6 +356,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             future = null;
         }
         // clear map if we stop
+        if (timer != null) {
+            map.values().forEach(DefaultTimeoutMap::cancelTimeout);
+        }
         map.clear();
     }
 
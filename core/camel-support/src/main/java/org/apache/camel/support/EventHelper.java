@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Processor;
 import org.apache.camel.Route;
 import org.apache.camel.spi.CamelEvent;
@@ -238,7 +239,7 @@ public final class EventHelper {
     }
 
     private static boolean doNotifyExchange(CamelContext context, Exchange exchange, Function<EventFactory, CamelEvent> eventSupplier, Predicate<EventNotifier> notifierFilter) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+        if (exchange.getProperty(ExchangePropertyKey.NOTIFY_EVENT, false, Boolean.class)) {
             // do not generate events for an notify event
             return false;
         }
@@ -248,7 +249,7 @@ public final class EventHelper {
     }
 
     private static boolean doNotifyStep(CamelContext context, Exchange exchange, Function<EventFactory, CamelEvent> eventSupplier, Predicate<EventNotifier> notifierFilter) {
-        if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
+        if (exchange.getProperty(ExchangePropertyKey.NOTIFY_EVENT, false, Boolean.class)) {
             // do not generate events for an notify event
             return false;
         }
@@ -35,6 +35,7 @@ import org.apache.camel.CamelExecutionException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NoSuchBeanException;
@@ -73,7 +74,7 @@ public final class ExchangeHelper {
      * @return the binding object of the given type or null if it could not be found or converted
      */
     public static <T> T getBinding(Exchange exchange, Class<T> type) {
-        return exchange != null ? exchange.getProperty(Exchange.BINDING, type) : null;
+        return exchange != null ? exchange.getProperty(ExchangePropertyKey.BINDING, type) : null;
     }
 
     /**
@@ -262,7 +263,7 @@ public final class ExchangeHelper {
             uow.handoverSynchronization(copy, filter);
         }
         // set a correlation id so we can track back the original exchange
-        copy.setProperty(Exchange.CORRELATION_ID, id);
+        copy.setProperty(ExchangePropertyKey.CORRELATION_ID, id);
         return copy;
     }
 
@@ -557,7 +558,7 @@ public final class ExchangeHelper {
      * @return <tt>true</tt> if failure handled, <tt>false</tt> otherwise
      */
     public static boolean isFailureHandled(Exchange exchange) {
-        return exchange.getProperty(Exchange.FAILURE_HANDLED, false, Boolean.class);
+        return exchange.getProperty(ExchangePropertyKey.FAILURE_HANDLED, false, Boolean.class);
     }
 
     /**
@@ -567,7 +568,7 @@ public final class ExchangeHelper {
      * @return <tt>true</tt> if exhausted, <tt>false</tt> otherwise
      */
     public static boolean isUnitOfWorkExhausted(Exchange exchange) {
-        return exchange.getProperty(Exchange.UNIT_OF_WORK_EXHAUSTED, false, Boolean.class);
+        return exchange.getProperty(ExchangePropertyKey.UNIT_OF_WORK_EXHAUSTED, false, Boolean.class);
     }
 
     /**
@@ -576,7 +577,7 @@ public final class ExchangeHelper {
      * @param exchange  the exchange
      */
     public static void setFailureHandled(Exchange exchange) {
-        exchange.setProperty(Exchange.FAILURE_HANDLED, Boolean.TRUE);
+        exchange.setProperty(ExchangePropertyKey.FAILURE_HANDLED, Boolean.TRUE);
         // clear exception since its failure handled
         exchange.setException(null);
     }
@@ -588,7 +589,7 @@ public final class ExchangeHelper {
      * @return <tt>true</tt> if exhausted, <tt>false</tt> otherwise
      */
     public static boolean isRedeliveryExhausted(Exchange exchange) {
-        return exchange.getProperty(Exchange.REDELIVERY_EXHAUSTED, false, Boolean.class);
+        return exchange.getProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, false, Boolean.class);
     }
 
     /**
@@ -608,7 +609,7 @@ public final class ExchangeHelper {
      * @return <tt>true</tt> if interrupted, <tt>false</tt> otherwise
      */
     public static boolean isInterrupted(Exchange exchange) {
-        Object value = exchange.getProperty(Exchange.INTERRUPTED);
+        Object value = exchange.getProperty(ExchangePropertyKey.INTERRUPTED);
         return value != null && Boolean.TRUE == value;
     }
 
@@ -679,7 +680,7 @@ public final class ExchangeHelper {
      * @return <tt>true</tt> if handled already by error handler, <tt>false</tt> otherwise
      */
     public static boolean hasExceptionBeenHandledByErrorHandler(Exchange exchange) {
-        return Boolean.TRUE.equals(exchange.getProperty(Exchange.ERRORHANDLER_HANDLED));
+        return Boolean.TRUE.equals(exchange.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED));
     }
 
     /**
@@ -857,7 +858,7 @@ public final class ExchangeHelper {
         Message answer = null;
 
         // try parent first
-        UnitOfWork uow = exchange.getProperty(Exchange.PARENT_UNIT_OF_WORK, UnitOfWork.class);
+        UnitOfWork uow = exchange.getProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, UnitOfWork.class);
         if (uow != null) {
             answer = uow.getOriginalInMessage();
         }
@@ -926,7 +927,7 @@ public final class ExchangeHelper {
             // header takes precedence
             String charsetName = exchange.getIn().getHeader(Exchange.CHARSET_NAME, String.class);
             if (charsetName == null) {
-                charsetName = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
+                charsetName = exchange.getProperty(ExchangePropertyKey.CHARSET_NAME, String.class);
             }
             if (charsetName != null) {
                 return IOHelper.normalizeCharset(charsetName);
@@ -970,7 +971,7 @@ public final class ExchangeHelper {
         } else if (value instanceof String) {
             scanner = new Scanner((String) value, delimiter);
         } else {
-            String charset = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
+            String charset = exchange.getProperty(ExchangePropertyKey.CHARSET_NAME, String.class);
             if (value instanceof File) {
                 try {
                     scanner = new Scanner((File) value, charset, delimiter);
@@ -0,0 +1,477 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A hashed timing wheel which schedules and cancels tasks in constant time, regardless of how many tasks
+ * are pending, which makes it suitable for tracking a large number of timeouts such as completion timeouts
+ * in the aggregator, or delayed exchanges.
+ * <p/>
+ * The wheel is an array of buckets where each bucket holds the tasks that expire within one tick. Tasks which
+ * expire later than a full turn of the wheel are kept in the bucket and counted down by the number of remaining
+ * rounds. New and cancelled tasks are handed over to the tick thread using lock free queues, so only the tick
+ * thread touches the buckets, except when stopping. The trade-off is that tasks are run up to one tick later than requested.
+ * <p/>
+ * The expired tasks are run by the tick thread, so they should be short, or hand over the work to another thread pool.
+ * When the timing wheel is stopped, the tasks which are still scheduled are run right away by the stopping thread,
+ * so the exchanges waiting on the timing wheel (such as in the delayer or throttler) are continued and not lost.
+ * <p/>
+ * To let the Camel EIPs use a shared timing wheel, add it as a service to the {@link CamelContext}:
+ * <pre>
+ *     context.addService(new HashedWheelTimer());
+ * </pre>
+ * The aggregator completion timeouts, the throttler and the delayer will then use the timing wheel,
+ * which can be looked up using {@link #lookup(CamelContext)}. When JMX is enabled the tick lag is exposed
+ * as attributes of the service MBean, which tells whether the tick thread is keeping up.
+ */
+@ManagedResource(description = "Managed HashedWheelTimer")
+public class HashedWheelTimer extends ServiceSupport implements CamelContextAware {
+
+    public static final String TIMER_THREAD_NAME = "TimingWheel";
+
+    // the maximum number of new tasks to transfer to the wheel per tick, so a burst cannot stall the wheel
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<TimerTask> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<TimerTask> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingTasks = new AtomicLong();
+    private final AtomicLong expiredTasks = new AtomicLong();
+
+    private CamelContext camelContext;
+    private ScheduledExecutorService executorService;
+    private boolean shutdownExecutorService;
+    private volatile ScheduledFuture<?> future;
+    private volatile long startTime;
+    // only accessed by the tick thread, or when stopping
+    private long tick;
+
+    private volatile long lastTickLag;
+    private volatile long maxTickLag;
+
+    /**
+     * A scheduled task which can be cancelled.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the task.
+         *
+         * @return <tt>true</tt> if the task was cancelled, <tt>false</tt> if it was already expired or cancelled
+         */
+        boolean cancel();
+
+        /**
+         * Whether the task has been cancelled
+         */
+        boolean isCancelled();
+
+        /**
+         * Whether the task has expired, ie it has been run
+         */
+        boolean isExpired();
+    }
+
+    /**
+     * Creates a timing wheel with ticks of 10 millis and 512 buckets.
+     */
+    public HashedWheelTimer() {
+        this(null, 10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param executorService the executor to run the ticks, or <tt>null</tt> to create a single threaded executor when starting
+     * @param tickDuration    the duration of a tick
+     * @param unit            the unit of the tick duration
+     * @param ticksPerWheel   the number of buckets in the wheel, which is rounded up to a power of two
+     */
+    public HashedWheelTimer(ScheduledExecutorService executorService, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        ObjectHelper.notNull(unit, "unit");
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("TickDuration must be a positive number, was: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("TicksPerWheel must be between 1 and 2^30, was: " + ticksPerWheel);
+        }
+        this.executorService = executorService;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Looks up the timing wheel which has been added as a service to the {@link CamelContext}.
+     *
+     * @param camelContext the camel context
+     * @return the timing wheel, or <tt>null</tt> if no timing wheel is in use
+     */
+    public static HashedWheelTimer lookup(CamelContext camelContext) {
+        return camelContext != null ? camelContext.hasService(HashedWheelTimer.class) : null;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    /**
+     * Schedules the task to run after the given delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the timeout which can be used to cancel the task
+     * @throws RejectedExecutionException is thrown if the timing wheel is not started
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        long start = startTime;
+        if (start == 0 || !isRunAllowed()) {
+            throw new RejectedExecutionException("TimingWheel is not started");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - start;
+        TimerTask answer = new TimerTask(task, deadline);
+        pendingTasks.incrementAndGet();
+        pending.add(answer);
+        // if stopped in the meantime then the task may not be run when stopping, unless it was taken already
+        if (startTime != start && pending.remove(answer)) {
+            pendingTasks.decrementAndGet();
+            throw new RejectedExecutionException("TimingWheel is not started");
+        }
+        return answer;
+    }
+
+    /**
+     * The duration of a tick in millis
+     */
+    @ManagedAttribute(description = "Duration of a tick in millis")
+    public long getTickDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(tickNanos);
+    }
+
+    /**
+     * The number of buckets in the wheel
+     */
+    @ManagedAttribute(description = "Number of buckets in the wheel")
+    public int getTicksPerWheel() {
+        return wheel.length;
+    }
+
+    /**
+     * The number of tasks which are scheduled and not yet expired or cancelled
+     */
+    @ManagedAttribute(description = "Number of tasks which are scheduled and not yet expired or cancelled")
+    public long getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    /**
+     * The total number of tasks which has been run
+     */
+    @ManagedAttribute(description = "Total number of tasks which has been run")
+    public long getExpiredTasks() {
+        return expiredTasks.get();
+    }
+
+    /**
+     * How many millis the last tick was run later than it was due, which tells whether
+     * the tick thread is keeping up with the expired tasks.
+     */
+    @ManagedAttribute(description = "How many millis the last tick was run later than it was due")
+    public long getLastTickLag() {
+        return TimeUnit.NANOSECONDS.toMillis(lastTickLag);
+    }
+
+    /**
+     * The maximum tick lag in millis since the timing wheel was started
+     */
+    @ManagedAttribute(description = "Maximum tick lag in millis since the timing wheel was started")
+    public long getMaxTickLag() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTickLag);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executorService == null) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, TIMER_THREAD_NAME);
+            shutdownExecutorService = true;
+        }
+        tick = 0;
+        lastTickLag = 0;
+        maxTickLag = 0;
+        // the deadlines are relative to the start time, and a start time of 0 means not started
+        long now = System.nanoTime();
+        startTime = now == 0 ? 1 : now;
+        future = executorService.scheduleAtFixedRate(this::onTick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        startTime = 0;
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        if (shutdownExecutorService && executorService != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executorService);
+            executorService = null;
+            shutdownExecutorService = false;
+        }
+
+        // run the tasks which are still scheduled, as they may continue exchanges which would otherwise never complete
+        List<TimerTask> tasks = new ArrayList<>();
+        synchronized (wheel) {
+            for (Bucket bucket : wheel) {
+                bucket.drainTo(tasks);
+            }
+            TimerTask task;
+            while ((task = pending.poll()) != null) {
+                tasks.add(task);
+            }
+            cancelled.clear();
+        }
+        tasks.sort(Comparator.comparingLong(t -> t.deadline));
+        int count = 0;
+        for (TimerTask task : tasks) {
+            if (task.state.compareAndSet(INIT, EXPIRED)) {
+                run(task);
+                count++;
+            }
+        }
+        if (count > 0) {
+            log.debug("Run {} tasks which were scheduled when stopping the timing wheel", count);
+        }
+    }
+
+    private void onTick() {
+        // the lock is only contended when stopping, where the tasks are taken out of the wheel
+        synchronized (wheel) {
+            long start = startTime;
+            if (start != 0) {
+                tick(start);
+            }
+        }
+    }
+
+    private void tick(long start) {
+        try {
+            long now = System.nanoTime() - start;
+            // a tick is due when its time span has elapsed, and we catch up if we are late
+            long lag = now - (tick + 1) * tickNanos;
+            if (lag < 0) {
+                return;
+            }
+            lastTickLag = lag;
+            if (lag > maxTickLag) {
+                maxTickLag = lag;
+            }
+            while ((tick + 1) * tickNanos <= now) {
+                removeCancelled();
+                transferPending();
+                wheel[(int) (tick & mask)].expire(tick);
+                tick++;
+            }
+        } catch (Throwable e) {
+            // must catch otherwise the executor will not run the next tick
+            log.warn("Error during tick of the timing wheel. This exception is ignored.", e);
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            TimerTask task = pending.poll();
+            if (task == null) {
+                return;
+            }
+            if (task.state.get() == CANCELLED) {
+                // was cancelled before it was added to the wheel
+                continue;
+            }
+            long expireTick = task.deadline / tickNanos;
+            task.remainingRounds = (expireTick - tick) / wheel.length;
+            // if the task is already due then it must expire in this tick
+            long ticks = Math.max(expireTick, tick);
+            wheel[(int) (ticks & mask)].add(task);
+        }
+    }
+
+    private void removeCancelled() {
+        TimerTask task;
+        while ((task = cancelled.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void run(TimerTask task) {
+        pendingTasks.decrementAndGet();
+        expiredTasks.incrementAndGet();
+        try {
+            task.task.run();
+        } catch (Throwable e) {
+            log.warn("Error running task " + task.task + " in the timing wheel. This exception is ignored.", e);
+        }
+    }
+
+    private final class TimerTask implements Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        // only accessed by the tick thread, or when stopping
+        private long remainingRounds;
+        private Bucket bucket;
+        private TimerTask next;
+        private TimerTask prev;
+
+        private TimerTask(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pendingTasks.decrementAndGet();
+            // let the tick thread remove the task from its bucket
+            cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        @Override
+        public String toString() {
+            return "TimerTask[" + task + "]";
+        }
+    }
+
+    /**
+     * A doubly linked list of the tasks in a bucket, which is only accessed by the tick thread, or when stopping.
+     */
+    private final class Bucket {
+        private TimerTask head;
+        private TimerTask tail;
+
+        void add(TimerTask task) {
+            task.bucket = this;
+            if (head == null) {
+                head = task;
+                tail = task;
+            } else {
+                tail.next = task;
+                task.prev = tail;
+                tail = task;
+            }
+        }
+
+        TimerTask remove(TimerTask task) {
+            TimerTask next = task.next;
+            if (task.prev != null) {
+                task.prev.next = next;
+            }
+            if (task.next != null) {
+                task.next.prev = task.prev;
+            }
+            if (task == head) {
+                head = next;
+            }
+            if (task == tail) {
+                tail = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+            return next;
+        }
+
+        void expire(long tick) {
+            TimerTask task = head;
+            while (task != null) {
+                if (task.remainingRounds <= 0) {
+                    TimerTask next = remove(task);
+                    if (task.state.compareAndSet(INIT, EXPIRED)) {
+                        run(task);
+                    }
+                    task = next;
+                } else {
+                    task.remainingRounds--;
+                    task = task.next;
+                }
+            }
+        }
+
+        void drainTo(List<TimerTask> tasks) {
+            TimerTask task = head;
+            while (task != null) {
+                tasks.add(task);
+                task = remove(task);
+            }
+        }
+    }
+
+}
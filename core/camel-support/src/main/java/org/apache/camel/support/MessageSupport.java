@@ -16,6 +16,8 @@
  */
 package org.apache.camel.support;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
@@ -24,6 +26,7 @@ import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.DataType;
 import org.apache.camel.spi.DataTypeAware;
+import org.apache.camel.spi.UuidGenerator;
 
 /**
  * A base class for implementation inheritance providing the core
@@ -34,10 +37,32 @@ import org.apache.camel.spi.DataTypeAware;
  * headers you probably want to just derive from {@link DefaultMessage}
  */
 public abstract class MessageSupport implements Message, CamelContextAware, DataTypeAware {
+    private static final AtomicReferenceFieldUpdater<MessageSupport, String> MESSAGE_ID
+            = AtomicReferenceFieldUpdater.newUpdater(MessageSupport.class, String.class, "messageId");
+    private static final AtomicReferenceFieldUpdater<MessageSupport, SharedMessageId> SHARED_MESSAGE_ID
+            = AtomicReferenceFieldUpdater.newUpdater(MessageSupport.class, SharedMessageId.class, "sharedMessageId");
+    // whether the message id is created by the default createMessageId, and can be shared by the copies of a message
+    private static final ClassValue<Boolean> DEFAULT_MESSAGE_ID = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> clazz = type; clazz != MessageSupport.class; clazz = clazz.getSuperclass()) {
+                try {
+                    clazz.getDeclaredMethod("createMessageId");
+                    return false;
+                } catch (NoSuchMethodException e) {
+                    // not overridden by this class
+                }
+            }
+            return true;
+        }
+    };
+
     private CamelContext camelContext;
     private Exchange exchange;
     private Object body;
-    private String messageId;
+    private volatile String messageId;
+    // the message id shared with the copies of this message, which is not created until it is first used
+    private volatile SharedMessageId sharedMessageId;
     private DataType dataType;
 
     @Override
@@ -211,7 +236,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
 
         // should likely not set DataType as the new body may be a different type than the original body
 
-        setMessageId(that.getMessageId());
+        copyMessageId(that);
         setBody(newBody);
 
         // the headers may be the same instance if the end user has made some mistake
@@ -269,24 +294,65 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
 
     @Override
     public String getMessageId() {
-        if (messageId == null) {
-            messageId = createMessageId();
+        String answer = messageId;
+        if (answer == null) {
+            // the copies of this message may create the message id concurrently, so only the first id is used
+            answer = DEFAULT_MESSAGE_ID.get(getClass()) ? sharedMessageId().get() : createMessageId();
+            if (!MESSAGE_ID.compareAndSet(this, null, answer)) {
+                answer = messageId;
+            }
         }
-        return this.messageId;
+        return answer;
     }
 
     @Override
     public void setMessageId(String messageId) {
         this.messageId = messageId;
+        this.sharedMessageId = null;
+    }
+
+    /**
+     * Copies the message id from the other message, where the message id is not created until it is used,
+     * if the other message has not created its message id yet.
+     * <p/>
+     * Only the shared message id is kept, so the copy does not hold on to the other message and its body.
+     * If the other message creates its own message id then it is copied right away.
+     */
+    private void copyMessageId(Message that) {
+        if (that instanceof MessageSupport) {
+            MessageSupport other = (MessageSupport) that;
+            if (other.messageId == null && DEFAULT_MESSAGE_ID.get(other.getClass())) {
+                this.messageId = null;
+                this.sharedMessageId = other.sharedMessageId();
+                return;
+            }
+        }
+        setMessageId(that.getMessageId());
+    }
+
+    private SharedMessageId sharedMessageId() {
+        SharedMessageId answer = sharedMessageId;
+        if (answer == null) {
+            answer = new SharedMessageId(exchange != null ? exchange.getContext().getUuidGenerator() : null);
+            if (!SHARED_MESSAGE_ID.compareAndSet(this, null, answer)) {
+                SharedMessageId current = sharedMessageId;
+                answer = current != null ? current : answer;
+            }
+        }
+        return answer;
     }
 
     /**
      * Allow implementations to auto-create a messageId
      */
     protected String createMessageId() {
+        return generateMessageId(exchange != null ? exchange.getContext().getUuidGenerator() : null);
+    }
+
+    private static String generateMessageId(UuidGenerator generator) {
         String uuid = null;
-        if (exchange != null) {
-            uuid = exchange.getContext().getUuidGenerator().generateUuid();
+        if (generator != null) {
+            uuid = generator.generateUuid();
         }
         // fall back to the simple UUID generator
         if (uuid == null) {
@@ -294,4 +360,23 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
         }
         return uuid;
     }
+
+    /**
+     * The message id of a message and its copies, which only keeps the {@link UuidGenerator} to create it with.
+     */
+    private static final class SharedMessageId {
+        private final UuidGenerator generator;
+        private String messageId;
+
+        SharedMessageId(UuidGenerator generator) {
+            this.generator = generator;
+        }
+
+        synchronized String get() {
+            if (messageId == null) {
+                messageId = generateMessageId(generator);
+            }
+            return messageId;
+        }
+    }
 }
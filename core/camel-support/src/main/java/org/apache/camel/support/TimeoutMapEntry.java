@@ -28,6 +28,7 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
     private V value;
     private long timeout;
     private long expireTime;
+    private volatile HashedWheelTimer.Timeout timerTimeout;
 
     public TimeoutMapEntry(K id, V handler, long timeout) {
         this.key = id;
@@ -48,6 +49,14 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
         this.expireTime = expireTime;
     }
 
+    public HashedWheelTimer.Timeout getTimerTimeout() {
+        return timerTimeout;
+    }
+
+    public void setTimerTimeout(HashedWheelTimer.Timeout timerTimeout) {
+        this.timerTimeout = timerTimeout;
+    }
+
     @Override
     public V getValue() {
         return value;
@@ -30,6 +30,7 @@ import java.util.regex.Pattern;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExecutionException;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.InvalidPayloadException;
@@ -196,7 +197,7 @@ public class ExpressionBuilder {
             public Object evaluate(Exchange exchange) {
                 Exception exception = exchange.getException();
                 if (exception == null) {
-                    exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                    exception = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
                 }
                 return exception;
             }
@@ -222,7 +223,7 @@ public class ExpressionBuilder {
             public Object evaluate(Exchange exchange) {
                 Exception exception = exchange.getException(type);
                 if (exception == null) {
-                    exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                    exception = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
                     return ObjectHelper.getException(type, exception);
                 }
                 return exception;
@@ -336,7 +337,7 @@ public class ExpressionBuilder {
             public Object evaluate(Exchange exchange) {
                 Exception exception = exchange.getException();
                 if (exception == null) {
-                    exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                    exception = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
                 }
                 return exception != null ? exception.getMessage() : null;
             }
@@ -358,7 +359,7 @@ public class ExpressionBuilder {
             public Object evaluate(Exchange exchange) {
                 Exception exception = exchange.getException();
                 if (exception == null) {
-                    exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                    exception = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
                 }
                 if (exception != null) {
                     StringWriter sw = new StringWriter();
@@ -740,7 +741,7 @@ public class ExpressionBuilder {
     public static Expression stepIdExpression() {
         return new ExpressionAdapter() {
             public Object evaluate(Exchange exchange) {
-                return exchange.getProperty(Exchange.STEP_ID);
+                return exchange.getProperty(ExchangePropertyKey.STEP_ID);
             }
 
             @Override
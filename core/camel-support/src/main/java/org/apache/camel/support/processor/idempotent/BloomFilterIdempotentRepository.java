@@ -0,0 +1,546 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.Scanner;
+
+/**
+ * An {@link org.apache.camel.spi.IdempotentRepository} which puts a Bloom filter in front of another repository,
+ * to avoid looking up keys in the repository (such as a database) which are definitely new.
+ * <p/>
+ * The filter tells whether a key is definitely new, or possibly a duplicate, in which case the repository is used.
+ * Adding a key is always done in the repository, so the filter only saves the lookups using {@link #contains(String)},
+ * which are done when the idempotent consumer is not eager. The filter is scalable, by adding a new and bigger
+ * filter when the current filter is full, so the false positive probability is kept.
+ * <p/>
+ * The filter must know all the keys in the repository, so it can only be used when this repository is the only
+ * one adding keys to the repository (i.e. not when the repository is shared by multiple nodes), and the filter
+ * must be warmed up with the keys in the repository upon startup. This is done automatically for the
+ * {@link MemoryIdempotentRepository}, {@link FileIdempotentRepository} and {@link IndexedFileIdempotentRepository},
+ * and for other repositories the keys must be given using {@link #warmUp(Iterable)}. Until the filter is warmed up,
+ * all the keys are looked up in the repository. The filter is kept when this repository is stopped, so it is not
+ * warmed up again when restarted.
+ * <p/>
+ * If the repository evicts the keys after a period of time, then the filter can forget the keys after the same
+ * period by setting the {@link #setExpireTime(long)} option, which makes the filter decay over time.
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private final IdempotentRepository repository;
+    private final List<Filter> filters = new CopyOnWriteArrayList<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder definitelyNew = new LongAdder();
+    private final LongAdder possibleDuplicates = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private CamelContext camelContext;
+    private long expectedInsertions = 1000000;
+    private double falsePositiveProbability = 0.01;
+    private long expireTime;
+    private volatile boolean warmedUp;
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        ObjectHelper.notNull(repository, "repository");
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new repository which puts a Bloom filter in front of the given repository.
+     *
+     * @param repository  the repository
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    /**
+     * Creates a new repository which puts a Bloom filter in front of the given repository.
+     *
+     * @param repository  the repository
+     * @param expectedInsertions  the expected number of keys, which is the size of the first filter
+     * @param falsePositiveProbability  the false positive probability
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository,
+                                                                        long expectedInsertions, double falsePositiveProbability) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setExpectedInsertions(expectedInsertions);
+        answer.setFalsePositiveProbability(falsePositiveProbability);
+        return answer;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+        if (repository instanceof CamelContextAware) {
+            ((CamelContextAware) repository).setCamelContext(camelContext);
+        }
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        boolean possible = beforeAdd(key);
+        return afterAdd(possible, repository.add(key));
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        boolean possible = beforeAdd(key);
+        return afterAdd(possible, repository.add(exchange, key));
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        if (!beforeContains(key)) {
+            return false;
+        }
+        return afterContains(repository.contains(key));
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        if (!beforeContains(key)) {
+            return false;
+        }
+        return afterContains(repository.contains(exchange, key));
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        // keys cannot be removed from a bloom filter, so the key is just a possible duplicate
+        return repository.remove(key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return repository.remove(exchange, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        repository.clear();
+        filters.clear();
+    }
+
+    /**
+     * Warms up the filter with the keys which are in the repository, which can be done before or after this
+     * repository is started. Until then all the keys are looked up in the repository.
+     *
+     * @param keys  the keys in the repository
+     */
+    public void warmUp(Iterable<String> keys) {
+        int count = 0;
+        for (String key : keys) {
+            put(key);
+            count++;
+        }
+        warmedUp = true;
+        log.debug("Warmed up bloom filter with {} keys", count);
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * The expected number of keys, which is used as the size of the first filter. If more keys are added, then
+     * a new filter with the double size is added.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * The probability that the filter tells that a new key is possibly a duplicate, in which case the
+     * repository is used to check the key.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    /**
+     * Time in millis after which the filter forgets the keys, which must not be shorter than the time the
+     * repository keeps the keys. The filter is rotated, so the keys are forgotten between one and two times
+     * the expire time.
+     * <p/>
+     * The default is 0, which means the keys are never forgotten.
+     */
+    public void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    @ManagedAttribute(description = "Whether the filter has been warmed up with the keys in the repository")
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    @ManagedAttribute(description = "Number of keys looked up in the filter")
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    @ManagedAttribute(description = "Number of keys the filter found definitely new, so the repository was not used")
+    public long getDefinitelyNew() {
+        return definitelyNew.sum();
+    }
+
+    @ManagedAttribute(description = "Number of keys the filter found possible duplicates, so the repository was used")
+    public long getPossibleDuplicates() {
+        return possibleDuplicates.sum();
+    }
+
+    @ManagedAttribute(description = "Number of possible duplicates which the repository found to be duplicates")
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    @ManagedAttribute(description = "Number of possible duplicates which the repository found to be new keys")
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    @ManagedAttribute(description = "Number of filters in use")
+    public int getFilterCount() {
+        return filters.size();
+    }
+
+    @ManagedAttribute(description = "Number of keys added to the filters in use")
+    public long getFilterInsertions() {
+        long answer = 0;
+        for (Filter filter : filters) {
+            answer += filter.insertions.get();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Estimated false positive probability of the filters in use")
+    public double getEstimatedFalsePositiveProbability() {
+        // the probability that any of the filters has a false positive
+        double none = 1.0;
+        for (Filter filter : filters) {
+            none *= 1.0 - filter.estimatedFalsePositiveProbability();
+        }
+        return 1.0 - none;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        lookups.reset();
+        definitelyNew.reset();
+        possibleDuplicates.reset();
+        duplicates.reset();
+        falsePositives.reset();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be positive, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        ServiceHelper.startService(repository);
+
+        if (!warmedUp) {
+            warmUp();
+        }
+        if (!warmedUp) {
+            log.warn("The bloom filter in front of the idempotent repository: {} is not warmed up with the keys in the repository,"
+                    + " so all the keys are looked up in the repository until the keys are given using the warmUp method.", repository);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // keep the filter, as the repository may not be able to warm it up again when restarted
+        ServiceHelper.stopService(repository);
+    }
+
+    /**
+     * Warms up the filter with the keys from the known repositories
+     */
+    protected void warmUp() throws IOException {
+        if (repository instanceof MemoryIdempotentRepository) {
+            MemoryIdempotentRepository memory = (MemoryIdempotentRepository) repository;
+            List<String> keys;
+            synchronized (memory.getCache()) {
+                keys = new ArrayList<>(memory.getCache().keySet());
+            }
+            warmUp(keys);
+        } else if (repository instanceof FileIdempotentRepository) {
+            // the keys are in the file store (the cache only has the most used keys)
+            File fileStore = ((FileIdempotentRepository) repository).getFileStore();
+            List<String> keys = new ArrayList<>();
+            if (fileStore.exists()) {
+                try (Scanner scanner = new Scanner(fileStore, null, "\n")) {
+                    while (scanner.hasNext()) {
+                        keys.add(scanner.next());
+                    }
+                }
+            }
+            warmUp(keys);
+        } else if (repository instanceof IndexedFileIdempotentRepository) {
+            List<String> keys = new ArrayList<>();
+            ((IndexedFileIdempotentRepository) repository).forEachKey(keys::add);
+            warmUp(keys);
+        }
+    }
+
+    private boolean beforeAdd(String key) {
+        if (!warmedUp) {
+            // the filter does not know the keys in the repository yet, but must know the keys added from now on
+            put(key);
+            return false;
+        }
+        lookups.increment();
+        boolean possible = mightContain(key);
+        if (possible) {
+            possibleDuplicates.increment();
+        } else {
+            definitelyNew.increment();
+        }
+        // add to the filter before the repository, so a concurrent lookup does not find the key definitely new
+        put(key);
+        return possible;
+    }
+
+    private boolean afterAdd(boolean possible, boolean added) {
+        if (possible) {
+            if (added) {
+                falsePositives.increment();
+            } else {
+                duplicates.increment();
+            }
+        }
+        return added;
+    }
+
+    private boolean beforeContains(String key) {
+        if (!warmedUp) {
+            // the filter does not know the keys in the repository, so the key may be a duplicate
+            return true;
+        }
+        lookups.increment();
+        if (!mightContain(key)) {
+            definitelyNew.increment();
+            return false;
+        }
+        possibleDuplicates.increment();
+        return true;
+    }
+
+    private boolean afterContains(boolean contains) {
+        if (!warmedUp) {
+            return contains;
+        }
+        if (contains) {
+            duplicates.increment();
+        } else {
+            falsePositives.increment();
+        }
+        return contains;
+    }
+
+    private boolean mightContain(String key) {
+        long hash = hash(key);
+        long now = expireTime > 0 ? System.currentTimeMillis() : 0;
+        for (Filter filter : filters) {
+            if (!filter.isExpired(now) && filter.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(String key) {
+        long hash = hash(key);
+        Filter filter = currentFilter();
+        filter.put(hash);
+        if (expireTime > 0) {
+            filter.lastInsert = System.currentTimeMillis();
+        }
+    }
+
+    private Filter currentFilter() {
+        int size = filters.size();
+        Filter current = size > 0 ? filters.get(size - 1) : null;
+        long now = expireTime > 0 ? System.currentTimeMillis() : 0;
+        if (current != null && current.insertions.get() < current.capacity && !current.isRotated(now)) {
+            return current;
+        }
+        synchronized (filters) {
+            size = filters.size();
+            current = size > 0 ? filters.get(size - 1) : null;
+            if (current != null && current.insertions.get() < current.capacity && !current.isRotated(now)) {
+                return current;
+            }
+            Filter answer;
+            if (current == null || current.insertions.get() < current.capacity) {
+                // the first filter, or rotating the filter
+                answer = new Filter(expectedInsertions, falsePositiveProbability, now);
+            } else {
+                // the filter is full so add a bigger filter with a tighter probability, so the overall
+                // false positive probability of the filters is bounded (scalable bloom filter)
+                answer = new Filter(current.capacity * 2, current.falsePositiveProbability / 2, now);
+            }
+            filters.add(answer);
+            // remove the expired filters
+            if (expireTime > 0) {
+                filters.removeIf(f -> f != answer && f.isExpired(now));
+            }
+            return answer;
+        }
+    }
+
+    private static long hash(String key) {
+        // 64 bit hash of the key, which is used for double hashing
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private final class Filter {
+        private final long capacity;
+        private final double falsePositiveProbability;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong insertions = new AtomicLong();
+        private final long created;
+        private volatile long lastInsert;
+
+        Filter(long capacity, double falsePositiveProbability, long now) {
+            this.capacity = capacity;
+            this.falsePositiveProbability = falsePositiveProbability;
+            // optimal number of bits and hash functions
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            long size = Math.max(1, (m + 63) / 64);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter is too big for " + capacity + " keys");
+            }
+            this.words = new AtomicLongArray((int) size);
+            this.bits = size * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.created = now;
+            this.lastInsert = now;
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bits;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bits;
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word = words.get(index);
+                while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                    word = words.get(index);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean isRotated(long now) {
+            // rotate the filter when it is older than the expire time, so the keys can expire
+            return expireTime > 0 && now - created > expireTime;
+        }
+
+        boolean isExpired(long now) {
+            return expireTime > 0 && now - lastInsert > expireTime;
+        }
+
+        double estimatedFalsePositiveProbability() {
+            return Math.pow(1 - Math.exp(-hashes * (double) insertions.get() / bits), hashes);
+        }
+    }
+}
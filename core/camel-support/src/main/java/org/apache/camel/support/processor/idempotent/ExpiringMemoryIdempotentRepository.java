@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which keeps the keys
+ * for a period of time, instead of a number of keys as the {@link MemoryIdempotentRepository}.
+ * <p/>
+ * The time window is divided into segments, and the keys are added to the newest segment. When the newest
+ * segment is older than the expire time divided by the number of segments, then a new segment is started,
+ * and the segments which are older than the expire time are dropped as a whole, so the keys are kept
+ * between the expire time and the expire time plus the time of a segment.
+ * <p/>
+ * The keys are stored in hash tables of primitive arrays, to avoid an object per key, and keys in the UUID
+ * format are stored in 16 bytes. The hash tables are striped by the hash of the key, so threads only lock the
+ * stripe of the key, and do not lock each other out.
+ */
+@ManagedResource(description = "Expiring memory based idempotent repository")
+public class ExpiringMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final byte UUID_KEY = 1;
+    private static final byte STRING_KEY = 2;
+    private static final long EMPTY = 0;
+    private static final long REMOVED = -1;
+
+    private final Object rotateLock = new Object();
+    private long expireTime = 10 * 60 * 1000L;
+    private int segments = 10;
+    private int concurrencyLevel = 64;
+    private long segmentTime;
+    private Object[] locks;
+    // the segments in the window, where the newest segment is last
+    private volatile Segment[] window;
+
+    public ExpiringMemoryIdempotentRepository() {
+    }
+
+    public ExpiringMemoryIdempotentRepository(long expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    /**
+     * Creates a new memory based repository which keeps the keys for 10 minutes.
+     */
+    public static IdempotentRepository expiringMemoryIdempotentRepository() {
+        return new ExpiringMemoryIdempotentRepository();
+    }
+
+    /**
+     * Creates a new memory based repository which keeps the keys for the given time.
+     *
+     * @param expireTime  the time in millis to keep the keys
+     */
+    public static IdempotentRepository expiringMemoryIdempotentRepository(long expireTime) {
+        return new ExpiringMemoryIdempotentRepository(expireTime);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = encode(key);
+        int hash = hash(bytes);
+        int stripe = stripe(hash);
+        Segment[] w = currentWindow();
+        synchronized (locks[stripe]) {
+            for (Segment segment : w) {
+                Table table = segment.tables[stripe];
+                if (table != null && table.find(bytes, hash) >= 0) {
+                    return false;
+                }
+            }
+            Segment newest = w[w.length - 1];
+            Table table = newest.tables[stripe];
+            if (table == null) {
+                table = new Table();
+                newest.tables[stripe] = table;
+            }
+            table.insert(bytes, hash);
+            return true;
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = encode(key);
+        int hash = hash(bytes);
+        int stripe = stripe(hash);
+        Segment[] w = currentWindow();
+        synchronized (locks[stripe]) {
+            for (Segment segment : w) {
+                Table table = segment.tables[stripe];
+                if (table != null && table.find(bytes, hash) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = encode(key);
+        int hash = hash(bytes);
+        int stripe = stripe(hash);
+        Segment[] w = currentWindow();
+        synchronized (locks[stripe]) {
+            for (Segment segment : w) {
+                Table table = segment.tables[stripe];
+                if (table != null && table.remove(bytes, hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        synchronized (rotateLock) {
+            window = new Segment[] {new Segment(System.currentTimeMillis() / segmentTime, concurrencyLevel)};
+        }
+    }
+
+    @ManagedAttribute(description = "Time in millis to keep the keys")
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    /**
+     * Time in millis to keep the keys, which is 10 minutes by default.
+     */
+    public void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Number of segments the time window is divided into, which is 10 by default. The more segments,
+     * the closer the keys are kept to the expire time.
+     */
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    /**
+     * Number of stripes the keys are divided into, which is the number of threads which can use the
+     * repository concurrently. This is rounded up to a power of two, and is 64 by default.
+     */
+    public void setConcurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the store, including the keys which are expired but not yet dropped")
+    public int getSize() {
+        int answer = 0;
+        for (Segment segment : currentWindow()) {
+            for (int i = 0; i < concurrencyLevel; i++) {
+                synchronized (locks[i]) {
+                    Table table = segment.tables[i];
+                    if (table != null) {
+                        answer += table.live;
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The current memory used by the keys in bytes")
+    public long getMemorySize() {
+        long answer = 0;
+        for (Segment segment : currentWindow()) {
+            for (int i = 0; i < concurrencyLevel; i++) {
+                synchronized (locks[i]) {
+                    Table table = segment.tables[i];
+                    if (table != null) {
+                        answer += table.slots.length * 8L + table.arena.length;
+                    }
+                }
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The current number of segments")
+    public int getSegmentCount() {
+        return currentWindow().length;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (expireTime <= 0) {
+            throw new IllegalArgumentException("ExpireTime must be positive, was: " + expireTime);
+        }
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Segments must be positive, was: " + segments);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("ConcurrencyLevel must be positive, was: " + concurrencyLevel);
+        }
+        concurrencyLevel = Integer.highestOneBit(concurrencyLevel - 1) << 1;
+        if (concurrencyLevel == 0) {
+            concurrencyLevel = 1;
+        }
+        segmentTime = Math.max(1, expireTime / segments);
+        locks = new Object[concurrencyLevel];
+        for (int i = 0; i < concurrencyLevel; i++) {
+            locks[i] = new Object();
+        }
+        clear();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        window = null;
+    }
+
+    /**
+     * Gets the segments in the window, and starts a new segment and drops the expired segments when needed.
+     */
+    private Segment[] currentWindow() {
+        Segment[] w = window;
+        if (w == null) {
+            throw new IllegalStateException("The idempotent repository is not started: " + this);
+        }
+        long now = System.currentTimeMillis();
+        long number = now / segmentTime;
+        if (w[w.length - 1].number == number && !isExpired(w[0], now)) {
+            return w;
+        }
+        synchronized (rotateLock) {
+            w = window;
+            if (w == null) {
+                throw new IllegalStateException("The idempotent repository is not started: " + this);
+            }
+            List<Segment> answer = new ArrayList<>(w.length + 1);
+            for (Segment segment : w) {
+                if (!isExpired(segment, now)) {
+                    answer.add(segment);
+                }
+            }
+            if (answer.isEmpty() || answer.get(answer.size() - 1).number < number) {
+                answer.add(new Segment(number, concurrencyLevel));
+            }
+            w = answer.toArray(new Segment[answer.size()]);
+            window = w;
+            return w;
+        }
+    }
+
+    private boolean isExpired(Segment segment, long now) {
+        // the segment is expired when its newest key is older than the expire time
+        return (segment.number + 1) * segmentTime + expireTime <= now;
+    }
+
+    private int stripe(int hash) {
+        return (hash ^ (hash >>> 16)) & (concurrencyLevel - 1);
+    }
+
+    /**
+     * Encodes the key, where keys in the lower case UUID format are encoded in 16 bytes
+     */
+    private static byte[] encode(String key) {
+        if (isUuid(key)) {
+            byte[] bytes = new byte[17];
+            bytes[0] = UUID_KEY;
+            int nibble = 0;
+            for (int i = 0; i < 36; i++) {
+                char ch = key.charAt(i);
+                if (ch != '-') {
+                    int digit = Character.digit(ch, 16);
+                    bytes[1 + nibble / 2] |= (nibble & 1) == 0 ? digit << 4 : digit;
+                    nibble++;
+                }
+            }
+            return bytes;
+        }
+        byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[utf8.length + 1];
+        bytes[0] = STRING_KEY;
+        System.arraycopy(utf8, 0, bytes, 1, utf8.length);
+        return bytes;
+    }
+
+    private static boolean isUuid(String key) {
+        if (key.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char ch = key.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (ch != '-') {
+                    return false;
+                }
+            } else if (!(ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static final class Segment {
+        private final long number;
+        private final Table[] tables;
+
+        Segment(long number, int stripes) {
+            this.number = number;
+            this.tables = new Table[stripes];
+        }
+    }
+
+    /**
+     * Open addressing hash table, where each slot has the hash of the key in the high 32 bits, and the
+     * offset of the key in the arena plus one in the low 32 bits. The keys are stored in the arena with
+     * their length as a varint, and are only reclaimed when the segment is dropped.
+     */
+    private static final class Table {
+        private long[] slots = new long[16];
+        private byte[] arena = new byte[256];
+        private int length;
+        private int used;
+        private int live;
+
+        int find(byte[] bytes, int hash) {
+            int mask = slots.length - 1;
+            int i = hash & mask;
+            while (true) {
+                long slot = slots[i];
+                if (slot == EMPTY) {
+                    return -1;
+                }
+                if (slot != REMOVED && (int) (slot >>> 32) == hash && keyEquals((int) slot - 1, bytes)) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        void insert(byte[] bytes, int hash) {
+            if ((used + 1) * 4L > slots.length * 3L) {
+                rehash();
+            }
+            int offset = append(bytes);
+            put(slots, ((long) hash << 32) | (offset + 1));
+            used++;
+            live++;
+        }
+
+        boolean remove(byte[] bytes, int hash) {
+            int i = find(bytes, hash);
+            if (i < 0) {
+                return false;
+            }
+            slots[i] = REMOVED;
+            live--;
+            return true;
+        }
+
+        private static void put(long[] slots, long slot) {
+            int mask = slots.length - 1;
+            int i = (int) (slot >>> 32) & mask;
+            while (slots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+        }
+
+        private void rehash() {
+            // grow when there are many keys, otherwise just get rid of the removed keys
+            int capacity = slots.length;
+            while ((live + 1) * 2L > capacity) {
+                capacity <<= 1;
+            }
+            long[] target = new long[capacity];
+            for (long slot : slots) {
+                if (slot != EMPTY && slot != REMOVED) {
+                    put(target, slot);
+                }
+            }
+            slots = target;
+            used = live;
+        }
+
+        private int append(byte[] bytes) {
+            int size = bytes.length + 5;
+            if (length + size > arena.length) {
+                long capacity = Math.max(arena.length * 2L, (long) length + size);
+                if (capacity > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("The idempotent repository segment is full");
+                }
+                arena = Arrays.copyOf(arena, (int) capacity);
+            }
+            int offset = length;
+            int pos = offset;
+            int value = bytes.length;
+            while (value >= 0x80) {
+                arena[pos++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            arena[pos++] = (byte) value;
+            System.arraycopy(bytes, 0, arena, pos, bytes.length);
+            length = pos + bytes.length;
+            return offset;
+        }
+
+        private boolean keyEquals(int offset, byte[] bytes) {
+            int pos = offset;
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = arena[pos++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (value != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (arena[pos + i] != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,947 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which scales to millions of keys.
+ * <p/>
+ * The keys are stored in an append-only log, where removing a key appends a remove record. An on-disk hash index
+ * (stored in a file with the <tt>.idx</tt> suffix) points to the keys in the log, so a lookup does not require the
+ * keys to be loaded into memory. Both files are memory-mapped, and lookups using {@link #contains(String)} do not lock,
+ * while adding and removing keys are serialized. The log is mapped in chunks, where the last chunk is mapped from a small
+ * size and grows as the keys are added, so the file store is not bigger than needed.
+ * <p/>
+ * When the files are replaced, because the index is resized or the log is compacted, the lookups wait while the files
+ * are unmapped and replaced, as a file which is mapped cannot be replaced on some platforms (such as Windows).
+ * <p/>
+ * The log is compacted when the keys which have been removed takes up more than half the log, or when the
+ * log grows bigger than the maximum capacity, where the {@link #getDropOldestFileStore()} oldest keys are dropped.
+ * The index records how much of the log it covers, so on startup only the tail of the log is replayed,
+ * unless the index is missing, in which case its rebuilt from the log.
+ * <p/>
+ * This repository uses its own file format, and cannot use a file store created by {@link FileIdempotentRepository}.
+ */
+@ManagedResource(description = "Indexed file based idempotent repository")
+public class IndexedFileIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final long LOG_MAGIC = 0x43414d454c4c4f47L;
+    private static final long INDEX_MAGIC = 0x43414d454c494458L;
+    // log header: [long magic][long generation]
+    private static final int LOG_HEADER = 16;
+    // index header: [long magic][long generation][long checkpoint][long used][long live][long liveBytes]
+    private static final int INDEX_HEADER = 64;
+    // record: [int key length + 1][byte operation][key]
+    private static final int RECORD_HEADER = 5;
+    private static final int PADDING = -1;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    // index slot: [24 bits of the hash][40 bits of the log offset + 1]
+    private static final long EMPTY = 0;
+    private static final long REMOVED = -1;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 27;
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    // the size the last chunk of the log is mapped from, which is doubled when the log grows
+    private static final int INITIAL_MAPPING = 64 * 1024;
+    private static final int READER_STRIPES = 16;
+    // the stripes of the reader counts are spread out to not share cache lines
+    private static final int READER_PADDING = 16;
+
+    // the lock serializes adding and removing keys, lookups do not lock
+    private final Lock lock = new ReentrantLock();
+    private final AtomicLong compactions = new AtomicLong();
+
+    private File fileStore;
+    private long maxFileStoreSize = 32 * 1024 * 1000L; // 32mb store file
+    private long dropOldestFileStore = 1000;
+
+    private volatile Store store;
+    // written as the last when a key is added or removed, so lookups see the changes
+    private volatile long published;
+    private long logLength;
+    private int used;
+    private int live;
+    private long liveBytes;
+
+    public IndexedFileIdempotentRepository() {
+    }
+
+    public IndexedFileIdempotentRepository(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    /**
+     * Creates a new indexed file based repository.
+     *
+     * @param fileStore  the file store
+     */
+    public static IdempotentRepository indexedFileIdempotentRepository(File fileStore) {
+        return new IndexedFileIdempotentRepository(fileStore);
+    }
+
+    /**
+     * Creates a new indexed file based repository.
+     *
+     * @param fileStore  the file store
+     * @param maxFileStoreSize  the max size in bytes for the filestore file
+     */
+    public static IdempotentRepository indexedFileIdempotentRepository(File fileStore, long maxFileStoreSize) {
+        IndexedFileIdempotentRepository repository = new IndexedFileIdempotentRepository(fileStore);
+        repository.setMaxFileStoreSize(maxFileStoreSize);
+        return repository;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        lock.lock();
+        try {
+            Store s = getStore();
+            if (find(s, bytes, hash) >= 0) {
+                return false;
+            }
+            if (used + 1 > s.capacity / 2) {
+                s = resize(s);
+            }
+            long offset = append(s, ADD, bytes);
+            if (insert(s, bytes, hash, offset)) {
+                used++;
+            }
+            live++;
+            liveBytes += RECORD_HEADER + bytes.length;
+            commit(s);
+
+            // check if we hit maximum capacity (if enabled) and compact the store
+            if (maxFileStoreSize > 0 && logLength > maxFileStoreSize) {
+                log.warn("Maximum capacity of file store: {} hit at {} bytes. Dropping {} oldest entries from the file store", fileStore, maxFileStoreSize, dropOldestFileStore);
+                compact(dropOldestFileStore);
+            }
+            return true;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        // read the published log length first, so we see the keys which has been added
+        long length = published;
+        Store s = store;
+        if (s != null) {
+            int stripe = s.enter();
+            try {
+                // the files of the store are only unmapped when no lookups are registered as using it
+                if (s == store) {
+                    return length > LOG_HEADER && find(s, bytes, hash) >= 0;
+                }
+            } finally {
+                s.exit(stripe);
+            }
+        }
+        // the files are being replaced, so wait until they are done
+        lock.lock();
+        try {
+            s = getStore();
+            return published > LOG_HEADER && find(s, bytes, hash) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        lock.lock();
+        try {
+            Store s = getStore();
+            int slot = find(s, bytes, hash);
+            if (slot < 0) {
+                return false;
+            }
+            append(s, REMOVE, bytes);
+            s.index.putLong(INDEX_HEADER + slot * 8, REMOVED);
+            live--;
+            liveBytes -= RECORD_HEADER + bytes.length;
+            commit(s);
+
+            // compact when the removed keys takes up more than half the log
+            if (logLength > CHUNK_SIZE && liveBytes < (logLength - LOG_HEADER) / 2) {
+                compact(0);
+            }
+            return true;
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        lock.lock();
+        try {
+            closeStore();
+            FileUtil.deleteFile(fileStore);
+            FileUtil.deleteFile(getIndexFile());
+            if (isStarted() || isStarting()) {
+                open();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the store, which removes the keys which have been removed from the log.
+     */
+    @ManagedOperation(description = "Compacts the file store")
+    public void compact() {
+        lock.lock();
+        try {
+            compact(0);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Iterates the keys in the store, in the order they were added.
+     *
+     * @param consumer  the consumer of the keys
+     */
+    public void forEachKey(Consumer<String> consumer) {
+        lock.lock();
+        try {
+            Store s = getStore();
+            long offset = LOG_HEADER;
+            while (offset < logLength) {
+                long next = nextRecord(s, offset);
+                if (next < 0) {
+                    break;
+                }
+                offset = next;
+                int length = recordLength(s, offset);
+                if (readOperation(s, offset) == ADD) {
+                    byte[] bytes = readKey(s, offset, length);
+                    int slot = find(s, bytes, hash(bytes));
+                    // only the keys which are still in the index, and not removed and added again later
+                    if (slot >= 0 && (s.index.getLong(INDEX_HEADER + slot * 8) & OFFSET_MASK) - 1 == offset) {
+                        consumer.accept(new String(bytes, StandardCharsets.UTF_8));
+                    }
+                }
+                offset += RECORD_HEADER + length;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public File getFileStore() {
+        return fileStore;
+    }
+
+    public void setFileStore(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    @ManagedAttribute(description = "The file path for the store")
+    public String getFilePath() {
+        return fileStore.getPath();
+    }
+
+    @ManagedAttribute(description = "The maximum file size for the file store in bytes")
+    public long getMaxFileStoreSize() {
+        return maxFileStoreSize;
+    }
+
+    /**
+     * Sets the maximum file size for the file store in bytes.
+     * You can set the value to 0 or negative to turn this off, and have unlimited file store size.
+     * <p/>
+     * The default is 32mb.
+     */
+    @ManagedAttribute(description = "The maximum file size for the file store in bytes")
+    public void setMaxFileStoreSize(long maxFileStoreSize) {
+        this.maxFileStoreSize = maxFileStoreSize;
+    }
+
+    public long getDropOldestFileStore() {
+        return dropOldestFileStore;
+    }
+
+    /**
+     * Sets the number of oldest entries to drop from the file store when the maximum capacity is hit to reduce
+     * disk space to allow room for new entries. As the file store is compacted when the maximum capacity is hit,
+     * then dropping more entries at once reduces how often the file store is compacted.
+     * <p/>
+     * The default is 1000.
+     */
+    @ManagedAttribute(description = "Number of oldest elements to drop from file store if maximum file size reached")
+    public void setDropOldestFileStore(long dropOldestFileStore) {
+        this.dropOldestFileStore = dropOldestFileStore;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public int getSize() {
+        return live;
+    }
+
+    @ManagedAttribute(description = "The size of the file store log in bytes")
+    public long getFileStoreSize() {
+        return published;
+    }
+
+    @ManagedAttribute(description = "The number of times the file store has been compacted")
+    public long getCompactions() {
+        return compactions.get();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(fileStore, "fileStore", this);
+
+        lock.lock();
+        try {
+            if (store == null) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        lock.lock();
+        try {
+            closeStore();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Store getStore() {
+        Store s = store;
+        if (s == null) {
+            throw new IllegalStateException("The file store is not started: " + fileStore);
+        }
+        return s;
+    }
+
+    /**
+     * Closes the store, when no lookups are using it, as its files are unmapped
+     */
+    private void closeStore() {
+        Store s = store;
+        if (s != null) {
+            // the lookups wait for the lock while there is no store
+            store = null;
+            s.awaitReaders();
+            s.close();
+        }
+    }
+
+    private File getIndexFile() {
+        return new File(fileStore.getPath() + ".idx");
+    }
+
+    /**
+     * Opens the log and index, where the index is rebuilt if its missing or does not match the log
+     */
+    private void open() throws IOException {
+        File parent = fileStore.getParentFile();
+        if (parent != null && !parent.exists()) {
+            log.debug("Creating parent directory of filestore: {}", fileStore);
+            parent.mkdirs();
+        }
+
+        Store s = openLog(fileStore);
+        long generation = s.log.generation;
+        File indexFile = getIndexFile();
+
+        long checkpoint = 0;
+        if (indexFile.exists() && indexFile.length() > INDEX_HEADER) {
+            MappedByteBuffer index = mapIndex(indexFile, -1);
+            int capacity = (index.capacity() - INDEX_HEADER) / 8;
+            if (index.getLong(0) == INDEX_MAGIC && index.getLong(8) == generation && Integer.bitCount(capacity) == 1) {
+                s.setIndex(index, capacity);
+                checkpoint = index.getLong(16);
+                used = (int) index.getLong(24);
+                live = (int) index.getLong(32);
+                liveBytes = index.getLong(40);
+            } else {
+                log.info("Index of filestore: {} does not match the filestore, and is rebuilt", fileStore);
+                IOHelper.unmap(index);
+            }
+        }
+        if (s.index == null) {
+            FileUtil.deleteFile(indexFile);
+            s.setIndex(createIndex(indexFile, MIN_CAPACITY, generation), MIN_CAPACITY);
+            checkpoint = LOG_HEADER;
+            used = 0;
+            live = 0;
+            liveBytes = 0;
+        }
+        store = s;
+
+        // replay the log which is not covered by the index
+        long offset = checkpoint;
+        logLength = checkpoint;
+        int replayed = 0;
+        while (true) {
+            long next = nextRecord(s, offset);
+            if (next < 0) {
+                break;
+            }
+            offset = next;
+            int length = recordLength(s, offset);
+            if (length < 0) {
+                // a record which was not completely written before a crash
+                break;
+            }
+            byte[] bytes = readKey(s, offset, length);
+            long hash = hash(bytes);
+            int slot = find(s, bytes, hash);
+            if (readOperation(s, offset) == ADD) {
+                if (slot < 0) {
+                    if (used + 1 > s.capacity / 2) {
+                        s = resize(s);
+                    }
+                    if (insert(s, bytes, hash, offset)) {
+                        used++;
+                    }
+                    live++;
+                    liveBytes += RECORD_HEADER + length;
+                }
+            } else if (slot >= 0) {
+                s.index.putLong(INDEX_HEADER + slot * 8, REMOVED);
+                live--;
+                liveBytes -= RECORD_HEADER + length;
+            }
+            offset += RECORD_HEADER + length;
+            logLength = offset;
+            replayed++;
+        }
+        logLength = offset;
+        commit(s);
+
+        log.debug("Opened idempotent filestore: {} with {} keys (replayed {} records from the log)", fileStore, live, replayed);
+    }
+
+    /**
+     * Compacts the log and index, and drops the given number of oldest keys
+     */
+    private void compact(long drop) throws IOException {
+        Store s = getStore();
+        log.debug("Compacting idempotent filestore: {} with {} keys", fileStore, live);
+
+        File tmpLog = new File(fileStore.getPath() + ".tmp");
+        File tmpIndex = new File(getIndexFile().getPath() + ".tmp");
+        FileUtil.deleteFile(tmpLog);
+        FileUtil.deleteFile(tmpIndex);
+
+        Store target = openLog(tmpLog);
+        int capacity = capacityFor(live);
+        target.setIndex(createIndex(tmpIndex, capacity, target.log.generation), capacity);
+
+        long targetLength = LOG_HEADER;
+        int targetLive = 0;
+        long targetLiveBytes = 0;
+        long dropped = 0;
+        long offset = LOG_HEADER;
+        long end = logLength;
+        while (offset < end) {
+            long next = nextRecord(s, offset);
+            if (next < 0) {
+                break;
+            }
+            offset = next;
+            int length = recordLength(s, offset);
+            if (readOperation(s, offset) == ADD) {
+                byte[] bytes = readKey(s, offset, length);
+                long hash = hash(bytes);
+                int slot = find(s, bytes, hash);
+                // only keep the keys which are still in the index, and not removed and added again later
+                if (slot >= 0 && (s.index.getLong(INDEX_HEADER + slot * 8) & OFFSET_MASK) - 1 == offset) {
+                    if (dropped < drop) {
+                        dropped++;
+                    } else {
+                        targetLength = append(target, ADD, bytes, targetLength);
+                        insert(target, bytes, hash, targetLength - RECORD_HEADER - bytes.length);
+                        targetLive++;
+                        targetLiveBytes += RECORD_HEADER + bytes.length;
+                    }
+                }
+            }
+            offset += RECORD_HEADER + length;
+        }
+
+        writeHeader(target.index, targetLength, targetLive, targetLive, targetLiveBytes);
+        target.close();
+
+        // the files cannot be replaced while they are mapped, so close the store before replacing them
+        closeStore();
+        try {
+            // replace the log before the index, so the index does not match the log if we crash in between
+            Files.move(tmpLog.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpIndex.toPath(), getIndexFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // opens the compacted store, or the current store if the files could not be replaced
+            open();
+        }
+
+        compactions.incrementAndGet();
+        log.debug("Compacted idempotent filestore: {} to {} keys ({} bytes)", fileStore, live, logLength);
+    }
+
+    /**
+     * Resizes the index, by creating a new index from the keys in the old index, which also
+     * cleans up the slots of the removed keys
+     */
+    private Store resize(Store s) throws IOException {
+        // leave room to grow so we do not resize too often
+        int capacity = capacityFor(live * 2 + 1);
+        if (live + 1 > capacity / 2) {
+            throw new IllegalStateException("The index of filestore: " + fileStore + " is full");
+        }
+        log.debug("Resizing index of idempotent filestore: {} to {} slots", fileStore, capacity);
+
+        File tmpIndex = new File(getIndexFile().getPath() + ".tmp");
+        FileUtil.deleteFile(tmpIndex);
+        Store target = s.withIndex(createIndex(tmpIndex, capacity, s.log.generation), capacity);
+        int count = 0;
+        for (int i = 0; i < s.capacity; i++) {
+            long value = s.index.getLong(INDEX_HEADER + i * 8);
+            if (value != EMPTY && value != REMOVED) {
+                long offset = (value & OFFSET_MASK) - 1;
+                byte[] bytes = readKey(s, offset, recordLength(s, offset));
+                insert(target, bytes, hash(bytes), offset);
+                count++;
+            }
+        }
+        writeHeader(target.index, logLength, count, live, liveBytes);
+        target.index.force();
+        IOHelper.unmap(target.index);
+
+        // the index cannot be replaced while its mapped, so unmap the index before replacing it
+        store = null;
+        s.awaitReaders();
+        s.index.force();
+        IOHelper.unmap(s.index);
+        try {
+            Files.move(tmpIndex.toPath(), getIndexFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // use the resized index, or the current index if it could not be replaced
+            MappedByteBuffer index = mapIndex(getIndexFile(), -1);
+            target = s.withIndex(index, (index.capacity() - INDEX_HEADER) / 8);
+            used = (int) index.getLong(24);
+            store = target;
+        }
+        return target;
+    }
+
+    /**
+     * Updates the header of the index and publishes the changes to the lookups
+     */
+    private void commit(Store s) {
+        writeHeader(s.index, logLength, used, live, liveBytes);
+        // write the volatile field to publish the changes
+        published = logLength;
+    }
+
+    private static void writeHeader(MappedByteBuffer index, long logLength, int used, int live, long liveBytes) {
+        index.putLong(16, logLength);
+        index.putLong(24, used);
+        index.putLong(32, live);
+        index.putLong(40, liveBytes);
+    }
+
+    private long append(Store s, byte operation, byte[] bytes) throws IOException {
+        long end = append(s, operation, bytes, logLength);
+        long offset = end - RECORD_HEADER - bytes.length;
+        logLength = end;
+        return offset;
+    }
+
+    /**
+     * Appends the record at the given position in the log
+     *
+     * @return the end position of the record
+     */
+    private long append(Store s, byte operation, byte[] bytes, long position) throws IOException {
+        int size = RECORD_HEADER + bytes.length;
+        if (size > CHUNK_SIZE - LOG_HEADER) {
+            throw new IllegalArgumentException("Key is too long: " + bytes.length + " bytes");
+        }
+        int chunk = (int) (position / CHUNK_SIZE);
+        int pos = (int) (position % CHUNK_SIZE);
+        if (pos + size > CHUNK_SIZE) {
+            // the record must not span chunks, so mark the remainder of the chunk as padding
+            if (pos + 4 <= CHUNK_SIZE) {
+                s.log.chunk(chunk, pos + 4).putInt(pos, PADDING);
+            }
+            chunk++;
+            pos = 0;
+        }
+        // the chunk must be mapped to include the end of the log marker
+        MappedByteBuffer buffer = s.log.chunk(chunk, Math.min(CHUNK_SIZE, pos + size + 4));
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(pos + RECORD_HEADER);
+        dup.put(bytes);
+        buffer.put(pos + 4, operation);
+        if (pos + size + 4 <= CHUNK_SIZE) {
+            // mark the end of the log, in case there is left over from a record which was not completely written
+            buffer.putInt(pos + size, 0);
+        }
+        // write the length as the last, as it marks the record as complete
+        buffer.putInt(pos, bytes.length + 1);
+        return (long) chunk * CHUNK_SIZE + pos + size;
+    }
+
+    /**
+     * Finds the position of the next record from the given position in the log
+     *
+     * @return the position, or <tt>-1</tt> if there are no more records
+     */
+    private static long nextRecord(Store s, long position) {
+        int chunk = (int) (position / CHUNK_SIZE);
+        int pos = (int) (position % CHUNK_SIZE);
+        MappedByteBuffer[] chunks = s.log.chunks;
+        if (chunk >= chunks.length) {
+            return -1;
+        }
+        if (pos + RECORD_HEADER > CHUNK_SIZE) {
+            // continue in the next chunk
+            return nextRecord(s, (long) (chunk + 1) * CHUNK_SIZE);
+        }
+        if (pos + RECORD_HEADER > chunks[chunk].capacity()) {
+            // the end of the mapped log
+            return -1;
+        }
+        int value = chunks[chunk].getInt(pos);
+        if (value == PADDING) {
+            // continue in the next chunk
+            return nextRecord(s, (long) (chunk + 1) * CHUNK_SIZE);
+        }
+        return value == 0 ? -1 : position;
+    }
+
+    /**
+     * The length of the key of the record, or <tt>-1</tt> if the record is incomplete
+     */
+    private static int recordLength(Store s, long offset) {
+        MappedByteBuffer buffer = s.log.chunks[(int) (offset / CHUNK_SIZE)];
+        int pos = (int) (offset % CHUNK_SIZE);
+        int length = buffer.getInt(pos) - 1;
+        if (length < 0 || pos + RECORD_HEADER + length > buffer.capacity()) {
+            return -1;
+        }
+        byte operation = buffer.get(pos + 4);
+        return operation == ADD || operation == REMOVE ? length : -1;
+    }
+
+    private static byte readOperation(Store s, long offset) {
+        return s.log.chunks[(int) (offset / CHUNK_SIZE)].get((int) (offset % CHUNK_SIZE) + 4);
+    }
+
+    private static byte[] readKey(Store s, long offset, int length) {
+        ByteBuffer dup = s.log.chunks[(int) (offset / CHUNK_SIZE)].duplicate();
+        dup.position((int) (offset % CHUNK_SIZE) + RECORD_HEADER);
+        byte[] bytes = new byte[length];
+        dup.get(bytes);
+        return bytes;
+    }
+
+    private static boolean keyEquals(Store s, long offset, byte[] bytes) {
+        MappedByteBuffer[] chunks = s.log.chunks;
+        int chunk = (int) (offset / CHUNK_SIZE);
+        if (chunk >= chunks.length) {
+            return false;
+        }
+        MappedByteBuffer buffer = chunks[chunk];
+        int pos = (int) (offset % CHUNK_SIZE);
+        if (pos + RECORD_HEADER + bytes.length > buffer.capacity() || buffer.getInt(pos) != bytes.length + 1) {
+            return false;
+        }
+        pos += RECORD_HEADER;
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(pos + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the slot in the index of the given key
+     *
+     * @return the slot, or <tt>-1</tt> if the key is not in the index
+     */
+    private static int find(Store s, byte[] bytes, long hash) {
+        int mask = s.capacity - 1;
+        long tag = hash >>> OFFSET_BITS;
+        int slot = (int) hash & mask;
+        for (int n = 0; n < s.capacity; n++) {
+            long value = s.index.getLong(INDEX_HEADER + slot * 8);
+            if (value == EMPTY) {
+                return -1;
+            }
+            if (value != REMOVED && value >>> OFFSET_BITS == tag && keyEquals(s, (value & OFFSET_MASK) - 1, bytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts the key in the index, which must not already contain the key
+     *
+     * @return <tt>true</tt> if an empty slot was used, <tt>false</tt> if a removed slot was reused
+     */
+    private static boolean insert(Store s, byte[] bytes, long hash, long offset) {
+        int mask = s.capacity - 1;
+        int slot = (int) hash & mask;
+        while (true) {
+            long value = s.index.getLong(INDEX_HEADER + slot * 8);
+            if (value == EMPTY || value == REMOVED) {
+                s.index.putLong(INDEX_HEADER + slot * 8, (hash >>> OFFSET_BITS) << OFFSET_BITS | (offset + 1));
+                return value == EMPTY;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int capacityFor(int keys) {
+        // keep the load factor below 0.5
+        int capacity = MIN_CAPACITY;
+        while (capacity < keys * 2L + 1 && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long hash(byte[] bytes) {
+        // FNV-1a with a final mix, as the index uses both the low and high bits
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Store openLog(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            long length = raf.length();
+            Store s = new Store(new Log(raf));
+            int chunks = (int) Math.max(1, (length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            for (int i = 0; i < chunks; i++) {
+                s.log.chunk(i, (int) Math.min(CHUNK_SIZE, Math.max(LOG_HEADER, length - (long) i * CHUNK_SIZE)));
+            }
+            MappedByteBuffer first = s.log.chunks[0];
+            if (length == 0) {
+                first.putLong(0, LOG_MAGIC);
+                first.putLong(8, System.currentTimeMillis() ^ System.nanoTime());
+            } else if (first.getLong(0) != LOG_MAGIC) {
+                throw new IOException("The filestore: " + file + " is not an indexed idempotent filestore");
+            }
+            s.log.generation = first.getLong(8);
+            return s;
+        } catch (IOException e) {
+            IOHelper.close(raf);
+            throw e;
+        }
+    }
+
+    private static MappedByteBuffer createIndex(File file, int capacity, long generation) throws IOException {
+        MappedByteBuffer index = mapIndex(file, INDEX_HEADER + capacity * 8L);
+        index.putLong(0, INDEX_MAGIC);
+        index.putLong(8, generation);
+        return index;
+    }
+
+    private static MappedByteBuffer mapIndex(File file, long size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // the mapping stays valid after the file is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size < 0 ? raf.length() : size);
+        }
+    }
+
+    /**
+     * The memory-mapped chunks of the log
+     */
+    private static final class Log {
+        private final RandomAccessFile file;
+        // all the mappings including the ones which have been replaced by bigger mappings
+        private final List<MappedByteBuffer> mappings = new ArrayList<>();
+        private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+        private long generation;
+
+        Log(RandomAccessFile file) {
+            this.file = file;
+        }
+
+        /**
+         * Gets the chunk, which is mapped to at least the given size
+         */
+        MappedByteBuffer chunk(int chunk, int size) throws IOException {
+            MappedByteBuffer[] current = chunks;
+            if (chunk < current.length && current[chunk].capacity() >= size) {
+                return current[chunk];
+            }
+            MappedByteBuffer[] answer = Arrays.copyOf(current, Math.max(current.length, chunk + 1));
+            for (int i = current.length; i < chunk; i++) {
+                answer[i] = map(i, CHUNK_SIZE);
+            }
+            // grow the mapping by doubling it, so the log is not remapped too often
+            int mapped = Math.max(INITIAL_MAPPING, answer[chunk] != null ? answer[chunk].capacity() * 2 : 0);
+            while (mapped < size) {
+                mapped <<= 1;
+            }
+            answer[chunk] = map(chunk, Math.min(CHUNK_SIZE, mapped));
+            chunks = answer;
+            return answer[chunk];
+        }
+
+        private MappedByteBuffer map(int chunk, int size) throws IOException {
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, (long) chunk * CHUNK_SIZE, size);
+            mappings.add(buffer);
+            return buffer;
+        }
+
+        void close() {
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+            for (MappedByteBuffer mapping : mappings) {
+                IOHelper.unmap(mapping);
+            }
+            mappings.clear();
+            chunks = new MappedByteBuffer[0];
+            IOHelper.close(file);
+        }
+    }
+
+    private static final class Store {
+        private final Log log;
+        // the number of lookups using the store, in stripes to not contend
+        private final AtomicIntegerArray readers = new AtomicIntegerArray(READER_STRIPES * READER_PADDING);
+        private MappedByteBuffer index;
+        private int capacity;
+
+        Store(Log log) {
+            this.log = log;
+        }
+
+        void setIndex(MappedByteBuffer index, int capacity) {
+            this.index = index;
+            this.capacity = capacity;
+        }
+
+        Store withIndex(MappedByteBuffer index, int capacity) {
+            Store answer = new Store(log);
+            answer.setIndex(index, capacity);
+            return answer;
+        }
+
+        int enter() {
+            int stripe = (int) (Thread.currentThread().getId() & (READER_STRIPES - 1)) * READER_PADDING;
+            readers.incrementAndGet(stripe);
+            return stripe;
+        }
+
+        void exit(int stripe) {
+            readers.decrementAndGet(stripe);
+        }
+
+        /**
+         * Waits for the lookups using the store to be done, which must no longer be the current store
+         */
+        void awaitReaders() {
+            for (int i = 0; i < READER_STRIPES; i++) {
+                while (readers.get(i * READER_PADDING) != 0) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        void close() {
+            log.close();
+            if (index != null) {
+                index.force();
+                IOHelper.unmap(index);
+                index = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact map with {@link String} keys, which stores the keys and values in flat arrays in insertion order.
+ * <p/>
+ * Maps with only a few entries, such as the headers of a message, are looked up by scanning the keys, which
+ * is faster and uses less memory than hashing. When the map grows beyond {@link #INDEX_THRESHOLD} entries then
+ * an open addressing hash index is built on top of the arrays, so lookups of larger maps are still O(1).
+ * <p/>
+ * The map can optionally use case insensitive keys, but preserves the original key cases, in the same way
+ * as {@link CaseInsensitiveMap}.
+ * <p/>
+ * The {@link #copy()} method is copy-on-write, which means the copy shares the arrays with this map
+ * until either of the maps are modified. Likewise the iterators operate on a snapshot of the map,
+ * so the map can be modified while iterating without causing a {@link java.util.ConcurrentModificationException}.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe, see {@link ConcurrentCompactMap} for a thread safe variant.
+ */
+public class CompactMap extends AbstractMap<String, Object> implements Serializable {
+
+    /**
+     * The number of entries which are looked up by scanning the keys, larger maps are indexed.
+     */
+    public static final int INDEX_THRESHOLD = 8;
+
+    private static final long serialVersionUID = 4863129506153740425L;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private final boolean caseInsensitive;
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    // the hash index holds the position + 1 of the entries (zero is an empty slot)
+    private int[] index;
+    private int size;
+    // whether the arrays are shared with a copy or an iterator and must be copied before modifying
+    private boolean shared;
+
+    /**
+     * Creates a case sensitive map
+     */
+    public CompactMap() {
+        this(false);
+    }
+
+    public CompactMap(boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    public CompactMap(Map<? extends String, ?> map, boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+        putAll(map);
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    /**
+     * Creates a copy of this map, which shares the content with this map until either map is modified.
+     */
+    public CompactMap copy() {
+        CompactMap answer = newInstance();
+        shareWith(answer);
+        return answer;
+    }
+
+    /**
+     * Creates a new empty map of the same kind as this map.
+     */
+    protected CompactMap newInstance() {
+        return new CompactMap(caseInsensitive);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int pos = indexOf(key);
+        return pos >= 0 ? values[pos] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        int pos = indexOf(key);
+        if (pos >= 0) {
+            Object old = values[pos];
+            if (old != value) {
+                ensureWritable();
+                values[pos] = value;
+            }
+            return old;
+        }
+
+        ensureWritable();
+        if (size == keys.length) {
+            grow();
+        }
+        pos = size++;
+        keys[pos] = key;
+        values[pos] = value;
+        if (index != null) {
+            addToIndex(index, key, pos);
+        } else if (size > INDEX_THRESHOLD) {
+            index = buildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int pos = indexOf(key);
+        if (pos < 0) {
+            return null;
+        }
+
+        ensureWritable();
+        Object old = values[pos];
+        int moved = size - pos - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, moved);
+            System.arraycopy(values, pos + 1, values, pos, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        // the positions has changed so the index must be rebuilt
+        index = size > INDEX_THRESHOLD ? buildIndex() : null;
+        return old;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (size == 0 && map instanceof CompactMap && ((CompactMap) map).caseInsensitive == caseInsensitive) {
+            // we can share the content until modified
+            ((CompactMap) map).shareWith(this);
+            return;
+        }
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+        }
+        index = null;
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Shares the content of this map with the target map, both maps will copy the content before being modified.
+     */
+    protected void shareWith(CompactMap target) {
+        this.shared = true;
+        target.keys = keys;
+        target.values = values;
+        target.index = index;
+        target.size = size;
+        target.shared = true;
+    }
+
+    /**
+     * Creates an iterator which operates on a snapshot of this map.
+     */
+    protected Iterator<Map.Entry<String, Object>> entryIterator() {
+        shared = true;
+        return new EntryIterator(keys, values, size);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        final String name = (String) key;
+        final String[] keys = this.keys;
+        final int[] index = this.index;
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                String k = keys[i];
+                if (k == name || matches(k, name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        final int mask = index.length - 1;
+        int i = hash(name) & mask;
+        int pos;
+        while ((pos = index[i]) != 0) {
+            String k = keys[pos - 1];
+            if (k == name || matches(k, name)) {
+                return pos - 1;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(String k, String name) {
+        return caseInsensitive ? k.equalsIgnoreCase(name) : k.equals(name);
+    }
+
+    private int hash(String key) {
+        int h;
+        if (caseInsensitive) {
+            // must hash in the same way as String.equalsIgnoreCase compares
+            h = 0;
+            for (int i = 0; i < key.length(); i++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+            }
+        } else {
+            h = key.hashCode();
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void ensureWritable() {
+        if (shared) {
+            keys = keys.length == 0 ? new String[INITIAL_CAPACITY] : keys.clone();
+            values = values.length == 0 ? new Object[INITIAL_CAPACITY] : values.clone();
+            if (index != null) {
+                index = index.clone();
+            }
+            shared = false;
+        }
+    }
+
+    private void grow() {
+        int capacity = keys.length == 0 ? INITIAL_CAPACITY : keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        if (index != null) {
+            index = buildIndex();
+        }
+    }
+
+    private int[] buildIndex() {
+        // keep the index at most half full
+        int[] answer = new int[keys.length << 1];
+        for (int i = 0; i < size; i++) {
+            addToIndex(answer, keys[i], i);
+        }
+        return answer;
+    }
+
+    private void addToIndex(int[] index, String key, int pos) {
+        final int mask = index.length - 1;
+        int i = hash(key) & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = pos + 1;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return entryIterator();
+        }
+
+        @Override
+        public int size() {
+            return CompactMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return CompactMap.this.containsKey(e.getKey()) && Objects.equals(CompactMap.this.get(e.getKey()), e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (contains(o)) {
+                CompactMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        // iterate a snapshot of the map
+        private final String[] keys;
+        private final Object[] values;
+        private final int size;
+        private int pos;
+        private String last;
+
+        EntryIterator(String[] keys, Object[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pos < size;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (pos >= size) {
+                throw new NoSuchElementException();
+            }
+            last = keys[pos];
+            Object value = values[pos];
+            pos++;
+            return new WriteThroughEntry(last, value);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            CompactMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    private final class WriteThroughEntry extends SimpleEntry<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        WriteThroughEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            // write through to the map
+            CompactMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+}
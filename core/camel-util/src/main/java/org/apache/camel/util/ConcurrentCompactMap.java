@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread safe {@link CompactMap}.
+ * <p/>
+ * The map is guarded by locking on the map itself, which is cheap as the map is seldom accessed concurrently.
+ * As the iterators operate on a snapshot of the map, they never throw {@link java.util.ConcurrentModificationException}
+ * and do not need to be guarded by the caller.
+ */
+public class ConcurrentCompactMap extends CompactMap {
+
+    private static final long serialVersionUID = -3072839285212693384L;
+
+    public ConcurrentCompactMap() {
+        super(false);
+    }
+
+    public ConcurrentCompactMap(boolean caseInsensitive) {
+        super(caseInsensitive);
+    }
+
+    public ConcurrentCompactMap(Map<? extends String, ?> map, boolean caseInsensitive) {
+        super(map, caseInsensitive);
+    }
+
+    @Override
+    public synchronized CompactMap copy() {
+        return super.copy();
+    }
+
+    @Override
+    protected CompactMap newInstance() {
+        return new ConcurrentCompactMap(isCaseInsensitive());
+    }
+
+    @Override
+    public synchronized int size() {
+        return super.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return super.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return super.containsKey(key);
+    }
+
+    @Override
+    public synchronized boolean containsValue(Object value) {
+        return super.containsValue(value);
+    }
+
+    @Override
+    public synchronized Object get(Object key) {
+        return super.get(key);
+    }
+
+    @Override
+    public synchronized Object getOrDefault(Object key, Object defaultValue) {
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public synchronized Object put(String key, Object value) {
+        return super.put(key, value);
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(String key, Object value) {
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        return super.remove(key);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        return super.remove(key, value);
+    }
+
+    @Override
+    public synchronized boolean replace(String key, Object oldValue, Object newValue) {
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public synchronized Object replace(String key, Object value) {
+        return super.replace(key, value);
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends String, ?> map) {
+        super.putAll(map);
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+    }
+
+    @Override
+    protected synchronized void shareWith(CompactMap target) {
+        super.shareWith(target);
+    }
+
+    @Override
+    protected synchronized Iterator<Map.Entry<String, Object>> entryIterator() {
+        return super.entryIterator();
+    }
+
+}
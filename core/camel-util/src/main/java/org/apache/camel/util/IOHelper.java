@@ -34,13 +34,17 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -63,6 +67,9 @@ public final class IOHelper {
     // See more at CAMEL-11672
     private static final boolean ZERO_BYTE_EOL_ENABLED = "true".equalsIgnoreCase(System.getProperty("camel.zeroByteEOLEnabled", "true"));
 
+    // unmaps a memory-mapped buffer, or null if not supported by the JVM
+    private static final Consumer<MappedByteBuffer> UNMAPPER = createUnmapper();
+
     private IOHelper() {
         // Utility Class
     }
@@ -439,6 +446,60 @@ public final class IOHelper {
         }
     }
 
+    /**
+     * Unmaps the memory-mapped buffer, which must no longer be used, as otherwise the mapping is only released
+     * when the buffer is garbage collected, and the file cannot be deleted or replaced while it is mapped on
+     * some platforms (such as Windows).
+     * <p/>
+     * Any failure to unmap the buffer is ignored, as the mapping is then released when the buffer is garbage collected.
+     *
+     * @param buffer the buffer
+     */
+    public static void unmap(MappedByteBuffer buffer) {
+        if (buffer != null && UNMAPPER != null) {
+            try {
+                UNMAPPER.accept(buffer);
+            } catch (Exception e) {
+                LOG.trace("Cannot unmap buffer. This exception will be ignored.", e);
+            }
+        }
+    }
+
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        try {
+            // java 9 onwards
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            // java 8
+            return buffer -> {
+                try {
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        } catch (Exception e) {
+            // the mappings are released when the buffers are garbage collected
+            return null;
+        }
+    }
+
     public static void closeIterator(Object it) throws IOException {
         if (it instanceof Closeable) {
             IOHelper.closeWithException((Closeable)it);
@@ -23,6 +23,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Thread factory which creates threads supporting a naming pattern.
+ * <p/>
+ * The factory can create virtual threads instead of platform threads if the JVM supports that.
  */
 public final class CamelThreadFactory implements ThreadFactory {
     private static final Logger LOG = LoggerFactory.getLogger(CamelThreadFactory.class);
@@ -30,18 +32,38 @@ public final class CamelThreadFactory implements ThreadFactory {
     private final String pattern;
     private final String name;
     private final boolean daemon;
+    private final boolean virtual;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    /**
+     * Creates the thread factory
+     *
+     * @param pattern the thread name pattern
+     * @param name    the thread name
+     * @param daemon  whether the threads are daemon threads (virtual threads are always daemon threads)
+     * @param virtual whether to create virtual threads, which requires the JVM to support virtual threads
+     */
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
+        this.virtual = virtual;
     }
 
     @Override
     public Thread newThread(Runnable runnable) {
         String threadName = ThreadHelper.resolveThreadName(pattern, name);
-        Thread answer = new Thread(runnable, threadName);
-        answer.setDaemon(daemon);
+        Thread answer;
+        if (virtual) {
+            answer = ThreadHelper.newVirtualThread(runnable);
+            answer.setName(threadName);
+        } else {
+            answer = new Thread(runnable, threadName);
+            answer.setDaemon(daemon);
+        }
 
         LOG.trace("Created thread[{}] -> {}", threadName, answer);
         return answer;
@@ -51,8 +73,12 @@ public final class CamelThreadFactory implements ThreadFactory {
         return name;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
     @Override
     public String toString() {
-        return "CamelThreadFactory[" + name + "]";
+        return "CamelThreadFactory[" + name + (virtual ? " (virtual)" : "") + "]";
     }
 }
\ No newline at end of file
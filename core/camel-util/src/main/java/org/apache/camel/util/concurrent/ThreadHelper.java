@@ -16,6 +16,10 @@
  */
 package org.apache.camel.util.concurrent;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -23,13 +27,33 @@ import java.util.regex.Pattern;
 import org.apache.camel.util.StringHelper;
 
 /**
- * Various helper method for thread naming.
+ * Various helper method for thread naming and creating virtual threads.
  */
 public final class ThreadHelper {
     public static final String DEFAULT_PATTERN = "Camel Thread ##counter# - #name#";
     private static final Pattern INVALID_PATTERN = Pattern.compile(".*#\\w+#.*");
 
     private static AtomicLong threadCounter = new AtomicLong();
+
+    // virtual threads requires Java 21 so we must use reflection to create them
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        ThreadFactory factory = null;
+        Method method = null;
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+            method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Throwable e) {
+            // not supported on this JVM (or requires --enable-preview)
+            factory = null;
+            method = null;
+        }
+        VIRTUAL_THREAD_FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = method;
+    }
     
     private ThreadHelper() {
     }
@@ -72,4 +96,44 @@ public final class ThreadHelper {
         return answer;
     }
 
+    /**
+     * Whether the JVM supports virtual threads (requires Java 21 or newer).
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_FACTORY != null && NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates a new unstarted virtual thread
+     *
+     * @param runnable the task the thread should run
+     * @return the thread
+     * @throws UnsupportedOperationException if virtual threads is not supported by the JVM
+     */
+    public static Thread newVirtualThread(Runnable runnable) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads is not supported on this JVM");
+        }
+        return VIRTUAL_THREAD_FACTORY.newThread(runnable);
+    }
+
+    /**
+     * Creates an executor service that starts a new thread for each task, which is intended
+     * to be used with virtual threads.
+     *
+     * @param threadFactory factory for creating the threads
+     * @return the executor service
+     * @throws UnsupportedOperationException if virtual threads is not supported by the JVM
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads is not supported on this JVM");
+        }
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error creating thread per task executor due " + e.getMessage(), e);
+        }
+    }
+
 }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactMapTest extends Assert {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CompactMap(true);
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+
+        // should keep the original key
+        map.put("FOO", "beer");
+        assertEquals(1, map.size());
+        assertEquals("beer", map.get("foo"));
+        assertEquals("foo", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void testLookupCaseSensitive() {
+        Map<String, Object> map = new CompactMap();
+        map.put("foo", 123);
+        map.put("FOO", 456);
+
+        assertEquals(2, map.size());
+        assertEquals(123, map.get("foo"));
+        assertEquals(456, map.get("FOO"));
+        assertNull(map.get("Foo"));
+    }
+
+    @Test
+    public void testGrowIntoIndex() {
+        Map<String, Object> map = new CompactMap(true);
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        // remove every second key
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove("Key" + i));
+        }
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("key" + i));
+        }
+
+        // and shrink below the threshold
+        for (int i = 1; i < 90; i += 2) {
+            map.remove("key" + i);
+        }
+        assertEquals(5, map.size());
+        assertEquals(91, map.get("KEY91"));
+        assertEquals(99, map.get("key99"));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        Map<String, Object> map = new CompactMap(true);
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.remove("a");
+        map.put("d", 4);
+
+        List<String> keys = new ArrayList<>(map.keySet());
+        assertEquals("[c, b, d]", keys.toString());
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        CompactMap map = new CompactMap(true);
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        CompactMap copy = map.copy();
+        assertEquals(map, copy);
+
+        copy.put("FOO", "beer");
+        copy.put("baz", true);
+        assertEquals("cheese", map.get("foo"));
+        assertEquals(2, map.size());
+        assertEquals("beer", copy.get("foo"));
+        assertEquals(3, copy.size());
+
+        map.remove("bar");
+        assertNull(map.get("bar"));
+        assertEquals(123, copy.get("bar"));
+    }
+
+    @Test
+    public void testPutAllShares() {
+        CompactMap map = new CompactMap(true);
+        map.put("foo", "cheese");
+
+        Map<String, Object> other = new CompactMap(map, true);
+        other.put("bar", 123);
+        assertEquals(1, map.size());
+        assertEquals(2, other.size());
+
+        // a map with different case sensitivity is copied by its entries
+        Map<String, Object> sensitive = new CompactMap(map, false);
+        assertEquals("cheese", sensitive.get("foo"));
+        assertNull(sensitive.get("FOO"));
+    }
+
+    @Test
+    public void testModifyWhileIterating() {
+        Map<String, Object> map = new CompactMap(true);
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+        map.put("baz", true);
+
+        // the iterator operates on a snapshot
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("bar")) {
+                it.remove();
+            } else {
+                entry.setValue("changed");
+                map.put("new-" + entry.getKey(), "added");
+            }
+        }
+
+        assertEquals(4, map.size());
+        assertNull(map.get("bar"));
+        assertEquals("changed", map.get("foo"));
+        assertEquals("changed", map.get("baz"));
+        assertEquals("added", map.get("NEW-FOO"));
+    }
+
+    @Test
+    public void testEqualsHashMap() {
+        Map<String, Object> map = new CompactMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        Map<String, Object> other = new HashMap<>();
+        other.put("bar", 123);
+        other.put("foo", "cheese");
+
+        assertEquals(other, map);
+        assertEquals(map, other);
+        assertEquals(other.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        CompactMap map = new ConcurrentCompactMap(true);
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        ByteArrayOutputStream bStream = new ByteArrayOutputStream();
+        ObjectOutputStream objStream = new ObjectOutputStream(bStream);
+        objStream.writeObject(map);
+
+        ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(bStream.toByteArray()));
+        CompactMap testMap = (CompactMap) inStream.readObject();
+
+        assertTrue(testMap instanceof ConcurrentCompactMap);
+        assertEquals("cheese", testMap.get("FOO"));
+        assertEquals(123, testMap.get("bar"));
+    }
+
+}
@@ -235,6 +235,38 @@ public class KafkaComponentConfiguration
          * The number of consumers that connect to kafka server
          */
         private Integer consumersCount = 1;
+        /**
+         * The number of worker lanes per consumer, which process the polled
+         * records in parallel. The consumer keeps polling while the lanes
+         * process the records, and the offsets are only committed up to the
+         * records which all the records before are completed. The default value
+         * is 0 which means the records are processed one at a time by the
+         * consumer. The lanes cannot be used with allowManualCommit.
+         */
+        private Integer consumerLanes = 0;
+        /**
+         * How to dispatch the records to the lanes, when using consumerLanes:
+         * partition : the records of a partition are processed in order by the
+         * same lane. key : the records with the same key are processed in order
+         * by the same lane, so the records of a partition can be processed in
+         * parallel.
+         */
+        private String consumerLaneOrdering = "partition";
+        /**
+         * The maximum number of records of a partition waiting to be processed
+         * by the lanes, when using consumerLanes. When a partition has more
+         * pending records, then the partition is paused until half of the
+         * records are processed.
+         */
+        private Integer consumerLaneMaxPending = 1000;
+        /**
+         * Whether to route the records of each poll as a single exchange, where
+         * the message body is the list of exchanges of the records. The offsets
+         * are committed when the exchange of the batch is completed. The size
+         * of the batches is limited by maxPollRecords. The batching cannot be
+         * used with consumerLanes.
+         */
+        private Boolean batching = false;
         /**
          * The client id is a user-specified string sent in each request to help
          * trace calls. It should logically identify the application making the
@@ -766,6 +798,15 @@ public class KafkaComponentConfiguration
          * on a header with the key {@link KafkaConstants#KAFKA_RECORDMETA}
          */
         private Boolean recordMetadata = true;
+        /**
+         * The maximum number of records sent by the producer which are not yet
+         * acknowledged by the brokers. When the limit is reached, then the
+         * remaining records of an exchange are sent when records are
+         * acknowledged, without blocking the routing thread (unless the
+         * synchronous option is enabled). The default value is 0 which means
+         * there is no limit.
+         */
+        private Integer maxInFlightRecords = 0;
         /**
          * Sets interceptors for producer or consumers. Producer interceptors
          * have to be classes implementing {@link
@@ -857,6 +898,38 @@ public class KafkaComponentConfiguration
             this.consumersCount = consumersCount;
         }
 
+        public Integer getConsumerLanes() {
+            return consumerLanes;
+        }
+
+        public void setConsumerLanes(Integer consumerLanes) {
+            this.consumerLanes = consumerLanes;
+        }
+
+        public String getConsumerLaneOrdering() {
+            return consumerLaneOrdering;
+        }
+
+        public void setConsumerLaneOrdering(String consumerLaneOrdering) {
+            this.consumerLaneOrdering = consumerLaneOrdering;
+        }
+
+        public Integer getConsumerLaneMaxPending() {
+            return consumerLaneMaxPending;
+        }
+
+        public void setConsumerLaneMaxPending(Integer consumerLaneMaxPending) {
+            this.consumerLaneMaxPending = consumerLaneMaxPending;
+        }
+
+        public Boolean getBatching() {
+            return batching;
+        }
+
+        public void setBatching(Boolean batching) {
+            this.batching = batching;
+        }
+
         public String getClientId() {
             return clientId;
         }
@@ -1486,6 +1559,14 @@ public class KafkaComponentConfiguration
             this.recordMetadata = recordMetadata;
         }
 
+        public Integer getMaxInFlightRecords() {
+            return maxInFlightRecords;
+        }
+
+        public void setMaxInFlightRecords(Integer maxInFlightRecords) {
+            this.maxInFlightRecords = maxInFlightRecords;
+        }
+
         public String getInterceptorClasses() {
             return interceptorClasses;
         }
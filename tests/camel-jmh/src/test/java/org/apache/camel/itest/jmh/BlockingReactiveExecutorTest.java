@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultReactiveExecutor;
+import org.apache.camel.impl.engine.VirtualThreadReactiveExecutor;
+import org.apache.camel.reactive.vertx.VertXReactiveExecutor;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the reactive executors on a route that blocks on (simulated) I/O.
+ * <p/>
+ * The route is consumed by a single asynchronous seda consumer, so with the default executor the exchanges are
+ * routed one at a time by the consumer thread, while the virtual thread executor routes each exchange on a new
+ * virtual thread.
+ */
+public class BlockingReactiveExecutorTest {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(2)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        @Param({"default", "virtual", "vertx"})
+        String executor;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        volatile CountDownLatch latch;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            if ("virtual".equals(executor)) {
+                camel.setReactiveExecutor(new VirtualThreadReactiveExecutor());
+            } else if ("vertx".equals(executor)) {
+                camel.setReactiveExecutor(new VertXReactiveExecutor());
+            } else {
+                camel.setReactiveExecutor(new DefaultReactiveExecutor());
+            }
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("seda:start?size=" + BATCH_SIZE)
+                        .to("log:foo?level=OFF")
+                        // simulate a blocking call such as JDBC or HTTP
+                        .process(e -> Thread.sleep(2))
+                        .to("log:bar?level=OFF")
+                        .process(e -> Thread.sleep(2))
+                        .process(e -> latch.countDown());
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                producer.stop();
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+    }
+
+    @Benchmark
+    public void blockingRoute(BenchmarkState state) throws Exception {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        state.latch = latch;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            state.producer.sendBody("seda:start", "Hello World");
+        }
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("The exchanges were not routed within 1 minute");
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.camel.itest.jmh;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.impl.engine.DefaultUuidGenerator;
+import org.apache.camel.impl.engine.ThreadLocalUuidGenerator;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -34,7 +35,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
- * Tests the {@link DefaultUuidGenerator}.
+ * Tests the {@link DefaultUuidGenerator} and {@link ThreadLocalUuidGenerator}, where the shared benchmarks
+ * use a single generator from all the threads as Camel does.
  * <p/>
  * Thanks to this SO answer: https://stackoverflow.com/questions/30485856/how-to-run-jmh-from-inside-junit-tests
  */
@@ -53,7 +55,8 @@ public class DefaultUuidGeneratorTest {
             .warmupIterations(2)
             .measurementTime(TimeValue.seconds(1))
             .measurementIterations(2)
-            .threads(2)
+            // use all the cores so the shared generators are contended
+            .threads(Math.max(2, Runtime.getRuntime().availableProcessors()))
             .forks(1)
             .shouldFailOnError(true)
             .shouldDoGC(true)
@@ -74,6 +77,18 @@ public class DefaultUuidGeneratorTest {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static class SharedState {
+        DefaultUuidGenerator uuid;
+        ThreadLocalUuidGenerator threadLocal;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            uuid = new DefaultUuidGenerator();
+            threadLocal = new ThreadLocalUuidGenerator();
+        }
+    }
+
     @Benchmark
     @Measurement(batchSize = 1000000)
     public void benchmark(BenchmarkState state, Blackhole bh) {
@@ -81,4 +96,18 @@ public class DefaultUuidGeneratorTest {
         bh.consume(id);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000000)
+    public void benchmarkShared(SharedState state, Blackhole bh) {
+        String id = state.uuid.generateUuid();
+        bh.consume(id);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000000)
+    public void benchmarkSharedThreadLocal(SharedState state, Blackhole bh) {
+        String id = state.threadLocal.generateUuid();
+        bh.consume(id);
+    }
+
 }
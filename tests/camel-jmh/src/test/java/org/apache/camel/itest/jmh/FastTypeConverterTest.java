@@ -17,12 +17,14 @@
 package org.apache.camel.itest.jmh;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import org.apache.camel.CamelContext;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -71,8 +73,10 @@ public class FastTypeConverterTest {
     public static class BenchmarkCamelContextState {
         ByteBuf buffer;
         byte[] bytes = "Hello World this is some text".getBytes();
+        String text = "Hello World this is some text";
 
         CamelContext camel;
+        BaseTypeConverterRegistry registry;
 
         @Setup(Level.Trial)
         public void initialize() throws IOException {
@@ -81,6 +85,11 @@ public class FastTypeConverterTest {
                 // dont scan for additional type converters
                 camel.setLoadTypeConverters(false);
                 camel.start();
+                registry = (BaseTypeConverterRegistry) camel.getTypeConverterRegistry();
+                // warm up the type converter cache
+                camel.getTypeConverter().convertTo(byte[].class, text);
+                camel.getTypeConverter().convertTo(String.class, bytes);
+                camel.getTypeConverter().convertTo(InputStream.class, text);
             } catch (Exception e) {
                 // ignore
             }
@@ -106,4 +115,37 @@ public class FastTypeConverterTest {
         bh.consume(arr);
     }
 
+    @Benchmark
+    public void typeConvertStringToArray(BenchmarkCamelContextState state, Blackhole bh) {
+        byte[] arr = state.camel.getTypeConverter().convertTo(byte[].class, state.text);
+        bh.consume(arr);
+    }
+
+    @Benchmark
+    public void typeConvertArrayToString(BenchmarkCamelContextState state, Blackhole bh) {
+        String str = state.camel.getTypeConverter().convertTo(String.class, state.bytes);
+        bh.consume(str);
+    }
+
+    @Benchmark
+    public void typeConvertStringToInputStream(BenchmarkCamelContextState state, Blackhole bh) {
+        InputStream is = state.camel.getTypeConverter().convertTo(InputStream.class, state.text);
+        bh.consume(is);
+    }
+
+    @Benchmark
+    public void lookupTypeConverterFromMappings(BenchmarkCamelContextState state, Blackhole bh) {
+        // the lookup as it was done before the type converter cache
+        bh.consume(state.registry.getTypeConverter(byte[].class, String.class));
+        bh.consume(state.registry.getTypeConverter(String.class, byte[].class));
+        bh.consume(state.registry.getTypeConverter(InputStream.class, String.class));
+    }
+
+    @Benchmark
+    public void lookupTypeConverterFromCache(BenchmarkCamelContextState state, Blackhole bh) {
+        bh.consume(state.registry.getTypeConverterCache().get(byte[].class, String.class));
+        bh.consume(state.registry.getTypeConverterCache().get(String.class, byte[].class));
+        bh.consume(state.registry.getTypeConverterCache().get(InputStream.class, String.class));
+    }
+
 }
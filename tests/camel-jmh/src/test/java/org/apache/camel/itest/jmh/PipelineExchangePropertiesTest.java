@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.Pipeline;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the cost of the exchange properties on every hop of a 10 step {@link Pipeline}, where the internal
+ * properties are stored in dedicated slots on the exchange and the custom properties are stored in a map.
+ */
+public class PipelineExchangePropertiesTest {
+
+    private static final int STEPS = 10;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        Processor internalKeys;
+        Processor stringKeys;
+        Processor customKeys;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            // what the routing engine does on every hop using the internal properties
+            internalKeys = createPipeline(e -> {
+                e.setProperty(ExchangePropertyKey.TO_ENDPOINT, "mock://result");
+                e.setProperty(ExchangePropertyKey.STEP_ID, "step");
+                e.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT);
+                e.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED);
+            });
+            // the same using the string keys of the internal properties
+            stringKeys = createPipeline(e -> {
+                e.setProperty(Exchange.TO_ENDPOINT, "mock://result");
+                e.setProperty(Exchange.STEP_ID, "step");
+                e.getProperty(Exchange.EXCEPTION_CAUGHT);
+                e.getProperty(Exchange.ERRORHANDLER_HANDLED);
+            });
+            // the same using custom properties which are stored in the map (as all properties was before)
+            customKeys = createPipeline(e -> {
+                e.setProperty("MyToEndpoint", "mock://result");
+                e.setProperty("MyStepId", "step");
+                e.getProperty("MyExceptionCaught");
+                e.getProperty("MyErrorHandlerHandled");
+            });
+        }
+
+        private Processor createPipeline(Processor step) throws Exception {
+            List<Processor> steps = new ArrayList<>(STEPS);
+            for (int i = 0; i < STEPS; i++) {
+                steps.add(step);
+            }
+            Processor answer = Pipeline.newInstance(camel, steps);
+            ServiceHelper.startService(answer);
+            return answer;
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void pipelineInternalKeys(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        state.internalKeys.process(exchange);
+        bh.consume(exchange);
+    }
+
+    @Benchmark
+    public void pipelineStringKeys(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        state.stringKeys.process(exchange);
+        bh.consume(exchange);
+    }
+
+    @Benchmark
+    public void pipelineCustomKeys(BenchmarkState state, Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(state.camel);
+        state.customKeys.process(exchange);
+        bh.consume(exchange);
+    }
+
+}
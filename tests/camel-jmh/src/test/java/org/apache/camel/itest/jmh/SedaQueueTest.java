@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.seda.ArrayBlockingQueueFactory;
+import org.apache.camel.component.seda.RingBufferBlockingQueueFactory;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the throughput of the SEDA component with the different queue implementations,
+ * compared to the Disruptor component
+ */
+public class SedaQueueTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(3)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerTemplate producer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.getRegistry().bind("array", new ArrayBlockingQueueFactory<Exchange>());
+            camel.getRegistry().bind("ring", new RingBufferBlockingQueueFactory<Exchange>());
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("seda:linked?size=10000&blockWhenFull=true&concurrentConsumers=4").to("log:linked?level=OFF");
+                    from("seda:array?queueFactory=#array&size=10000&blockWhenFull=true&concurrentConsumers=4").to("log:array?level=OFF");
+                    from("seda:ring?queueFactory=#ring&size=10000&blockWhenFull=true&concurrentConsumers=4").to("log:ring?level=OFF");
+                    from("seda:ringBatch?queueFactory=#ring&size=10000&blockWhenFull=true&concurrentConsumers=4&pollBatchSize=100")
+                        .to("log:ringBatch?level=OFF");
+                    // the disruptor size is rounded up to the next power of two
+                    from("disruptor:blocking?size=10000&blockWhenFull=true&concurrentConsumers=4").to("log:blocking?level=OFF");
+                    from("disruptor:yielding?size=10000&blockWhenFull=true&concurrentConsumers=4&waitStrategy=Yielding")
+                        .to("log:yielding?level=OFF");
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                producer.stop();
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void linkedBlockingQueue(BenchmarkState state) {
+        state.producer.sendBody("seda:linked", "Hello World");
+    }
+
+    @Benchmark
+    public void arrayBlockingQueue(BenchmarkState state) {
+        state.producer.sendBody("seda:array", "Hello World");
+    }
+
+    @Benchmark
+    public void ringBufferQueue(BenchmarkState state) {
+        state.producer.sendBody("seda:ring", "Hello World");
+    }
+
+    @Benchmark
+    public void ringBufferQueuePollBatch(BenchmarkState state) {
+        state.producer.sendBody("seda:ringBatch", "Hello World");
+    }
+
+    @Benchmark
+    public void disruptorBlocking(BenchmarkState state) {
+        state.producer.sendBody("disruptor:blocking", "Hello World");
+    }
+
+    @Benchmark
+    public void disruptorYielding(BenchmarkState state) {
+        state.producer.sendBody("disruptor:yielding", "Hello World");
+    }
+
+}
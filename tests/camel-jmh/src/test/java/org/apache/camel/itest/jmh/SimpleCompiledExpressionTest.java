@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests evaluating Simple expressions and predicates which are interpreted vs compiled.
+ * <p/>
+ * The expressions and predicates are created once (as when a route is started) so only the evaluation is measured.
+ */
+public class SimpleCompiledExpressionTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+            // Specify which benchmarks to run.
+            // You can be more specific if you'd like to run only one benchmark per test.
+            .include(this.getClass().getName() + ".*")
+            // Set the following options as needed
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(5))
+            .measurementIterations(3)
+            .threads(1)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        String predicate = "${header.foo} == 'bar' && ${body.length} > 10";
+        String expression = "Hello ${header.foo} with ${header.cheese.length} in ${body.length} chars";
+        Exchange exchange;
+        Predicate interpretedPredicate;
+        Predicate compiledPredicate;
+        Expression interpretedExpression;
+        Expression compiledExpression;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            try {
+                camel.start();
+                exchange = new DefaultExchange(camel);
+                exchange.getIn().setBody("Hello World");
+                exchange.getIn().setHeader("foo", "bar");
+                exchange.getIn().setHeader("cheese", "Gouda");
+
+                SimpleLanguage interpreted = new SimpleLanguage();
+                interpreted.setCamelContext(camel);
+                interpretedPredicate = interpreted.createPredicate(predicate);
+                interpretedExpression = interpreted.createExpression(expression);
+
+                SimpleLanguage compiled = new SimpleLanguage();
+                compiled.setCamelContext(camel);
+                compiled.setCompiled(true);
+                compiledPredicate = compiled.createPredicate(predicate);
+                compiledExpression = compiled.createExpression(expression);
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+    }
+
+    @Benchmark
+    public void interpretedPredicate(BenchmarkState state, Blackhole bh) {
+        boolean out = state.interpretedPredicate.matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void compiledPredicate(BenchmarkState state, Blackhole bh) {
+        boolean out = state.compiledPredicate.matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void interpretedExpression(BenchmarkState state, Blackhole bh) {
+        String out = state.interpretedExpression.evaluate(state.exchange, String.class);
+        if (!out.equals("Hello bar with 5 in 11 chars")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void compiledExpression(BenchmarkState state, Blackhole bh) {
+        String out = state.compiledExpression.evaluate(state.exchange, String.class);
+        if (!out.equals("Hello bar with 5 in 11 chars")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+}